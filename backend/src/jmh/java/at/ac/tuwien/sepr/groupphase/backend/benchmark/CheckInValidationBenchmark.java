@@ -0,0 +1,158 @@
+package at.ac.tuwien.sepr.groupphase.backend.benchmark;
+
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.CheckInDto;
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.DetailedBookingDto;
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.DetailedRoomDto;
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.mapper.RoomMapper;
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.mapper.RoomMapperImpl;
+import at.ac.tuwien.sepr.groupphase.backend.entity.ApplicationUser;
+import at.ac.tuwien.sepr.groupphase.backend.entity.ImageBlob;
+import at.ac.tuwien.sepr.groupphase.backend.entity.Room;
+import at.ac.tuwien.sepr.groupphase.backend.entity.RoomImage;
+import at.ac.tuwien.sepr.groupphase.backend.enums.Gender;
+import at.ac.tuwien.sepr.groupphase.backend.enums.Nationality;
+import at.ac.tuwien.sepr.groupphase.backend.exception.ValidationException;
+import at.ac.tuwien.sepr.groupphase.backend.repository.RoomRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.projection.RoomCapacity;
+import at.ac.tuwien.sepr.groupphase.backend.service.RoomCapacityCache;
+import at.ac.tuwien.sepr.groupphase.backend.service.impl.SimpleRoomCapacityCache;
+import at.ac.tuwien.sepr.groupphase.backend.service.validator.CheckInValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Measures what validating a check-in against the capacity of the booked room costs, in time and in allocated bytes.
+ *
+ * <p>{@code detailedRoomDto} is the validation as it was before the room capacity cache was introduced: the room is
+ * mapped to a {@link DetailedRoomDto}, which Base64-encodes its main and additional images, only to read its capacity.
+ * {@code roomCapacity} reads the {@link RoomCapacity} from the {@link SimpleRoomCapacityCache}. Loading the room entity
+ * itself is not measured, the repository returns the same instance every time, so the difference is a lower bound.</p>
+ *
+ * <p>Run with {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args="CheckInValidation -prof gc"}; the
+ * {@code gc.alloc.rate.norm} column shows the bytes allocated per check-in.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CheckInValidationBenchmark {
+
+    private static final Long ROOM_ID = 1L;
+    private static final Long GUEST_ID = 7L;
+
+    /**
+     * Size of each room image in bytes.
+     */
+    @Param({"65536", "262144"})
+    public int imageSize;
+
+    private RoomRepository roomRepository;
+    private RoomMapper roomMapper;
+    private RoomCapacityCache roomCapacityCache;
+    private CheckInValidator checkInValidator;
+    private CheckInDto checkIn;
+    private DetailedBookingDto booking;
+    private ApplicationUser guest;
+
+    @Setup
+    public void setup() {
+        Room room = Room.RoomBuilder.aRoom()
+            .withId(ROOM_ID)
+            .withName("Deluxe Suite")
+            .withDescription("Spacious suite with a view of the old town")
+            .withCapacity(2)
+            .withPrice(180.0)
+            .withMainImage(ImageBlob.of(image()))
+            .build();
+        List<RoomImage> additionalImages = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            RoomImage roomImage = new RoomImage();
+            roomImage.setImage(ImageBlob.of(image()));
+            additionalImages.add(roomImage);
+        }
+        room.setAdditionalImages(additionalImages);
+
+        roomRepository = mock(RoomRepository.class);
+        when(roomRepository.findRoomById(ROOM_ID)).thenReturn(room);
+        when(roomRepository.findRoomCapacityById(ROOM_ID)).thenReturn(Optional.of(new RoomCapacity(ROOM_ID, room.getCapacity(), false)));
+        roomMapper = new RoomMapperImpl();
+        roomCapacityCache = new SimpleRoomCapacityCache(roomRepository, 16);
+        checkInValidator = new CheckInValidator();
+
+        LocalDate today = LocalDate.now();
+        checkIn = new CheckInDto(1L, "John", "Doe", LocalDate.of(1990, 1, 1), "Vienna", Gender.MALE, Nationality.values()[0],
+            "Main Street 1, 1010 Vienna", "P1234567", "+43123456789");
+        booking = new DetailedBookingDto(1L, ROOM_ID, GUEST_ID, today, today.plusDays(3), room.getName(), 540.0, true,
+            "ACTIVE", "BOOK-8FD8E9C0", today.minusDays(10), 540.0, 3, null, null);
+        guest = new ApplicationUser();
+        guest.setId(GUEST_ID);
+    }
+
+    @Benchmark
+    public DetailedRoomDto detailedRoomDto() throws ValidationException {
+        DetailedRoomDto room = roomMapper.roomToDetailedRoomDto(roomRepository.findRoomById(booking.roomId()), null);
+        legacyValidateForCheckIn(checkIn, room, 0, booking, guest, false);
+        return room;
+    }
+
+    @Benchmark
+    public RoomCapacity roomCapacity() throws ValidationException {
+        RoomCapacity room = roomCapacityCache.get(booking.roomId());
+        checkInValidator.validateForCheckIn(checkIn, room, 0, booking, guest, false, null);
+        return room;
+    }
+
+    private byte[] image() {
+        byte[] image = new byte[imageSize];
+        ThreadLocalRandom.current().nextBytes(image);
+        return image;
+    }
+
+    /**
+     * The capacity checks of {@code CheckInValidator.validateForCheckIn} before it took a {@link RoomCapacity}.
+     */
+    private static void legacyValidateForCheckIn(CheckInDto checkInDto, DetailedRoomDto room, int countCheckedIn, DetailedBookingDto booking,
+                                                 ApplicationUser loggedIn, boolean checkedOut) throws ValidationException {
+        List<String> validationErrors = new ArrayList<>();
+        if (checkInDto.bookingId() == null) {
+            validationErrors.add("Booking ID must not be null.");
+        }
+        if (countCheckedIn + 1 > room.capacity()) {
+            validationErrors.add("Room doesn't have enough capacity.");
+        }
+        if (!Objects.equals(booking.userId(), loggedIn.getId())) {
+            validationErrors.add("Room can only be checked in by user who did the booking or an invited user.");
+        }
+        if (!(LocalDate.now().isAfter(booking.startDate().minusDays(1L)) && LocalDate.now().isBefore(booking.endDate()))) {
+            validationErrors.add("Cannot check into a booking before the booked date.");
+        }
+        if (checkedOut) {
+            validationErrors.add("Cannot check into a booking multiple times.");
+        }
+        if (!validationErrors.isEmpty()) {
+            throw new ValidationException("Validation failed for one or more reasons.", validationErrors);
+        }
+    }
+}
@@ -0,0 +1,336 @@
+package at.ac.tuwien.sepr.groupphase.backend.benchmark;
+
+import at.ac.tuwien.sepr.groupphase.backend.entity.Booking;
+import at.ac.tuwien.sepr.groupphase.backend.entity.Guest;
+import at.ac.tuwien.sepr.groupphase.backend.entity.Room;
+import at.ac.tuwien.sepr.groupphase.backend.entity.UiConfig;
+import at.ac.tuwien.sepr.groupphase.backend.repository.UiConfigRepository;
+import at.ac.tuwien.sepr.groupphase.backend.service.impl.SimplePdfGenerationService;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Measures how many booking documents per second are rendered.
+ *
+ * <p>{@code legacyConfirmation} is the booking confirmation as it was rendered before the templates were introduced:
+ * the hotel details are looked up and the whole page is laid out with PDFBox for every document. The other benchmarks
+ * render the cached templates of the {@link SimplePdfGenerationService}. Run with
+ * {@code mvn -Pbenchmark test-compile exec:exec}; pass JMH options with e.g. {@code -Djmh.args="PdfGeneration -t 4"} to render on four threads.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PdfGenerationBenchmark {
+
+    private UiConfigRepository uiConfigRepository;
+    private SimplePdfGenerationService pdfGenerationService;
+    private Booking booking;
+
+    @Setup
+    public void setup() {
+        UiConfig uiConfig = new UiConfig();
+        uiConfig.setHotelName("InnControl Hotel");
+        uiConfig.setAddress("Karlsplatz 13, 1040 Vienna");
+        uiConfigRepository = mock(UiConfigRepository.class);
+        when(uiConfigRepository.findById(1L)).thenReturn(Optional.of(uiConfig));
+        pdfGenerationService = new SimplePdfGenerationService(uiConfigRepository);
+        ReflectionTestUtils.setField(pdfGenerationService, "taxId", "ATU5838192534");
+
+        Room room = new Room();
+        room.setId(1L);
+        room.setName("Deluxe Suite");
+        room.setDescription("Spacious suite with a view of the old town");
+        room.setCapacity(2);
+        room.setPrice(180.0);
+
+        Guest guest = new Guest();
+        guest.setFirstName("John");
+        guest.setLastName("Doe");
+        guest.setEmail("john.doe@example.com");
+        guest.setPhoneNumber("+43123456789");
+        guest.setAddress("Main Street 1, 1010 Vienna");
+
+        booking = new Booking();
+        booking.setId(1L);
+        booking.setUser(guest);
+        booking.setRoom(room);
+        booking.setStartDate(LocalDate.of(2025, 3, 10));
+        booking.setEndDate(LocalDate.of(2025, 3, 14));
+        booking.setBookingNumber("BOOK-8FD8E9C0");
+        booking.setInvoiceNumber("INV-12345");
+        booking.setBookingDate(LocalDate.of(2025, 2, 1));
+        booking.setTaxAmount(72.0);
+        booking.setCancellationDate(LocalDate.of(2025, 3, 1));
+    }
+
+    @Benchmark
+    public byte[] legacyConfirmation() throws IOException {
+        UiConfig uiConfig = uiConfigRepository.findById(1L)
+            .orElseThrow(() -> new IllegalStateException("UiConfig not found"));
+        return renderLegacyConfirmation(booking, uiConfig);
+    }
+
+    @Benchmark
+    public byte[] confirmation() throws IOException {
+        return pdfGenerationService.generateBookingConfirmation(booking);
+    }
+
+    @Benchmark
+    public byte[] invoice() throws IOException {
+        return pdfGenerationService.generateInvoice(booking);
+    }
+
+    @Benchmark
+    public byte[] cancellation() throws IOException {
+        return pdfGenerationService.generateCancellation(booking);
+    }
+
+    /**
+     * The booking confirmation layout of {@code SimplePdfGenerationService} before it was compiled into a template.
+     */
+    private static byte[] renderLegacyConfirmation(Booking booking, UiConfig uiConfig) throws IOException {
+        try (ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+             PDDocument document = new PDDocument()) {
+
+            PDPage page = new PDPage();
+            document.addPage(page);
+
+            try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
+                final float startX = 50;
+                final float startYinitial = 750;
+                float startY = startYinitial;
+                final float lineSpacing = 14.5f;
+                final float paragraphSpacing = 30f;
+
+                contentStream.setFont(PDType1Font.HELVETICA_BOLD, 16);
+                contentStream.beginText();
+                contentStream.newLineAtOffset(startX, startY);
+                contentStream.showText("Booking Confirmation for Your Stay at " + uiConfig.getHotelName());
+                contentStream.endText();
+
+                startY -= paragraphSpacing;
+
+                contentStream.beginText();
+                contentStream.setFont(PDType1Font.HELVETICA, 12);
+                contentStream.newLineAtOffset(startX, startY);
+                contentStream.showText("Dear " + booking.getGuest().getLastName() + ",");
+                contentStream.endText();
+
+                startY -= lineSpacing;
+
+                contentStream.beginText();
+                contentStream.setFont(PDType1Font.HELVETICA, 12);
+                contentStream.newLineAtOffset(startX, startY);
+                contentStream.showText("Thank you for choosing the " + uiConfig.getHotelName() +  ". Here are your booking details:");
+                contentStream.endText();
+
+                startY -= paragraphSpacing;
+
+                contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
+                contentStream.beginText();
+                contentStream.newLineAtOffset(startX, startY);
+                contentStream.showText("Hotel Details:");
+                contentStream.endText();
+
+                startY -= lineSpacing;
+
+                contentStream.setFont(PDType1Font.HELVETICA, 12);
+                contentStream.beginText();
+                contentStream.newLineAtOffset(startX, startY);
+                contentStream.showText("Hotel Name: " + uiConfig.getHotelName());
+                contentStream.endText();
+
+                startY -= lineSpacing;
+
+                contentStream.setFont(PDType1Font.HELVETICA, 12);
+                contentStream.beginText();
+                contentStream.newLineAtOffset(startX, startY);
+                contentStream.showText("Hotel Address: " + uiConfig.getAddress());
+                contentStream.endText();
+
+                contentStream.setFont(PDType1Font.HELVETICA, 12);
+
+                startY -= paragraphSpacing;
+
+                contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
+                contentStream.beginText();
+                contentStream.newLineAtOffset(startX, startY);
+                contentStream.showText("Guest Details:");
+                contentStream.endText();
+
+                startY -= lineSpacing;
+
+                contentStream.setFont(PDType1Font.HELVETICA, 12);
+                contentStream.beginText();
+                contentStream.newLineAtOffset(startX, startY);
+                contentStream.showText("Name: " + booking.getGuest().getFirstName() + " " + booking.getGuest().getLastName());
+                contentStream.endText();
+
+                startY -= lineSpacing;
+
+                contentStream.beginText();
+                contentStream.newLineAtOffset(startX, startY);
+                contentStream.showText("Phone: " + booking.getGuest().getPhoneNumber());
+                contentStream.endText();
+
+                startY -= lineSpacing;
+
+                contentStream.beginText();
+                contentStream.newLineAtOffset(startX, startY);
+                contentStream.showText("Email: " + booking.getGuest().getEmail());
+                contentStream.endText();
+
+                startY -= lineSpacing;
+
+                contentStream.beginText();
+                contentStream.newLineAtOffset(startX, startY);
+                contentStream.showText("Address: " + booking.getGuest().getAddress());
+                contentStream.endText();
+
+                startY -= paragraphSpacing;
+
+                contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
+                contentStream.beginText();
+                contentStream.newLineAtOffset(startX, startY);
+                contentStream.showText("Booking Details:");
+                contentStream.endText();
+
+                startY -= lineSpacing;
+
+                contentStream.setFont(PDType1Font.HELVETICA, 12);
+                contentStream.beginText();
+                contentStream.newLineAtOffset(startX, startY);
+                contentStream.showText("Booking Number: " + booking.getBookingNumber());
+                contentStream.endText();
+
+                startY -= lineSpacing;
+
+                contentStream.beginText();
+                contentStream.newLineAtOffset(startX, startY);
+                contentStream.showText("Check-in: " + booking.getStartDate() + " (after 14:00)");
+                contentStream.endText();
+
+                startY -= lineSpacing;
+
+                contentStream.beginText();
+                contentStream.newLineAtOffset(startX, startY);
+                contentStream.showText("Check-out: " + booking.getEndDate() + " (before 10:00)");
+                contentStream.endText();
+
+                startY -= paragraphSpacing;
+
+                contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
+                contentStream.beginText();
+                contentStream.newLineAtOffset(startX, startY);
+                contentStream.showText("Room Details:");
+                contentStream.endText();
+
+                startY -= lineSpacing;
+
+                contentStream.beginText();
+                contentStream.setFont(PDType1Font.HELVETICA, 12);
+                contentStream.newLineAtOffset(startX, startY);
+                contentStream.showText("Room Name: " + booking.getRoom().getName());
+                contentStream.endText();
+
+                startY -= lineSpacing;
+
+                contentStream.setFont(PDType1Font.HELVETICA, 12);
+                contentStream.beginText();
+                contentStream.newLineAtOffset(startX, startY);
+                contentStream.showText("Room Description: " + booking.getRoom().getDescription());
+                contentStream.endText();
+
+                startY -= lineSpacing;
+
+                contentStream.beginText();
+                contentStream.setFont(PDType1Font.HELVETICA, 12);
+                contentStream.newLineAtOffset(startX, startY);
+                contentStream.showText("Number of persons : " + booking.getRoom().getCapacity());
+                contentStream.endText();
+
+                startY -= paragraphSpacing;
+
+                contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
+                contentStream.beginText();
+                contentStream.newLineAtOffset(startX, startY);
+                contentStream.showText("Cancellation:");
+                contentStream.endText();
+
+                startY -= lineSpacing;
+
+                contentStream.setFont(PDType1Font.HELVETICA, 12);
+                contentStream.beginText();
+                contentStream.newLineAtOffset(startX, startY);
+                contentStream.showText("To cancel your booking, visit the \"My Bookings\" page in your account.");
+                contentStream.endText();
+
+                startY -= lineSpacing;
+
+                contentStream.beginText();
+                contentStream.newLineAtOffset(startX, startY);
+                contentStream.showText("After cancellation, a refund will be processed.");
+                contentStream.endText();
+
+                startY -= paragraphSpacing;
+
+                contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
+                contentStream.beginText();
+                contentStream.newLineAtOffset(startX, startY);
+                contentStream.showText("Questions:");
+                contentStream.endText();
+
+                startY -= lineSpacing;
+
+                contentStream.setFont(PDType1Font.HELVETICA, 12);
+                contentStream.beginText();
+                contentStream.newLineAtOffset(startX, startY);
+                contentStream.showText("If you have any questions, contact us at inncontrolhotel@gmail.com.");
+                contentStream.endText();
+
+                startY -= lineSpacing;
+
+                contentStream.beginText();
+                contentStream.newLineAtOffset(startX, startY);
+                contentStream.showText("Include your booking number (" + booking.getBookingNumber() + ") and room name.");
+                contentStream.endText();
+
+                startY -= paragraphSpacing;
+
+                contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
+                contentStream.beginText();
+                contentStream.newLineAtOffset(startX, startY);
+                contentStream.showText("We look forward to your stay!");
+                contentStream.endText();
+            }
+
+            document.save(byteArrayOutputStream);
+            return byteArrayOutputStream.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package at.ac.tuwien.sepr.groupphase.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * A configuration class for the background generation and mailing of booking documents.
+ */
+@Configuration
+public class DocumentConfig {
+
+    /**
+     * Creates the executor the booking documents are generated and mailed on.
+     *
+     * <p>The queue is bounded; documents that do not fit stay pending in the booking table and are picked up by the
+     * next poll of the {@link at.ac.tuwien.sepr.groupphase.backend.service.impl.BookingDocumentWorker}.</p>
+     *
+     * @param threads       the number of bookings processed in parallel
+     * @param queueCapacity the number of claimed bookings waiting to be processed
+     * @return the executor for booking documents
+     */
+    @Bean
+    public ThreadPoolTaskExecutor documentExecutor(@Value("${application.documents.worker-threads:2}") int threads,
+                                                   @Value("${application.documents.queue-capacity:20}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("booking-documents-");
+        return executor;
+    }
+
+    /**
+     * Creates the executor missing invoices are rendered on while they are exported.
+     *
+     * <p>The queue is not bounded, since every export only submits the invoices of the page it is currently writing.</p>
+     *
+     * @param threads the number of invoices rendered in parallel, or 0 for one per available processor
+     * @return the executor for exported invoices
+     */
+    @Bean
+    public ThreadPoolTaskExecutor invoiceExportExecutor(@Value("${application.documents.export.threads:0}") int threads) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setThreadNamePrefix("invoice-export-");
+        return executor;
+    }
+}
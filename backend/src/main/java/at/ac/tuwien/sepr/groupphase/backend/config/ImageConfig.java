@@ -0,0 +1,35 @@
+package at.ac.tuwien.sepr.groupphase.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * A configuration class for the background processing of uploaded images.
+ */
+@Configuration
+public class ImageConfig {
+
+    /**
+     * Creates the executor the image variants are generated on.
+     *
+     * <p>Decoding a full-size upload takes a lot of memory, so both the number of threads and the queue are bounded.
+     * Tasks that do not fit into the queue are rejected instead of piling up; the variants of those images are
+     * generated once they are requested for the first time.</p>
+     *
+     * @param threads       the number of images processed in parallel
+     * @param queueCapacity the number of images waiting to be processed
+     * @return the executor for image variant generation
+     */
+    @Bean
+    public ThreadPoolTaskExecutor imageVariantExecutor(@Value("${application.image.variant-threads:2}") int threads,
+                                                       @Value("${application.image.variant-queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("image-variant-");
+        return executor;
+    }
+}
@@ -0,0 +1,46 @@
+package at.ac.tuwien.sepr.groupphase.backend.config;
+
+import at.ac.tuwien.sepr.groupphase.backend.utils.LocalSmtpServer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.net.InetAddress;
+
+/**
+ * A configuration class that replaces the real mail server with an in-process {@link LocalSmtpServer}, for tests and
+ * load runs. It is only active if {@code application.mail.local-smtp.enabled} is set.
+ */
+@Configuration
+@ConditionalOnProperty(name = "application.mail.local-smtp.enabled", havingValue = "true")
+public class LocalSmtpConfig {
+
+    /**
+     * Creates and starts the local SMTP server.
+     *
+     * @param port          the port to listen on, 0 for any free port
+     * @param retainedMails the number of most recent mails kept for inspection
+     * @return the started server
+     */
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public LocalSmtpServer localSmtpServer(@Value("${application.mail.local-smtp.port:0}") int port,
+                                           @Value("${application.mail.local-smtp.retained-mails:1000}") int retainedMails) {
+        return new LocalSmtpServer(port, retainedMails);
+    }
+
+    /**
+     * Creates the mail sender for the local SMTP server, in place of the one configured by {@code spring.mail}.
+     *
+     * @param localSmtpServer the started server
+     * @return the mail sender connecting to the local SMTP server
+     */
+    @Bean
+    public JavaMailSenderImpl javaMailSender(LocalSmtpServer localSmtpServer) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost(InetAddress.getLoopbackAddress().getHostAddress());
+        mailSender.setPort(localSmtpServer.getPort());
+        return mailSender;
+    }
+}
@@ -0,0 +1,13 @@
+package at.ac.tuwien.sepr.groupphase.backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * A configuration class that enables the processing of {@link org.springframework.scheduling.annotation.Scheduled}
+ * methods, such as the automatic check-out and the release of expired booking holds.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -5,6 +5,7 @@ import at.ac.tuwien.sepr.groupphase.backend.entity.ActivitySlot;
 import at.ac.tuwien.sepr.groupphase.backend.entity.ActivityTimeslotInfo;
 import at.ac.tuwien.sepr.groupphase.backend.repository.ActivityRepository;
 import at.ac.tuwien.sepr.groupphase.backend.service.ActivityService;
+import at.ac.tuwien.sepr.groupphase.backend.service.ImageService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -34,9 +35,11 @@ public class ActivityDataGenerator {
     private static final int TEST_ACTIVITY_CAPACITY = 1;
     private static final long TEST_ACTIVITY_PRICE = 5L;
     private static final LocalDateTime TEST_ACTIVITY_CREATED_AT = LocalDateTime.now();
+    private static final int OCCUPIED_SLOT_DAYS = 14;
 
 
     private final ActivityRepository activityRepository;
+    private final ImageService imageService;
     private final Random random = new Random();
 
     private List<String> activityNames;
@@ -44,8 +47,9 @@ public class ActivityDataGenerator {
     private List<String> activityCategories;
 
 
-    public ActivityDataGenerator(ActivityRepository activityRepository, ActivityService activityService) {
+    public ActivityDataGenerator(ActivityRepository activityRepository, ActivityService activityService, ImageService imageService) {
         this.activityRepository = activityRepository;
+        this.imageService = imageService;
         try {
             loadActivityData();
         } catch (IOException e) {
@@ -70,7 +74,7 @@ public class ActivityDataGenerator {
                     .withPrice(TEST_ACTIVITY_PRICE + random.nextInt(100))
                     .withCreatedAt(TEST_ACTIVITY_CREATED_AT)
                     .withTimeslotInfos(timeslotInfos)
-                    .withMainImage(imageBytes)
+                    .withMainImage(imageService.store(imageBytes))
                     .withCategories(getRandomActivityCategory())
                     .build();
 
@@ -107,7 +111,7 @@ public class ActivityDataGenerator {
                 .withPrice(12.0)
                 .withCreatedAt(TEST_ACTIVITY_CREATED_AT)
                 .withTimeslotInfos(timeslotInfos)
-                .withMainImage(imageBytes)
+                .withMainImage(imageService.store(imageBytes))
                 .withCategories("Kids")
                 .build();
 
@@ -188,51 +192,23 @@ public class ActivityDataGenerator {
     }
 
 
+    /**
+     * Generates booked slots for the occurrences of the given rules within the next {@link #OCCUPIED_SLOT_DAYS} days.
+     * Slots are only stored once they are booked, so occurrences that stay empty are left out.
+     */
     public List<ActivitySlot> generateTimeslotsFromEntities(Activity activity, List<ActivityTimeslotInfo> timeslotEntities) {
         List<ActivitySlot> timeslots = new ArrayList<>();
         LocalDate today = LocalDate.now();
-        LocalDate sixMonthsFromNow = today.plusMonths(6);
-        Random random = new Random(); // Random instance to generate random values
+        LocalDate lastDay = today.plusDays(OCCUPIED_SLOT_DAYS);
 
         for (ActivityTimeslotInfo entity : timeslotEntities) {
-            if (entity.getSpecificDate() != null) {
-                if (!entity.getSpecificDate().isBefore(today)) {
-                    timeslots.add(createTimeslot(
-                        activity,
-                        activity.getCapacity(),
-                        entity.getSpecificDate(),
-                        entity.getStartTime(),
-                        entity.getEndTime(),
-                        random.nextInt(activity.getCapacity() + 1) // Random value for occupied
-                    ));
-                }
-            } else if (entity.getDayOfWeek() != null) {
-                LocalDate current = today;
-                while (!current.isAfter(sixMonthsFromNow)) {
-                    if (current.getDayOfWeek() == entity.getDayOfWeek()) {
-                        timeslots.add(createTimeslot(
-                            activity,
-                            activity.getCapacity(),
-                            current,
-                            entity.getStartTime(),
-                            entity.getEndTime(),
-                            random.nextInt(activity.getCapacity() + 1) // Random value for occupied
-                        ));
-                    }
-                    current = current.plusDays(1);
-                }
-            } else {
-                LocalDate current = today;
-                while (!current.isAfter(sixMonthsFromNow)) {
-                    timeslots.add(createTimeslot(
-                        activity,
-                        activity.getCapacity(),
-                        current,
-                        entity.getStartTime(),
-                        entity.getEndTime(),
-                        random.nextInt(activity.getCapacity() + 1) // Random value for occupied
-                    ));
-                    current = current.plusDays(1);
+            for (LocalDate current = today; !current.isAfter(lastDay); current = current.plusDays(1)) {
+                boolean occurs = entity.getSpecificDate() != null
+                    ? current.equals(entity.getSpecificDate())
+                    : current.getDayOfWeek() == entity.getDayOfWeek();
+                int occupied = random.nextInt(activity.getCapacity() + 1);
+                if (occurs && occupied > 0) {
+                    timeslots.add(createTimeslot(activity, activity.getCapacity(), current, entity.getStartTime(), entity.getEndTime(), occupied));
                 }
             }
         }
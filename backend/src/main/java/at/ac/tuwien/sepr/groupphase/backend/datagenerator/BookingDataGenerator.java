@@ -21,6 +21,7 @@ import jakarta.mail.MessagingException;
 import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import at.ac.tuwien.sepr.groupphase.backend.service.PdfStorageService;
 
@@ -49,6 +50,9 @@ public class BookingDataGenerator {
     private final BookingMapper bookingMapper;
     private final GuestRepository guestRepository;
 
+    @Value("${application.documents.on-demand:true}")
+    private boolean renderOnDemand;
+
     private List<Guest> users;
 
     public BookingDataGenerator(BookingRepository bookingRepository, RoomRepository roomRepository,
@@ -195,6 +199,10 @@ public class BookingDataGenerator {
      * @param booking The booking of the corresponding PDFs.
      */
     private void savePdfForBooking(Booking booking) {
+        if (renderOnDemand) {
+            // the documents are rendered when they are requested for the first time
+            return;
+        }
         try {
             byte[] bookingPdf = pdfGenerationService.generateBookingConfirmation(booking);
             pdfStorageService.storePdf(booking.getId(), "BookingConfirmation.pdf", bookingPdf);
@@ -266,6 +274,9 @@ public class BookingDataGenerator {
         Booking savedBooking = bookingRepository.save(booking);
 
         LOGGER.info("Booking saved with ID {}", savedBooking.getId());
+        if (renderOnDemand) {
+            return bookingMapper.bookingToDetailedBookingDto(savedBooking);
+        }
 
         byte[] pdfContent = pdfGenerationService.generateBookingConfirmation(savedBooking);
         Pdf pdf = new Pdf();
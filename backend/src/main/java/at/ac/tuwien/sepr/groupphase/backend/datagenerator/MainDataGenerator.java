@@ -4,7 +4,7 @@ import at.ac.tuwien.sepr.groupphase.backend.repository.CheckInRepository;
 import at.ac.tuwien.sepr.groupphase.backend.repository.CheckOutRepository;
 import at.ac.tuwien.sepr.groupphase.backend.repository.InviteToRoomRepository;
 import at.ac.tuwien.sepr.groupphase.backend.repository.LockRepository;
-import at.ac.tuwien.sepr.groupphase.backend.repository.PdfRepository;
+import at.ac.tuwien.sepr.groupphase.backend.service.PdfStorageService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Profile;
@@ -30,7 +30,7 @@ public class MainDataGenerator {
     private final ActivityDataGenerator activityDataGenerator;
     private final LockRepository lockRepository;
     private final InviteToRoomRepository inviteToRoomRepository;
-    private final PdfRepository pdfRepository;
+    private final PdfStorageService pdfStorageService;
 
     public MainDataGenerator(
         EmployeeDataGenerator employeeDataGenerator,
@@ -43,7 +43,7 @@ public class MainDataGenerator {
         ActivityDataGenerator activityDataGenerator,
         LockRepository lockRepository,
         InviteToRoomRepository inviteToRoomRepository,
-        PdfRepository pdfRepository
+        PdfStorageService pdfStorageService
     ) {
         this.guestDataGenerator = guestDataGenerator;
         this.employeeDataGenerator = employeeDataGenerator;
@@ -55,7 +55,7 @@ public class MainDataGenerator {
         this.activityDataGenerator = activityDataGenerator;
         this.lockRepository = lockRepository;
         this.inviteToRoomRepository = inviteToRoomRepository;
-        this.pdfRepository = pdfRepository;
+        this.pdfStorageService = pdfStorageService;
     }
 
     /**
@@ -79,7 +79,7 @@ public class MainDataGenerator {
      * Clears all existing check-ins, bookings, rooms, employees, guests and UI configurations in an orderly fashion.
      */
     private void deleteData() {
-        pdfRepository.deleteAll();
+        pdfStorageService.deleteAllPdfs();
         inviteToRoomRepository.deleteAll();
         lockRepository.deleteAll();
         checkInRepository.deleteAll();
@@ -2,6 +2,7 @@ package at.ac.tuwien.sepr.groupphase.backend.datagenerator;
 
 import at.ac.tuwien.sepr.groupphase.backend.entity.Room;
 import at.ac.tuwien.sepr.groupphase.backend.repository.RoomRepository;
+import at.ac.tuwien.sepr.groupphase.backend.service.ImageService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,13 +33,15 @@ public class RoomDataGenerator {
 
 
     private final RoomRepository roomRepository;
+    private final ImageService imageService;
     private final Random random = new Random();
 
     private List<String> roomNames;
     private List<String> roomDescriptions;
 
-    public RoomDataGenerator(RoomRepository roomRepository) {
+    public RoomDataGenerator(RoomRepository roomRepository, ImageService imageService) {
         this.roomRepository = roomRepository;
+        this.imageService = imageService;
         try {
             loadRoomData();
         } catch (IOException e) {
@@ -62,7 +65,7 @@ public class RoomDataGenerator {
                     .withPrice(TEST_ROOM_PRICE + random.nextInt(1000))
                     .withCreatedAt(TEST_ROOM_CREATED_AT)
                     .withLastCleanedAt(getRandomDateWithinLast30Days())
-                    .withMainImage(imageBytes)
+                    .withMainImage(imageService.store(imageBytes))
                     .build();
                 LOGGER.debug("saving room {}", room.getName());
                 roomRepository.save(room);
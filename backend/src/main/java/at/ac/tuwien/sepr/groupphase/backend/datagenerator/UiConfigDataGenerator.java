@@ -3,6 +3,7 @@ package at.ac.tuwien.sepr.groupphase.backend.datagenerator;
 import at.ac.tuwien.sepr.groupphase.backend.entity.UiConfig;
 import at.ac.tuwien.sepr.groupphase.backend.entity.UiImage;
 import at.ac.tuwien.sepr.groupphase.backend.repository.UiConfigRepository;
+import at.ac.tuwien.sepr.groupphase.backend.service.ImageService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -28,6 +29,7 @@ public class UiConfigDataGenerator {
     private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
     private final UiConfigRepository uiConfigRepository;
+    private final ImageService imageService;
     private final Random random = new Random();
 
     private List<String> hotelNames;
@@ -35,8 +37,9 @@ public class UiConfigDataGenerator {
     private List<String> hotelDescriptions;
     private List<String> hotelAddresses;
 
-    public UiConfigDataGenerator(UiConfigRepository uiConfigRepository) {
+    public UiConfigDataGenerator(UiConfigRepository uiConfigRepository, ImageService imageService) {
         this.uiConfigRepository = uiConfigRepository;
+        this.imageService = imageService;
         try {
             loadUiData();
         } catch (IOException e) {
@@ -56,7 +59,7 @@ public class UiConfigDataGenerator {
                     byte[] imageBytes = getBytesFromImage("home" + i + ".jpg");
                     UiImage image = new UiImage(
                         null, // ID will be auto-generated
-                        imageBytes,
+                        imageService.store(imageBytes),
                         "Default Alt Text for Image " + i, // Alt text
                         LocalDateTime.now(), // Created date
                         null // Config will be set later
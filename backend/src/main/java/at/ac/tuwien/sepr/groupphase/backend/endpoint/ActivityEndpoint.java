@@ -9,6 +9,7 @@ import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.ActivityTimeslotInfoDto
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.ActivityUpdateDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.DetailedActivityDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.RoomListDto;
+import at.ac.tuwien.sepr.groupphase.backend.enums.ImageVariant;
 import at.ac.tuwien.sepr.groupphase.backend.exception.ConflictException;
 import at.ac.tuwien.sepr.groupphase.backend.exception.NotFoundException;
 import at.ac.tuwien.sepr.groupphase.backend.exception.ValidationException;
@@ -24,6 +25,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -36,6 +38,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.ResponseStatus;
@@ -184,9 +187,11 @@ public class ActivityEndpoint {
 
     @PermitAll
     @GetMapping("/image/{id}")
-    public ResponseEntity<byte[]> getMainImage(@PathVariable("id") Long id) {
-        LOGGER.info("GET /api/v1/activity/image/{}", id);
-        return activityService.getMainImage(id);
+    public ResponseEntity<byte[]> getMainImage(@PathVariable("id") Long id,
+                                               @RequestParam(value = "variant", required = false) String variant,
+                                               @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        LOGGER.info("GET /api/v1/activity/image/{}?variant={}", id, variant);
+        return activityService.getMainImage(id, ImageVariant.fromValue(variant), ifNoneMatch);
     }
 
     @PermitAll
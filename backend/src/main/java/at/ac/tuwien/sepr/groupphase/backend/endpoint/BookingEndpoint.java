@@ -3,14 +3,18 @@ package at.ac.tuwien.sepr.groupphase.backend.endpoint;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.BookingCreateDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.DetailedBookingDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.EmployeeBookingDto;
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.KeysetPageDto;
+import at.ac.tuwien.sepr.groupphase.backend.enums.BookingExportFormat;
 import at.ac.tuwien.sepr.groupphase.backend.exception.ConflictException;
 import at.ac.tuwien.sepr.groupphase.backend.exception.NotFoundException;
 import at.ac.tuwien.sepr.groupphase.backend.exception.ValidationException;
+import at.ac.tuwien.sepr.groupphase.backend.service.BookingExportService;
 import at.ac.tuwien.sepr.groupphase.backend.service.BookingService;
 import at.ac.tuwien.sepr.groupphase.backend.service.UserService;
 
 import com.stripe.exception.StripeException;
 
+import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
@@ -40,6 +44,7 @@ import at.ac.tuwien.sepr.groupphase.backend.entity.Pdf;
 import org.springframework.http.ContentDisposition;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @RestController
@@ -50,11 +55,14 @@ public class BookingEndpoint {
     private final BookingService bookingService;
     private final UserService userService;
     private final PdfStorageService pdfStorageService;
+    private final BookingExportService bookingExportService;
 
-    public BookingEndpoint(BookingService bookingService, UserService userService, PdfStorageService pdfStorageService) {
+    public BookingEndpoint(BookingService bookingService, UserService userService, PdfStorageService pdfStorageService,
+                           BookingExportService bookingExportService) {
         this.bookingService = bookingService;
         this.userService = userService;
         this.pdfStorageService = pdfStorageService;
+        this.bookingExportService = bookingExportService;
     }
 
     @Secured("ROLE_GUEST")
@@ -83,12 +91,27 @@ public class BookingEndpoint {
         return bookingService.findBookingById(id);
     }
 
+    /**
+     * Exports all bookings of the manager view as NDJSON or CSV. The bookings are written to the response while they
+     * are read, so its size is not known in advance.
+     *
+     * @param format   the export format, {@code ndjson} or {@code csv}
+     * @param response the response the bookings are written to
+     * @throws IOException if the bookings can not be written to the response
+     */
     @Secured({"ROLE_ADMIN", "ROLE_RECEPTIONIST", "ROLE_CLEANING_STAFF"})
     @GetMapping("/managerbookings")
-    @ResponseStatus(HttpStatus.OK)
-    public List<EmployeeBookingDto> getAllBookings() {
-        LOGGER.info("GET /api/v1/bookings/managerbookings");
-        return bookingService.getAllBookings();
+    public void exportBookings(@RequestParam(defaultValue = "ndjson") String format,
+                               HttpServletResponse response) throws IOException {
+        LOGGER.info("GET /api/v1/bookings/managerbookings?format={}", format);
+        BookingExportFormat exportFormat = BookingExportFormat.fromValue(format);
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+            .filename("bookings." + exportFormat.getFileExtension())
+            .build()
+            .toString());
+        bookingExportService.exportBookings(exportFormat, response.getOutputStream());
     }
 
     @Secured({"ROLE_ADMIN", "ROLE_RECEPTIONIST", "ROLE_CLEANING_STAFF"})
@@ -103,6 +126,17 @@ public class BookingEndpoint {
         return bookingService.getPagedBookings(pageable);
     }
 
+    @Secured({"ROLE_ADMIN", "ROLE_RECEPTIONIST", "ROLE_CLEANING_STAFF"})
+    @GetMapping("/managerbookings/keyset")
+    @ResponseStatus(HttpStatus.OK)
+    public KeysetPageDto<EmployeeBookingDto> getBookingsAfter(
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "50") int size
+    ) {
+        LOGGER.info("GET /api/v1/bookings/managerbookings/keyset?cursor={}&size={}", cursor, size);
+        return bookingService.getBookingsAfter(cursor, size);
+    }
+
 
     @Secured("ROLE_GUEST")
     @GetMapping("/my-bookings/{bookingId}/pdf/{type}")
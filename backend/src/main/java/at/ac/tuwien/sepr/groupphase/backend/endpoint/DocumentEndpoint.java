@@ -3,20 +3,28 @@ package at.ac.tuwien.sepr.groupphase.backend.endpoint;
 import at.ac.tuwien.sepr.groupphase.backend.entity.Pdf;
 import at.ac.tuwien.sepr.groupphase.backend.repository.PdfRepository;
 import at.ac.tuwien.sepr.groupphase.backend.service.CheckInService;
+import at.ac.tuwien.sepr.groupphase.backend.service.InvoiceExportService;
 import at.ac.tuwien.sepr.groupphase.backend.service.PdfStorageService;
+import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
 import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.annotation.Secured;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
+import java.time.LocalDate;
+
 @RestController
 @RequestMapping("/api/v1/documents")
 public class DocumentEndpoint {
@@ -25,11 +33,14 @@ public class DocumentEndpoint {
 
     private final PdfStorageService pdfStorageService;
     private final CheckInService checkInService;
+    private final InvoiceExportService invoiceExportService;
 
     public DocumentEndpoint(PdfStorageService pdfStorageService,
-                            PdfRepository pdfRepository, CheckInService checkInService) {
+                            PdfRepository pdfRepository, CheckInService checkInService,
+                            InvoiceExportService invoiceExportService) {
         this.pdfStorageService = pdfStorageService;
         this.checkInService = checkInService;
+        this.invoiceExportService = invoiceExportService;
     }
 
     @GetMapping("/{bookingId}/pdfs/{type}")
@@ -44,10 +55,43 @@ public class DocumentEndpoint {
             .body(content);
     }
 
+    /**
+     * Exports the invoices of all bookings invoiced in a period as a ZIP archive. The archive is written to the
+     * response while it is created, so its size is not known in advance.
+     *
+     * @param from     the first invoice date of the period
+     * @param to       the last invoice date of the period
+     * @param response the response the archive is written to
+     * @throws IOException if the archive can not be written to the response
+     */
+    @Secured("ROLE_ADMIN")
+    @GetMapping("/invoices")
+    public void exportInvoices(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                               HttpServletResponse response) throws IOException {
+        LOGGER.info("GET /api/v1/documents/invoices?from={}&to={}", from, to);
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("The start of the period must not be after its end");
+        }
+        response.setContentType("application/zip");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+            .filename("invoices_" + from + "_" + to + ".zip")
+            .build()
+            .toString());
+        invoiceExportService.exportInvoices(from, to, response.getOutputStream());
+    }
+
+    /**
+     * Gets the passport a guest uploaded when checking in to a booking. The passport is streamed from the store to the
+     * response in chunks, so it is never held in memory as a whole.
+     *
+     * @param bookingId the ID of the booking
+     * @param email     the email of the guest
+     * @return the passport
+     */
     @GetMapping(value = "/passport/{bookingId}/{email}", produces = "application/pdf")
-    public ResponseEntity<byte[]> getPassport(@PathVariable("bookingId") Long bookingId, @PathVariable("email") String email) {
-        // Get the passport as a byte array
-        byte[] passport = checkInService.getPassportByBookingIdAndEmail(bookingId, email);
+    public ResponseEntity<Resource> getPassport(@PathVariable("bookingId") Long bookingId, @PathVariable("email") String email) {
+        Resource passport = checkInService.getPassportByBookingIdAndEmail(bookingId, email);
 
         // Set headers to indicate this is a PDF response
         HttpHeaders headers = new HttpHeaders();
@@ -56,7 +100,6 @@ public class DocumentEndpoint {
             .filename("passport.pdf")
             .build());
 
-        // Return response with passport and headers
         return new ResponseEntity<>(passport, headers, HttpStatus.OK);
     }
 }
@@ -5,6 +5,7 @@ import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.GuestDetailDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.GuestListDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.GuestSearchDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.GuestSignupDto;
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.KeysetPageDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.SimpleGuestDto;
 import at.ac.tuwien.sepr.groupphase.backend.exception.ConflictException;
 import at.ac.tuwien.sepr.groupphase.backend.exception.NotFoundException;
@@ -24,6 +25,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
@@ -153,4 +155,22 @@ public class GuestEndpoint {
         return guestService.search(guestSearchDto, pageable);
     }
 
+    /**
+     * Search for guests one page at a time, continuing after the last guest of the previous page.
+     *
+     * @param guestSearchDto the search criteria
+     * @param cursor         the {@code nextCursor} of the previous page, or {@code null} for the first page
+     * @param size           the maximum number of guests on the page
+     * @return the found guests with the cursor of the following page
+     */
+    @Secured("ROLE_ADMIN")
+    @GetMapping("/search/keyset")
+    @ResponseStatus(HttpStatus.OK)
+    public KeysetPageDto<GuestListDto> searchAfter(GuestSearchDto guestSearchDto,
+                                                   @RequestParam(value = "cursor", required = false) String cursor,
+                                                   @RequestParam(value = "size", defaultValue = "50") int size) {
+        log.info("GET /api/v1/guest/search/keyset with criteria:{} cursor:{}", guestSearchDto, cursor);
+        return guestService.searchAfter(guestSearchDto, cursor, size);
+    }
+
 }
\ No newline at end of file
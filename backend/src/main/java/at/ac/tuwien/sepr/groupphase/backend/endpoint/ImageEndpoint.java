@@ -0,0 +1,42 @@
+package at.ac.tuwien.sepr.groupphase.backend.endpoint;
+
+import at.ac.tuwien.sepr.groupphase.backend.enums.ImageVariant;
+import at.ac.tuwien.sepr.groupphase.backend.service.ImageService;
+import jakarta.annotation.security.PermitAll;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.lang.invoke.MethodHandles;
+
+/**
+ * REST endpoint serving stored images by the SHA-256 hash of their content.
+ */
+@RestController
+@RequestMapping("api/v1/image")
+public class ImageEndpoint {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private final ImageService imageService;
+
+    public ImageEndpoint(ImageService imageService) {
+        this.imageService = imageService;
+    }
+
+    @PermitAll
+    @GetMapping("/{hash}")
+    public ResponseEntity<byte[]> getImage(@PathVariable("hash") String hash,
+                                           @RequestParam(value = "variant", required = false) String variant,
+                                           @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        LOGGER.info("GET /api/v1/image/{}?variant={}", hash, variant);
+        return imageService.getImage(hash, ImageVariant.fromValue(variant), ifNoneMatch);
+    }
+}
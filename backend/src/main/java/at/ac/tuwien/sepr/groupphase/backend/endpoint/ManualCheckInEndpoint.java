@@ -5,13 +5,17 @@ import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.CheckInDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.CheckInStatusDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.CheckOutDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.DetailedBookingDto;
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.GroupCheckInResultDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.GuestListDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.OccupancyDto;
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.RoomOccupancyDto;
 import at.ac.tuwien.sepr.groupphase.backend.exception.ConflictException;
 import at.ac.tuwien.sepr.groupphase.backend.exception.NotFoundException;
 import at.ac.tuwien.sepr.groupphase.backend.exception.ValidationException;
 import at.ac.tuwien.sepr.groupphase.backend.service.BookingService;
 import at.ac.tuwien.sepr.groupphase.backend.service.CheckInService;
+import at.ac.tuwien.sepr.groupphase.backend.service.GroupCheckInService;
+import at.ac.tuwien.sepr.groupphase.backend.service.OccupancyService;
 import at.ac.tuwien.sepr.groupphase.backend.service.UserService;
 import at.ac.tuwien.sepr.groupphase.backend.service.validator.CheckInValidator;
 import jakarta.transaction.Transactional;
@@ -35,6 +39,7 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.lang.invoke.MethodHandles;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1/manual-checkin")
@@ -45,16 +50,22 @@ public class ManualCheckInEndpoint {
     private final BookingService bookingService;
     private final CheckInValidator checkInValidator;
     private final UserService userService;
+    private final OccupancyService occupancyService;
+    private final GroupCheckInService groupCheckInService;
 
     public ManualCheckInEndpoint(
         CheckInService checkInService,
         BookingService bookingService,
         UserService userService,
-        CheckInValidator checkInValidator) {
+        CheckInValidator checkInValidator,
+        OccupancyService occupancyService,
+        GroupCheckInService groupCheckInService) {
         this.checkInService = checkInService;
         this.bookingService = bookingService;
         this.userService = userService;
         this.checkInValidator = checkInValidator;
+        this.occupancyService = occupancyService;
+        this.groupCheckInService = groupCheckInService;
 
     }
 
@@ -73,6 +84,17 @@ public class ManualCheckInEndpoint {
         checkInService.checkIn(checkInDto, passport, email);
     }
 
+    @Secured({"ROLE_ADMIN", "ROLE_RECEPTIONIST"})
+    @PostMapping(path = "/group", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    public List<GroupCheckInResultDto> checkInGroup(
+        @RequestPart("guests") List<AddToRoomDto> guests,
+        @RequestPart(value = "passports", required = false) List<MultipartFile> passports) throws ValidationException, IOException {
+        LOGGER.info("POST /api/v1/manual-checkin/group");
+        LOGGER.debug("request guests: {}, passports: {}", guests.size(), passports != null ? passports.size() : 0);
+        return groupCheckInService.checkInGroup(guests, passports);
+    }
+
     @Secured({"ROLE_ADMIN", "ROLE_RECEPTIONIST"})
     @GetMapping("/{id}/{email}")
     @Transactional
@@ -100,6 +122,14 @@ public class ManualCheckInEndpoint {
         checkInService.checkOut(checkOutDto);
     }
 
+    @Secured({"ROLE_ADMIN", "ROLE_RECEPTIONIST", "ROLE_CLEANING_STAFF"})
+    @GetMapping("/occupancy")
+    @ResponseStatus(HttpStatus.OK)
+    public List<RoomOccupancyDto> getOccupancySnapshot() {
+        LOGGER.info("GET /api/v1/manual-checkin/occupancy");
+        return occupancyService.getOccupancySnapshot();
+    }
+
     @Secured({"ROLE_ADMIN", "ROLE_RECEPTIONIST", "ROLE_CLEANING_STAFF"})
     @GetMapping("/occupancy/{id}")
     @Transactional
@@ -1,5 +1,6 @@
 package at.ac.tuwien.sepr.groupphase.backend.endpoint;
 
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.KeysetPageDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.RoomCreateDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.RoomUpdateDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.RoomListDto;
@@ -7,6 +8,7 @@ import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.DetailedRoomDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.RoomCleaningTimeDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.RoomSearchDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.RoomAdminSearchDto;
+import at.ac.tuwien.sepr.groupphase.backend.enums.ImageVariant;
 import at.ac.tuwien.sepr.groupphase.backend.exception.ConflictException;
 import at.ac.tuwien.sepr.groupphase.backend.exception.NotFoundException;
 import at.ac.tuwien.sepr.groupphase.backend.exception.ValidationException;
@@ -18,6 +20,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -27,6 +30,8 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.RequestPart;
@@ -111,33 +116,44 @@ public class RoomEndpoint {
     @PermitAll
     @GetMapping
     @ResponseStatus(HttpStatus.OK)
-    public Page<RoomListDto> search(RoomSearchDto roomSearchDto, Pageable pageable) throws ValidationException {
+    public Page<RoomListDto> search(RoomSearchDto roomSearchDto, Pageable pageable,
+                                    @RequestParam(value = "inlineImages", defaultValue = "false") boolean inlineImages) throws ValidationException {
         LOGGER.info("GET /api/v1/room with criteria:{}", roomSearchDto);
-        return roomService.search(roomSearchDto, pageable);
+        return roomService.search(roomSearchDto, pageable, inlineImages);
     }
 
     @PermitAll
     @GetMapping("/all")
     @ResponseStatus(HttpStatus.OK)
-    public Page<RoomListDto> findAll(Pageable pageable) {
+    public Page<RoomListDto> findAll(Pageable pageable, @RequestParam(value = "inlineImages", defaultValue = "false") boolean inlineImages) {
         LOGGER.info("GET /api/v1/room/all");
-        return roomService.findAll(pageable);
+        return roomService.findAll(pageable, inlineImages);
+    }
+
+    @PermitAll
+    @GetMapping("/all/keyset")
+    @ResponseStatus(HttpStatus.OK)
+    public KeysetPageDto<RoomListDto> findAllAfter(@RequestParam(value = "cursor", required = false) String cursor,
+                                                   @RequestParam(value = "size", defaultValue = "50") int size) {
+        LOGGER.info("GET /api/v1/room/all/keyset?cursor={}&size={}", cursor, size);
+        return roomService.findAllAfter(cursor, size);
     }
 
     @Secured("ROLE_CLEANING_STAFF")
     @GetMapping("/clean")
     @ResponseStatus(HttpStatus.OK)
-    public Page<RoomListDto> searchForClean(Pageable pageable) {
+    public Page<RoomListDto> searchForClean(Pageable pageable, @RequestParam(value = "inlineImages", defaultValue = "false") boolean inlineImages) {
         LOGGER.info("GET /api/v1/room");
-        return roomService.findAllForClean(pageable);
+        return roomService.findAllForClean(pageable, inlineImages);
     }
 
     @Secured("ROLE_ADMIN")
     @GetMapping("/admin")
     @ResponseStatus(HttpStatus.OK)
-    public Page<RoomListDto> adminSearch(RoomAdminSearchDto roomAdminSearchDto, Pageable pageable) throws ValidationException {
+    public Page<RoomListDto> adminSearch(RoomAdminSearchDto roomAdminSearchDto, Pageable pageable,
+                                         @RequestParam(value = "inlineImages", defaultValue = "false") boolean inlineImages) throws ValidationException {
         LOGGER.info("GET /api/v1/room/admin");
-        return roomService.adminSearch(roomAdminSearchDto, pageable);
+        return roomService.adminSearch(roomAdminSearchDto, pageable, inlineImages);
     }
 
     @PermitAll
@@ -151,9 +167,11 @@ public class RoomEndpoint {
 
     @PermitAll
     @GetMapping("/image/{id}")
-    public ResponseEntity<byte[]> getMainImage(@PathVariable("id") Long id) {
-        LOGGER.info("GET /api/v1/room/image/{}", id);
-        return roomService.getMainImage(id);
+    public ResponseEntity<byte[]> getMainImage(@PathVariable("id") Long id,
+                                               @RequestParam(value = "variant", required = false) String variant,
+                                               @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        LOGGER.info("GET /api/v1/room/image/{}?variant={}", id, variant);
+        return roomService.getMainImage(id, ImageVariant.fromValue(variant), ifNoneMatch);
     }
 
     @Secured("ROLE_ADMIN")
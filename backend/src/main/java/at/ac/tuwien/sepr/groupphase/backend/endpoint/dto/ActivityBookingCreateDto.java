@@ -1,10 +1,26 @@
 package at.ac.tuwien.sepr.groupphase.backend.endpoint.dto;
 
 import java.time.LocalDate;
+import java.time.LocalTime;
 
+/**
+ * The booking of a slot of an activity.
+ *
+ * <p>Slots that have not been booked yet have no ID, so they are identified by their date and start time instead.</p>
+ *
+ * @param activityId     the ID of the activity
+ * @param activitySlotId the ID of the slot, or {@code null} if the slot has not been booked yet
+ * @param slotDate       the date of the slot, used if it has no ID
+ * @param slotStartTime  the start time of the slot, used if it has no ID
+ * @param bookingDate    the date of the booking
+ * @param participants   the number of participants
+ * @param userEmail      the email of the guest booking the slot
+ */
 public record ActivityBookingCreateDto(
     Long activityId,
     Long activitySlotId,
+    LocalDate slotDate,
+    LocalTime slotStartTime,
     LocalDate bookingDate,
     Integer participants,
     String userEmail
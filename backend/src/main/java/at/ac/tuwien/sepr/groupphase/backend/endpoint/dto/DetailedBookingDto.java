@@ -21,6 +21,8 @@ import java.time.LocalDate;
  * @param bookingDate the date when the booking was made
  * @param totalAmount the total amount of the booking, including any applicable fees
  * @param numberOfNights the total number of nights booked
+ * @param paymentId the ID of the Stripe payment of the booking
+ * @param documentStatus the state of the confirmation and invoice documents, {@code null} if they are not generated in the background
  */
 public record DetailedBookingDto(
     Long id,
@@ -36,7 +38,8 @@ public record DetailedBookingDto(
     LocalDate bookingDate,
     Double totalAmount,
     Integer numberOfNights,
-    String paymentId
+    String paymentId,
+    String documentStatus
 ) {
 }
 
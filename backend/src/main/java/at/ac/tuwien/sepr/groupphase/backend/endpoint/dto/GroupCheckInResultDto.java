@@ -0,0 +1,21 @@
+package at.ac.tuwien.sepr.groupphase.backend.endpoint.dto;
+
+import java.util.List;
+
+/**
+ * A data transfer object for the outcome of checking in one guest of a group.
+ *
+ * @param index the position of the guest in the group, starting at 0.
+ * @param bookingId the ID of the booking the guest was checked into.
+ * @param email the email of the guest.
+ * @param checkedIn whether the guest has been checked in.
+ * @param errors the reasons the guest has not been checked in, empty if the guest has been checked in.
+ */
+public record GroupCheckInResultDto(
+    int index,
+    Long bookingId,
+    String email,
+    boolean checkedIn,
+    List<String> errors
+) {
+}
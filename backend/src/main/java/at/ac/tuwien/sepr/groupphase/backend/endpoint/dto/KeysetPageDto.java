@@ -0,0 +1,35 @@
+package at.ac.tuwien.sepr.groupphase.backend.endpoint.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Data transfer object for one page of a listing that is paginated by keyset instead of by page number.
+ *
+ * @param content    the rows of the page.
+ * @param nextCursor the opaque token to request the following page with, or {@code null} if this is the last page.
+ * @param <T>        the type of the rows.
+ */
+public record KeysetPageDto<T>(
+    List<T> content,
+    String nextCursor
+) {
+
+    /**
+     * Builds a page from rows that were queried with a limit of one more than the page size, so the extra row tells
+     * whether there is a following page without a separate count query.
+     *
+     * @param rows     up to {@code size + 1} rows in listing order
+     * @param size     the requested page size
+     * @param mapper   maps a row to its DTO
+     * @param cursorOf builds the cursor of a row
+     * @param <E>      the type of the queried rows
+     * @param <T>      the type of the rows of the page
+     * @return the page
+     */
+    public static <E, T> KeysetPageDto<T> of(List<E> rows, int size, Function<E, T> mapper, Function<E, String> cursorOf) {
+        List<E> page = rows.size() > size ? rows.subList(0, size) : rows;
+        String nextCursor = rows.size() > size ? cursorOf.apply(page.getLast()) : null;
+        return new KeysetPageDto<>(page.stream().map(mapper).toList(), nextCursor);
+    }
+}
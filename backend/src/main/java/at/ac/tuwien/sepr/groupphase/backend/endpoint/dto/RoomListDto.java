@@ -15,8 +15,9 @@ import java.time.LocalDateTime;
  * @param name the name of the room.
  * @param price the price of the room.
  * @param capacity the capacity of the room, representing the number of people it can accommodate.
- * @param mainImage the URL or identifier for the main image of the room.
+ * @param mainImage the Base64 encoded main image of the room, only set if inline images were requested.
  * @param lastCleanedAt the DateTime of the last cleaning.
+ * @param mainImageUrl the path the card sized main image of the room can be loaded from, or {@code null} if the room has no main image.
  */
 public record RoomListDto(
     Long id,
@@ -26,6 +27,7 @@ public record RoomListDto(
     LocalDateTime lastCleanedAt,
     LocalDateTime cleaningTimeFrom,
     LocalDateTime cleaningTimeTo,
-    String mainImage
+    String mainImage,
+    String mainImageUrl
 ) {}
 
@@ -0,0 +1,31 @@
+package at.ac.tuwien.sepr.groupphase.backend.endpoint.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * A data transfer object for transmitting the occupancy of a room as shown on the front desk dashboard.
+ *
+ * @param roomId           the ID of the room.
+ * @param roomName         the name of the room.
+ * @param capacity         the number of guests the room has space for.
+ * @param status           "occupied" if at least one guest is checked in to the room, "not-occupied" otherwise.
+ * @param bookingId        the ID of the booking the room is occupied or booked by today, or {@code null} if there is none.
+ * @param ownerEmail       the email of the guest who made that booking, or {@code null} if there is none.
+ * @param checkedIn        the number of guests currently checked in to the room.
+ * @param lastCleanedAt    the point in time the room was last cleaned.
+ * @param cleaningTimeFrom the start of the preferred cleaning time, or {@code null} if none is set.
+ * @param cleaningTimeTo   the end of the preferred cleaning time, or {@code null} if none is set.
+ */
+public record RoomOccupancyDto(
+    Long roomId,
+    String roomName,
+    int capacity,
+    String status,
+    Long bookingId,
+    String ownerEmail,
+    long checkedIn,
+    LocalDateTime lastCleanedAt,
+    LocalDateTime cleaningTimeFrom,
+    LocalDateTime cleaningTimeTo
+) {
+}
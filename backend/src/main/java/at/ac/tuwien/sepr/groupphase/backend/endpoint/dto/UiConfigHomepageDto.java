@@ -4,12 +4,14 @@ import java.util.List;
 
 /**
  * A DTO for the UI configuration homepage.
+ *
+ * @param imageUrls the paths the full size variants of the homepage images can be loaded from.
  */
 public record UiConfigHomepageDto(
     String hotelName,
     String descriptionShort,
     String description,
     String address,
-    List<String> images
+    List<String> imageUrls
 ) {
 }
@@ -7,6 +7,7 @@ import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.ActivityTimeslotInfoDto
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.DetailedActivityDto;
 import at.ac.tuwien.sepr.groupphase.backend.entity.Activity;
 import at.ac.tuwien.sepr.groupphase.backend.entity.ActivityImage;
+import at.ac.tuwien.sepr.groupphase.backend.entity.ImageBlob;
 
 import at.ac.tuwien.sepr.groupphase.backend.entity.ActivitySlot;
 import at.ac.tuwien.sepr.groupphase.backend.entity.ActivityTimeslotInfo;
@@ -15,9 +16,7 @@ import org.mapstruct.Mapper;
 import org.mapstruct.Named;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
-import org.springframework.web.multipart.MultipartFile;
 
-import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Base64;
@@ -75,13 +74,13 @@ public interface ActivityMapper {
         }
 
         String mainImage = (activity.getMainImage() != null)
-            ? Base64.getEncoder().encodeToString(activity.getMainImage())
+            ? Base64.getEncoder().encodeToString(activity.getMainImage().getData())
             : null;
 
         List<String> additionalImages = Optional.ofNullable(activity.getAdditionalImages())
             .orElse(Collections.emptyList())
             .stream()
-            .map(image -> Base64.getEncoder().encodeToString(image.getData()))
+            .map(image -> Base64.getEncoder().encodeToString(image.getImage().getData()))
             .collect(Collectors.toList());
 
         List<ActivityTimeslotInfoDto> timeslotInfoDtos = Optional.ofNullable(activity.getActivityTimeslotInfos())
@@ -109,7 +108,7 @@ public interface ActivityMapper {
         );
     }
 
-    default Activity activityCreateDtoToActivity(ActivityCreateDto activityDto, MultipartFile mainImage, List<MultipartFile> additionalImages, List<ActivityTimeslotInfoDto> timeslotsDto) throws IOException {
+    default Activity activityCreateDtoToActivity(ActivityCreateDto activityDto, ImageBlob mainImage, List<ImageBlob> additionalImages, List<ActivityTimeslotInfoDto> timeslotsDto) {
         if (activityDto == null) {
             return null;
         }
@@ -121,38 +120,43 @@ public interface ActivityMapper {
         activity.setCapacity(activityDto.capacity());
         activity.setCategories(activityDto.categories());
 
-        if (mainImage != null && !mainImage.isEmpty()) {
-            activity.setMainImage(mainImage.getBytes());
-        }
+        activity.setMainImage(mainImage);
 
         if (additionalImages != null) {
             List<ActivityImage> images = new ArrayList<>();
-            for (MultipartFile image : additionalImages) {
+            for (ImageBlob image : additionalImages) {
                 ActivityImage activityImage = new ActivityImage();
-                activityImage.setData(image.getBytes());
+                activityImage.setImage(image);
                 images.add(activityImage);
             }
             activity.setAdditionalImages(images);
         }
 
         if (timeslotsDto != null) {
-            List<ActivityTimeslotInfo> timeslots = timeslotsDto
-                .stream()
-                .map(dto -> {
-                    ActivityTimeslotInfo timeslot = new ActivityTimeslotInfo();
-                    timeslot.setDayOfWeek(dto.dayOfWeek());
-                    timeslot.setStartTime(dto.startTime());
-                    timeslot.setEndTime(dto.endTime());
-                    timeslot.setSpecificDate(dto.specificDate());
-                    return timeslot;
-                })
-                .collect(Collectors.toList());
-            activity.setActivityTimeslotInfos(timeslots);
+            activity.setActivityTimeslotInfos(timeslotInfoDtosToTimeslotInfos(timeslotsDto));
         }
 
         return activity;
     }
 
+    default List<ActivityTimeslotInfo> timeslotInfoDtosToTimeslotInfos(List<ActivityTimeslotInfoDto> timeslotsDto) {
+        if (timeslotsDto == null) {
+            return null;
+        }
+
+        return timeslotsDto
+            .stream()
+            .map(dto -> {
+                ActivityTimeslotInfo timeslot = new ActivityTimeslotInfo();
+                timeslot.setDayOfWeek(dto.dayOfWeek());
+                timeslot.setStartTime(dto.startTime());
+                timeslot.setEndTime(dto.endTime());
+                timeslot.setSpecificDate(dto.specificDate());
+                return timeslot;
+            })
+            .collect(Collectors.toList());
+    }
+
     default Page<ActivitySlotDto> activitySlotPageToDtoPage(Page<ActivitySlot> activitySlotPage) {
         if (activitySlotPage == null) {
             return null;
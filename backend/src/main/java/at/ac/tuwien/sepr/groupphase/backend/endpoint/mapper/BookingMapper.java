@@ -8,6 +8,7 @@ import at.ac.tuwien.sepr.groupphase.backend.entity.ApplicationUser;
 import at.ac.tuwien.sepr.groupphase.backend.entity.Booking;
 import at.ac.tuwien.sepr.groupphase.backend.entity.Guest;
 import at.ac.tuwien.sepr.groupphase.backend.entity.Room;
+import at.ac.tuwien.sepr.groupphase.backend.repository.projection.EmployeeBookingRow;
 import at.ac.tuwien.sepr.groupphase.backend.service.UserService;
 import org.mapstruct.IterableMapping;
 import org.mapstruct.Mapper;
@@ -44,7 +45,8 @@ public interface BookingMapper {
             booking.getBookingDate(),
             booking.getTotalAmount(),
             booking.getNumberOfNights(),
-            booking.getStripePaymentIntentId()
+            booking.getStripePaymentIntentId(),
+            booking.getDocumentStatus() != null ? booking.getDocumentStatus().name() : null
         );
     }
 
@@ -66,11 +68,8 @@ public interface BookingMapper {
 
         Room room = booking.getRoom();
         ApplicationUser user = booking.getUser();
-        boolean isActive = LocalDate.now().isEqual(booking.getStartDate())
-            || LocalDate.now().isEqual(booking.getEndDate())
-            || (LocalDate.now().isAfter(booking.getStartDate()) && LocalDate.now().isBefore(booking.getEndDate()));
-        long daysBooked = java.time.temporal.ChronoUnit.DAYS.between(booking.getStartDate(), booking.getEndDate());
-        double totalPrice = daysBooked * booking.getRoom().getPrice();
+        boolean isActive = Booking.isActiveOn(LocalDate.now(), booking.getStartDate(), booking.getEndDate());
+        double totalPrice = Booking.netAmountOf(booking.getRoom().getPrice(), booking.getStartDate(), booking.getEndDate());
 
 
         String firstName = null;
@@ -127,6 +126,51 @@ public interface BookingMapper {
         );
     }
 
+    /**
+     * Maps a row of the employee booking list to the same DTO {@link #bookingToEmployeeBookingDto(Booking)} returns
+     * for the booking, without loading the booking, its room or its guest.
+     *
+     * @param row the row of the booking
+     * @return the DTO of the booking
+     */
+    default EmployeeBookingDto employeeBookingRowToEmployeeBookingDto(EmployeeBookingRow row) {
+        if (row == null) {
+            return null;
+        }
+
+        boolean isGuest = row.getGuestId() != null;
+
+        return new EmployeeBookingDto(
+            row.getId(),
+            row.getRoomId(),
+            row.getUserId(),
+            row.getStartDate(),
+            row.getEndDate(),
+            row.getRoomName(),
+            row.getEmail(),
+            Booking.netAmountOf(row.getRoomPrice(), row.getStartDate(), row.getEndDate()),
+            Booking.isActiveOn(LocalDate.now(), row.getStartDate(), row.getEndDate()),
+            row.getFirstName(),
+            row.getLastName(),
+            row.getAddress(),
+            isGuest ? String.valueOf(row.getDateOfBirth()) : null,
+            row.getNationality() != null ? row.getNationality().name() : null,
+            row.getPassportNumber(),
+            row.getPhoneNumber(),
+            isGuest ? String.valueOf(row.getGender()) : null,
+            row.getPlaceOfBirth(),
+            row.getCapacity(),
+            row.getLastCleanedAt(),
+            row.getPaid(),
+            row.getStatus().name(),
+            row.getBookingNumber(),
+            row.getBookingDate(),
+            Booking.totalAmountOf(row.getRoomPrice(), row.getStartDate(), row.getEndDate()),
+            row.getNumberOfNights(),
+            row.getStripePaymentIntentId()
+        );
+    }
+
     @IterableMapping(qualifiedByName = "employeeBooking")
     default List<EmployeeBookingDto> bookingsToEmployeeBookingDtos(List<Booking> bookings) {
         if (bookings == null) {
@@ -7,21 +7,20 @@ import at.ac.tuwien.sepr.groupphase.backend.entity.Booking;
 import at.ac.tuwien.sepr.groupphase.backend.entity.CheckIn;
 import at.ac.tuwien.sepr.groupphase.backend.entity.ApplicationUser;
 import at.ac.tuwien.sepr.groupphase.backend.entity.CheckOut;
+import at.ac.tuwien.sepr.groupphase.backend.entity.StayState;
 import org.mapstruct.Mapper;
-import org.springframework.web.multipart.MultipartFile;
 
-import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Mapper
 public interface CheckInMapper {
-    default CheckIn checkInDtoToCheckIn(CheckInDto checkInDto, Booking booking, ApplicationUser guest, MultipartFile passport) throws IOException {
-        if (checkInDto == null || booking == null || guest == null || passport == null) {
+    default CheckIn checkInDtoToCheckIn(CheckInDto checkInDto, Booking booking, ApplicationUser guest, String passportRef) {
+        if (checkInDto == null || booking == null || guest == null || passportRef == null) {
             return null;
         }
 
-        return new CheckIn(booking, LocalDateTime.now(), guest, passport.getBytes());
+        return new CheckIn(booking, LocalDateTime.now(), guest, passportRef);
     }
 
     default CheckOut checkOutDtoToCheckOut(CheckOutDto checkOutDto, Booking booking, ApplicationUser guest) {
@@ -50,4 +49,23 @@ public interface CheckInMapper {
             .map(this::checkInToCheckInStatusDto)
             .toList();
     }
+
+    default CheckInStatusDto stayStateToCheckInStatusDto(StayState stayState) {
+        if (stayState == null) {
+            return null;
+        }
+        if (stayState.isCheckedOut()) {
+            return new CheckInStatusDto(stayState.getBookingId(), "invalid");  // for handling bookings where the guest had already checked in
+        }
+        return new CheckInStatusDto(stayState.getBookingId(), stayState.getGuest().getEmail());
+    }
+
+    default List<CheckInStatusDto> stayStatesToCheckInStatusDtos(List<StayState> stayStates) {
+        if (stayStates == null || stayStates.isEmpty()) {
+            return List.of();
+        }
+        return stayStates.stream()
+            .map(this::stayStateToCheckInStatusDto)
+            .toList();
+    }
 }
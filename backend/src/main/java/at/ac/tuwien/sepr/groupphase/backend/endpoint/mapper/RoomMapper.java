@@ -4,14 +4,16 @@ import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.DetailedRoomDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.RoomCreateDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.RoomListDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.RoomUpdateDto;
+import at.ac.tuwien.sepr.groupphase.backend.entity.ImageBlob;
 import at.ac.tuwien.sepr.groupphase.backend.entity.Room;
 import at.ac.tuwien.sepr.groupphase.backend.entity.RoomImage;
+import at.ac.tuwien.sepr.groupphase.backend.enums.ImageVariant;
+import at.ac.tuwien.sepr.groupphase.backend.repository.projection.RoomSummary;
 import org.mapstruct.IterableMapping;
 import org.mapstruct.Mapper;
 import org.mapstruct.Named;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
-import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.time.LocalDateTime;
@@ -24,6 +26,10 @@ import java.util.stream.Collectors;
 
 @Mapper
 public interface RoomMapper {
+
+    String IMAGE_PATH = "/api/v1/image/";
+    String CARD_VARIANT = "?variant=" + ImageVariant.CARD.getValue();
+
     @Named("roomList")
     default RoomListDto roomToRoomListDto(Room room) {
         if (room == null) {
@@ -42,7 +48,8 @@ public interface RoomMapper {
             room.getLastCleanedAt(),
             room.getCleaningTimeFrom(),
             room.getCleaningTimeTo(),
-            mainImage
+            mainImage,
+            room.getMainImage() != null ? IMAGE_PATH + room.getMainImage().getHash() + CARD_VARIANT : null
         );
     }
 
@@ -54,19 +61,50 @@ public interface RoomMapper {
         return rooms.map(this::roomToRoomListDto);
     }
 
+    /**
+     * Maps a {@link RoomSummary} to a {@link RoomListDto} that references the main image by URL instead of inlining it.
+     *
+     * @param room the image-free room projection
+     * @return the list DTO, without inline main image
+     */
+    default RoomListDto roomSummaryToRoomListDto(RoomSummary room) {
+        if (room == null) {
+            return null;
+        }
+
+        return new RoomListDto(
+            room.getId(),
+            room.getName(),
+            room.getPrice(),
+            room.getCapacity(),
+            room.getLastCleanedAt(),
+            room.getCleaningTimeFrom(),
+            room.getCleaningTimeTo(),
+            null,
+            room.getMainImageHash() != null ? IMAGE_PATH + room.getMainImageHash() + CARD_VARIANT : null
+        );
+    }
+
+    default Page<RoomListDto> roomSummaryToRoomListDto(Page<RoomSummary> rooms) {
+        if (rooms == null) {
+            return Page.empty();
+        }
+        return rooms.map(this::roomSummaryToRoomListDto);
+    }
+
     default DetailedRoomDto roomToDetailedRoomDto(Room room, Long smartLockId) {
         if (room == null) {
             return null;
         }
 
         String mainImage = (room.getMainImage() != null)
-            ? Base64.getEncoder().encodeToString(room.getMainImage())
+            ? Base64.getEncoder().encodeToString(room.getMainImage().getData())
             : null;
 
         List<String> additionalImages = Optional.ofNullable(room.getAdditionalImages())
             .orElse(Collections.emptyList())
             .stream()
-            .map(image -> Base64.getEncoder().encodeToString(image.getData()))
+            .map(image -> Base64.getEncoder().encodeToString(image.getImage().getData()))
             .collect(Collectors.toList());
 
         return new DetailedRoomDto(
@@ -81,7 +119,7 @@ public interface RoomMapper {
         );
     }
 
-    default Room roomCreateDtoToRoom(RoomCreateDto roomDto, MultipartFile mainImage, List<MultipartFile> additionalImages) throws IOException {
+    default Room roomCreateDtoToRoom(RoomCreateDto roomDto, ImageBlob mainImage, List<ImageBlob> additionalImages) {
         if (roomDto == null) {
             return null;
         }
@@ -96,15 +134,13 @@ public interface RoomMapper {
 
         room.setLastCleanedAt(LocalDateTime.now());
 
-        if (mainImage != null && !mainImage.isEmpty()) {
-            room.setMainImage(mainImage.getBytes());
-        }
+        room.setMainImage(mainImage);
 
         if (additionalImages != null) {
             List<RoomImage> images = new ArrayList<>();
-            for (MultipartFile image : additionalImages) {
+            for (ImageBlob image : additionalImages) {
                 RoomImage roomImage = new RoomImage();
-                roomImage.setData(image.getBytes());
+                roomImage.setImage(image);
                 images.add(roomImage);
             }
             room.setAdditionalImages(images);
@@ -125,12 +161,12 @@ public interface RoomMapper {
         room.setDescription(detailedRoomDto.description());
         room.setPrice(detailedRoomDto.price());
         room.setCapacity(detailedRoomDto.capacity());
-        room.setMainImage(Base64.getDecoder().decode(detailedRoomDto.mainImage()));
+        room.setMainImage(ImageBlob.of(Base64.getDecoder().decode(detailedRoomDto.mainImage())));
         if (detailedRoomDto.additionalImages() != null) {
             List<RoomImage> images = new ArrayList<>();
             for (String image : detailedRoomDto.additionalImages()) {
                 RoomImage roomImage = new RoomImage();
-                roomImage.setData(Base64.getDecoder().decode(image));
+                roomImage.setImage(ImageBlob.of(Base64.getDecoder().decode(image)));
                 images.add(roomImage);
             }
             room.setAdditionalImages(images);
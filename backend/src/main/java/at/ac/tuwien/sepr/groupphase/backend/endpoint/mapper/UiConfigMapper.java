@@ -3,6 +3,7 @@ package at.ac.tuwien.sepr.groupphase.backend.endpoint.mapper;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.DetailedUiConfigDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.UiConfigHomepageDto;
 import at.ac.tuwien.sepr.groupphase.backend.entity.UiConfig;
+import at.ac.tuwien.sepr.groupphase.backend.enums.ImageVariant;
 import org.mapstruct.Mapper;
 
 import java.util.Base64;
@@ -16,6 +17,8 @@ import java.util.Optional;
 @Mapper
 public interface UiConfigMapper {
 
+    String FULL_IMAGE_PATH = "/api/v1/image/%s?variant=" + ImageVariant.FULL.getValue();
+
     /**
      * Maps a UiConfig entity to a DetailedUiConfigDto.
      *
@@ -30,7 +33,7 @@ public interface UiConfigMapper {
         List<String> uiImages = Optional.ofNullable(uiConfig.getImages())
             .orElse(Collections.emptyList())
             .stream()
-            .map(image -> Base64.getEncoder().encodeToString(image.getData()))
+            .map(image -> Base64.getEncoder().encodeToString(image.getImage().getData()))
             .toList();
 
         return new DetailedUiConfigDto(
@@ -62,10 +65,10 @@ public interface UiConfigMapper {
             return null;
         }
 
-        List<String> uiImages = Optional.ofNullable(uiConfig.getImages())
+        List<String> imageUrls = Optional.ofNullable(uiConfig.getImages())
             .orElse(Collections.emptyList())
             .stream()
-            .map(image -> Base64.getEncoder().encodeToString(image.getData()))
+            .map(image -> FULL_IMAGE_PATH.formatted(image.getImage().getHash()))
             .toList();
 
         return new UiConfigHomepageDto(
@@ -73,7 +76,7 @@ public interface UiConfigMapper {
             uiConfig.getDescriptionShort(),
             uiConfig.getDescription(),
             uiConfig.getAddress(),
-            uiImages
+            imageUrls
         );
     }
 }
@@ -1,8 +1,10 @@
 package at.ac.tuwien.sepr.groupphase.backend.entity;
 
+import at.ac.tuwien.sepr.groupphase.backend.entity.listener.ActivityRecommendationListener;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -10,7 +12,7 @@ import jakarta.persistence.Column;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.JoinColumn;
-import jakarta.persistence.Lob;
+import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -23,6 +25,7 @@ import java.util.List;
 import java.util.Objects;
 
 @Entity
+@EntityListeners(ActivityRecommendationListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -56,8 +59,9 @@ public class Activity {
     @JoinColumn(name = "activity_id")
     private List<ActivityTimeslotInfo> activityTimeslotInfos;
 
-    @Lob
-    private byte[] mainImage;
+    @ManyToOne
+    @JoinColumn(name = "main_image_hash")
+    private ImageBlob mainImage;
 
     @Column(nullable = false, length = 1000)
     private String categories;
@@ -111,7 +115,7 @@ public class Activity {
         private int capacity;
         private double price;
         private String description;
-        private byte[] mainImage;
+        private ImageBlob mainImage;
         private LocalDateTime createdAt;
         private List<ActivitySlot> timeslots;
         private List<ActivityTimeslotInfo> timeslotInfos;
@@ -150,7 +154,7 @@ public class Activity {
             return this;
         }
 
-        public Activity.ActivityBuilder withMainImage(byte[] mainImage) {
+        public Activity.ActivityBuilder withMainImage(ImageBlob mainImage) {
             this.mainImage = mainImage;
             return this;
         }
@@ -191,7 +195,7 @@ public class Activity {
     }
 
     public String getMainImageAsString() {
-        return Base64.getEncoder().encodeToString(mainImage);
+        return Base64.getEncoder().encodeToString(mainImage.getData());
     }
 
 }
@@ -4,7 +4,8 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
-import jakarta.persistence.Lob;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.JoinColumn;
 import jakarta.persistence.Column;
 import lombok.Getter;
 import lombok.Setter;
@@ -18,8 +19,9 @@ public class ActivityImage {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Lob
-    private byte[] data;
+    @ManyToOne
+    @JoinColumn(name = "image_hash", nullable = false)
+    private ImageBlob image;
 
     @Column(nullable = true, length = 100)
     private String altText;
@@ -7,17 +7,28 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
-import lombok.AllArgsConstructor;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
 
+/**
+ * A slot of an activity that has been booked, with the places taken in it.
+ *
+ * <p>Slots are computed from the {@link ActivityTimeslotInfo} rules of their activity, and only stored once they are
+ * booked, so there is at most one row per activity and start.</p>
+ *
+ * <p>The places taken are only changed by the conditional updates of the {@code ActivitySlotRepository}, so that
+ * concurrent bookings cannot overbook a slot. The version guards any other write against a concurrent reservation.</p>
+ */
 @NoArgsConstructor
-@AllArgsConstructor
 @Data
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_activity_slot_activity_start", columnNames = {"activity_id", "date", "start_time"}))
 public class ActivitySlot {
 
     @Id
@@ -42,4 +53,17 @@ public class ActivitySlot {
 
     @Column(name = "occupied", nullable = false)
     private int occupied;
+
+    @Version
+    private Long version;
+
+    public ActivitySlot(Long id, Activity activity, LocalDate date, LocalTime startTime, LocalTime endTime, int capacity, int occupied) {
+        this.id = id;
+        this.activity = activity;
+        this.date = date;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.capacity = capacity;
+        this.occupied = occupied;
+    }
 }
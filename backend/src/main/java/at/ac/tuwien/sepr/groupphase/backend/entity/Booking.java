@@ -9,21 +9,35 @@ import jakarta.persistence.ManyToOne;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.Column;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.UUID;
 import at.ac.tuwien.sepr.groupphase.backend.enums.BookingStatus;
+import at.ac.tuwien.sepr.groupphase.backend.enums.DocumentStatus;
+import at.ac.tuwien.sepr.groupphase.backend.entity.listener.BookingAvailabilityListener;
+import at.ac.tuwien.sepr.groupphase.backend.entity.listener.OccupancyChangeListener;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 
 @Entity
+@EntityListeners({BookingAvailabilityListener.class, OccupancyChangeListener.class})
+@Table(indexes = {
+    @Index(name = "idx_booking_listing", columnList = "statusRank, startDate, id"),
+    @Index(name = "idx_booking_hold", columnList = "holdExpiresAt"),
+    @Index(name = "idx_booking_documents", columnList = "documentStatus, documentNextAttemptAt"),
+    @Index(name = "idx_booking_invoice", columnList = "invoiceDate, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -54,6 +68,13 @@ public class Booking {
     @Enumerated(EnumType.STRING)
     private BookingStatus status;
 
+    /**
+     * Position of the status in the employee booking list, which shows active bookings first.
+     * It is stored next to the status, so the list can be read in index order.
+     */
+    @Column(nullable = false)
+    private int statusRank;
+
     @Column
     private LocalDate cancellationDate;
 
@@ -81,10 +102,40 @@ public class Booking {
     @Column(nullable = false)
     private Integer numberOfNights;
 
+    /**
+     * End of the tentative hold of a booking that waits for its online payment, or {@code null} if the booking is not
+     * a hold. Once this point in time has passed, the room is sellable again, even before the booking is cancelled by
+     * the {@link at.ac.tuwien.sepr.groupphase.backend.service.impl.BookingHoldSweeper}.
+     */
+    @Column
+    private LocalDateTime holdExpiresAt;
+
+    /**
+     * State of the confirmation documents, or {@code null} for bookings whose documents are not generated by the
+     * {@link at.ac.tuwien.sepr.groupphase.backend.service.impl.BookingDocumentWorker}.
+     * The document columns are only written by the worker, with single-column updates, so they never overwrite
+     * concurrent changes to the booking itself.
+     */
+    @Enumerated(EnumType.STRING)
+    private DocumentStatus documentStatus;
+
+    @Column(nullable = false)
+    private int documentAttempts;
+
+    /**
+     * Point in time from which the documents may be (re)tried. While a worker processes them, this is the end of its lease.
+     */
+    @Column
+    private LocalDateTime documentNextAttemptAt;
+
+    @Column(length = 500)
+    private String documentError;
+
     @PrePersist
     @PreUpdate
     public void updateStatus() {
         if (this.status == BookingStatus.CANCELLED) {
+            this.statusRank = rankOf(this.status);
             return;
         }
 
@@ -96,6 +147,7 @@ public class Booking {
         } else {
             this.status = BookingStatus.PENDING;
         }
+        this.statusRank = rankOf(this.status);
 
         if (this.invoiceNumber == null) {
             this.invoiceNumber = generateInvoiceNumber();
@@ -113,18 +165,73 @@ public class Booking {
         }
     }
 
+    /**
+     * Checks whether this booking is a hold that has expired at the given point in time.
+     *
+     * @param now the current point in time
+     * @return true if the hold of this booking has expired
+     */
+    public boolean isHoldExpired(LocalDateTime now) {
+        return holdExpiresAt != null && !holdExpiresAt.isAfter(now);
+    }
+
     public Double getTotalAmount() {
-        long days = ChronoUnit.DAYS.between(startDate, endDate);
-        double netAmount = room.getPrice() * days;
+        return totalAmountOf(room.getPrice(), startDate, endDate);
+    }
+
+    /**
+     * Returns the total amount, including taxes, of a stay in a room with the given price per night.
+     *
+     * @param price     the price per night
+     * @param startDate the first day of the stay
+     * @param endDate   the last day of the stay
+     * @return the total amount of the stay
+     */
+    public static double totalAmountOf(double price, LocalDate startDate, LocalDate endDate) {
+        double netAmount = netAmountOf(price, startDate, endDate);
         double taxAmount = netAmount * 0.10;
         return netAmount + taxAmount;
     }
 
+    /**
+     * Returns the amount, without taxes, of a stay in a room with the given price per night.
+     *
+     * @param price     the price per night
+     * @param startDate the first day of the stay
+     * @param endDate   the last day of the stay
+     * @return the price of all nights of the stay
+     */
+    public static double netAmountOf(double price, LocalDate startDate, LocalDate endDate) {
+        return ChronoUnit.DAYS.between(startDate, endDate) * price;
+    }
+
+    /**
+     * Checks whether a stay is active on the given day, i.e. the day lies between its first and last day, inclusive.
+     *
+     * @param day       the day to check
+     * @param startDate the first day of the stay
+     * @param endDate   the last day of the stay
+     * @return true if the stay is active on the day
+     */
+    public static boolean isActiveOn(LocalDate day, LocalDate startDate, LocalDate endDate) {
+        return !day.isBefore(startDate) && !day.isAfter(endDate);
+    }
+
     private Double calculateTaxAmount() {
         double netAmount = getTotalAmount() / 1.10;  // Assuming 10% tax rate
         return getTotalAmount() - netAmount;
     }
 
+    /**
+     * Returns the rank bookings with the given status are listed by, active bookings first.
+     *
+     * @param status the status of a booking
+     * @return the rank of the status
+     */
+    public static int rankOf(BookingStatus status) {
+        return status == BookingStatus.ACTIVE ? 1 : 2;
+    }
+
     public String generateBookingNumber() {
         return "BOOK-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
     }
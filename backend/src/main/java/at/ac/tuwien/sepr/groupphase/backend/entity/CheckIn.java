@@ -1,13 +1,16 @@
 package at.ac.tuwien.sepr.groupphase.backend.entity;
 
+import at.ac.tuwien.sepr.groupphase.backend.entity.listener.OccupancyChangeListener;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
-import jakarta.persistence.Lob;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -15,13 +18,18 @@ import lombok.Setter;
 import java.time.LocalDateTime;
 
 @Entity
+@EntityListeners(OccupancyChangeListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
 public class CheckIn {
 
+    /**
+     * Drawn from a sequence rather than an identity column, so the check-ins of a group can be inserted in JDBC batches.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "check_in_seq")
+    @SequenceGenerator(name = "check_in_seq", sequenceName = "check_in_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -34,14 +42,17 @@ public class CheckIn {
 
     private LocalDateTime date;
 
-    @Lob
-    private byte[] passport;
+    /**
+     * Reference of the uploaded passport in the {@link at.ac.tuwien.sepr.groupphase.backend.service.PassportStorageService}.
+     */
+    @Column(length = 64)
+    private String passportRef;
 
-    public CheckIn(Booking booking, LocalDateTime date, ApplicationUser guest, byte[] passport) {
+    public CheckIn(Booking booking, LocalDateTime date, ApplicationUser guest, String passportRef) {
         this.booking = booking;
         this.date = date;
         this.guest = guest;
-        this.passport = passport;
+        this.passportRef = passportRef;
     }
 
     // Instance-level getter for booking ID
@@ -64,7 +75,7 @@ public class CheckIn {
         private Booking booking;
         private LocalDateTime date;
         private ApplicationUser guest;
-        private byte[] passport;
+        private String passportRef;
 
         private CheckInBuilder() {
         }
@@ -93,13 +104,13 @@ public class CheckIn {
             return this;
         }
 
-        public CheckInBuilder withPassport(byte[] passport) {
-            this.passport = passport;
+        public CheckInBuilder withPassportRef(String passportRef) {
+            this.passportRef = passportRef;
             return this;
         }
 
         public CheckIn build() {
-            CheckIn checkIn = new CheckIn(booking, date, guest, passport);
+            CheckIn checkIn = new CheckIn(booking, date, guest, passportRef);
             checkIn.setId(id);  // Set the ID if available
             return checkIn;
         }
@@ -0,0 +1,141 @@
+package at.ac.tuwien.sepr.groupphase.backend.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Objects;
+
+/**
+ * Image content shared by rooms, activities and the UI configuration.
+ *
+ * <p>A blob is identified by the SHA-256 hash of its bytes, so the same image is only stored once, no matter how often
+ * it is uploaded, and its content never changes for a given hash.</p>
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+public class ImageBlob {
+
+    public static final String DEFAULT_MEDIA_TYPE = "application/octet-stream";
+
+    @Id
+    @Column(length = 64)
+    private String hash;
+
+    @Lob
+    @Column(nullable = false)
+    private byte[] data;
+
+    @Column(nullable = false, length = 50)
+    private String mediaType;
+
+    @Column(nullable = false)
+    private long size;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Counts how often an upload has reused the blob. Every reuse updates the row, which keeps it locked until the
+     * uploading transaction ends and tells a concurrent cleanup that the blob is in use again. Only changed by
+     * {@code ImageBlobRepository.claim}, so saving a blob that another upload stored at the same time does not reset it.
+     */
+    @Column(nullable = false, updatable = false)
+    private long claims;
+
+    /**
+     * Creates a new, not yet persisted blob for the given image bytes.
+     *
+     * @param data the image bytes
+     * @return the blob, identified by the SHA-256 hash of {@code data}
+     */
+    public static ImageBlob of(byte[] data) {
+        ImageBlob blob = new ImageBlob();
+        blob.setHash(hashOf(data));
+        blob.setData(data);
+        blob.setMediaType(detectMediaType(data));
+        blob.setSize(data.length);
+        blob.setCreatedAt(LocalDateTime.now());
+        return blob;
+    }
+
+    /**
+     * Computes the hex encoded SHA-256 hash a blob with the given bytes is stored under.
+     *
+     * @param data the image bytes
+     * @return the lower case hex encoded SHA-256 hash
+     */
+    public static String hashOf(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Detects the media type from the magic bytes at the start of the image, since the content type sent by clients
+     * on upload can not be trusted.
+     */
+    private static String detectMediaType(byte[] data) {
+        if (startsWith(data, 0, 0xFF, 0xD8, 0xFF)) {
+            return "image/jpeg";
+        }
+        if (startsWith(data, 0, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)) {
+            return "image/png";
+        }
+        if (startsWith(data, 0, 'G', 'I', 'F', '8')) {
+            return "image/gif";
+        }
+        if (startsWith(data, 0, 'R', 'I', 'F', 'F') && startsWith(data, 8, 'W', 'E', 'B', 'P')) {
+            return "image/webp";
+        }
+        if (startsWith(data, 0, 'B', 'M')) {
+            return "image/bmp";
+        }
+        return DEFAULT_MEDIA_TYPE;
+    }
+
+    private static boolean startsWith(byte[] data, int offset, int... signature) {
+        if (data.length < offset + signature.length) {
+            return false;
+        }
+        for (int i = 0; i < signature.length; i++) {
+            if ((data[offset + i] & 0xFF) != signature[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ImageBlob imageBlob)) {
+            return false;
+        }
+        return Objects.equals(getHash(), imageBlob.getHash());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(getHash());
+    }
+
+    @Override
+    public String toString() {
+        return "ImageBlob{hash='" + hash + "', mediaType='" + mediaType + "', size=" + size + '}';
+    }
+}
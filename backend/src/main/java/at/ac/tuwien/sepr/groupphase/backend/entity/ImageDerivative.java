@@ -0,0 +1,53 @@
+package at.ac.tuwien.sepr.groupphase.backend.entity;
+
+import at.ac.tuwien.sepr.groupphase.backend.enums.ImageVariant;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Links an uploaded image to one of its resized {@link ImageVariant variants}.
+ *
+ * <p>The variant is a regular {@link ImageBlob}, so it is content-addressed as well. If resizing would not make an image
+ * smaller, or the image can not be decoded, the variant points to the source blob itself.</p>
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"source_hash", "variant"}))
+public class ImageDerivative {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(optional = false)
+    @JoinColumn(name = "source_hash", nullable = false)
+    private ImageBlob source;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ImageVariant variant;
+
+    @ManyToOne(optional = false)
+    @JoinColumn(name = "image_hash", nullable = false)
+    private ImageBlob image;
+
+    public ImageDerivative(ImageBlob source, ImageVariant variant, ImageBlob image) {
+        this.source = source;
+        this.variant = variant;
+        this.image = image;
+    }
+}
@@ -0,0 +1,42 @@
+package at.ac.tuwien.sepr.groupphase.backend.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lease on a scheduled job, so the job only runs on one node at a time when the application is scaled out.
+ *
+ * <p>There is one row per job. A node holds the lease until {@code lockedUntil}. The lease is taken over by an
+ * atomic update that only succeeds once it has run out, so a node that crashes while running the job only blocks
+ * it until then.</p>
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+public class JobLock {
+
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Column(nullable = false)
+    private LocalDateTime lockedUntil;
+
+    @Column
+    private LocalDateTime lockedAt;
+
+    @Column
+    private String lockedBy;
+
+    public JobLock(String name, LocalDateTime lockedUntil) {
+        this.name = name;
+        this.lockedUntil = lockedUntil;
+    }
+}
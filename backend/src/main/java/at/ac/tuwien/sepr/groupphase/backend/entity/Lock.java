@@ -1,6 +1,8 @@
 package at.ac.tuwien.sepr.groupphase.backend.entity;
 
+import at.ac.tuwien.sepr.groupphase.backend.entity.listener.RoomCapacityChangeListener;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -13,6 +15,7 @@ import lombok.AllArgsConstructor;
 import java.util.Objects;
 
 @Entity
+@EntityListeners(RoomCapacityChangeListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
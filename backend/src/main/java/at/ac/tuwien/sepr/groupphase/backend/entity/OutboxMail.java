@@ -0,0 +1,98 @@
+package at.ac.tuwien.sepr.groupphase.backend.entity;
+
+import at.ac.tuwien.sepr.groupphase.backend.enums.MailStatus;
+import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A mail waiting in the outbox, or already sent from it.
+ *
+ * <p>Mails are written in the same transaction as the change they report, so a rolled back booking, cancellation or
+ * invitation never sends a mail, and a committed one never loses it.</p>
+ */
+@Entity
+@Table(name = "mail_outbox", indexes = @Index(name = "idx_mail_outbox_due", columnList = "status, nextAttemptAt"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class OutboxMail {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String sender;
+
+    @Column(nullable = false)
+    private String recipient;
+
+    @Column(nullable = false)
+    private String subject;
+
+    @Lob
+    @Column(nullable = false)
+    private String htmlBody;
+
+    @OneToMany(mappedBy = "mail", cascade = CascadeType.ALL, orphanRemoval = true)
+    private List<OutboxMailAttachment> attachments = new ArrayList<>();
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private MailStatus status;
+
+    private int attempts;
+
+    private LocalDateTime nextAttemptAt;
+
+    @Column(length = 500)
+    private String lastError;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime sentAt;
+
+    public OutboxMail(String sender, String recipient, String subject, String htmlBody) {
+        this.sender = sender;
+        this.recipient = recipient;
+        this.subject = subject;
+        this.htmlBody = htmlBody;
+        this.status = MailStatus.PENDING;
+        this.createdAt = LocalDateTime.now();
+        this.nextAttemptAt = this.createdAt;
+    }
+
+    /**
+     * Attaches a file to the mail.
+     *
+     * @param fileName the file name shown to the recipient
+     * @param content  the content of the file
+     */
+    public void addAttachment(String fileName, byte[] content) {
+        attachments.add(new OutboxMailAttachment(this, fileName, content));
+    }
+
+    @Override
+    public String toString() {
+        return "OutboxMail{id=" + id + ", recipient='" + recipient + "', subject='" + subject + "', status=" + status
+            + ", attempts=" + attempts + '}';
+    }
+}
@@ -0,0 +1,44 @@
+package at.ac.tuwien.sepr.groupphase.backend.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.Lob;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Entity
+@Table(name = "mail_outbox_attachment")
+@Getter
+@Setter
+@NoArgsConstructor
+public class OutboxMailAttachment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "mail_id", nullable = false)
+    private OutboxMail mail;
+
+    @Column(nullable = false)
+    private String fileName;
+
+    @Lob
+    @Column(nullable = false)
+    private byte[] content;
+
+    public OutboxMailAttachment(OutboxMail mail, String fileName, byte[] content) {
+        this.mail = mail;
+        this.fileName = fileName;
+        this.content = content;
+    }
+}
@@ -0,0 +1,63 @@
+package at.ac.tuwien.sepr.groupphase.backend.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Index entry of a PDF document whose content is stored in a segment file on disk rather than in the database.
+ *
+ * <p>The entry points to the compressed content: the number of the segment file, the offset of the content in the
+ * file and its compressed length. The uncompressed length is kept so the content can be decompressed in one step.</p>
+ */
+@Entity
+@Table(name = "pdf_segment_entries", indexes = @Index(name = "idx_pdf_segment_booking", columnList = "bookingId, documentType"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class PdfSegmentEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long bookingId;
+
+    private String documentType;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private int segment;
+
+    @Column(name = "segment_offset", nullable = false)
+    private long offset;
+
+    @Column(nullable = false)
+    private int compressedLength;
+
+    @Column(nullable = false)
+    private int contentLength;
+
+    public PdfSegmentEntry(Long bookingId, String documentType, LocalDateTime createdAt,
+                           int segment, long offset, int compressedLength, int contentLength) {
+        this.bookingId = bookingId;
+        this.documentType = documentType;
+        this.createdAt = createdAt;
+        this.segment = segment;
+        this.offset = offset;
+        this.compressedLength = compressedLength;
+        this.contentLength = contentLength;
+    }
+}
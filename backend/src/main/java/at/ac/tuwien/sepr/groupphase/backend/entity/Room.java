@@ -2,13 +2,16 @@ package at.ac.tuwien.sepr.groupphase.backend.entity;
 
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Column;
 import jakarta.persistence.JoinColumn;
-import jakarta.persistence.Lob;
+import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.Table;
 import jakarta.validation.constraints.Min;
 
 import java.time.LocalDateTime;
@@ -20,13 +23,17 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import org.springframework.data.annotation.CreatedDate;
+import at.ac.tuwien.sepr.groupphase.backend.entity.listener.OccupancyChangeListener;
+import at.ac.tuwien.sepr.groupphase.backend.entity.listener.RoomCapacityChangeListener;
 
 import java.util.Objects;
 
 @Entity
+@EntityListeners({OccupancyChangeListener.class, RoomCapacityChangeListener.class})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@Table(indexes = @Index(name = "idx_room_price", columnList = "price, id"))
 public class Room {
 
     @Id
@@ -68,8 +75,9 @@ public class Room {
     @Column
     private LocalDateTime cleaningTimeTo;
 
-    @Lob
-    private byte[] mainImage;
+    @ManyToOne
+    @JoinColumn(name = "main_image_hash")
+    private ImageBlob mainImage;
 
     @Override
     public boolean equals(Object o) {
@@ -98,7 +106,7 @@ public class Room {
         private int capacity;
         private double price;
         private String description;
-        private byte[] mainImage;
+        private ImageBlob mainImage;
         private LocalDateTime createdAt;
         private LocalDateTime lastCleanedAt;
 
@@ -134,7 +142,7 @@ public class Room {
             return this;
         }
 
-        public RoomBuilder withMainImage(byte[] mainImage) {
+        public RoomBuilder withMainImage(ImageBlob mainImage) {
             this.mainImage = mainImage;
             return this;
         }
@@ -164,6 +172,6 @@ public class Room {
     }
 
     public String getMainImageAsString() {
-        return Base64.getEncoder().encodeToString(mainImage);
+        return Base64.getEncoder().encodeToString(mainImage.getData());
     }
 }
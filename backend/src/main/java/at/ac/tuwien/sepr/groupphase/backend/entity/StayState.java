@@ -0,0 +1,82 @@
+package at.ac.tuwien.sepr.groupphase.backend.entity;
+
+import at.ac.tuwien.sepr.groupphase.backend.entity.listener.OccupancyChangeListener;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * Whether a guest is currently staying in the room of a booking.
+ *
+ * <p>There is one stay state per booking and guest. It is kept up to date by the check-in service whenever a
+ * {@link CheckIn} or {@link CheckOut} is written or removed, so the check-in status of a guest or a booking is a
+ * single lookup instead of a count over all check-ins and check-outs. A stay is active as long as it has not been
+ * checked out.</p>
+ */
+@Entity
+@EntityListeners(OccupancyChangeListener.class)
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_stay_state_booking_guest", columnNames = {"booking_id", "user_id"}),
+    indexes = {
+        @Index(name = "idx_stay_state_guest", columnList = "user_id, checkedOutAt"),
+        @Index(name = "idx_stay_state_booking", columnList = "booking_id, checkedOutAt")
+    })
+@Getter
+@Setter
+@NoArgsConstructor
+public class StayState {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stay_state_seq")
+    @SequenceGenerator(name = "stay_state_seq", sequenceName = "stay_state_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "booking_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Booking booking;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private ApplicationUser guest;
+
+    @Column(nullable = false)
+    private LocalDateTime checkedInAt;
+
+    /**
+     * Point in time the guest checked out, or {@code null} while the guest is staying.
+     */
+    @Column
+    private LocalDateTime checkedOutAt;
+
+    public StayState(Booking booking, ApplicationUser guest, LocalDateTime checkedInAt) {
+        this.booking = booking;
+        this.guest = guest;
+        this.checkedInAt = checkedInAt;
+    }
+
+    public Long getBookingId() {
+        return booking != null ? booking.getId() : null;
+    }
+
+    public boolean isCheckedOut() {
+        return checkedOutAt != null;
+    }
+}
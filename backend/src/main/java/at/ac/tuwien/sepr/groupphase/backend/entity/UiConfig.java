@@ -3,6 +3,7 @@ package at.ac.tuwien.sepr.groupphase.backend.entity;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.Id;
 
 import jakarta.persistence.JoinColumn;
@@ -11,11 +12,13 @@ import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import at.ac.tuwien.sepr.groupphase.backend.entity.listener.UiConfigChangeListener;
 
 import java.util.List;
 
 
 @Entity
+@EntityListeners(UiConfigChangeListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
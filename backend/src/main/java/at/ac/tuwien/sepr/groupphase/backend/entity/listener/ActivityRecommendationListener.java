@@ -0,0 +1,37 @@
+package at.ac.tuwien.sepr.groupphase.backend.entity.listener;
+
+import at.ac.tuwien.sepr.groupphase.backend.entity.Activity;
+import at.ac.tuwien.sepr.groupphase.backend.service.ActivityRecommendationIndex;
+import at.ac.tuwien.sepr.groupphase.backend.service.impl.AfterCommit;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that keeps the {@link ActivityRecommendationIndex} up to date whenever an activity is written.
+ */
+@Component
+public class ActivityRecommendationListener {
+
+    private final ObjectProvider<ActivityRecommendationIndex> recommendationIndex;
+
+    public ActivityRecommendationListener(ObjectProvider<ActivityRecommendationIndex> recommendationIndex) {
+        this.recommendationIndex = recommendationIndex;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Activity activity) {
+        Long activityId = activity.getId();
+        String categories = activity.getCategories();
+        AfterCommit.run(() -> recommendationIndex.ifAvailable(index -> index.put(activityId, categories)));
+    }
+
+    @PostRemove
+    public void onRemove(Activity activity) {
+        Long activityId = activity.getId();
+        AfterCommit.run(() -> recommendationIndex.ifAvailable(index -> index.remove(activityId)));
+    }
+}
@@ -0,0 +1,49 @@
+package at.ac.tuwien.sepr.groupphase.backend.entity.listener;
+
+import at.ac.tuwien.sepr.groupphase.backend.entity.Booking;
+import at.ac.tuwien.sepr.groupphase.backend.enums.BookingStatus;
+import at.ac.tuwien.sepr.groupphase.backend.service.RoomAvailabilityIndex;
+import at.ac.tuwien.sepr.groupphase.backend.service.impl.AfterCommit;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * JPA entity listener that keeps the {@link RoomAvailabilityIndex} in sync with every write to the booking table,
+ * no matter whether it comes from a service, the data generator or a test.
+ */
+@Component
+public class BookingAvailabilityListener {
+
+    private final ObjectProvider<RoomAvailabilityIndex> availabilityIndex;
+
+    public BookingAvailabilityListener(ObjectProvider<RoomAvailabilityIndex> availabilityIndex) {
+        this.availabilityIndex = availabilityIndex;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Booking booking) {
+        if (booking.getRoom() == null) {
+            return;
+        }
+        Long bookingId = booking.getId();
+        Long roomId = booking.getRoom().getId();
+        LocalDate startDate = booking.getStartDate();
+        LocalDate endDate = booking.getEndDate();
+        BookingStatus status = booking.getStatus();
+        LocalDateTime holdExpiresAt = booking.getHoldExpiresAt();
+        AfterCommit.run(() -> availabilityIndex.getObject().put(bookingId, roomId, startDate, endDate, status, holdExpiresAt));
+    }
+
+    @PostRemove
+    public void onRemove(Booking booking) {
+        Long bookingId = booking.getId();
+        AfterCommit.run(() -> availabilityIndex.getObject().remove(bookingId));
+    }
+}
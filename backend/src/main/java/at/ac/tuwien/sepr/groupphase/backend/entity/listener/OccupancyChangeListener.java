@@ -0,0 +1,30 @@
+package at.ac.tuwien.sepr.groupphase.backend.entity.listener;
+
+import at.ac.tuwien.sepr.groupphase.backend.service.OccupancyService;
+import at.ac.tuwien.sepr.groupphase.backend.service.impl.AfterCommit;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that drops the snapshot of the {@link OccupancyService} whenever a room, booking, check-in,
+ * check-out or stay state is written, no matter whether it comes from a service, a scheduled job or the data generator.
+ */
+@Component
+public class OccupancyChangeListener {
+
+    private final ObjectProvider<OccupancyService> occupancyService;
+
+    public OccupancyChangeListener(ObjectProvider<OccupancyService> occupancyService) {
+        this.occupancyService = occupancyService;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        AfterCommit.run(() -> occupancyService.ifAvailable(OccupancyService::invalidate));
+    }
+}
@@ -0,0 +1,37 @@
+package at.ac.tuwien.sepr.groupphase.backend.entity.listener;
+
+import at.ac.tuwien.sepr.groupphase.backend.entity.Lock;
+import at.ac.tuwien.sepr.groupphase.backend.entity.Room;
+import at.ac.tuwien.sepr.groupphase.backend.service.RoomCapacityCache;
+import at.ac.tuwien.sepr.groupphase.backend.service.impl.AfterCommit;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that drops the cached capacity of a room from the {@link RoomCapacityCache} whenever the room or
+ * its smart lock is written.
+ */
+@Component
+public class RoomCapacityChangeListener {
+
+    private final ObjectProvider<RoomCapacityCache> roomCapacityCache;
+
+    public RoomCapacityChangeListener(ObjectProvider<RoomCapacityCache> roomCapacityCache) {
+        this.roomCapacityCache = roomCapacityCache;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        Room room = entity instanceof Lock lock ? lock.getRoom() : (Room) entity;
+        if (room == null || room.getId() == null) {
+            return;
+        }
+        Long roomId = room.getId();
+        AfterCommit.run(() -> roomCapacityCache.ifAvailable(cache -> cache.evict(roomId)));
+    }
+}
@@ -0,0 +1,31 @@
+package at.ac.tuwien.sepr.groupphase.backend.entity.listener;
+
+import at.ac.tuwien.sepr.groupphase.backend.entity.UiConfig;
+import at.ac.tuwien.sepr.groupphase.backend.service.impl.AfterCommit;
+import at.ac.tuwien.sepr.groupphase.backend.service.impl.SimplePdfGenerationService;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that drops the PDF templates cached by the {@link SimplePdfGenerationService} whenever the
+ * {@link UiConfig} with the hotel details changes, e.g. by {@code SimpleUiConfigService.update}.
+ */
+@Component
+public class UiConfigChangeListener {
+
+    private final ObjectProvider<SimplePdfGenerationService> pdfGenerationService;
+
+    public UiConfigChangeListener(ObjectProvider<SimplePdfGenerationService> pdfGenerationService) {
+        this.pdfGenerationService = pdfGenerationService;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(UiConfig uiConfig) {
+        AfterCommit.run(() -> pdfGenerationService.ifAvailable(SimplePdfGenerationService::invalidateTemplates));
+    }
+}
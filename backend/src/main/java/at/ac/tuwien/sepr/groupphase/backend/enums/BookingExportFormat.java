@@ -0,0 +1,53 @@
+package at.ac.tuwien.sepr.groupphase.backend.enums;
+
+import java.util.Locale;
+
+/**
+ * Formats the bookings of the manager view can be exported in.
+ * <ul>
+ *     <li>{@code NDJSON}: One JSON object per line and booking.</li>
+ *     <li>{@code CSV}: A header line followed by one comma-separated line per booking.</li>
+ * </ul>
+ */
+public enum BookingExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String fileExtension;
+
+    BookingExportFormat(String contentType, String fileExtension) {
+        this.contentType = contentType;
+        this.fileExtension = fileExtension;
+    }
+
+    /**
+     * Returns the media type of the exported content.
+     */
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * Returns the extension of a file holding the exported content.
+     */
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
+    /**
+     * Parses the {@code format} request parameter, ignoring case.
+     *
+     * @param value the requested format
+     * @return the format
+     * @throws IllegalArgumentException if the value is not a known format
+     */
+    public static BookingExportFormat fromValue(String value) {
+        for (BookingExportFormat format : values()) {
+            if (value != null && format.getFileExtension().equalsIgnoreCase(value.trim())) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unknown export format '" + value + "'");
+    }
+}
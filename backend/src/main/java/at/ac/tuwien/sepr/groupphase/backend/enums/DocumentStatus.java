@@ -0,0 +1,15 @@
+package at.ac.tuwien.sepr.groupphase.backend.enums;
+
+/**
+ * Enum that describes the state of the confirmation documents (booking confirmation and invoice) of a booking.
+ * <ul>
+ *     <li>{@code PENDING}: The documents are waiting to be generated and mailed, or are retried after a failure.</li>
+ *     <li>{@code READY}: The documents have been stored and mailed to the guest.</li>
+ *     <li>{@code FAILED}: The documents could not be generated or mailed, even after retrying.</li>
+ * </ul>
+ */
+public enum DocumentStatus {
+    PENDING,
+    READY,
+    FAILED
+}
@@ -0,0 +1,60 @@
+package at.ac.tuwien.sepr.groupphase.backend.enums;
+
+import java.util.Locale;
+
+/**
+ * Resized versions that are generated for every stored image, so views only load the resolution they actually show.
+ */
+public enum ImageVariant {
+    THUMBNAIL(240, 0.75f),
+    CARD(640, 0.8f),
+    FULL(1920, 0.85f);
+
+    private final int maxSize;
+    private final float quality;
+
+    ImageVariant(int maxSize, float quality) {
+        this.maxSize = maxSize;
+        this.quality = quality;
+    }
+
+    /**
+     * Returns the maximum width and height in pixels. Smaller images are never scaled up.
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Returns the JPEG compression quality between 0 and 1.
+     */
+    public float getQuality() {
+        return quality;
+    }
+
+    /**
+     * Returns the name of the variant as used in the {@code variant} request parameter.
+     */
+    public String getValue() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Parses the {@code variant} request parameter, ignoring case.
+     *
+     * @param value the requested variant, may be {@code null}
+     * @return the variant, or {@code null} if no variant was requested and the original image should be served
+     * @throws IllegalArgumentException if the value is not a known variant
+     */
+    public static ImageVariant fromValue(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        for (ImageVariant variant : values()) {
+            if (variant.getValue().equalsIgnoreCase(value.trim())) {
+                return variant;
+            }
+        }
+        throw new IllegalArgumentException("Unknown image variant '" + value + "'");
+    }
+}
@@ -0,0 +1,15 @@
+package at.ac.tuwien.sepr.groupphase.backend.enums;
+
+/**
+ * Enum that describes the delivery state of a mail in the outbox.
+ * <ul>
+ *     <li>{@code PENDING}: The mail is waiting to be sent, or is retried after a failure.</li>
+ *     <li>{@code SENT}: The mail has been handed over to the mail server.</li>
+ *     <li>{@code DEAD}: The mail could not be sent, even after retrying, and is kept for manual inspection.</li>
+ * </ul>
+ */
+public enum MailStatus {
+    PENDING,
+    SENT,
+    DEAD
+}
@@ -1,14 +1,15 @@
 package at.ac.tuwien.sepr.groupphase.backend.repository;
 
 import at.ac.tuwien.sepr.groupphase.backend.entity.Activity;
-import at.ac.tuwien.sepr.groupphase.backend.entity.ActivitySlot;
 import at.ac.tuwien.sepr.groupphase.backend.exception.NotFoundException;
+import at.ac.tuwien.sepr.groupphase.backend.repository.projection.ActivityCategories;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.List;
@@ -25,85 +26,70 @@ public interface ActivityRepository extends JpaRepository<Activity, Long> {
     Optional<Activity> findActivityById(Long id) throws NotFoundException;
 
     /**
-     * Retrieves all activities ordered by price in ascending order.
+     * Finds the hash of the main image of an activity, without loading the activity or the image.
      *
-     * @return a list of all activities ordered by price ascending
+     * @param id the ID of the activity
+     * @return the hash of the main image, or empty if the activity does not exist or has no main image
      */
-    Page<Activity> findAllByOrderByPriceAsc(Pageable pageable);
-
+    @Query("SELECT a.mainImage.hash FROM Activity a WHERE a.id = :id")
+    Optional<String> findMainImageHashById(@Param("id") Long id);
 
     /**
-     * Retrieves all activities ordered by price in ascending order.
+     * Finds the categories of all activities, without loading the activities.
      *
-     * @return a list of all activities ordered by price ascending
+     * @return the ID and categories of every activity
      */
-    @Query("SELECT s FROM ActivitySlot s "
-        + "WHERE s.activity.id = :activityId "
-        + "AND (s.date > :currentDate OR (s.date = :currentDate AND s.startTime > :currentTime))")
-    Page<ActivitySlot> findTimeslotsByActivityId(
-        @Param("activityId") Long activityId,
-        @Param("currentDate") LocalDate currentDate,
-        @Param("currentTime") LocalTime currentTime,
-        Pageable pageable);
-
+    @Query("SELECT new at.ac.tuwien.sepr.groupphase.backend.repository.projection.ActivityCategories(a.id, a.categories) FROM Activity a")
+    List<ActivityCategories> findAllCategories();
 
     /**
      * Retrieves all activities ordered by price in ascending order.
      *
-     * @param activityId the ID of the activity
-     * @param date the date of the activity
-     * @param participants the number of participants
-     * @param pageable the pageable object
      * @return a list of all activities ordered by price ascending
      */
-    @Query("SELECT s FROM ActivitySlot s WHERE s.activity.id = :activityId "
-        + "AND (s.date > :currentDate OR (s.date = :currentDate AND s.startTime > :currentTime)) "
-        + "AND (:date IS NULL OR s.date = :date) "
-        + "AND (:participants IS NULL OR (s.capacity - s.occupied) >= :participants)")
-    Page<ActivitySlot> findFilteredTimeslots(
-        @Param("activityId") Long activityId,
-        @Param("date") LocalDate date,
-        @Param("participants") Integer participants,
-        @Param("currentDate") LocalDate currentDate,
-        @Param("currentTime") LocalTime currentTime,
-        Pageable pageable);
+    Page<Activity> findAllByOrderByPriceAsc(Pageable pageable);
 
-    /**
-     * Retrieves all activities ordered by price in ascending order.
-     *
-     * @param id the ID of the activity
-     * @return a list of all activities ordered by price ascending
-     */
-    @Query("SELECT s FROM ActivitySlot s WHERE s.id = :id")
-    Optional<ActivitySlot> findActivitySlotById(@Param("id") Long id);
 
     /**
-     * Retrieves all activities ordered by price in ascending order.
+     * Searches the activities that have an upcoming slot matching the criteria, by their timeslot rules.
+     *
+     * <p>Slots are not stored until they are booked, so a rule matches if it produces a slot on the given date, or at
+     * any time in the future if no date is given. A stored slot of the rule on that date excludes the activity if it
+     * has fewer places left than the number of participants.</p>
      *
      * @param name the name of the activity
      * @param date the date of the activity
+     * @param dayOfWeek the day of the week of {@code date}
      * @param guestCount the number of participants
      * @param minPrice the minimum price
      * @param maxPrice the maximum price
+     * @param currentDate the current date
+     * @param currentTime the current time
+     * @param firstStartTime the time after which a slot on {@code date} has to start, or {@code null} if {@code date} is not today
      * @param pageable the pageable object
-     * @return a list of all activities ordered by price ascending
+     * @return the page of matching activities
      */
     @Query("SELECT DISTINCT a FROM Activity a "
-        + "JOIN a.activityTimeslots ats "
+        + "JOIN a.activityTimeslotInfos i "
         + "WHERE (:name IS NULL OR LOWER(a.name) LIKE LOWER(CONCAT('%', :name, '%'))) "
-        + "AND (:date IS NULL OR ats.date = :date) "
-        + "AND (ats.date > :currentDate OR (ats.date = :currentDate AND ats.startTime > :currentTime)) "
-        + "AND (:guestCount IS NULL OR (ats.capacity - ats.occupied) >= :guestCount) "
+        + "AND (:date IS NULL OR i.specificDate = :date OR i.dayOfWeek = :dayOfWeek) "
+        + "AND (i.dayOfWeek IS NOT NULL OR i.specificDate > :currentDate OR (i.specificDate = :currentDate AND i.startTime > :currentTime)) "
+        + "AND (:firstStartTime IS NULL OR i.startTime > :firstStartTime) "
+        + "AND (:guestCount IS NULL OR a.capacity >= :guestCount) "
+        + "AND NOT EXISTS (SELECT s FROM ActivitySlot s WHERE s.activity = a AND s.date = COALESCE(i.specificDate, :date) "
+        + "AND s.startTime = i.startTime AND (s.capacity - s.occupied) < :guestCount) "
         + "AND (:minPrice IS NULL OR a.price >= :minPrice) "
         + "AND (:maxPrice IS NULL OR a.price <= :maxPrice)")
     Page<Activity> search(
         @Param("name") String name,
         @Param("date") LocalDate date,
+        @Param("dayOfWeek") DayOfWeek dayOfWeek,
         @Param("guestCount") Integer guestCount,
         @Param("minPrice") Double minPrice,
         @Param("maxPrice") Double maxPrice,
         @Param("currentDate") LocalDate currentDate,
         @Param("currentTime") LocalTime currentTime,
+        @Param("firstStartTime") LocalTime firstStartTime,
         Pageable pageable
     );
 
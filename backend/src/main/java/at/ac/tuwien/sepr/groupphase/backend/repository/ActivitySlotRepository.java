@@ -2,8 +2,64 @@ package at.ac.tuwien.sepr.groupphase.backend.repository;
 
 import at.ac.tuwien.sepr.groupphase.backend.entity.ActivitySlot;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ActivitySlotRepository extends JpaRepository<ActivitySlot, Long> {
+
+    /**
+     * Finds the stored slots of an activity within a range of days. Only slots that have been booked are stored.
+     *
+     * @param activityId the ID of the activity
+     * @param from       the first day, included
+     * @param to         the last day, included
+     * @return the stored slots of the activity on these days
+     */
+    List<ActivitySlot> findByActivityIdAndDateBetween(Long activityId, LocalDate from, LocalDate to);
+
+    /**
+     * Finds the stored slot of an activity that starts at the given point in time.
+     *
+     * @param activityId the ID of the activity
+     * @param date       the day of the slot
+     * @param startTime  the start time of the slot
+     * @return the slot, or empty if it has not been booked yet
+     */
+    Optional<ActivitySlot> findByActivityIdAndDateAndStartTime(Long activityId, LocalDate date, LocalTime startTime);
+
+    /**
+     * Takes places in a slot, if it has enough of them left. The check and the update are a single statement, so
+     * concurrent reservations of the same slot cannot overbook it.
+     *
+     * @param id           the ID of the slot
+     * @param participants the number of places to take
+     * @return the number of updated slots, 0 if the slot does not have enough places left
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE ActivitySlot s SET s.occupied = s.occupied + :participants, s.version = s.version + 1 "
+        + "WHERE s.id = :id AND s.occupied + :participants <= s.capacity")
+    int reserve(@Param("id") Long id, @Param("participants") int participants);
+
+    /**
+     * Gives back places taken in a slot.
+     *
+     * @param id           the ID of the slot
+     * @param participants the number of places to give back
+     * @return the number of updated slots, 0 if the slot does not have that many places taken
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE ActivitySlot s SET s.occupied = s.occupied - :participants, s.version = s.version + 1 "
+        + "WHERE s.id = :id AND s.occupied >= :participants")
+    int release(@Param("id") Long id, @Param("participants") int participants);
 }
@@ -1,21 +1,59 @@
 package at.ac.tuwien.sepr.groupphase.backend.repository;
 
 import at.ac.tuwien.sepr.groupphase.backend.entity.Booking;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import at.ac.tuwien.sepr.groupphase.backend.enums.BookingStatus;
+import at.ac.tuwien.sepr.groupphase.backend.enums.DocumentStatus;
+import at.ac.tuwien.sepr.groupphase.backend.repository.projection.BookingOccupancy;
+import at.ac.tuwien.sepr.groupphase.backend.repository.projection.CurrentBooking;
+import at.ac.tuwien.sepr.groupphase.backend.repository.projection.EmployeeBookingRow;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
+    /**
+     * Filter on bookings aliased {@code b} that excludes holds which have expired but have not been cancelled by the
+     * sweeper yet, so they no longer block their room.
+     */
+    String NOT_EXPIRED_HOLD_FILTER = "(b.holdExpiresAt IS NULL OR b.holdExpiresAt > LOCAL DATETIME)";
+
+    /**
+     * Number of rows fetched from the database at once by {@link #streamAllForExport()}.
+     */
+    int EXPORT_FETCH_SIZE = 200;
+
+    /**
+     * Select of the {@link EmployeeBookingRow} of bookings aliased {@code b}. Room and guest are joined explicitly,
+     * so a page of rows is read with one statement.
+     */
+    String EMPLOYEE_BOOKING_ROW_SELECT = "SELECT b.id AS id, r.id AS roomId, r.name AS roomName, r.price AS roomPrice, "
+        + "r.capacity AS capacity, r.lastCleanedAt AS lastCleanedAt, u.id AS userId, u.email AS email, g.id AS guestId, "
+        + "g.firstName AS firstName, g.lastName AS lastName, g.address AS address, g.dateOfBirth AS dateOfBirth, "
+        + "g.nationality AS nationality, g.passportNumber AS passportNumber, g.phoneNumber AS phoneNumber, g.gender AS gender, "
+        + "g.placeOfBirth AS placeOfBirth, b.startDate AS startDate, b.endDate AS endDate, b.isPaid AS paid, b.status AS status, "
+        + "b.statusRank AS statusRank, b.bookingNumber AS bookingNumber, b.bookingDate AS bookingDate, "
+        + "b.numberOfNights AS numberOfNights, b.stripePaymentIntentId AS stripePaymentIntentId "
+        + "FROM Booking b JOIN b.room r LEFT JOIN b.user u LEFT JOIN Guest g ON g.id = u.id ";
+
     /**
      * Finds all bookings associated with a specific ApplicationUser ID.
      *
@@ -42,6 +80,15 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
      */
     Optional<Booking> findBookingById(Long id);
 
+    /**
+     * Finds the bookings with the given IDs, together with their room and the user who made them.
+     *
+     * @param ids the IDs of the bookings
+     * @return the bookings that exist, in no particular order
+     */
+    @Query("SELECT b FROM Booking b JOIN FETCH b.room LEFT JOIN FETCH b.user WHERE b.id IN :ids")
+    List<Booking> findAllWithRoomByIdIn(@Param("ids") Collection<Long> ids);
+
     /**
      * Counts the number of bookings for a specific room ID within a given date range and status.
      *
@@ -51,7 +98,8 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
      * @param statuses a list of {@link BookingStatus} values to filter by
      * @return the number of bookings matching the given criteria
      */
-    @Query("SELECT COUNT(b) FROM Booking b WHERE b.room.id = :roomId AND b.startDate <= :endDate AND b.endDate >= :startDate AND b.status IN :statuses")
+    @Query("SELECT COUNT(b) FROM Booking b WHERE b.room.id = :roomId AND b.startDate <= :endDate AND b.endDate >= :startDate AND b.status IN :statuses "
+        + "AND " + NOT_EXPIRED_HOLD_FILTER)
     long countByRoomIdAndDateRangeAndStatus(@Param("roomId") Long roomId,
                                             @Param("startDate") LocalDate startDate,
                                             @Param("endDate") LocalDate endDate,
@@ -66,13 +114,216 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     Optional<List<Booking>> findBookingsByEndDate(LocalDate endDate);
 
     /**
-     * Finds all bookings with pagination support.
+     * Finds the employee booking list rows of all bookings with pagination support, active bookings first.
      *
      * @param pageable the pagination details
-     * @return a {@link Page} containing the bookings
+     * @return a {@link Page} containing the rows
+     */
+    @Query(value = EMPLOYEE_BOOKING_ROW_SELECT + "ORDER BY b.statusRank ASC, b.startDate ASC, b.id ASC",
+        countQuery = "SELECT COUNT(b) FROM Booking b")
+    Page<EmployeeBookingRow> findAllWithCustomSorting(Pageable pageable);
+
+    /**
+     * Finds the first rows in the order of {@link #findAllWithCustomSorting(Pageable)}, without counting all bookings.
+     *
+     * @param limit the maximum number of rows to return
+     * @return the first rows, active bookings first
+     */
+    @Query(EMPLOYEE_BOOKING_ROW_SELECT + "ORDER BY b.statusRank ASC, b.startDate ASC, b.id ASC")
+    List<EmployeeBookingRow> findFirstWithCustomSorting(Limit limit);
+
+    /**
+     * Finds the rows following the given sort key in the order of {@link #findAllWithCustomSorting(Pageable)}.
+     * The condition is a range on the listing index, so the cost does not depend on how deep the page is.
+     *
+     * @param statusRank the status rank of the last booking of the previous page
+     * @param startDate  the start date of the last booking of the previous page
+     * @param id         the ID of the last booking of the previous page
+     * @param limit      the maximum number of rows to return
+     * @return the following rows
+     */
+    @Query(EMPLOYEE_BOOKING_ROW_SELECT + "WHERE b.statusRank > :statusRank "
+        + "OR (b.statusRank = :statusRank AND (b.startDate > :startDate OR (b.startDate = :startDate AND b.id > :id))) "
+        + "ORDER BY b.statusRank ASC, b.startDate ASC, b.id ASC")
+    List<EmployeeBookingRow> findWithCustomSortingAfter(@Param("statusRank") int statusRank,
+                                                        @Param("startDate") LocalDate startDate,
+                                                        @Param("id") Long id,
+                                                        Limit limit);
+
+    /**
+     * Finds the first bookings invoiced in the given period, in the order of their invoice date and ID. Room and guest
+     * are fetched with the bookings, so their invoices can be rendered without a session.
+     *
+     * @param from  the first invoice date of the period
+     * @param to    the last invoice date of the period
+     * @param limit the maximum number of bookings to return
+     * @return the first bookings invoiced in the period
+     */
+    @EntityGraph(attributePaths = {"room", "user"})
+    @Query("SELECT b FROM Booking b WHERE b.invoiceDate BETWEEN :from AND :to ORDER BY b.invoiceDate ASC, b.id ASC")
+    List<Booking> findFirstInvoicedBetween(@Param("from") LocalDate from, @Param("to") LocalDate to, Limit limit);
+
+    /**
+     * Finds the bookings invoiced up to the given date that follow the given sort key in the order of
+     * {@link #findFirstInvoicedBetween(LocalDate, LocalDate, Limit)}.
+     *
+     * @param invoiceDate the invoice date of the last booking of the previous page
+     * @param id          the ID of the last booking of the previous page
+     * @param to          the last invoice date of the period
+     * @param limit       the maximum number of bookings to return
+     * @return the following bookings
+     */
+    @EntityGraph(attributePaths = {"room", "user"})
+    @Query("SELECT b FROM Booking b WHERE b.invoiceDate <= :to "
+        + "AND (b.invoiceDate > :invoiceDate OR (b.invoiceDate = :invoiceDate AND b.id > :id)) "
+        + "ORDER BY b.invoiceDate ASC, b.id ASC")
+    List<Booking> findInvoicedAfter(@Param("invoiceDate") LocalDate invoiceDate,
+                                    @Param("id") Long id,
+                                    @Param("to") LocalDate to,
+                                    Limit limit);
+
+    /**
+     * Streams the employee booking list rows of all bookings in the order of their ID. The rows are read from a
+     * forward-only cursor in chunks of {@link #EXPORT_FETCH_SIZE}. Must be called in a transaction, and the stream
+     * must be closed.
+     *
+     * @return a stream of the rows of all bookings
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE))
+    @Query(EMPLOYEE_BOOKING_ROW_SELECT + "ORDER BY b.id ASC")
+    Stream<EmployeeBookingRow> streamAllForExport();
+
+    /**
+     * Finds the room and date range of every booking that still blocks its room and ends on or after the given date.
+     * Used to (re)build the in-memory room availability index without loading full booking entities.
+     *
+     * @param from the first date of interest
+     * @return the occupancy of all non-cancelled bookings ending on or after {@code from}, without expired holds
+     */
+    @Query("SELECT b.id AS id, b.room.id AS roomId, b.startDate AS startDate, b.endDate AS endDate, b.holdExpiresAt AS holdExpiresAt "
+        + "FROM Booking b WHERE b.endDate >= :from AND b.status <> at.ac.tuwien.sepr.groupphase.backend.enums.BookingStatus.CANCELLED "
+        + "AND " + NOT_EXPIRED_HOLD_FILTER)
+    List<BookingOccupancy> findOccupanciesEndingOnOrAfter(@Param("from") LocalDate from);
+
+    /**
+     * Finds every booking whose stay includes the given day and that still blocks its room, with the email of the
+     * guest who made it, in the order the stays start.
+     *
+     * @param day the day of interest
+     * @return the non-cancelled bookings including {@code day}, without expired holds
+     */
+    @Query("SELECT b.id AS id, b.room.id AS roomId, u.email AS ownerEmail, b.startDate AS startDate, b.endDate AS endDate "
+        + "FROM Booking b LEFT JOIN b.user u WHERE b.startDate <= :day AND b.endDate >= :day "
+        + "AND b.status <> at.ac.tuwien.sepr.groupphase.backend.enums.BookingStatus.CANCELLED AND " + NOT_EXPIRED_HOLD_FILTER
+        + " ORDER BY b.startDate ASC, b.id ASC")
+    List<CurrentBooking> findCurrentBookings(@Param("day") LocalDate day);
+
+    /**
+     * Finds the IDs of bookings whose hold has expired at the given point in time and that have not been cancelled yet,
+     * oldest hold first.
+     *
+     * @param now   the current point in time
+     * @param limit the maximum number of IDs to return
+     * @return the IDs of the expired holds
+     */
+    @Query("SELECT b.id FROM Booking b WHERE b.holdExpiresAt <= :now "
+        + "AND b.status <> at.ac.tuwien.sepr.groupphase.backend.enums.BookingStatus.CANCELLED ORDER BY b.holdExpiresAt ASC")
+    List<Long> findExpiredHoldIds(@Param("now") LocalDateTime now, Limit limit);
+
+    /**
+     * Finds the IDs of bookings that have not been completed, but whose stay has ended before the given date.
+     *
+     * @param today the current date
+     * @param limit the maximum number of IDs to return
+     * @return the IDs of the bookings to complete
+     */
+    @Query("SELECT b.id FROM Booking b WHERE b.endDate < :today AND b.status IN "
+        + "(at.ac.tuwien.sepr.groupphase.backend.enums.BookingStatus.PENDING, at.ac.tuwien.sepr.groupphase.backend.enums.BookingStatus.ACTIVE)")
+    List<Long> findIdsToComplete(@Param("today") LocalDate today, Limit limit);
+
+    /**
+     * Finds the IDs of pending bookings whose stay has started and ends after the given date.
+     *
+     * @param today the current date
+     * @param limit the maximum number of IDs to return
+     * @return the IDs of the bookings to activate
+     */
+    @Query("SELECT b.id FROM Booking b WHERE b.startDate <= :today AND b.endDate > :today "
+        + "AND b.status = at.ac.tuwien.sepr.groupphase.backend.enums.BookingStatus.PENDING")
+    List<Long> findIdsToActivate(@Param("today") LocalDate today, Limit limit);
+
+    /**
+     * Finds the IDs of active bookings that are not active on the given date, i.e. whose stay starts later or ends on
+     * that date.
+     *
+     * @param today the current date
+     * @param limit the maximum number of IDs to return
+     * @return the IDs of the bookings that are pending again
+     */
+    @Query("SELECT b.id FROM Booking b WHERE (b.startDate > :today OR b.endDate = :today) "
+        + "AND b.status = at.ac.tuwien.sepr.groupphase.backend.enums.BookingStatus.ACTIVE")
+    List<Long> findIdsToDeactivate(@Param("today") LocalDate today, Limit limit);
+
+    /**
+     * Sets the status of the given bookings, as far as they still have one of the expected statuses, so bookings that
+     * have been cancelled or changed in the meantime are left alone.
+     *
+     * @param ids        the IDs of the bookings
+     * @param from       the statuses the bookings are expected to have
+     * @param status     the new status
+     * @param statusRank the listing rank of the new status
+     * @return the number of updated bookings
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Booking b SET b.status = :status, b.statusRank = :statusRank WHERE b.id IN :ids AND b.status IN :from")
+    int updateStatus(@Param("ids") List<Long> ids,
+                     @Param("from") List<BookingStatus> from,
+                     @Param("status") BookingStatus status,
+                     @Param("statusRank") int statusRank);
+
+    /**
+     * Finds the IDs of bookings whose documents are pending and due at the given point in time, longest waiting first.
+     *
+     * @param now   the current point in time
+     * @param limit the maximum number of IDs to return
+     * @return the IDs of the bookings with due documents
+     */
+    @Query("SELECT b.id FROM Booking b WHERE b.documentStatus = at.ac.tuwien.sepr.groupphase.backend.enums.DocumentStatus.PENDING "
+        + "AND b.documentNextAttemptAt <= :now ORDER BY b.documentNextAttemptAt ASC")
+    List<Long> findDueDocumentIds(@Param("now") LocalDateTime now, Limit limit);
+
+    /**
+     * Claims the pending documents of a booking for one attempt, if they are still due. Claimed documents are not due
+     * again before {@code leaseEnd}, so documents of a crashed worker are picked up again once its lease has ended.
+     *
+     * @param id       the ID of the booking
+     * @param now      the current point in time
+     * @param leaseEnd the end of the lease of the claiming worker
+     * @return 1 if the documents were claimed, 0 if they are not due or claimed by another worker
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Booking b SET b.documentNextAttemptAt = :leaseEnd, b.documentAttempts = b.documentAttempts + 1 "
+        + "WHERE b.id = :id AND b.documentStatus = at.ac.tuwien.sepr.groupphase.backend.enums.DocumentStatus.PENDING "
+        + "AND b.documentNextAttemptAt <= :now")
+    int claimDocuments(@Param("id") Long id, @Param("now") LocalDateTime now, @Param("leaseEnd") LocalDateTime leaseEnd);
+
+    /**
+     * Sets the state of the documents of a booking.
+     *
+     * @param id            the ID of the booking
+     * @param status        the new state of the documents
+     * @param nextAttemptAt the point in time from which the documents are retried, or {@code null}
+     * @param error         the reason of the last failure, or {@code null}
+     * @return the number of updated bookings
      */
-    @Query("SELECT b FROM Booking b ORDER BY "
-        + "CASE WHEN b.status = 'ACTIVE' THEN 1 ELSE 2 END, "
-        + "b.startDate ASC")
-    Page<Booking> findAllWithCustomSorting(Pageable pageable);
+    @Modifying
+    @Transactional
+    @Query("UPDATE Booking b SET b.documentStatus = :status, b.documentNextAttemptAt = :nextAttemptAt, b.documentError = :error "
+        + "WHERE b.id = :id")
+    int updateDocumentStatus(@Param("id") Long id,
+                             @Param("status") DocumentStatus status,
+                             @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                             @Param("error") String error);
 }
@@ -5,8 +5,14 @@ import at.ac.tuwien.sepr.groupphase.backend.entity.Booking;
 import at.ac.tuwien.sepr.groupphase.backend.entity.CheckIn;
 import at.ac.tuwien.sepr.groupphase.backend.entity.CheckOut;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,4 +24,19 @@ public interface CheckOutRepository extends JpaRepository<CheckOut, Long> {
     List<CheckOut> findCheckOutByBooking(Booking booking);
 
     List<CheckOut> findCheckOutByBookingAndGuest(Booking booking, ApplicationUser guest);
+
+    /**
+     * Checks out every guest who is still staying in the room of a booking that ends on or before the given day, with a
+     * single statement. Must be followed by {@link StayStateRepository#checkOutEnded(LocalDate, LocalDateTime)} in the
+     * same transaction.
+     *
+     * @param today        the current date
+     * @param checkedOutAt the point in time of the check-outs
+     * @return the number of inserted check-outs
+     */
+    @Modifying
+    @Transactional
+    @Query("INSERT INTO CheckOut (booking, guest, date) SELECT s.booking, s.guest, :checkedOutAt FROM StayState s "
+        + "WHERE s.checkedOutAt IS NULL AND s.booking IN (SELECT b FROM Booking b WHERE b.endDate <= :today)")
+    int insertMissingCheckOuts(@Param("today") LocalDate today, @Param("checkedOutAt") LocalDateTime checkedOutAt);
 }
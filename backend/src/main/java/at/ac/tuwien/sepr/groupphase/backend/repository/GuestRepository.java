@@ -3,6 +3,7 @@ package at.ac.tuwien.sepr.groupphase.backend.repository;
 import at.ac.tuwien.sepr.groupphase.backend.entity.Guest;
 import at.ac.tuwien.sepr.groupphase.backend.enums.Nationality;
 import jakarta.validation.constraints.Email;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -10,6 +11,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -61,6 +63,14 @@ public interface GuestRepository extends JpaRepository<Guest, Long> {
      */
     Optional<Guest> findByEmail(@Email String email);
 
+    /**
+     * Finds the guests with the given emails.
+     *
+     * @param emails the emails of the guests
+     * @return the guests that exist, in no particular order
+     */
+    List<Guest> findByEmailIn(Collection<String> emails);
+
     /**
      * Deletes a guest by their email.
      *
@@ -76,4 +86,26 @@ public interface GuestRepository extends JpaRepository<Guest, Long> {
                                      @Param("lastName") String lastName,
                                      @Param("email") String email,
                                      Pageable pageable);
+
+    /**
+     * Finds the guests matching the given criteria whose ID is greater than the given one, in the order of their IDs.
+     * Reading along the primary key stops as soon as the limit is reached, no matter how many guests came before.
+     *
+     * @param firstName part of the first name, or {@code null}
+     * @param lastName  part of the last name, or {@code null}
+     * @param email     part of the email address, or {@code null}
+     * @param afterId   the ID of the last guest of the previous page, or {@code 0} for the first page
+     * @param limit     the maximum number of guests to return
+     * @return the matching guests, ordered by ID
+     */
+    @Query("SELECT g FROM Guest g WHERE g.id > :afterId AND "
+        + "(:firstName IS NULL OR LOWER(g.firstName) LIKE LOWER(CONCAT('%', :firstName, '%'))) AND "
+        + "(:lastName IS NULL OR LOWER(g.lastName) LIKE LOWER(CONCAT('%', :lastName, '%'))) AND "
+        + "(:email IS NULL OR LOWER(g.email) LIKE LOWER(CONCAT('%', :email, '%'))) "
+        + "ORDER BY g.id ASC")
+    List<Guest> findGuestsByCriteriaAfter(@Param("firstName") String firstName,
+                                          @Param("lastName") String lastName,
+                                          @Param("email") String email,
+                                          @Param("afterId") Long afterId,
+                                          Limit limit);
 }
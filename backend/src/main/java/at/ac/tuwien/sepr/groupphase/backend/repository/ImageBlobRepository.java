@@ -0,0 +1,70 @@
+package at.ac.tuwien.sepr.groupphase.backend.repository;
+
+import at.ac.tuwien.sepr.groupphase.backend.entity.ImageBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+public interface ImageBlobRepository extends JpaRepository<ImageBlob, String> {
+
+    /**
+     * Holds if the image {@code b} is shown by a room, an activity or the UI configuration, or is the variant of
+     * another image.
+     */
+    String REFERENCED = "EXISTS (SELECT r.id FROM Room r WHERE r.mainImage = b) "
+        + "OR EXISTS (SELECT ri.id FROM RoomImage ri WHERE ri.image = b) "
+        + "OR EXISTS (SELECT a.id FROM Activity a WHERE a.mainImage = b) "
+        + "OR EXISTS (SELECT ai.id FROM ActivityImage ai WHERE ai.image = b) "
+        + "OR EXISTS (SELECT ui.id FROM UiImage ui WHERE ui.image = b) "
+        + "OR EXISTS (SELECT d.id FROM ImageDerivative d WHERE d.image = b AND d.source <> b)";
+
+    /**
+     * Marks an image as reused by an upload. The update locks the row until the surrounding transaction ends, so the
+     * image can not be deleted before the entity that references it is committed.
+     *
+     * @param hash the hash of the image
+     * @return 1 if the image is stored, 0 if it is not
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE ImageBlob b SET b.claims = b.claims + 1 WHERE b.hash = :hash")
+    int claim(@Param("hash") String hash);
+
+    /**
+     * Finds how often an image has been reused, without loading its data.
+     *
+     * @param hash the hash of the image
+     * @return the number of reuses, or empty if the image is not stored
+     */
+    @Query("SELECT b.claims FROM ImageBlob b WHERE b.hash = :hash")
+    Optional<Long> findClaimsByHash(@Param("hash") String hash);
+
+    /**
+     * Checks whether an image is still in use, either by a room, an activity or the UI configuration, or as the resized
+     * variant of another image.
+     *
+     * @param hash the hash of the image
+     * @return {@code true} if the image is referenced, {@code false} if it is not or does not exist
+     */
+    @Query("SELECT CASE WHEN COUNT(b) > 0 THEN true ELSE false END FROM ImageBlob b WHERE b.hash = :hash AND ("
+        + REFERENCED + ")")
+    boolean isReferenced(@Param("hash") String hash);
+
+    /**
+     * Deletes an image without loading its data, if it is not referenced and has not been reused since its reuses were
+     * counted. The check and the delete are a single statement, so an upload that reuses the image concurrently either
+     * finds it gone and stores it again, or keeps it.
+     *
+     * @param hash   the hash of the image
+     * @param claims the number of reuses read before the image was found to be unreferenced
+     * @return 1 if the image was deleted, 0 if it is in use again
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ImageBlob b WHERE b.hash = :hash AND b.claims = :claims AND NOT (" + REFERENCED + ")")
+    int deleteIfUnreferenced(@Param("hash") String hash, @Param("claims") long claims);
+}
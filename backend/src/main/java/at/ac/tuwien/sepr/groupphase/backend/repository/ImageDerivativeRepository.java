@@ -0,0 +1,54 @@
+package at.ac.tuwien.sepr.groupphase.backend.repository;
+
+import at.ac.tuwien.sepr.groupphase.backend.entity.ImageDerivative;
+import at.ac.tuwien.sepr.groupphase.backend.enums.ImageVariant;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface ImageDerivativeRepository extends JpaRepository<ImageDerivative, Long> {
+
+    /**
+     * Finds the hash of the blob holding the given variant of an image, without loading any image data.
+     *
+     * @param sourceHash the hash of the uploaded image
+     * @param variant    the requested variant
+     * @return the hash of the variant, or empty if it has not been generated yet
+     */
+    @Query("SELECT d.image.hash FROM ImageDerivative d WHERE d.source.hash = :sourceHash AND d.variant = :variant")
+    Optional<String> findImageHashBySourceHashAndVariant(@Param("sourceHash") String sourceHash, @Param("variant") ImageVariant variant);
+
+    /**
+     * Finds the variants that have already been generated for an image.
+     *
+     * @param sourceHash the hash of the uploaded image
+     * @return the generated variants
+     */
+    @Query("SELECT d.variant FROM ImageDerivative d WHERE d.source.hash = :sourceHash")
+    List<ImageVariant> findVariantsBySourceHash(@Param("sourceHash") String sourceHash);
+
+    /**
+     * Finds the hashes of the blobs holding the variants of an image. A variant may be the image itself.
+     *
+     * @param sourceHash the hash of the uploaded image
+     * @return the hashes of the generated variants
+     */
+    @Query("SELECT d.image.hash FROM ImageDerivative d WHERE d.source.hash = :sourceHash")
+    List<String> findImageHashesBySourceHash(@Param("sourceHash") String sourceHash);
+
+    /**
+     * Deletes the links from an image to its variants. The variant blobs themselves are kept.
+     *
+     * @param sourceHash the hash of the uploaded image
+     * @return the number of deleted links
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ImageDerivative d WHERE d.source.hash = :sourceHash")
+    int deleteBySourceHash(@Param("sourceHash") String sourceHash);
+}
@@ -4,8 +4,11 @@ import at.ac.tuwien.sepr.groupphase.backend.entity.ApplicationUser;
 import at.ac.tuwien.sepr.groupphase.backend.entity.Booking;
 import at.ac.tuwien.sepr.groupphase.backend.entity.InviteToRoom;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,4 +18,13 @@ public interface InviteToRoomRepository extends JpaRepository<InviteToRoom, Long
     Optional<List<InviteToRoom>> findInviteToRoomByGuest(ApplicationUser guest);
 
     Optional<InviteToRoom> findInviteToRoomByGuestAndBooking(ApplicationUser guest, Booking booking);
+
+    /**
+     * Finds the invites to the rooms of the given bookings, together with the invited guests.
+     *
+     * @param bookingIds the IDs of the bookings
+     * @return the invites of the bookings
+     */
+    @Query("SELECT i FROM InviteToRoom i JOIN FETCH i.guest WHERE i.booking.id IN :bookingIds")
+    List<InviteToRoom> findByBookingIdIn(@Param("bookingIds") Collection<Long> bookingIds);
 }
@@ -0,0 +1,46 @@
+package at.ac.tuwien.sepr.groupphase.backend.repository;
+
+import at.ac.tuwien.sepr.groupphase.backend.entity.JobLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface JobLockRepository extends JpaRepository<JobLock, String> {
+
+    /**
+     * Takes the lease on a job, if it has run out. The check and the update are a single statement, so at most one owner
+     * gets the lease. The lease is measured in database time, so nodes whose clocks differ still agree on it.
+     *
+     * @param name         the name of the job
+     * @param owner        the node taking the lease
+     * @param leaseSeconds the length of the new lease
+     * @return 1 if the lease was taken, 0 if it is still held or the job has no lock row yet
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE JobLock l SET l.lockedUntil = LOCAL DATETIME + (:leaseSeconds) SECOND, l.lockedAt = LOCAL DATETIME, "
+        + "l.lockedBy = :owner WHERE l.name = :name AND l.lockedUntil <= LOCAL DATETIME")
+    int tryAcquire(@Param("name") String name,
+                   @Param("owner") String owner,
+                   @Param("leaseSeconds") long leaseSeconds);
+
+    /**
+     * Gives the lease on a job back, if it is still held by the given owner. The lease is kept for at least the given
+     * time after it was taken, so a node whose schedule fires a moment later does not run the job a second time.
+     *
+     * @param name           the name of the job
+     * @param owner          the node holding the lease
+     * @param minHoldSeconds how long after it was taken the lease is held at least
+     * @return 1 if the lease was given back, 0 if it had already been taken over
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE JobLock l SET l.lockedUntil = CASE WHEN l.lockedAt + (:minHoldSeconds) SECOND > LOCAL DATETIME "
+        + "THEN l.lockedAt + (:minHoldSeconds) SECOND ELSE LOCAL DATETIME END "
+        + "WHERE l.name = :name AND l.lockedBy = :owner")
+    int release(@Param("name") String name, @Param("owner") String owner, @Param("minHoldSeconds") long minHoldSeconds);
+}
@@ -0,0 +1,94 @@
+package at.ac.tuwien.sepr.groupphase.backend.repository;
+
+import at.ac.tuwien.sepr.groupphase.backend.entity.OutboxMail;
+import at.ac.tuwien.sepr.groupphase.backend.enums.MailStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxMailRepository extends JpaRepository<OutboxMail, Long> {
+
+    /**
+     * Finds the IDs of mails that are pending and due at the given point in time, longest waiting first.
+     *
+     * @param now   the current point in time
+     * @param limit the maximum number of IDs to return
+     * @return the IDs of the due mails
+     */
+    @Query("SELECT m.id FROM OutboxMail m WHERE m.status = at.ac.tuwien.sepr.groupphase.backend.enums.MailStatus.PENDING "
+        + "AND m.nextAttemptAt <= :now ORDER BY m.nextAttemptAt ASC, m.id ASC")
+    List<Long> findDueIds(@Param("now") LocalDateTime now, Limit limit);
+
+    /**
+     * Claims a pending mail for one attempt, if it is still due. A claimed mail is not due again before
+     * {@code leaseEnd}, so mails of a crashed dispatcher are sent again once its lease has ended.
+     *
+     * @param id       the ID of the mail
+     * @param now      the current point in time
+     * @param leaseEnd the end of the lease of the claiming dispatcher
+     * @return 1 if the mail was claimed, 0 if it is not due or claimed by another dispatcher
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE OutboxMail m SET m.nextAttemptAt = :leaseEnd, m.attempts = m.attempts + 1 "
+        + "WHERE m.id = :id AND m.status = at.ac.tuwien.sepr.groupphase.backend.enums.MailStatus.PENDING "
+        + "AND m.nextAttemptAt <= :now")
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now, @Param("leaseEnd") LocalDateTime leaseEnd);
+
+    /**
+     * Loads the given mails together with their attachments.
+     *
+     * @param ids the IDs of the mails
+     * @return the mails with their attachments
+     */
+    @EntityGraph(attributePaths = "attachments")
+    List<OutboxMail> findAllByIdIn(Collection<Long> ids);
+
+    /**
+     * Marks the given mails as sent.
+     *
+     * @param ids    the IDs of the sent mails
+     * @param sentAt the point in time the mails were sent
+     * @return the number of updated mails
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE OutboxMail m SET m.status = at.ac.tuwien.sepr.groupphase.backend.enums.MailStatus.SENT, "
+        + "m.sentAt = :sentAt, m.nextAttemptAt = NULL, m.lastError = NULL WHERE m.id IN :ids")
+    int markSent(@Param("ids") Collection<Long> ids, @Param("sentAt") LocalDateTime sentAt);
+
+    /**
+     * Records a failed attempt to send a mail.
+     *
+     * @param id            the ID of the mail
+     * @param status        {@link MailStatus#PENDING} to retry the mail, {@link MailStatus#DEAD} to give up
+     * @param nextAttemptAt the point in time from which the mail is retried, or {@code null}
+     * @param error         the reason of the failure
+     * @return the number of updated mails
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE OutboxMail m SET m.status = :status, m.nextAttemptAt = :nextAttemptAt, m.lastError = :error WHERE m.id = :id")
+    int markFailed(@Param("id") Long id,
+                   @Param("status") MailStatus status,
+                   @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                   @Param("error") String error);
+
+    /**
+     * Counts the mails in the given state.
+     *
+     * @param status the state
+     * @return the number of mails in this state
+     */
+    long countByStatus(MailStatus status);
+}
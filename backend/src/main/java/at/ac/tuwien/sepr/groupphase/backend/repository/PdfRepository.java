@@ -1,18 +1,62 @@
 package at.ac.tuwien.sepr.groupphase.backend.repository;
 
 import at.ac.tuwien.sepr.groupphase.backend.entity.Pdf;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface PdfRepository extends JpaRepository<Pdf, Long> {
 
     /**
-     * Finds a PDF document by its associated booking ID and document type.
+     * Finds a PDF document by its associated booking ID and document type. If the document has been stored more than
+     * once, e.g. by two requests that generated it at the same time, the most recent one is returned.
      *
      * @param bookingId the ID of the associated booking
      * @param type the type of the PDF document (e.g., invoice, cancellation receipt)
      * @return an {@link Optional} containing the PDF if found, or empty if not
      */
-    Optional<Pdf> findByBookingIdAndDocumentType(Long bookingId, String type);
+    default Optional<Pdf> findByBookingIdAndDocumentType(Long bookingId, String type) {
+        return findFirstByBookingIdAndDocumentTypeOrderByIdDesc(bookingId, type);
+    }
+
+    /**
+     * Finds the most recently stored PDF document by its associated booking ID and document type.
+     *
+     * @param bookingId the ID of the associated booking
+     * @param type the type of the PDF document
+     * @return an {@link Optional} containing the PDF if found, or empty if not
+     */
+    Optional<Pdf> findFirstByBookingIdAndDocumentTypeOrderByIdDesc(Long bookingId, String type);
+
+    /**
+     * Checks whether a PDF document of the given type has been stored for a booking.
+     *
+     * @param bookingId the ID of the associated booking
+     * @param type the type of the PDF document
+     * @return true if such a document exists
+     */
+    boolean existsByBookingIdAndDocumentType(Long bookingId, String type);
+
+    /**
+     * Finds which of the given bookings have a stored PDF document of the given type.
+     *
+     * @param bookingIds the IDs of the bookings
+     * @param type the type of the PDF document
+     * @return the IDs of the bookings that have such a document
+     */
+    @Query("SELECT DISTINCT p.bookingId FROM Pdf p WHERE p.documentType = :type AND p.bookingId IN :bookingIds")
+    List<Long> findBookingIdsWithDocument(@Param("bookingIds") Collection<Long> bookingIds, @Param("type") String type);
+
+    /**
+     * Finds the oldest stored PDF documents.
+     *
+     * @param limit the maximum number of documents to return
+     * @return the documents with the lowest IDs
+     */
+    List<Pdf> findAllByOrderByIdAsc(Limit limit);
 }
@@ -0,0 +1,41 @@
+package at.ac.tuwien.sepr.groupphase.backend.repository;
+
+import at.ac.tuwien.sepr.groupphase.backend.entity.PdfSegmentEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface PdfSegmentEntryRepository extends JpaRepository<PdfSegmentEntry, Long> {
+
+    /**
+     * Finds the most recently stored index entry of a PDF document by its booking ID and document type.
+     *
+     * @param bookingId the ID of the associated booking
+     * @param type the type of the PDF document
+     * @return an {@link Optional} containing the entry if found, or empty if not
+     */
+    Optional<PdfSegmentEntry> findFirstByBookingIdAndDocumentTypeOrderByIdDesc(Long bookingId, String type);
+
+    /**
+     * Checks whether a PDF document of the given type has been stored for a booking.
+     *
+     * @param bookingId the ID of the associated booking
+     * @param type the type of the PDF document
+     * @return true if such a document exists
+     */
+    boolean existsByBookingIdAndDocumentType(Long bookingId, String type);
+
+    /**
+     * Finds which of the given bookings have a stored PDF document of the given type.
+     *
+     * @param bookingIds the IDs of the bookings
+     * @param type the type of the PDF document
+     * @return the IDs of the bookings that have such a document
+     */
+    @Query("SELECT DISTINCT e.bookingId FROM PdfSegmentEntry e WHERE e.documentType = :type AND e.bookingId IN :bookingIds")
+    List<Long> findBookingIdsWithDocument(@Param("bookingIds") Collection<Long> bookingIds, @Param("type") String type);
+}
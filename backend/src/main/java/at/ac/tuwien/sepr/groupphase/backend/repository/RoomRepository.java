@@ -1,18 +1,47 @@
 package at.ac.tuwien.sepr.groupphase.backend.repository;
 
 import at.ac.tuwien.sepr.groupphase.backend.entity.Room;
+import at.ac.tuwien.sepr.groupphase.backend.repository.projection.RoomCapacity;
+import at.ac.tuwien.sepr.groupphase.backend.repository.projection.RoomSummary;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 
 public interface RoomRepository extends JpaRepository<Room, Long> {
 
+    /**
+     * Select clause for {@link RoomSummary} list queries. Only selects the hash of the main image, without loading it.
+     */
+    String ROOM_SUMMARY_SELECT = "SELECT r.id AS id, r.name AS name, r.price AS price, r.capacity AS capacity, "
+        + "r.lastCleanedAt AS lastCleanedAt, r.cleaningTimeFrom AS cleaningTimeFrom, r.cleaningTimeTo AS cleaningTimeTo, "
+        + "mi.hash AS mainImageHash FROM Room r LEFT JOIN r.mainImage mi ";
+
+    String NOT_BOOKED_FILTER = "r.id NOT IN (SELECT b.room.id FROM Booking b WHERE b.startDate <= :endDate AND b.endDate >= :startDate AND b.status IN ("
+        + "at.ac.tuwien.sepr.groupphase.backend.enums.BookingStatus.PENDING,"
+        + "at.ac.tuwien.sepr.groupphase.backend.enums.BookingStatus.ACTIVE,"
+        + "at.ac.tuwien.sepr.groupphase.backend.enums.BookingStatus.COMPLETED) AND "
+        + BookingRepository.NOT_EXPIRED_HOLD_FILTER + ")";
+
+    String CRITERIA_FILTER = "(:minPrice IS NULL OR r.price >= :minPrice) AND (:maxPrice IS NULL OR r.price <= :maxPrice) AND r.capacity >= :capacity";
+
+    String ADMIN_CRITERIA_FILTER = "(:name IS NULL OR LOWER(r.name) LIKE LOWER(CONCAT('%', :name, '%'))) AND "
+        + "(:minPrice IS NULL OR r.price >= :minPrice) AND "
+        + "(:maxPrice IS NULL OR r.price <= :maxPrice) AND "
+        + "(:minCapacity IS NULL OR r.capacity >= :minCapacity) AND "
+        + "(:maxCapacity IS NULL OR r.capacity <= :maxCapacity) AND "
+        + "(:description IS NULL OR LOWER(r.description) LIKE LOWER(CONCAT('%', :description, '%')))";
+
     /**
      * Find a room by its id.
      *
@@ -21,6 +50,36 @@ public interface RoomRepository extends JpaRepository<Room, Long> {
      */
     Room findRoomById(Long id);
 
+    /**
+     * Find the hash of the main image of a room, without loading the room or the image.
+     *
+     * @param id the id of the room
+     * @return the hash of the main image, or empty if the room does not exist or has no main image
+     */
+    @Query("SELECT r.mainImage.hash FROM Room r WHERE r.id = :id")
+    Optional<String> findMainImageHashById(@Param("id") Long id);
+
+    /**
+     * Find the capacity of a room and whether it has a smart lock, without loading the room or its images.
+     *
+     * @param id the ID of the room
+     * @return the capacity of the room, or empty if the room does not exist
+     */
+    @Query("SELECT new at.ac.tuwien.sepr.groupphase.backend.repository.projection.RoomCapacity(r.id, r.capacity, "
+        + "CASE WHEN EXISTS (SELECT l.id FROM Lock l WHERE l.room = r) THEN true ELSE false END) FROM Room r WHERE r.id = :id")
+    Optional<RoomCapacity> findRoomCapacityById(@Param("id") Long id);
+
+    /**
+     * Find a room by its ID and lock its row until the end of the current transaction, so concurrent transactions
+     * that lock the same room, e.g. to admit a booking, wait for each other.
+     *
+     * @param id the ID of the room
+     * @return the locked room, or empty if it does not exist
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Room r WHERE r.id = :id")
+    Optional<Room> findByIdForUpdate(@Param("id") Long id);
+
     /**
      * Find all rooms ordered by price ascending.
      *
@@ -28,16 +87,41 @@ public interface RoomRepository extends JpaRepository<Room, Long> {
      */
     Page<Room> findAllByOrderByPriceAsc(Pageable pageable);
 
+    /**
+     * Find all rooms ordered by price ascending, without loading their images.
+     *
+     * @return ordered page of all rooms
+     */
+    @Query(value = ROOM_SUMMARY_SELECT + "ORDER BY r.price ASC", countQuery = "SELECT COUNT(r) FROM Room r")
+    Page<RoomSummary> findAllRoomSummariesByOrderByPriceAsc(Pageable pageable);
+
+    /**
+     * Find the cheapest rooms without their images, without counting all rooms.
+     *
+     * @param limit the maximum number of rooms to return
+     * @return the cheapest rooms, ordered by price and ID
+     */
+    @Query(ROOM_SUMMARY_SELECT + "ORDER BY r.price ASC, r.id ASC")
+    List<RoomSummary> findFirstRoomSummariesByOrderByPriceAsc(Limit limit);
+
+    /**
+     * Find the rooms following the given sort key in the order of price, without their images.
+     * The condition is a range on the price index, so the cost does not depend on how deep the page is.
+     *
+     * @param price the price of the last room of the previous page
+     * @param id    the ID of the last room of the previous page
+     * @param limit the maximum number of rooms to return
+     * @return the following rooms, ordered by price and ID
+     */
+    @Query(ROOM_SUMMARY_SELECT + "WHERE r.price > :price OR (r.price = :price AND r.id > :id) ORDER BY r.price ASC, r.id ASC")
+    List<RoomSummary> findRoomSummariesByOrderByPriceAscAfter(@Param("price") double price, @Param("id") Long id, Limit limit);
+
     /**
      * Find all rooms ordered by price descending.
      *
      * @return list of all rooms that fit the criteria and do not have a booking at the given time
      */
-    @Query("SELECT r FROM Room r WHERE r.id NOT IN (SELECT b.room.id FROM Booking b WHERE b.startDate <= :endDate AND b.endDate >= :startDate AND b.status IN ("
-        + "at.ac.tuwien.sepr.groupphase.backend.enums.BookingStatus.PENDING,"
-        + "at.ac.tuwien.sepr.groupphase.backend.enums.BookingStatus.ACTIVE,"
-        + "at.ac.tuwien.sepr.groupphase.backend.enums.BookingStatus.COMPLETED)) "
-        + "AND (:minPrice IS NULL OR r.price >= :minPrice) AND (:maxPrice IS NULL OR r.price <= :maxPrice) AND r.capacity >= :capacity ORDER BY r.price DESC")
+    @Query("SELECT r FROM Room r WHERE " + NOT_BOOKED_FILTER + " AND " + CRITERIA_FILTER + " ORDER BY r.price DESC")
     Page<Room> findRoomsByCriteria(@Param("startDate") LocalDate startDate,
                                    @Param("endDate") LocalDate endDate,
                                    @Param("maxPrice") Double maxPrice,
@@ -45,6 +129,48 @@ public interface RoomRepository extends JpaRepository<Room, Long> {
                                    @Param("capacity") Integer capacity,
                                    Pageable pageable);
 
+    /**
+     * Find all rooms that fit the criteria and do not have a booking at the given time, ordered by price descending,
+     * without loading their images.
+     *
+     * @return page of all rooms that fit the criteria and do not have a booking at the given time
+     */
+    @Query(value = ROOM_SUMMARY_SELECT + "WHERE " + NOT_BOOKED_FILTER + " AND " + CRITERIA_FILTER + " ORDER BY r.price DESC",
+        countQuery = "SELECT COUNT(r) FROM Room r WHERE " + NOT_BOOKED_FILTER + " AND " + CRITERIA_FILTER)
+    Page<RoomSummary> findRoomSummariesByCriteria(@Param("startDate") LocalDate startDate,
+                                                  @Param("endDate") LocalDate endDate,
+                                                  @Param("maxPrice") Double maxPrice,
+                                                  @Param("minPrice") Double minPrice,
+                                                  @Param("capacity") Integer capacity,
+                                                  Pageable pageable);
+
+    /**
+     * Find all rooms that fit the criteria, excluding the given (already occupied) rooms, ordered by price descending.
+     *
+     * @return list of all rooms that fit the criteria and are not contained in {@code occupiedRoomIds}
+     */
+    @Query("SELECT r FROM Room r WHERE r.id NOT IN :occupiedRoomIds "
+        + "AND " + CRITERIA_FILTER + " ORDER BY r.price DESC")
+    Page<Room> findRoomsByCriteriaExcluding(@Param("occupiedRoomIds") Collection<Long> occupiedRoomIds,
+                                            @Param("maxPrice") Double maxPrice,
+                                            @Param("minPrice") Double minPrice,
+                                            @Param("capacity") Integer capacity,
+                                            Pageable pageable);
+
+    /**
+     * Find all rooms that fit the criteria, excluding the given (already occupied) rooms, ordered by price descending,
+     * without loading their images.
+     *
+     * @return page of all rooms that fit the criteria and are not contained in {@code occupiedRoomIds}
+     */
+    @Query(value = ROOM_SUMMARY_SELECT + "WHERE r.id NOT IN :occupiedRoomIds AND " + CRITERIA_FILTER + " ORDER BY r.price DESC",
+        countQuery = "SELECT COUNT(r) FROM Room r WHERE r.id NOT IN :occupiedRoomIds AND " + CRITERIA_FILTER)
+    Page<RoomSummary> findRoomSummariesByCriteriaExcluding(@Param("occupiedRoomIds") Collection<Long> occupiedRoomIds,
+                                                           @Param("maxPrice") Double maxPrice,
+                                                           @Param("minPrice") Double minPrice,
+                                                           @Param("capacity") Integer capacity,
+                                                           Pageable pageable);
+
     /**
      * Find all rooms ordered by cleaningTimeTo ascending and then by lastCleanedAt ascending.
      *
@@ -53,19 +179,30 @@ public interface RoomRepository extends JpaRepository<Room, Long> {
     @Query("SELECT r FROM Room r ORDER BY CASE WHEN r.cleaningTimeTo IS NOT NULL THEN 0 ELSE 1 END, r.cleaningTimeTo ASC, r.lastCleanedAt ASC")
     Page<Room> findAllRoomsCleaning(Pageable pageable);
 
+    /**
+     * Find all rooms ordered by cleaningTimeTo ascending and then by lastCleanedAt ascending, without loading their images.
+     *
+     * @return ordered page of all rooms
+     */
+    @Query(value = ROOM_SUMMARY_SELECT + "ORDER BY CASE WHEN r.cleaningTimeTo IS NOT NULL THEN 0 ELSE 1 END, r.cleaningTimeTo ASC, r.lastCleanedAt ASC",
+        countQuery = "SELECT COUNT(r) FROM Room r")
+    Page<RoomSummary> findAllRoomSummariesCleaning(Pageable pageable);
+
+    /**
+     * Find all rooms ordered by their ID, without loading their images.
+     *
+     * @return list of all rooms
+     */
+    @Query(ROOM_SUMMARY_SELECT + "ORDER BY r.id ASC")
+    List<RoomSummary> findAllRoomSummariesOrderById();
+
 
     /**
      * Find rooms by admin criteria.
      *
      * @return list of rooms matching the criteria
      */
-    @Query("SELECT r FROM Room r WHERE "
-        + "(:name IS NULL OR LOWER(r.name) LIKE LOWER(CONCAT('%', :name, '%'))) AND "
-        + "(:minPrice IS NULL OR r.price >= :minPrice) AND "
-        + "(:maxPrice IS NULL OR r.price <= :maxPrice) AND "
-        + "(:minCapacity IS NULL OR r.capacity >= :minCapacity) AND "
-        + "(:maxCapacity IS NULL OR r.capacity <= :maxCapacity) AND "
-        + "(:description IS NULL OR LOWER(r.description) LIKE LOWER(CONCAT('%', :description, '%')))")
+    @Query("SELECT r FROM Room r WHERE " + ADMIN_CRITERIA_FILTER)
     Page<Room> findRoomsByAdminCriteria(@Param("name") String name,
                                         @Param("minPrice") Double minPrice,
                                         @Param("maxPrice") Double maxPrice,
@@ -74,6 +211,21 @@ public interface RoomRepository extends JpaRepository<Room, Long> {
                                         @Param("description") String description,
                                         Pageable pageable);
 
+    /**
+     * Find rooms by admin criteria, without loading their images.
+     *
+     * @return page of rooms matching the criteria
+     */
+    @Query(value = ROOM_SUMMARY_SELECT + "WHERE " + ADMIN_CRITERIA_FILTER,
+        countQuery = "SELECT COUNT(r) FROM Room r WHERE " + ADMIN_CRITERIA_FILTER)
+    Page<RoomSummary> findRoomSummariesByAdminCriteria(@Param("name") String name,
+                                                       @Param("minPrice") Double minPrice,
+                                                       @Param("maxPrice") Double maxPrice,
+                                                       @Param("minCapacity") Integer minCapacity,
+                                                       @Param("maxCapacity") Integer maxCapacity,
+                                                       @Param("description") String description,
+                                                       Pageable pageable);
+
 
     Page<Room> findRoomsByNameContainingIgnoreCase(String name, Pageable pageable);
 }
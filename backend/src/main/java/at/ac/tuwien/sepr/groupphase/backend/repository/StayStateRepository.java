@@ -0,0 +1,139 @@
+package at.ac.tuwien.sepr.groupphase.backend.repository;
+
+import at.ac.tuwien.sepr.groupphase.backend.entity.ApplicationUser;
+import at.ac.tuwien.sepr.groupphase.backend.entity.Booking;
+import at.ac.tuwien.sepr.groupphase.backend.entity.StayState;
+import at.ac.tuwien.sepr.groupphase.backend.repository.projection.ActiveStayCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface StayStateRepository extends JpaRepository<StayState, Long> {
+
+    /**
+     * Finds the stay state of a guest in a booking.
+     *
+     * @param booking the booking
+     * @param guest   the guest
+     * @return the stay state, or empty if the guest has never checked in to the booking
+     */
+    Optional<StayState> findByBookingAndGuest(Booking booking, ApplicationUser guest);
+
+    /**
+     * Finds all stay states of a guest, together with the guest, in the order the guest checked in.
+     *
+     * @param guest the guest
+     * @return the stay states of the guest, including the ones that have been checked out
+     */
+    @Query("SELECT s FROM StayState s JOIN FETCH s.guest WHERE s.guest = :guest ORDER BY s.checkedInAt ASC, s.id ASC")
+    List<StayState> findByGuest(@Param("guest") ApplicationUser guest);
+
+    /**
+     * Finds the stays of a guest that have not been checked out, together with their booking and room, in the order
+     * the guest checked in.
+     *
+     * @param guest the guest
+     * @return the active stays of the guest
+     */
+    @Query("SELECT s FROM StayState s JOIN FETCH s.booking b JOIN FETCH b.room "
+        + "WHERE s.guest = :guest AND s.checkedOutAt IS NULL ORDER BY s.checkedInAt ASC, s.id ASC")
+    List<StayState> findActiveWithRoomByGuest(@Param("guest") ApplicationUser guest);
+
+    /**
+     * Finds the stay states of all guests of the given bookings, together with the guests.
+     *
+     * @param bookingIds the IDs of the bookings
+     * @return the stay states of the bookings, including the ones that have been checked out
+     */
+    @Query("SELECT s FROM StayState s JOIN FETCH s.guest WHERE s.booking.id IN :bookingIds")
+    List<StayState> findByBookingIdIn(@Param("bookingIds") Collection<Long> bookingIds);
+
+    /**
+     * Counts the guests currently staying in the room of a booking.
+     *
+     * @param booking the booking
+     * @return the number of guests checked in and not checked out
+     */
+    long countByBookingAndCheckedOutAtIsNull(Booking booking);
+
+    /**
+     * Checks whether any guest of a booking has checked out already.
+     *
+     * @param booking the booking
+     * @return true if a stay of the booking has been checked out
+     */
+    boolean existsByBookingAndCheckedOutAtIsNotNull(Booking booking);
+
+    /**
+     * Counts the guests currently staying per booking, for all bookings with at least one such guest.
+     *
+     * @return the number of guests checked in and not checked out, per booking
+     */
+    @Query("SELECT b.id AS bookingId, b.room.id AS roomId, u.email AS ownerEmail, COUNT(s) AS checkedIn "
+        + "FROM StayState s JOIN s.booking b LEFT JOIN b.user u WHERE s.checkedOutAt IS NULL "
+        + "GROUP BY b.id, b.room.id, u.email ORDER BY b.id ASC")
+    List<ActiveStayCount> countActiveStaysByBooking();
+
+    /**
+     * Checks out all guests of a booking that are still staying.
+     *
+     * @param booking      the booking
+     * @param checkedOutAt the point in time of the check-out
+     * @return the number of checked out stays
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE StayState s SET s.checkedOutAt = :checkedOutAt WHERE s.booking = :booking AND s.checkedOutAt IS NULL")
+    int checkOutBooking(@Param("booking") Booking booking, @Param("checkedOutAt") LocalDateTime checkedOutAt);
+
+    /**
+     * Checks out a guest of a booking, if the guest is still staying.
+     *
+     * @param booking      the booking
+     * @param guest        the guest
+     * @param checkedOutAt the point in time of the check-out
+     * @return the number of checked out stays, 0 or 1
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE StayState s SET s.checkedOutAt = :checkedOutAt "
+        + "WHERE s.booking = :booking AND s.guest = :guest AND s.checkedOutAt IS NULL")
+    int checkOutGuest(@Param("booking") Booking booking,
+                      @Param("guest") ApplicationUser guest,
+                      @Param("checkedOutAt") LocalDateTime checkedOutAt);
+
+    /**
+     * Checks out all guests still staying in the room of a booking that ends on or before the given day.
+     *
+     * @param today        the current date
+     * @param checkedOutAt the point in time of the check-out
+     * @return the number of checked out stays
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE StayState s SET s.checkedOutAt = :checkedOutAt "
+        + "WHERE s.checkedOutAt IS NULL AND s.booking IN (SELECT b FROM Booking b WHERE b.endDate <= :today)")
+    int checkOutEnded(@Param("today") LocalDate today, @Param("checkedOutAt") LocalDateTime checkedOutAt);
+
+    /**
+     * Deletes the stay state of a guest in a booking, after the check-ins of the guest have been removed.
+     *
+     * @param booking the booking
+     * @param guest   the guest
+     * @return the number of deleted stay states, 0 or 1
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM StayState s WHERE s.booking = :booking AND s.guest = :guest")
+    int deleteByBookingAndGuest(@Param("booking") Booking booking, @Param("guest") ApplicationUser guest);
+}
@@ -0,0 +1,16 @@
+package at.ac.tuwien.sepr.groupphase.backend.repository.projection;
+
+/**
+ * Number of guests currently checked in to the room of a booking, together with the room and the guest who made the
+ * booking.
+ */
+public interface ActiveStayCount {
+
+    Long getBookingId();
+
+    Long getRoomId();
+
+    String getOwnerEmail();
+
+    long getCheckedIn();
+}
@@ -0,0 +1,13 @@
+package at.ac.tuwien.sepr.groupphase.backend.repository.projection;
+
+/**
+ * Column-projected view of an activity with the categories it is recommended by. It is read without loading the
+ * activity entity, its images or its timeslots.
+ *
+ * <p>Like {@link RoomCapacity} it is a record, so it can be used after the session that read it is closed.</p>
+ *
+ * @param id         the ID of the activity
+ * @param categories the comma-separated categories of the activity
+ */
+public record ActivityCategories(Long id, String categories) {
+}
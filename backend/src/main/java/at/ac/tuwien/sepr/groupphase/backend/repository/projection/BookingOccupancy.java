@@ -0,0 +1,25 @@
+package at.ac.tuwien.sepr.groupphase.backend.repository.projection;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Column-projected view of a booking that only carries what is needed to know which nights of which room are taken.
+ */
+public interface BookingOccupancy {
+
+    Long getId();
+
+    Long getRoomId();
+
+    LocalDate getStartDate();
+
+    LocalDate getEndDate();
+
+    /**
+     * Returns the end of the hold of the booking.
+     *
+     * @return the end of the hold, or {@code null} if the booking is not a hold
+     */
+    LocalDateTime getHoldExpiresAt();
+}
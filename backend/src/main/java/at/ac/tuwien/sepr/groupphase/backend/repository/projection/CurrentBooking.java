@@ -0,0 +1,19 @@
+package at.ac.tuwien.sepr.groupphase.backend.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Column-projected view of a booking whose stay includes a given day, with the guest who made it.
+ */
+public interface CurrentBooking {
+
+    Long getId();
+
+    Long getRoomId();
+
+    String getOwnerEmail();
+
+    LocalDate getStartDate();
+
+    LocalDate getEndDate();
+}
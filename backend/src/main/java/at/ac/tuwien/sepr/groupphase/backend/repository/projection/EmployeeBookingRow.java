@@ -0,0 +1,74 @@
+package at.ac.tuwien.sepr.groupphase.backend.repository.projection;
+
+import at.ac.tuwien.sepr.groupphase.backend.enums.BookingStatus;
+import at.ac.tuwien.sepr.groupphase.backend.enums.Gender;
+import at.ac.tuwien.sepr.groupphase.backend.enums.Nationality;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Column-projected view of a booking for the employee booking list, with the room and guest columns it shows.
+ * It is read with a single query and never selects the room image.
+ */
+public interface EmployeeBookingRow {
+
+    Long getId();
+
+    Long getRoomId();
+
+    String getRoomName();
+
+    Double getRoomPrice();
+
+    Integer getCapacity();
+
+    LocalDateTime getLastCleanedAt();
+
+    Long getUserId();
+
+    String getEmail();
+
+    /**
+     * Returns the ID of the guest who made the booking.
+     *
+     * @return the ID of the guest, or {@code null} if the booking was not made by a guest and the guest columns are empty
+     */
+    Long getGuestId();
+
+    String getFirstName();
+
+    String getLastName();
+
+    String getAddress();
+
+    LocalDate getDateOfBirth();
+
+    Nationality getNationality();
+
+    String getPassportNumber();
+
+    String getPhoneNumber();
+
+    Gender getGender();
+
+    String getPlaceOfBirth();
+
+    LocalDate getStartDate();
+
+    LocalDate getEndDate();
+
+    Boolean getPaid();
+
+    BookingStatus getStatus();
+
+    int getStatusRank();
+
+    String getBookingNumber();
+
+    LocalDate getBookingDate();
+
+    Integer getNumberOfNights();
+
+    String getStripePaymentIntentId();
+}
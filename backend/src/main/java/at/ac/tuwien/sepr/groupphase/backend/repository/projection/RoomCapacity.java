@@ -0,0 +1,15 @@
+package at.ac.tuwien.sepr.groupphase.backend.repository.projection;
+
+/**
+ * Column-projected view of a room with what a check-in is validated against: its capacity and whether its door has a
+ * smart lock. It is read with a single query that neither loads the room entity nor its images.
+ *
+ * <p>Unlike the other projections it is a record, so it can be kept in a cache after the session that read it is
+ * closed.</p>
+ *
+ * @param id        the ID of the room
+ * @param capacity  the number of guests that may stay in the room
+ * @param smartLock whether a smart lock is registered for the room
+ */
+public record RoomCapacity(Long id, int capacity, boolean smartLock) {
+}
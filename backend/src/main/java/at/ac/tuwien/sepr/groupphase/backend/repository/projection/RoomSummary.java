@@ -0,0 +1,25 @@
+package at.ac.tuwien.sepr.groupphase.backend.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Column-projected view of a room for list pages. It never selects the main image itself, only its hash.
+ */
+public interface RoomSummary {
+
+    Long getId();
+
+    String getName();
+
+    double getPrice();
+
+    int getCapacity();
+
+    LocalDateTime getLastCleanedAt();
+
+    LocalDateTime getCleaningTimeFrom();
+
+    LocalDateTime getCleaningTimeTo();
+
+    String getMainImageHash();
+}
@@ -0,0 +1,58 @@
+package at.ac.tuwien.sepr.groupphase.backend.service;
+
+import at.ac.tuwien.sepr.groupphase.backend.entity.GuestActivityCategory;
+import at.ac.tuwien.sepr.groupphase.backend.enums.ActivityCategory;
+
+import java.util.List;
+
+/**
+ * In-memory index of the {@link ActivityCategory categories} of all activities, used to recommend activities to guests.
+ *
+ * <p>Every activity is kept as a vector with one entry per category. Each category of the activity gets the same share,
+ * so an activity with two categories has 0.5 for both of them. The score of an activity for a guest is the dot product of
+ * this vector with the preferences of the guest.</p>
+ *
+ * <p>The index is loaded from the activity table once and kept up to date whenever an activity is created, changed or
+ * deleted, so recommendations can be made without querying the activity table.</p>
+ */
+public interface ActivityRecommendationIndex {
+
+    /**
+     * Finds the activities that match the preferences of a guest best, best match first. Activities with the same score
+     * are returned in random order.
+     *
+     * @param preferences the category preferences of the guest, or {@code null} if the guest has none
+     * @param k           the maximum number of activities to return
+     * @return up to {@code k} activities with their score
+     */
+    List<Candidate> topK(GuestActivityCategory preferences, int k);
+
+    /**
+     * Adds or replaces an activity in the index.
+     *
+     * @param activityId the ID of the activity
+     * @param categories the comma-separated categories of the activity
+     */
+    void put(Long activityId, String categories);
+
+    /**
+     * Removes an activity from the index. Does nothing if the activity is not indexed.
+     *
+     * @param activityId the ID of the activity
+     */
+    void remove(Long activityId);
+
+    /**
+     * Discards the index and loads it again from the activity table.
+     */
+    void rebuild();
+
+    /**
+     * An activity that has been scored against the preferences of a guest.
+     *
+     * @param activityId the ID of the activity
+     * @param score      the score of the activity, 0 if it matches none of the preferences
+     */
+    record Candidate(Long activityId, double score) {
+    }
+}
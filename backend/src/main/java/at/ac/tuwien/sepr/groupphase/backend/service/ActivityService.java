@@ -8,6 +8,7 @@ import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.ActivitySlotSearchDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.ActivityTimeslotInfoDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.ActivityUpdateDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.DetailedActivityDto;
+import at.ac.tuwien.sepr.groupphase.backend.enums.ImageVariant;
 import at.ac.tuwien.sepr.groupphase.backend.exception.ConflictException;
 import at.ac.tuwien.sepr.groupphase.backend.exception.NotFoundException;
 import at.ac.tuwien.sepr.groupphase.backend.exception.ValidationException;
@@ -75,10 +76,13 @@ public interface ActivityService {
     /**
      * Retrieves the main image of an activity by its ID as a byte array.
      *
-     * @param id the ID of the activity whose main image is to be retrieved.
-     * @return a {@link ResponseEntity} containing the image as a byte array.
+     * @param id          the ID of the activity whose main image is to be retrieved.
+     * @param variant     the resized variant to return, or {@code null} for the uploaded image.
+     * @param ifNoneMatch the value of the {@code If-None-Match} request header, may be {@code null}.
+     * @return a {@link ResponseEntity} containing the image as a byte array, or an empty 304 response
+     *         if the client already has the current image.
      */
-    ResponseEntity<byte[]> getMainImage(Long id);
+    ResponseEntity<byte[]> getMainImage(Long id, ImageVariant variant, String ifNoneMatch);
 
     /**
      * Deletes an activity identified by its ID.
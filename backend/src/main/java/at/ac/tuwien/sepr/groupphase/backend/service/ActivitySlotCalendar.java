@@ -0,0 +1,44 @@
+package at.ac.tuwien.sepr.groupphase.backend.service;
+
+import at.ac.tuwien.sepr.groupphase.backend.entity.ActivitySlot;
+import at.ac.tuwien.sepr.groupphase.backend.entity.ActivityTimeslotInfo;
+import at.ac.tuwien.sepr.groupphase.backend.exception.NotFoundException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Computes the slots of an activity from its {@link ActivityTimeslotInfo} rules for the requested window.
+ *
+ * <p>Only slots that have been booked are stored as {@link ActivitySlot} rows, together with their occupancy. All other
+ * slots are created on the fly with the capacity of the activity and nothing occupied, and have no ID. A stored slot
+ * takes the place of the computed one with the same date and start time, and is listed even if the rules of the
+ * activity no longer produce it.</p>
+ */
+public interface ActivitySlotCalendar {
+
+    /**
+     * Lists the slots of an activity that have not started yet, in the order they start.
+     *
+     * @param activityId   the ID of the activity
+     * @param date         the day to list the slots of, or {@code null} for all days up to the horizon of the calendar
+     * @param participants the number of places a slot must have left, or {@code null} for all slots
+     * @param pageable     the page of slots to return
+     * @return the page of stored and computed slots
+     * @throws NotFoundException if the activity does not exist
+     */
+    Page<ActivitySlot> findUpcoming(Long activityId, LocalDate date, Integer participants, Pageable pageable) throws NotFoundException;
+
+    /**
+     * Finds the slot of an activity that starts at the given point in time.
+     *
+     * @param activityId the ID of the activity
+     * @param date       the day of the slot
+     * @param startTime  the start time of the slot
+     * @return the stored slot, or a new unsaved slot if it has not been booked yet
+     * @throws NotFoundException if the activity does not exist or has no slot starting at that time
+     */
+    ActivitySlot findSlot(Long activityId, LocalDate date, LocalTime startTime) throws NotFoundException;
+}
@@ -0,0 +1,21 @@
+package at.ac.tuwien.sepr.groupphase.backend.service;
+
+import at.ac.tuwien.sepr.groupphase.backend.enums.BookingExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface BookingExportService {
+
+    /**
+     * Writes all bookings, as shown in the manager view, to a stream in the given format, in the order of their ID.
+     *
+     * <p>The bookings are written while they are read from the database, so the memory used does not depend on the
+     * number of bookings. The stream is flushed regularly, but not closed.</p>
+     *
+     * @param format       the format to write the bookings in
+     * @param outputStream the stream the bookings are written to
+     * @throws IOException if the bookings can not be written to the stream
+     */
+    void exportBookings(BookingExportFormat format, OutputStream outputStream) throws IOException;
+}
@@ -3,6 +3,7 @@ package at.ac.tuwien.sepr.groupphase.backend.service;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.BookingCreateDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.DetailedBookingDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.EmployeeBookingDto;
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.KeysetPageDto;
 import at.ac.tuwien.sepr.groupphase.backend.exception.ConflictException;
 import at.ac.tuwien.sepr.groupphase.backend.exception.ValidationException;
 import com.stripe.exception.StripeException;
@@ -57,13 +58,6 @@ public interface BookingService {
      */
     boolean isRoomAvailable(Long roomId, LocalDate startDate, LocalDate endDate);
 
-    /**
-     * Retrieves all bookings.
-     *
-     * @return A list of all bookings.
-     */
-    List<EmployeeBookingDto> getAllBookings();
-
     /**
      * Cancels a booking.
      *
@@ -91,6 +85,17 @@ public interface BookingService {
      */
     Page<EmployeeBookingDto> getPagedBookings(Pageable pageable);
 
+    /**
+     * Retrieves one page of all bookings in the order of {@link #getPagedBookings(Pageable)}, continuing after the
+     * booking the cursor points to. Unlike page numbers, the cost of a page does not grow with its depth.
+     *
+     * @param cursor the {@code nextCursor} of the previous page, or {@code null} for the first page.
+     * @param size   the maximum number of bookings on the page.
+     * @return the page of bookings with the cursor of the following page.
+     * @throws IllegalArgumentException if the cursor is invalid or the size is out of range.
+     */
+    KeysetPageDto<EmployeeBookingDto> getBookingsAfter(String cursor, int size);
+
     /**
      * Marks a booking as paid manually.
      *
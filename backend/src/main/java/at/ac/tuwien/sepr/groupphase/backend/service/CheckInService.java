@@ -14,6 +14,7 @@ import at.ac.tuwien.sepr.groupphase.backend.exception.ConflictException;
 import at.ac.tuwien.sepr.groupphase.backend.exception.NotFoundException;
 import at.ac.tuwien.sepr.groupphase.backend.exception.ValidationException;
 import jakarta.mail.MessagingException;
+import org.springframework.core.io.Resource;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
@@ -152,13 +153,14 @@ public interface CheckInService {
      *
      * @param bookingId The id of the booking.
      * @param email the email of the guest.
-     * @return The bytes of the passport.
+     * @return The stored passport, to be streamed to the client.
      * @throws NotFoundException If there are no guests found with that email or if they are not checked in.
      */
-    byte[] getPassportByBookingIdAndEmail(Long bookingId, String email) throws NotFoundException;
+    Resource getPassportByBookingIdAndEmail(Long bookingId, String email) throws NotFoundException;
 
     /**
-     * Checks out all guests whose bookings have run out today.
+     * Checks out all guests who are still staying in a room whose booking has run out today or earlier.
+     * The check-outs are inserted with a single statement.
      *
      * @return The number of guests that were checked-out.
      */
@@ -0,0 +1,31 @@
+package at.ac.tuwien.sepr.groupphase.backend.service;
+
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.AddToRoomDto;
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.GroupCheckInResultDto;
+import at.ac.tuwien.sepr.groupphase.backend.exception.ValidationException;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.util.List;
+
+public interface GroupCheckInService {
+
+    /**
+     * Checks in a group of guests arriving together, e.g. the passengers of a coach or the attendees of a conference,
+     * into one or more bookings.
+     *
+     * <p>All guests are validated in one pass against the bookings, rooms, stays and invites of the group, which are
+     * loaded up front. The check-ins of all valid guests are then written in a single transaction, in JDBC batches.
+     * Guests that fail validation are skipped and reported, they do not prevent the others from checking in.</p>
+     *
+     * <p>A guest may check into a booking if they own it, are invited to its room, or the owner of the booking is checked
+     * in already or checks in with the same group.</p>
+     *
+     * @param guests    the guests to check in, each with the booking they check into
+     * @param passports the passports of the guests, in the same order as the guests
+     * @return one result per guest, in the order of the guests
+     * @throws ValidationException if the group is empty or the number of passports does not match the number of guests
+     * @throws IOException         if a passport can't be stored; no guest of the group is checked in then
+     */
+    List<GroupCheckInResultDto> checkInGroup(List<AddToRoomDto> guests, List<MultipartFile> passports) throws ValidationException, IOException;
+}
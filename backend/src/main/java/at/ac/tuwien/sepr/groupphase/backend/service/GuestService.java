@@ -5,6 +5,7 @@ import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.GuestDetailDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.GuestListDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.GuestSearchDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.GuestSignupDto;
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.KeysetPageDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.SimpleGuestDto;
 import at.ac.tuwien.sepr.groupphase.backend.exception.ConflictException;
 import at.ac.tuwien.sepr.groupphase.backend.exception.ValidationException;
@@ -79,4 +80,16 @@ public interface GuestService {
      * @return a list of {@link GuestListDto} objects matching the search criteria
      */
     Page<GuestListDto> search(GuestSearchDto guestSearchDto, Pageable pageable);
+
+    /**
+     * Searches for guests based on the criteria specified in the {@link GuestSearchDto}, one page at a time in the
+     * order of their IDs, continuing after the guest the cursor points to.
+     *
+     * @param guestSearchDto the {@link GuestSearchDto} object containing the search criteria
+     * @param cursor         the {@code nextCursor} of the previous page, or {@code null} for the first page
+     * @param size           the maximum number of guests on the page
+     * @return the page of matching guests with the cursor of the following page
+     * @throws IllegalArgumentException if the cursor is invalid or the size is out of range
+     */
+    KeysetPageDto<GuestListDto> searchAfter(GuestSearchDto guestSearchDto, String cursor, int size);
 }
@@ -0,0 +1,62 @@
+package at.ac.tuwien.sepr.groupphase.backend.service;
+
+import at.ac.tuwien.sepr.groupphase.backend.entity.ImageBlob;
+import at.ac.tuwien.sepr.groupphase.backend.enums.ImageVariant;
+import at.ac.tuwien.sepr.groupphase.backend.exception.NotFoundException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Collection;
+
+/**
+ * Content-addressed store for the images of rooms, activities and the UI configuration.
+ */
+public interface ImageService {
+
+    /**
+     * Stores the given image bytes, unless an image with the same content is already stored.
+     * The {@link ImageVariant variants} of a new image are generated in the background.
+     *
+     * @param data the image bytes
+     * @return the stored blob, which can be referenced by entities
+     */
+    ImageBlob store(byte[] data);
+
+    /**
+     * Builds the response for an image requested by its hash. Since the content behind a hash never changes,
+     * the response may be cached forever.
+     *
+     * <p>If the requested variant has not been generated yet, the original image is served instead, marked to be
+     * revalidated, so clients pick up the variant once it is available.</p>
+     *
+     * @param hash        the SHA-256 hash of the image
+     * @param variant     the resized variant to serve, or {@code null} for the original image
+     * @param ifNoneMatch the value of the {@code If-None-Match} request header, may be {@code null}
+     * @return the image with its media type and caching headers, or an empty 304 response if the client already has it
+     * @throws NotFoundException if no image with the given hash is stored
+     */
+    ResponseEntity<byte[]> getImage(String hash, ImageVariant variant, String ifNoneMatch);
+
+    /**
+     * Builds the response for an image with the given caching policy. Use this for URLs that are not content-addressed,
+     * e.g. the main image of a room, which may be replaced.
+     *
+     * @param hash         the SHA-256 hash of the image
+     * @param variant      the resized variant to serve, or {@code null} for the original image
+     * @param ifNoneMatch  the value of the {@code If-None-Match} request header, may be {@code null}
+     * @param cacheControl the {@code Cache-Control} policy to send
+     * @return the image with its media type and caching headers, or an empty 304 response if the client already has it
+     * @throws NotFoundException if no image with the given hash is stored
+     */
+    ResponseEntity<byte[]> getImage(String hash, ImageVariant variant, String ifNoneMatch, CacheControl cacheControl);
+
+    /**
+     * Deletes the given images together with their variants, unless they are still referenced. Call this after an
+     * entity has let go of its images, e.g. when the main image of a room is replaced. Since images are deduplicated,
+     * the same image may still be in use by another room, activity or the UI configuration, in which case it is kept.
+     * The images are deleted once the surrounding transaction has committed, and not at all if it is rolled back.
+     *
+     * @param hashes the hashes of the images that are no longer referenced by the changed entity, may contain {@code null}
+     */
+    void deleteUnreferenced(Collection<String> hashes);
+}
@@ -0,0 +1,23 @@
+package at.ac.tuwien.sepr.groupphase.backend.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+public interface InvoiceExportService {
+
+    /**
+     * Writes the invoices of all bookings invoiced in a period to a stream as a ZIP archive, with one entry per
+     * invoice named after its invoice number. Invoices that have not been stored yet are generated.
+     *
+     * <p>The archive is written while the bookings are read page by page, so the memory used does not depend on
+     * the number of bookings in the period. The stream is not closed.</p>
+     *
+     * @param from         the first invoice date of the period
+     * @param to           the last invoice date of the period
+     * @param outputStream the stream the archive is written to
+     * @throws IllegalArgumentException if {@code from} is after {@code to}
+     * @throws IOException if the archive can not be written to the stream
+     */
+    void exportInvoices(LocalDate from, LocalDate to, OutputStream outputStream) throws IOException;
+}
@@ -0,0 +1,23 @@
+package at.ac.tuwien.sepr.groupphase.backend.service;
+
+import java.time.Duration;
+
+public interface JobLockService {
+
+    /**
+     * Runs a job on this node, unless another node currently holds the lease on it.
+     *
+     * <p>The lease is kept in the database and given back once the job has finished, but not before {@code minHold} has
+     * passed since it was taken. Nodes whose schedule fires a little later, or whose clock is behind, therefore find
+     * the lease still held instead of running the job again. If this node dies while running the job, the lease runs
+     * out after {@code lease} and the next scheduled run on any node takes it over. The lease should therefore be longer
+     * than the job ever takes, and {@code minHold} shorter than the time between two scheduled runs.</p>
+     *
+     * @param name    the name of the job, at most 64 characters
+     * @param lease   how long the job may run before another node may take it over
+     * @param minHold how long after it was taken the lease is held at least, even if the job finished earlier
+     * @param job     the job to run
+     * @return true if the job ran on this node, false if it was skipped because another node holds the lease
+     */
+    boolean runExclusively(String name, Duration lease, Duration minHold, Runnable job);
+}
@@ -14,6 +14,7 @@ public interface MailService {
 
     /**
      * Sends an email containing booking details and attached PDF documents.
+     * The email is queued in the transaction of the caller and sent in the background once it commits.
      *
      * @param booking     The booking for which the email is being sent.
      * @param pdfDocuments A list of PDFs to be attached to the email.
@@ -23,6 +24,7 @@ public interface MailService {
 
     /**
      * Sends a mail to the recipient of an invitation.
+     * The mail is queued in the transaction of the caller and sent in the background once it commits.
      *
      * @param dto The details of the invitation.
      *
@@ -0,0 +1,24 @@
+package at.ac.tuwien.sepr.groupphase.backend.service;
+
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.RoomOccupancyDto;
+
+import java.util.List;
+
+public interface OccupancyService {
+
+    /**
+     * Gets the occupancy of all rooms of the hotel, as shown on the front desk dashboard.
+     *
+     * <p>The snapshot is read with a fixed number of queries, no matter how many rooms, bookings and check-ins there
+     * are, and is kept for a few seconds. It is dropped as soon as a room, booking, check-in or check-out changes, so it
+     * is only ever outdated by changes that bypass the entities.</p>
+     *
+     * @return the occupancy of every room, in the order of the room ID
+     */
+    List<RoomOccupancyDto> getOccupancySnapshot();
+
+    /**
+     * Drops the current occupancy snapshot, so the next request reads it from the database again.
+     */
+    void invalidate();
+}
@@ -0,0 +1,29 @@
+package at.ac.tuwien.sepr.groupphase.backend.service;
+
+import at.ac.tuwien.sepr.groupphase.backend.exception.NotFoundException;
+import org.springframework.core.io.Resource;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+
+public interface PassportStorageService {
+
+    /**
+     * Stores an uploaded passport. The passport is copied from the upload to the store in chunks, so it is never held
+     * in memory as a whole.
+     *
+     * @param passport the uploaded passport
+     * @return the reference of the stored passport, to be kept by the check-in
+     * @throws IOException if the passport can not be read or stored
+     */
+    String store(MultipartFile passport) throws IOException;
+
+    /**
+     * Gets a stored passport, to be streamed to a client.
+     *
+     * @param reference the reference returned by {@link #store(MultipartFile)}
+     * @return the stored passport
+     * @throws NotFoundException if there is no passport with the given reference
+     */
+    Resource load(String reference) throws NotFoundException;
+}
@@ -2,6 +2,11 @@ package at.ac.tuwien.sepr.groupphase.backend.service;
 
 import at.ac.tuwien.sepr.groupphase.backend.entity.Pdf;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.Set;
+
 public interface PdfStorageService {
 
     /**
@@ -22,6 +27,35 @@ public interface PdfStorageService {
      */
     Pdf getPdf(Long bookingId, String type);
 
+    /**
+     * Checks whether a PDF document of a type has been stored for a booking.
+     *
+     * @param bookingId The ID of the booking.
+     * @param type      The type of the document (e.g., "invoice", "confirmation").
+     * @return true if such a document is stored.
+     */
+    boolean hasPdf(Long bookingId, String type);
+
+    /**
+     * Copies a PDF document associated with a booking to a stream in chunks, without loading the whole document into memory.
+     *
+     * @param bookingId The ID of the booking to copy the PDF of.
+     * @param type      The type of the document (e.g., "invoice", "confirmation").
+     * @param target    The stream the content of the PDF document is written to.
+     * @return true if the document was copied, false if no such document is stored.
+     * @throws IOException If the document can not be written to the stream.
+     */
+    boolean transferPdf(Long bookingId, String type, OutputStream target) throws IOException;
+
+    /**
+     * Finds which of the given bookings have a stored PDF document of a type.
+     *
+     * @param bookingIds The IDs of the bookings.
+     * @param type       The type of the document (e.g., "invoice", "confirmation").
+     * @return The IDs of the bookings that have such a document.
+     */
+    Set<Long> findStoredBookingIds(Collection<Long> bookingIds, String type);
+
     /**
      * Deletes a PDF document associated with a booking.
      *
@@ -29,4 +63,9 @@ public interface PdfStorageService {
      * @param fileName  The name of the file to be deleted.
      */
     void deletePdf(Long bookingId, String fileName);
-}
\ No newline at end of file
+
+    /**
+     * Deletes all stored PDF documents.
+     */
+    void deleteAllPdfs();
+}
@@ -0,0 +1,78 @@
+package at.ac.tuwien.sepr.groupphase.backend.service;
+
+import at.ac.tuwien.sepr.groupphase.backend.enums.BookingStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * In-memory index of which nights of which room are taken by a (non-cancelled) booking.
+ *
+ * <p>The index covers a rolling horizon starting today. It is rebuilt from the booking table at startup and kept up to date
+ * whenever a booking is created, changed or deleted, so date-range availability questions inside the horizon can be answered
+ * without querying the booking table. Callers must check {@link #covers(LocalDate, LocalDate)} first and fall back to the
+ * database for ranges outside the horizon.</p>
+ *
+ * <p>A booking from {@code startDate} to {@code endDate} occupies both dates inclusively, matching the overlap semantics of the
+ * booking queries in the repository layer.</p>
+ *
+ * <p>A booking that is only held until its online payment completes stops occupying its room as soon as the hold expires,
+ * even if it has not been cancelled yet.</p>
+ */
+public interface RoomAvailabilityIndex {
+
+    /**
+     * Checks whether the given date range lies completely within the horizon of the index.
+     *
+     * @param startDate the first date of the range
+     * @param endDate   the last date of the range
+     * @return true if the index can answer questions about this range; false if the caller must fall back to the database
+     */
+    boolean covers(LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Checks whether a room is occupied by at least one booking on any date of the given range.
+     *
+     * @param roomId    the ID of the room
+     * @param startDate the first date of the range
+     * @param endDate   the last date of the range
+     * @return true if the room is occupied on at least one date of the range
+     * @throws IllegalArgumentException if the range is not {@link #covers(LocalDate, LocalDate) covered} by the index
+     */
+    boolean isOccupied(Long roomId, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Finds all rooms that are occupied on at least one date of the given range.
+     *
+     * @param startDate the first date of the range
+     * @param endDate   the last date of the range
+     * @return the IDs of all occupied rooms
+     * @throws IllegalArgumentException if the range is not {@link #covers(LocalDate, LocalDate) covered} by the index
+     */
+    Set<Long> findOccupiedRoomIds(LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Adds or replaces a booking in the index. Cancelled bookings and expired holds are removed instead.
+     *
+     * @param bookingId     the ID of the booking
+     * @param roomId        the ID of the booked room
+     * @param startDate     the start date of the booking
+     * @param endDate       the end date of the booking
+     * @param status        the current status of the booking
+     * @param holdExpiresAt the end of the hold of the booking, or {@code null} if the booking is not a hold
+     */
+    void put(Long bookingId, Long roomId, LocalDate startDate, LocalDate endDate, BookingStatus status, LocalDateTime holdExpiresAt);
+
+    /**
+     * Removes a booking from the index.
+     *
+     * @param bookingId the ID of the booking
+     */
+    void remove(Long bookingId);
+
+    /**
+     * Discards the current state and rebuilds the index from the booking table.
+     */
+    void rebuild();
+}
@@ -0,0 +1,29 @@
+package at.ac.tuwien.sepr.groupphase.backend.service;
+
+import at.ac.tuwien.sepr.groupphase.backend.exception.NotFoundException;
+import at.ac.tuwien.sepr.groupphase.backend.repository.projection.RoomCapacity;
+
+/**
+ * In-memory cache of the {@link RoomCapacity} of the rooms check-ins are validated against.
+ *
+ * <p>An entry is read from the database at the first access and kept until the room or its lock changes, so checking
+ * in a guest does not load and map the whole room.</p>
+ */
+public interface RoomCapacityCache {
+
+    /**
+     * Gets the capacity of a room, reading it from the database if it is not cached yet.
+     *
+     * @param roomId the ID of the room
+     * @return the capacity of the room
+     * @throws NotFoundException if the room does not exist
+     */
+    RoomCapacity get(Long roomId) throws NotFoundException;
+
+    /**
+     * Drops the cached capacity of a room, so the next access reads it from the database again.
+     *
+     * @param roomId the ID of the room
+     */
+    void evict(Long roomId);
+}
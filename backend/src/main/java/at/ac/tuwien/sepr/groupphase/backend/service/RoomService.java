@@ -1,5 +1,6 @@
 package at.ac.tuwien.sepr.groupphase.backend.service;
 
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.KeysetPageDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.RoomSearchDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.RoomAdminSearchDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.RoomCreateDto;
@@ -8,6 +9,7 @@ import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.DetailedRoomDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.RoomUpdateDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.RoomCleaningTimeDto;
 import at.ac.tuwien.sepr.groupphase.backend.entity.Room;
+import at.ac.tuwien.sepr.groupphase.backend.enums.ImageVariant;
 import at.ac.tuwien.sepr.groupphase.backend.exception.ConflictException;
 import at.ac.tuwien.sepr.groupphase.backend.exception.NotFoundException;
 import at.ac.tuwien.sepr.groupphase.backend.exception.ValidationException;
@@ -106,35 +108,52 @@ public interface RoomService {
      * Filters rooms by name, description, capacity range, and price range.
      *
      * @param roomSearchDto the {@link RoomSearchDto} object containing the search criteria.
+     * @param inlineImages  whether the main image should be inlined as Base64 instead of only being referenced by URL.
      * @return a list of {@link Room} entities matching the search criteria.
      */
-    Page<RoomListDto> search(RoomSearchDto roomSearchDto, Pageable pageable) throws ValidationException;
+    Page<RoomListDto> search(RoomSearchDto roomSearchDto, Pageable pageable, boolean inlineImages) throws ValidationException;
 
     /**
      * Retrieves all rooms from the repository, ordered by price in ascending order.
      *
+     * @param inlineImages whether the main image should be inlined as Base64 instead of only being referenced by URL.
      * @return a list of all {@link Room} entities, sorted by price in ascending order.
      */
-    Page<RoomListDto> findAll(Pageable pageable);
+    Page<RoomListDto> findAll(Pageable pageable, boolean inlineImages);
+
+    /**
+     * Retrieves one page of all rooms ordered by price in ascending order, continuing after the room the cursor points to.
+     * Main images are only referenced by URL. Unlike page numbers, the cost of a page does not grow with its depth.
+     *
+     * @param cursor the {@code nextCursor} of the previous page, or {@code null} for the first page.
+     * @param size   the maximum number of rooms on the page.
+     * @return the page of rooms with the cursor of the following page.
+     * @throws IllegalArgumentException if the cursor is invalid or the size is out of range.
+     */
+    KeysetPageDto<RoomListDto> findAllAfter(String cursor, int size);
 
     /**
      * Retrieves all rooms from the repository, ordered by cleaningTimeTo ascending order and then lastCleanedAt ascending order.
      *
+     * @param inlineImages whether the main image should be inlined as Base64 instead of only being referenced by URL.
      * @return a list of all {@link Room} entities, ordered by cleaningTimeTo ascending order and then lastCleanedAt ascending order.
      */
-    Page<RoomListDto> findAllForClean(Pageable pageable);
+    Page<RoomListDto> findAllForClean(Pageable pageable, boolean inlineImages);
 
 
     /**
      * Retrieves the main image of a room by its ID and returns it as a {@link ResponseEntity}.
-     * The image is included in the response body as a byte array with appropriate HTTP headers.
-     *
-     * @param id the ID of the room whose main image is to be retrieved.
-     * @return a {@link ResponseEntity} containing the image as a byte array with content type
-     *         set to "image/*" and an HTTP status of 200 (OK).
-     * @throws EntityNotFoundException if no room with the given ID is found.
+     * The image is included in the response body as a byte array with its media type and an ETag,
+     * so clients can revalidate their cached copy.
+     *
+     * @param id          the ID of the room whose main image is to be retrieved.
+     * @param variant     the resized variant to return, or {@code null} for the uploaded image.
+     * @param ifNoneMatch the value of the {@code If-None-Match} request header, may be {@code null}.
+     * @return a {@link ResponseEntity} containing the image as a byte array with an HTTP status of 200 (OK),
+     *         or an empty response with HTTP status 304 (Not Modified) if the client already has the current image.
+     * @throws NotFoundException if no room with the given ID is found or the room has no main image.
      */
-    ResponseEntity<byte[]> getMainImage(Long id);
+    ResponseEntity<byte[]> getMainImage(Long id, ImageVariant variant, String ifNoneMatch);
 
     /**
      * Deletes a room entity based on the provided ID.
@@ -149,7 +168,8 @@ public interface RoomService {
      * Searches for rooms based on the criteria specified in the {@link RoomAdminSearchDto}.
      *
      * @param roomAdminSearchDto the {@link RoomAdminSearchDto} object containing the search criteria.
+     * @param inlineImages       whether the main image should be inlined as Base64 instead of only being referenced by URL.
      * @return a list of {@link RoomListDto} entities matching the search criteria.
      */
-    Page<RoomListDto> adminSearch(RoomAdminSearchDto roomAdminSearchDto, Pageable pageable) throws ValidationException;
+    Page<RoomListDto> adminSearch(RoomAdminSearchDto roomAdminSearchDto, Pageable pageable, boolean inlineImages) throws ValidationException;
 }
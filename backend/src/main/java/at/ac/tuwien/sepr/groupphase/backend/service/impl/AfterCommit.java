@@ -0,0 +1,38 @@
+package at.ac.tuwien.sepr.groupphase.backend.service.impl;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers work on in-memory state until the surrounding transaction has committed, so caches and indexes never see a
+ * change that is rolled back, and background threads can read what the transaction wrote.
+ *
+ * <p>The entity listeners in {@code entity.listener} run every update of a cache or index through here. JPA calls
+ * them while the change is flushed, which can be long before the commit, so an entry is only dropped or replaced
+ * once the change is visible to the next reader. An entry dropped any earlier could be loaded again from the old
+ * state right away, and a change that is rolled back never reaches a cache or index at all.</p>
+ */
+public final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    /**
+     * Runs an action once the surrounding transaction has committed. It is not run at all if the transaction is rolled
+     * back. Outside a transaction, it is run right away.
+     *
+     * @param action the action to run
+     */
+    public static void run(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,74 @@
+package at.ac.tuwien.sepr.groupphase.backend.service.impl;
+
+import at.ac.tuwien.sepr.groupphase.backend.service.CheckInService;
+import at.ac.tuwien.sepr.groupphase.backend.service.JobLockService;
+import at.ac.tuwien.sepr.groupphase.backend.service.OccupancyService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.lang.invoke.MethodHandles;
+import java.time.Duration;
+
+/**
+ * Checks out the guests of all bookings that have run out, every morning.
+ *
+ * <p>The job only runs on the node that holds its lease, see {@link JobLockService}. Every run records its duration
+ * and the number of guests it checked out; runs skipped because another node held the lease are counted as well.</p>
+ */
+@Component
+public class AutoCheckOutJob {
+
+    static final String JOB_NAME = "auto-check-out";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private final CheckInService checkInService;
+    private final JobLockService jobLockService;
+    private final OccupancyService occupancyService;
+    private final Duration lease;
+    private final Duration minHold;
+    private final Timer duration;
+    private final Counter checkedOut;
+    private final Counter skipped;
+
+    public AutoCheckOutJob(CheckInService checkInService,
+                           JobLockService jobLockService,
+                           OccupancyService occupancyService,
+                           MeterRegistry meterRegistry,
+                           @Value("${application.checkin.auto-check-out-lease:PT10M}") Duration lease,
+                           @Value("${application.checkin.auto-check-out-min-hold:PT5M}") Duration minHold) {
+        this.checkInService = checkInService;
+        this.jobLockService = jobLockService;
+        this.occupancyService = occupancyService;
+        this.lease = lease;
+        this.minHold = minHold;
+        this.duration = Timer.builder("checkins.auto-check-out").register(meterRegistry);
+        this.checkedOut = Counter.builder("checkins.auto-check-out.checked-out")
+            .description("Guests checked out by the automatic check-out")
+            .register(meterRegistry);
+        this.skipped = Counter.builder("checkins.auto-check-out.skipped")
+            .description("Runs of the automatic check-out skipped because another node held the lease")
+            .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${application.checkin.auto-check-out-cron:0 59 9 * * *}")
+    public void autoCheckOutJob() {
+        boolean ran = jobLockService.runExclusively(JOB_NAME, lease, minHold, () -> {
+            int count = duration.record(checkInService::performAutoCheckOut);
+            checkedOut.increment(count);
+            // the check-outs are inserted in bulk, bypassing the entity listeners
+            occupancyService.invalidate();
+            LOGGER.info("Auto check-out checked out {} guests", count);
+        });
+        if (!ran) {
+            skipped.increment();
+            LOGGER.info("Auto check-out skipped, another node holds the lease");
+        }
+    }
+}
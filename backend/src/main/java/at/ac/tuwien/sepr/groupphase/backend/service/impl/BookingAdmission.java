@@ -0,0 +1,95 @@
+package at.ac.tuwien.sepr.groupphase.backend.service.impl;
+
+import at.ac.tuwien.sepr.groupphase.backend.entity.ApplicationUser;
+import at.ac.tuwien.sepr.groupphase.backend.entity.Booking;
+import at.ac.tuwien.sepr.groupphase.backend.entity.Room;
+import at.ac.tuwien.sepr.groupphase.backend.enums.BookingStatus;
+import at.ac.tuwien.sepr.groupphase.backend.enums.DocumentStatus;
+import at.ac.tuwien.sepr.groupphase.backend.exception.NotFoundException;
+import at.ac.tuwien.sepr.groupphase.backend.repository.BookingRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.RoomRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.invoke.MethodHandles;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Admits new room bookings so that no two bookings of the same room ever overlap, even if they are requested at the
+ * same time.
+ *
+ * <p>Checking the availability and saving the booking happen while holding two locks on the room:</p>
+ * <ul>
+ *     <li>an in-process lock, striped by room ID, so requests for the same room queue up in memory instead of in the
+ *     database, while rooms on other stripes are booked in parallel, and</li>
+ *     <li>a row lock on the room, so admissions of other application instances sharing the database are serialized
+ *     as well.</li>
+ * </ul>
+ *
+ * <p>The in-process lock is only released after the transaction has committed, by which time the
+ * {@link at.ac.tuwien.sepr.groupphase.backend.service.RoomAvailabilityIndex} has seen the new booking.</p>
+ */
+@Component
+public class BookingAdmission {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+    private static final int STRIPES = 64;
+    private static final List<BookingStatus> BLOCKING_STATUSES = List.of(BookingStatus.PENDING, BookingStatus.ACTIVE, BookingStatus.COMPLETED);
+
+    private final BookingRepository bookingRepository;
+    private final RoomRepository roomRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Lock[] roomLocks = new Lock[STRIPES];
+
+    public BookingAdmission(BookingRepository bookingRepository,
+                            RoomRepository roomRepository,
+                            PlatformTransactionManager transactionManager) {
+        this.bookingRepository = bookingRepository;
+        this.roomRepository = roomRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        for (int i = 0; i < STRIPES; i++) {
+            roomLocks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Saves a new booking of the given room, unless it overlaps with a booking that already blocks the room.
+     * The documents of the saved booking are pending, to be picked up by the {@link BookingDocumentWorker}.
+     *
+     * @param roomId        the ID of the room to book
+     * @param user          the user the booking is made for
+     * @param startDate     the first day of the stay
+     * @param endDate       the last day of the stay
+     * @param holdExpiresAt the end of the hold if the booking waits for its online payment, or {@code null}
+     * @return the saved booking
+     * @throws NotFoundException if the room does not exist or is not available for the given dates
+     */
+    public Booking admit(Long roomId, ApplicationUser user, LocalDate startDate, LocalDate endDate, LocalDateTime holdExpiresAt) {
+        Lock lock = roomLocks[Math.floorMod(Long.hashCode(roomId), STRIPES)];
+        lock.lock();
+        try {
+            return transactionTemplate.execute(status -> {
+                Room room = roomRepository.findByIdForUpdate(roomId)
+                    .orElseThrow(() -> new NotFoundException("Room with ID " + roomId + " not found"));
+                if (bookingRepository.countByRoomIdAndDateRangeAndStatus(roomId, startDate, endDate, BLOCKING_STATUSES) > 0) {
+                    LOGGER.debug("Rejecting booking of room {} from {} to {}, it overlaps with an existing booking", roomId, startDate, endDate);
+                    throw new NotFoundException("Room with ID " + roomId + " is not available for the selected dates.");
+                }
+                Booking booking = new Booking(room, user, startDate, endDate, false, null);
+                booking.setHoldExpiresAt(holdExpiresAt);
+                booking.setDocumentStatus(DocumentStatus.PENDING);
+                booking.setDocumentNextAttemptAt(LocalDateTime.now());
+                return bookingRepository.save(booking);
+            });
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package at.ac.tuwien.sepr.groupphase.backend.service.impl;
+
+import at.ac.tuwien.sepr.groupphase.backend.entity.Booking;
+import at.ac.tuwien.sepr.groupphase.backend.entity.Pdf;
+import at.ac.tuwien.sepr.groupphase.backend.enums.DocumentStatus;
+import at.ac.tuwien.sepr.groupphase.backend.exception.NotFoundException;
+import at.ac.tuwien.sepr.groupphase.backend.repository.BookingRepository;
+import at.ac.tuwien.sepr.groupphase.backend.service.PdfGenerationService;
+import at.ac.tuwien.sepr.groupphase.backend.service.PdfStorageService;
+import jakarta.mail.MessagingException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Generates and stores the booking confirmation and invoice of new bookings in the background, and queues the mail
+ * that sends them to the guest.
+ *
+ * <p>The booking table is the queue: a booking with {@link DocumentStatus#PENDING} documents is due from its
+ * {@code documentNextAttemptAt}. A worker claims a due booking with a conditional update before processing it, so
+ * every attempt runs exactly once, even with several application instances. Failed attempts are retried with an
+ * exponentially growing delay until {@code application.documents.max-attempts} is reached.</p>
+ *
+ * <p>Documents that have already been stored by an earlier attempt are not generated again. The mail is queued in
+ * the same transaction that marks the documents {@link DocumentStatus#READY}, and sent by the {@link MailOutboxDispatcher}.</p>
+ */
+@Component
+public class BookingDocumentWorker {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+    private static final String CONFIRMATION = "BookingConfirmation.pdf";
+    private static final String INVOICE = "Invoice.pdf";
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final BookingRepository bookingRepository;
+    private final PdfGenerationService pdfGenerationService;
+    private final PdfStorageService pdfStorageService;
+    private final SimpleMailService mailService;
+    private final ThreadPoolTaskExecutor executor;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${application.documents.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${application.documents.retry-backoff:PT30S}")
+    private Duration retryBackoff;
+
+    @Value("${application.documents.max-retry-backoff:PT30M}")
+    private Duration maxRetryBackoff;
+
+    @Value("${application.documents.lease:PT5M}")
+    private Duration lease;
+
+    public BookingDocumentWorker(BookingRepository bookingRepository,
+                                 PdfGenerationService pdfGenerationService,
+                                 PdfStorageService pdfStorageService,
+                                 SimpleMailService mailService,
+                                 @Qualifier("documentExecutor") ThreadPoolTaskExecutor executor,
+                                 PlatformTransactionManager transactionManager) {
+        this.bookingRepository = bookingRepository;
+        this.pdfGenerationService = pdfGenerationService;
+        this.pdfStorageService = pdfStorageService;
+        this.mailService = mailService;
+        this.executor = executor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Starts processing the documents of a booking right away, if a worker is free. Otherwise, they are picked up by
+     * the next poll.
+     *
+     * @param bookingId the ID of the committed booking with pending documents
+     */
+    public void submit(Long bookingId) {
+        LocalDateTime now = LocalDateTime.now();
+        if (hasCapacity() && bookingRepository.claimDocuments(bookingId, now, now.plus(lease)) == 1) {
+            execute(bookingId);
+        }
+    }
+
+    /**
+     * Claims as many due bookings as the executor can take and processes them.
+     */
+    @Scheduled(fixedDelayString = "${application.documents.poll-interval:PT10S}")
+    public void poll() {
+        int capacity = freeCapacity();
+        if (capacity <= 0) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (Long bookingId : bookingRepository.findDueDocumentIds(now, Limit.of(capacity))) {
+            if (bookingRepository.claimDocuments(bookingId, now, now.plus(lease)) == 1) {
+                execute(bookingId);
+            }
+        }
+    }
+
+    private void execute(Long bookingId) {
+        try {
+            executor.execute(() -> process(bookingId));
+        } catch (TaskRejectedException e) {
+            // the claim runs out with the lease, the next poll picks the booking up again
+            LOGGER.warn("Document queue is full, documents of booking {} are retried later", bookingId);
+        }
+    }
+
+    /**
+     * Runs one attempt for the documents of a claimed booking and records its outcome.
+     *
+     * @param bookingId the ID of the claimed booking
+     */
+    void process(Long bookingId) {
+        LOGGER.debug("Processing documents of booking {}", bookingId);
+        try {
+            Booking booking = transactionTemplate.execute(status -> {
+                Booking claimed = bookingRepository.findById(bookingId)
+                    .orElseThrow(() -> new NotFoundException("Booking with ID " + bookingId + " not found"));
+                storeIfMissing(claimed, CONFIRMATION);
+                storeIfMissing(claimed, INVOICE);
+                return claimed;
+            });
+            transactionTemplate.executeWithoutResult(status -> queueMail(booking));
+            LOGGER.info("Documents of booking {} are ready", bookingId);
+        } catch (Exception e) {
+            // read again, the booking of a failed attempt is not available if its transaction was rolled back
+            int attempts = bookingRepository.findById(bookingId).map(Booking::getDocumentAttempts).orElse(maxAttempts);
+            String error = abbreviate(e.getClass().getSimpleName() + ": " + e.getMessage());
+            if (attempts >= maxAttempts) {
+                LOGGER.error("Documents of booking {} failed after {} attempts", bookingId, attempts, e);
+                bookingRepository.updateDocumentStatus(bookingId, DocumentStatus.FAILED, null, error);
+            } else {
+                Duration backoff = backoff(attempts);
+                LOGGER.warn("Documents of booking {} failed in attempt {}, retrying in {}: {}", bookingId, attempts, backoff, error);
+                bookingRepository.updateDocumentStatus(bookingId, DocumentStatus.PENDING, LocalDateTime.now().plus(backoff), error);
+            }
+        }
+    }
+
+    /**
+     * Queues the confirmation mail and marks the documents ready in one transaction, so the mail is queued exactly once.
+     */
+    private void queueMail(Booking booking) {
+        List<Pdf> documents = List.of(pdfStorageService.getPdf(booking.getId(), CONFIRMATION), pdfStorageService.getPdf(booking.getId(), INVOICE));
+        try {
+            mailService.sendEmail(booking, documents);
+        } catch (MessagingException e) {
+            throw new IllegalStateException("Could not queue the confirmation mail", e);
+        }
+        bookingRepository.updateDocumentStatus(booking.getId(), DocumentStatus.READY, null, null);
+    }
+
+    private void storeIfMissing(Booking booking, String type) {
+        if (pdfStorageService.hasPdf(booking.getId(), type)) {
+            return;
+        }
+        try {
+            byte[] content = CONFIRMATION.equals(type)
+                ? pdfGenerationService.generateBookingConfirmation(booking)
+                : pdfGenerationService.generateInvoice(booking);
+            pdfStorageService.storePdf(booking.getId(), type, content);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not generate " + type, e);
+        }
+    }
+
+    /**
+     * Returns the delay before the next attempt: the base backoff, doubled for every failed attempt, at most the maximum backoff.
+     */
+    private Duration backoff(int attempts) {
+        Duration backoff = retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return backoff.compareTo(maxRetryBackoff) > 0 ? maxRetryBackoff : backoff;
+    }
+
+    private boolean hasCapacity() {
+        return freeCapacity() > 0;
+    }
+
+    private int freeCapacity() {
+        return executor.getMaxPoolSize() + executor.getQueueCapacity() - executor.getActiveCount() - executor.getQueueSize();
+    }
+
+    private static String abbreviate(String error) {
+        return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,79 @@
+package at.ac.tuwien.sepr.groupphase.backend.service.impl;
+
+import at.ac.tuwien.sepr.groupphase.backend.entity.Booking;
+import at.ac.tuwien.sepr.groupphase.backend.enums.BookingStatus;
+import at.ac.tuwien.sepr.groupphase.backend.repository.BookingRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.invoke.MethodHandles;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Cancels bookings whose hold has expired before their online payment was completed.
+ *
+ * <p>Expired holds already stop blocking their room in every availability check, so the sweeper is only responsible for
+ * bringing the booking table in line. It works in batches of {@code application.booking.hold-sweep-batch-size} bookings,
+ * each in its own transaction, so a backlog of abandoned checkouts never locks many rows at once.</p>
+ */
+@Component
+public class BookingHoldSweeper {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private final BookingRepository bookingRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public BookingHoldSweeper(BookingRepository bookingRepository,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${application.booking.hold-sweep-batch-size:100}") int batchSize) {
+        this.bookingRepository = bookingRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${application.booking.hold-sweep-interval:PT1M}")
+    public void sweepJob() {
+        int released = releaseExpiredHolds();
+        if (released > 0) {
+            LOGGER.info("Released {} expired booking holds", released);
+        }
+    }
+
+    /**
+     * Cancels all bookings whose hold has expired by now.
+     *
+     * @return the number of cancelled bookings
+     */
+    public int releaseExpiredHolds() {
+        LocalDateTime now = LocalDateTime.now();
+        int released = 0;
+        int batch;
+        do {
+            batch = transactionTemplate.execute(status -> releaseBatch(now));
+            released += batch;
+        } while (batch == batchSize);
+        return released;
+    }
+
+    private int releaseBatch(LocalDateTime now) {
+        List<Booking> bookings = bookingRepository.findAllById(bookingRepository.findExpiredHoldIds(now, Limit.of(batchSize)));
+        for (Booking booking : bookings) {
+            LOGGER.debug("Releasing booking {}, its hold expired at {}", booking.getId(), booking.getHoldExpiresAt());
+            booking.setStatus(BookingStatus.CANCELLED);
+            booking.setCancellationDate(LocalDate.now());
+            booking.setHoldExpiresAt(null);
+        }
+        bookingRepository.saveAll(bookings);
+        return bookings.size();
+    }
+}
@@ -0,0 +1,105 @@
+package at.ac.tuwien.sepr.groupphase.backend.service.impl;
+
+import at.ac.tuwien.sepr.groupphase.backend.entity.Booking;
+import at.ac.tuwien.sepr.groupphase.backend.enums.BookingStatus;
+import at.ac.tuwien.sepr.groupphase.backend.repository.BookingRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.lang.invoke.MethodHandles;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Moves the status of bookings on as time passes: pending bookings become active once their stay starts, and
+ * bookings are completed once it has ended.
+ *
+ * <p>{@link Booking#updateStatus()} only runs when a booking is written, so without the roll-over a booking that is
+ * not touched keeps its status forever. The roll-over applies the same rules to all bookings with set-based updates,
+ * so the status filters and the listing order can rely on the status column. It runs every night, and once on
+ * startup to catch up on nights the application was not running. Bookings are updated in chunks of
+ * {@code application.booking.status-rollover-batch-size}, each in its own transaction.</p>
+ */
+@Component
+public class BookingStatusRollover {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private final BookingRepository bookingRepository;
+    private final int batchSize;
+    private final Map<BookingStatus, Counter> rolledOver = new EnumMap<>(BookingStatus.class);
+    private final Timer duration;
+
+    public BookingStatusRollover(BookingRepository bookingRepository,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${application.booking.status-rollover-batch-size:500}") int batchSize) {
+        this.bookingRepository = bookingRepository;
+        this.batchSize = batchSize;
+        for (BookingStatus status : List.of(BookingStatus.PENDING, BookingStatus.ACTIVE, BookingStatus.COMPLETED)) {
+            rolledOver.put(status, Counter.builder("bookings.status.rollover.changed")
+                .description("Bookings whose status was moved on by the roll-over")
+                .tag("status", status.name())
+                .register(meterRegistry));
+        }
+        this.duration = Timer.builder("bookings.status.rollover").register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${application.booking.status-rollover-cron:0 5 0 * * *}")
+    public void rolloverJob() {
+        int changed = duration.record(() -> rollover(LocalDate.now()));
+        LOGGER.info("Status roll-over changed the status of {} bookings", changed);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        rolloverJob();
+    }
+
+    /**
+     * Sets the status of all bookings that are not cancelled to the one their dates give them on the given day.
+     *
+     * @param today the day to roll the statuses over to
+     * @return the number of bookings whose status changed
+     */
+    public int rollover(LocalDate today) {
+        int completed = roll(BookingStatus.COMPLETED, List.of(BookingStatus.PENDING, BookingStatus.ACTIVE),
+            limit -> bookingRepository.findIdsToComplete(today, limit));
+        int activated = roll(BookingStatus.ACTIVE, List.of(BookingStatus.PENDING),
+            limit -> bookingRepository.findIdsToActivate(today, limit));
+        int deactivated = roll(BookingStatus.PENDING, List.of(BookingStatus.ACTIVE),
+            limit -> bookingRepository.findIdsToDeactivate(today, limit));
+        return completed + activated + deactivated;
+    }
+
+    private int roll(BookingStatus status, List<BookingStatus> from, Function<Limit, List<Long>> findIds) {
+        int changed = 0;
+        List<Long> ids;
+        do {
+            ids = findIds.apply(Limit.of(batchSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            int updated = bookingRepository.updateStatus(ids, from, status, Booking.rankOf(status));
+            rolledOver.get(status).increment(updated);
+            changed += updated;
+            if (updated == 0) {
+                // all of them changed concurrently, the next chunk would find the same bookings again
+                break;
+            }
+        } while (ids.size() == batchSize);
+        LOGGER.debug("Rolled {} bookings over to {}", changed, status);
+        return changed;
+    }
+}
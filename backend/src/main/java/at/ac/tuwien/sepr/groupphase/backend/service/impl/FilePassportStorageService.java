@@ -0,0 +1,95 @@
+package at.ac.tuwien.sepr.groupphase.backend.service.impl;
+
+import at.ac.tuwien.sepr.groupphase.backend.exception.NotFoundException;
+import at.ac.tuwien.sepr.groupphase.backend.service.PassportStorageService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.invoke.MethodHandles;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+/**
+ * {@link PassportStorageService} that keeps passports as files on local disk, named by the SHA-256 digest of their
+ * content.
+ *
+ * <p>An upload is copied to a temporary file in the store directory while its digest is computed, and then moved to
+ * {@code <first two digits>/<digest>.pdf}. Uploading the same passport twice therefore stores it once. Files are never
+ * deleted, since another check-in may refer to the same content; a passport whose check-in is rolled back stays on
+ * disk unused.</p>
+ */
+@Service
+public class FilePassportStorageService implements PassportStorageService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+    private static final Pattern REFERENCE = Pattern.compile("[0-9a-f]{64}");
+
+    private final Path directory;
+
+    public FilePassportStorageService(@Value("${application.checkin.passports.directory:./database/passports}") Path directory) {
+        this.directory = directory;
+    }
+
+    @Override
+    public String store(MultipartFile passport) throws IOException {
+        Files.createDirectories(directory);
+        Path upload = Files.createTempFile(directory, "upload-", ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            try (InputStream in = new DigestInputStream(passport.getInputStream(), digest);
+                 OutputStream out = Files.newOutputStream(upload)) {
+                in.transferTo(out);
+            }
+            String reference = HexFormat.of().formatHex(digest.digest());
+            Path target = pathOf(reference);
+            Files.createDirectories(target.getParent());
+            try {
+                Files.move(upload, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                LOGGER.debug("Passport {} is already stored", reference);
+            }
+            return reference;
+        } finally {
+            Files.deleteIfExists(upload);
+        }
+    }
+
+    @Override
+    public Resource load(String reference) throws NotFoundException {
+        if (reference == null || !REFERENCE.matcher(reference).matches()) {
+            throw new NotFoundException("Passport " + reference + " not found");
+        }
+        Path path = pathOf(reference);
+        if (!Files.isRegularFile(path)) {
+            throw new NotFoundException("Passport " + reference + " not found");
+        }
+        return new FileSystemResource(path);
+    }
+
+    private Path pathOf(String reference) {
+        return directory.resolve(reference.substring(0, 2)).resolve(reference + ".pdf");
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
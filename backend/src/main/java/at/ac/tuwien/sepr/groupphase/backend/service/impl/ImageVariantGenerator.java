@@ -0,0 +1,194 @@
+package at.ac.tuwien.sepr.groupphase.backend.service.impl;
+
+import at.ac.tuwien.sepr.groupphase.backend.entity.ImageBlob;
+import at.ac.tuwien.sepr.groupphase.backend.entity.ImageDerivative;
+import at.ac.tuwien.sepr.groupphase.backend.enums.ImageVariant;
+import at.ac.tuwien.sepr.groupphase.backend.repository.ImageBlobRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.ImageDerivativeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Generates the resized {@link ImageVariant variants} of stored images on a bounded background executor.
+ *
+ * <p>Images with transparency are encoded as PNG, all others as JPEG with the quality of the variant. A variant that
+ * would not be smaller than the uploaded image just points to the upload.</p>
+ */
+@Component
+public class ImageVariantGenerator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private final ImageBlobRepository imageBlobRepository;
+    private final ImageDerivativeRepository imageDerivativeRepository;
+    private final TaskExecutor executor;
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    public ImageVariantGenerator(ImageBlobRepository imageBlobRepository,
+                                 ImageDerivativeRepository imageDerivativeRepository,
+                                 @Qualifier("imageVariantExecutor") TaskExecutor executor) {
+        this.imageBlobRepository = imageBlobRepository;
+        this.imageDerivativeRepository = imageDerivativeRepository;
+        this.executor = executor;
+    }
+
+    /**
+     * Queues the generation of the missing variants of an image. Inside a transaction, the task is only queued once
+     * the transaction has committed, so the background thread can see the image.
+     *
+     * @param hash the hash of the stored image
+     */
+    public void schedule(String hash) {
+        AfterCommit.run(() -> submit(hash));
+    }
+
+    /**
+     * Generates the missing variants of an image on the calling thread.
+     *
+     * @param hash the hash of the stored image
+     */
+    public void generate(String hash) {
+        Set<ImageVariant> missing = EnumSet.allOf(ImageVariant.class);
+        imageDerivativeRepository.findVariantsBySourceHash(hash).forEach(missing::remove);
+        if (missing.isEmpty()) {
+            return;
+        }
+        ImageBlob source = imageBlobRepository.findById(hash).orElse(null);
+        if (source == null) {
+            LOGGER.debug("Image {} no longer exists, skipping variants", hash);
+            return;
+        }
+        BufferedImage image = decode(source);
+        for (ImageVariant variant : missing) {
+            try {
+                ImageBlob derived = image == null ? source : derive(source, image, variant);
+                ImageBlob stored = derived == source
+                    ? source
+                    : imageBlobRepository.findById(derived.getHash()).orElseGet(() -> imageBlobRepository.save(derived));
+                imageDerivativeRepository.save(new ImageDerivative(source, variant, stored));
+                LOGGER.debug("Generated {} variant {} of image {} ({} of {} bytes)", variant, stored.getHash(), hash, stored.getSize(), source.getSize());
+            } catch (IOException e) {
+                LOGGER.warn("Could not encode {} variant of image {}", variant, hash, e);
+            } catch (DataIntegrityViolationException e) {
+                LOGGER.debug("{} variant of image {} has been generated concurrently", variant, hash);
+            }
+        }
+    }
+
+    private void submit(String hash) {
+        if (!pending.add(hash)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    generate(hash);
+                } catch (RuntimeException e) {
+                    LOGGER.warn("Could not generate variants of image {}", hash, e);
+                } finally {
+                    pending.remove(hash);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            pending.remove(hash);
+            LOGGER.warn("Image variant queue is full, variants of image {} are generated when they are requested", hash);
+        }
+    }
+
+    /**
+     * Decodes the image, or returns {@code null} if it is not in a format that can be resized. Such images are served
+     * unchanged for every variant.
+     */
+    private static BufferedImage decode(ImageBlob source) {
+        try {
+            BufferedImage image = ImageIO.read(new ByteArrayInputStream(source.getData()));
+            if (image == null) {
+                LOGGER.debug("Image {} of type {} can not be decoded, serving it as its own variants", source.getHash(), source.getMediaType());
+            }
+            return image;
+        } catch (IOException | RuntimeException e) {
+            LOGGER.debug("Image {} can not be decoded, serving it as its own variants", source.getHash(), e);
+            return null;
+        }
+    }
+
+    private static ImageBlob derive(ImageBlob source, BufferedImage image, ImageVariant variant) throws IOException {
+        boolean alpha = image.getColorModel().hasAlpha();
+        double scale = Math.min(1.0, (double) variant.getMaxSize() / Math.max(image.getWidth(), image.getHeight()));
+        int width = Math.max(1, (int) Math.round(image.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * scale));
+        BufferedImage resized = resize(image, width, height, alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        byte[] encoded = alpha ? encodePng(resized) : encodeJpeg(resized, variant.getQuality());
+        if (encoded.length >= source.getSize()) {
+            return source;
+        }
+        return ImageBlob.of(encoded);
+    }
+
+    /**
+     * Scales the image down in steps of at most half its size, since a single bilinear step skips most of the source
+     * pixels for large factors and produces aliasing.
+     */
+    private static BufferedImage resize(BufferedImage image, int targetWidth, int targetHeight, int type) {
+        BufferedImage current = image;
+        int width = image.getWidth();
+        int height = image.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            BufferedImage next = new BufferedImage(width, height, type);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = next;
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    private static byte[] encodeJpeg(BufferedImage image, float quality) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(stream);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] encodePng(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,205 @@
+package at.ac.tuwien.sepr.groupphase.backend.service.impl;
+
+import at.ac.tuwien.sepr.groupphase.backend.entity.OutboxMail;
+import at.ac.tuwien.sepr.groupphase.backend.entity.OutboxMailAttachment;
+import at.ac.tuwien.sepr.groupphase.backend.enums.MailStatus;
+import at.ac.tuwien.sepr.groupphase.backend.repository.OutboxMailRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.data.domain.Limit;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.lang.invoke.MethodHandles;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sends the mails of the outbox.
+ *
+ * <p>Due mails are claimed in batches with a conditional update, so every attempt runs exactly once, even with several
+ * application instances. A batch is handed over to the mail server in one call, which sends all of its mails over a
+ * single SMTP connection. Failed mails are retried with an exponentially growing delay; once
+ * {@code application.mail.outbox.max-attempts} is reached they are marked {@link MailStatus#DEAD} and kept for manual
+ * inspection.</p>
+ *
+ * <p>The throughput is published as the meters {@code mail.outbox.sent}, {@code mail.outbox.failed},
+ * {@code mail.outbox.dead}, {@code mail.outbox.batch} and {@code mail.outbox.pending}.</p>
+ */
+@Component
+public class MailOutboxDispatcher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final OutboxMailRepository outboxMailRepository;
+    private final JavaMailSender javaMailSender;
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+    private final Counter deadCounter;
+    private final Timer batchTimer;
+
+    @Value("${application.mail.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${application.mail.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${application.mail.outbox.retry-backoff:PT30S}")
+    private Duration retryBackoff;
+
+    @Value("${application.mail.outbox.max-retry-backoff:PT1H}")
+    private Duration maxRetryBackoff;
+
+    @Value("${application.mail.outbox.lease:PT5M}")
+    private Duration lease;
+
+    public MailOutboxDispatcher(OutboxMailRepository outboxMailRepository,
+                                JavaMailSender javaMailSender,
+                                MeterRegistry meterRegistry) {
+        this.outboxMailRepository = outboxMailRepository;
+        this.javaMailSender = javaMailSender;
+        this.sentCounter = Counter.builder("mail.outbox.sent").description("Mails handed over to the mail server")
+            .register(meterRegistry);
+        this.failedCounter = Counter.builder("mail.outbox.failed").description("Failed attempts that are retried")
+            .register(meterRegistry);
+        this.deadCounter = Counter.builder("mail.outbox.dead").description("Mails given up after the last attempt")
+            .register(meterRegistry);
+        this.batchTimer = Timer.builder("mail.outbox.batch").description("Time to send one batch of mails")
+            .register(meterRegistry);
+        Gauge.builder("mail.outbox.pending", outboxMailRepository, repository -> repository.countByStatus(MailStatus.PENDING))
+            .description("Mails waiting in the outbox").register(meterRegistry);
+    }
+
+    /**
+     * Sends due mails in batches until the outbox has no more due mails.
+     */
+    @Scheduled(fixedDelayString = "${application.mail.outbox.poll-interval:PT5S}")
+    public void poll() {
+        while (dispatchBatch() == batchSize) {
+            LOGGER.debug("Outbox has more due mails, sending the next batch");
+        }
+    }
+
+    /**
+     * Claims one batch of due mails and sends it.
+     *
+     * @return the number of due mails found, which is the batch size if more mails may be due
+     */
+    public int dispatchBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> dueIds = outboxMailRepository.findDueIds(now, Limit.of(batchSize));
+        List<Long> claimedIds = new ArrayList<>();
+        for (Long id : dueIds) {
+            if (outboxMailRepository.claim(id, now, now.plus(lease)) == 1) {
+                claimedIds.add(id);
+            }
+        }
+        if (!claimedIds.isEmpty()) {
+            batchTimer.record(() -> send(outboxMailRepository.findAllByIdIn(claimedIds)));
+        }
+        return dueIds.size();
+    }
+
+    private void send(List<OutboxMail> mails) {
+        Map<MimeMessage, OutboxMail> messages = new LinkedHashMap<>();
+        for (OutboxMail mail : mails) {
+            try {
+                messages.put(toMimeMessage(mail), mail);
+            } catch (MessagingException e) {
+                recordFailure(mail, e);
+            }
+        }
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        Map<Object, Exception> failures = Map.of();
+        try {
+            javaMailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            failures = e.getFailedMessages();
+            if (failures.isEmpty()) {
+                failures = allFailed(messages, e);
+            }
+        } catch (MailException e) {
+            failures = allFailed(messages, e);
+        }
+
+        List<Long> sentIds = new ArrayList<>();
+        for (Map.Entry<MimeMessage, OutboxMail> message : messages.entrySet()) {
+            Exception failure = failures.get(message.getKey());
+            if (failure == null) {
+                sentIds.add(message.getValue().getId());
+            } else {
+                recordFailure(message.getValue(), failure);
+            }
+        }
+        if (!sentIds.isEmpty()) {
+            outboxMailRepository.markSent(sentIds, LocalDateTime.now());
+            sentCounter.increment(sentIds.size());
+            LOGGER.info("Sent {} mails from the outbox", sentIds.size());
+        }
+    }
+
+    private MimeMessage toMimeMessage(OutboxMail mail) throws MessagingException {
+        MimeMessageHelper helper = new MimeMessageHelper(javaMailSender.createMimeMessage(), true);
+        helper.setFrom(mail.getSender());
+        helper.setTo(mail.getRecipient());
+        helper.setSubject(mail.getSubject());
+        helper.setText(mail.getHtmlBody(), true);
+        for (OutboxMailAttachment attachment : mail.getAttachments()) {
+            helper.addAttachment(attachment.getFileName(), new ByteArrayResource(attachment.getContent()));
+        }
+        return helper.getMimeMessage();
+    }
+
+    private void recordFailure(OutboxMail mail, Exception e) {
+        int attempts = mail.getAttempts();
+        String error = abbreviate(e.getClass().getSimpleName() + ": " + e.getMessage());
+        if (attempts >= maxAttempts) {
+            LOGGER.error("Mail {} to {} is dead after {} attempts: {}", mail.getId(), mail.getRecipient(), attempts, error);
+            outboxMailRepository.markFailed(mail.getId(), MailStatus.DEAD, null, error);
+            deadCounter.increment();
+        } else {
+            Duration backoff = backoff(attempts);
+            LOGGER.warn("Mail {} to {} failed in attempt {}, retrying in {}: {}", mail.getId(), mail.getRecipient(), attempts, backoff, error);
+            outboxMailRepository.markFailed(mail.getId(), MailStatus.PENDING, LocalDateTime.now().plus(backoff), error);
+            failedCounter.increment();
+        }
+    }
+
+    /**
+     * Returns the delay before the next attempt: the base backoff, doubled for every failed attempt, at most the maximum backoff.
+     */
+    private Duration backoff(int attempts) {
+        Duration backoff = retryBackoff.multipliedBy(1L << Math.min(Math.max(attempts - 1, 0), 20));
+        return backoff.compareTo(maxRetryBackoff) > 0 ? maxRetryBackoff : backoff;
+    }
+
+    private static Map<Object, Exception> allFailed(Map<MimeMessage, OutboxMail> messages, Exception e) {
+        Map<Object, Exception> failures = new LinkedHashMap<>();
+        messages.keySet().forEach(message -> failures.put(message, e));
+        return failures;
+    }
+
+    private static String abbreviate(String error) {
+        return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
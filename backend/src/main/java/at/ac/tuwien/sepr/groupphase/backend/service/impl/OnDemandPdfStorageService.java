@@ -0,0 +1,272 @@
+package at.ac.tuwien.sepr.groupphase.backend.service.impl;
+
+import at.ac.tuwien.sepr.groupphase.backend.entity.Booking;
+import at.ac.tuwien.sepr.groupphase.backend.entity.Pdf;
+import at.ac.tuwien.sepr.groupphase.backend.enums.BookingStatus;
+import at.ac.tuwien.sepr.groupphase.backend.exception.NotFoundException;
+import at.ac.tuwien.sepr.groupphase.backend.repository.BookingRepository;
+import at.ac.tuwien.sepr.groupphase.backend.service.PdfGenerationService;
+import at.ac.tuwien.sepr.groupphase.backend.service.PdfStorageService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.invoke.MethodHandles;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Generates booking documents when they are requested for the first time, instead of when the booking is created.
+ *
+ * <p>Wraps the configured storage backend. {@link #getPdf} renders a document that has not been stored yet, stores it
+ * and returns it; concurrent requests for the same document wait for the one rendering instead of rendering it again.
+ * Recently requested documents are kept in a least recently used cache whose size is bounded by the total size of
+ * the cached documents, {@code application.documents.cache.max-size}.</p>
+ *
+ * <p>Enabled unless {@code application.documents.on-demand} is false.</p>
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "application.documents.on-demand", havingValue = "true", matchIfMissing = true)
+public class OnDemandPdfStorageService implements PdfStorageService {
+
+    /**
+     * Qualifier of the storage backend that keeps the documents.
+     */
+    public static final String BACKEND = "pdfStorageBackend";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+    private static final String CONFIRMATION = "BookingConfirmation.pdf";
+    private static final String INVOICE = "Invoice.pdf";
+    private static final String CANCELLATION = "BookingCancellation.pdf";
+
+    private record DocumentKey(Long bookingId, String type) {
+    }
+
+    private final PdfStorageService storage;
+    private final BookingRepository bookingRepository;
+    private final PdfGenerationService pdfGenerationService;
+    private final DocumentCache cache;
+    private final Map<DocumentKey, CompletableFuture<Pdf>> renders = new ConcurrentHashMap<>();
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+    private final Counter rendered;
+
+    public OnDemandPdfStorageService(@Qualifier(BACKEND) PdfStorageService storage,
+                                     BookingRepository bookingRepository,
+                                     PdfGenerationService pdfGenerationService,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${application.documents.cache.max-size:16MB}") DataSize maxCacheSize) {
+        this.storage = storage;
+        this.bookingRepository = bookingRepository;
+        this.pdfGenerationService = pdfGenerationService;
+        this.cache = new DocumentCache(maxCacheSize.toBytes());
+        this.cacheHits = Counter.builder("documents.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.cacheMisses = Counter.builder("documents.cache.requests").tag("result", "miss").register(meterRegistry);
+        this.rendered = Counter.builder("documents.rendered").description("Documents rendered on their first request").register(meterRegistry);
+        Gauge.builder("documents.cache.size", cache, DocumentCache::size).baseUnit("bytes").register(meterRegistry);
+    }
+
+    @Override
+    public void storePdf(Long bookingId, String type, byte[] content) {
+        storage.storePdf(bookingId, type, content);
+        cache.remove(new DocumentKey(bookingId, type));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Booking confirmations and invoices, and cancellation receipts of cancelled bookings, are rendered and stored
+     * if they have not been stored yet.</p>
+     *
+     * @throws NotFoundException if the booking does not exist, or the document is neither stored nor can be rendered
+     */
+    @Override
+    public Pdf getPdf(Long bookingId, String type) {
+        DocumentKey key = new DocumentKey(bookingId, type);
+        Pdf cached = cache.get(key);
+        if (cached != null) {
+            cacheHits.increment();
+            return cached;
+        }
+        cacheMisses.increment();
+        long generation = cache.generation();
+        Pdf pdf = storage.hasPdf(bookingId, type) ? storage.getPdf(bookingId, type) : render(key);
+        cache.put(key, pdf, generation);
+        return pdf;
+    }
+
+    @Override
+    public boolean hasPdf(Long bookingId, String type) {
+        return cache.get(new DocumentKey(bookingId, type)) != null || storage.hasPdf(bookingId, type);
+    }
+
+    @Override
+    public boolean transferPdf(Long bookingId, String type, OutputStream target) throws IOException {
+        Pdf cached = cache.get(new DocumentKey(bookingId, type));
+        if (cached == null) {
+            return storage.transferPdf(bookingId, type, target);
+        }
+        target.write(cached.getContent());
+        return true;
+    }
+
+    @Override
+    public Set<Long> findStoredBookingIds(Collection<Long> bookingIds, String type) {
+        return storage.findStoredBookingIds(bookingIds, type);
+    }
+
+    @Override
+    public void deletePdf(Long bookingId, String fileName) {
+        // deleted from the storage first, so a read that starts after the eviction can not cache the old content again
+        storage.deletePdf(bookingId, fileName);
+        cache.remove(new DocumentKey(bookingId, fileName));
+    }
+
+    @Override
+    public void deleteAllPdfs() {
+        storage.deleteAllPdfs();
+        cache.clear();
+    }
+
+    /**
+     * Renders and stores a document, or waits for the request that is already rendering it.
+     */
+    private Pdf render(DocumentKey key) {
+        CompletableFuture<Pdf> render = new CompletableFuture<>();
+        CompletableFuture<Pdf> running = renders.putIfAbsent(key, render);
+        if (running != null) {
+            return join(running);
+        }
+        try {
+            // the request that rendered the document before may have finished between the check and the claim
+            Pdf pdf = storage.hasPdf(key.bookingId(), key.type())
+                ? storage.getPdf(key.bookingId(), key.type())
+                : renderAndStore(key);
+            render.complete(pdf);
+            return pdf;
+        } catch (RuntimeException e) {
+            render.completeExceptionally(e);
+            throw e;
+        } finally {
+            renders.remove(key, render);
+        }
+    }
+
+    private Pdf renderAndStore(DocumentKey key) {
+        Booking booking = bookingRepository.findById(key.bookingId())
+            .orElseThrow(() -> new NotFoundException("Booking with ID " + key.bookingId() + " not found"));
+        byte[] content;
+        try {
+            content = switch (key.type()) {
+                case CONFIRMATION -> pdfGenerationService.generateBookingConfirmation(booking);
+                case INVOICE -> pdfGenerationService.generateInvoice(booking);
+                case CANCELLATION -> {
+                    if (booking.getStatus() != BookingStatus.CANCELLED) {
+                        throw new NotFoundException("Booking with ID " + key.bookingId() + " has not been cancelled");
+                    }
+                    yield pdfGenerationService.generateCancellation(booking);
+                }
+                default -> throw new NotFoundException("PDF not found for bookingId: " + key.bookingId() + " and type: " + key.type());
+            };
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not generate " + key.type() + " of booking " + key.bookingId(), e);
+        }
+        storage.storePdf(key.bookingId(), key.type(), content);
+        rendered.increment();
+        LOGGER.debug("Rendered {} of booking {} on its first request", key.type(), key.bookingId());
+        return new Pdf(key.bookingId(), key.type(), content, LocalDateTime.now());
+    }
+
+    private static Pdf join(CompletableFuture<Pdf> render) {
+        try {
+            return render.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    /**
+     * Least recently used documents, bounded by the total size of their content. Documents larger than the whole
+     * cache are not cached.
+     *
+     * <p>Every removal bumps a generation counter. A document read from the storage is only cached if no document has
+     * been removed since the read started, so a read that overlaps a store or delete can not put back outdated content.</p>
+     */
+    private static final class DocumentCache {
+
+        private final long maxSize;
+        private final LinkedHashMap<DocumentKey, Pdf> documents = new LinkedHashMap<>(16, 0.75f, true);
+        private long size;
+        private long generation;
+
+        private DocumentCache(long maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        synchronized Pdf get(DocumentKey key) {
+            return documents.get(key);
+        }
+
+        synchronized long generation() {
+            return generation;
+        }
+
+        /**
+         * Caches a document, unless a document has been removed since {@code readGeneration} was taken.
+         */
+        synchronized void put(DocumentKey key, Pdf pdf, long readGeneration) {
+            int length = pdf.getContent().length;
+            if (length > maxSize || readGeneration != generation) {
+                return;
+            }
+            evict(key);
+            documents.put(key, pdf);
+            size += length;
+            Iterator<Pdf> eldest = documents.values().iterator();
+            while (size > maxSize) {
+                size -= eldest.next().getContent().length;
+                eldest.remove();
+            }
+        }
+
+        synchronized void remove(DocumentKey key) {
+            generation++;
+            evict(key);
+        }
+
+        synchronized void clear() {
+            generation++;
+            documents.clear();
+            size = 0;
+        }
+
+        private void evict(DocumentKey key) {
+            Pdf removed = documents.remove(key);
+            if (removed != null) {
+                size -= removed.getContent().length;
+            }
+        }
+
+        synchronized long size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package at.ac.tuwien.sepr.groupphase.backend.service.impl;
+
+import at.ac.tuwien.sepr.groupphase.backend.entity.Pdf;
+import at.ac.tuwien.sepr.groupphase.backend.repository.PdfRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.invoke.MethodHandles;
+import java.util.List;
+
+/**
+ * Moves the PDF documents stored in the {@code pdf_documents} table to the segment files of the
+ * {@link SegmentPdfStorageService}.
+ *
+ * <p>Runs on startup when the segment storage is enabled, unless {@code application.documents.segments.migrate-on-startup}
+ * is false. Documents are moved in batches, each in its own transaction: a batch is appended to the segments, indexed
+ * and deleted from the table at once. A migration that is interrupted can therefore simply be started again; a batch
+ * that was rolled back only leaves unused bytes in the segments.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "application.documents.storage", havingValue = "segments")
+public class PdfSegmentMigration implements ApplicationRunner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private final PdfRepository pdfRepository;
+    private final SegmentPdfStorageService storageService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final boolean migrateOnStartup;
+
+    public PdfSegmentMigration(PdfRepository pdfRepository,
+                               SegmentPdfStorageService storageService,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${application.documents.segments.migration-batch-size:100}") int batchSize,
+                               @Value("${application.documents.segments.migrate-on-startup:true}") boolean migrateOnStartup) {
+        this.pdfRepository = pdfRepository;
+        this.storageService = storageService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.migrateOnStartup = migrateOnStartup;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (migrateOnStartup) {
+            migrate();
+        }
+    }
+
+    /**
+     * Moves all documents stored in the database to the segments.
+     *
+     * @return the number of documents moved
+     */
+    public int migrate() {
+        int migrated = 0;
+        int moved;
+        do {
+            moved = migrateBatch();
+            migrated += moved;
+        } while (moved == batchSize);
+        if (migrated > 0) {
+            LOGGER.info("Moved {} PDF documents from the database to the document segments", migrated);
+        }
+        return migrated;
+    }
+
+    /**
+     * Moves the oldest documents stored in the database to the segments.
+     *
+     * @return the number of documents moved
+     */
+    int migrateBatch() {
+        Integer moved = transactionTemplate.execute(status -> {
+            List<Pdf> documents = pdfRepository.findAllByOrderByIdAsc(Limit.of(batchSize));
+            for (Pdf document : documents) {
+                storageService.storePdf(document.getBookingId(), document.getDocumentType(), document.getContent(), document.getCreatedAt());
+            }
+            pdfRepository.deleteAllInBatch(documents);
+            return documents.size();
+        });
+        return moved == null ? 0 : moved;
+    }
+}
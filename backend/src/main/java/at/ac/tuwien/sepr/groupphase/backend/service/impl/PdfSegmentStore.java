@@ -0,0 +1,263 @@
+package at.ac.tuwien.sepr.groupphase.backend.service.impl;
+
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdInputStream;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Append-only store for document content in zstd compressed segment files on local disk.
+ *
+ * <p>Every document is compressed on its own and appended as one zstd frame to the current segment file; once a
+ * segment has reached its maximum size, the next one is started. A segment is therefore a valid zstd file holding all
+ * of its documents one after the other. The store only hands out the location of a document; keeping track of which
+ * document is stored where is up to the caller.</p>
+ *
+ * <p>Segments are read through a memory mapping of the whole file that is shared by all reads, so reading a document
+ * needs neither a file handle of its own nor a read from the file channel. {@link #read} copies the compressed content
+ * of the document from the mapping into a heap array to decompress it, while {@link #open} streams it from the mapping
+ * through the buffer of the caller. The mapping of the segment that is currently written to is renewed once a read
+ * needs content appended after it was mapped.</p>
+ *
+ * <p>Content is never removed from a segment. Documents that are deleted or whose index entry was never committed
+ * leave unused bytes behind.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "application.documents.storage", havingValue = "segments")
+public class PdfSegmentStore {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+    private static final Pattern SEGMENT_NAME = Pattern.compile("segment-(\\d{8})\\.zst");
+
+    /**
+     * The location of a document in the store.
+     *
+     * @param segment the number of the segment file
+     * @param offset  the offset of the compressed content in the segment file
+     * @param length  the length of the compressed content
+     */
+    public record Location(int segment, long offset, int length) {
+    }
+
+    private final Path directory;
+    private final long maxSegmentSize;
+    private final int compressionLevel;
+    private final Map<Integer, MappedByteBuffer> mappings = new ConcurrentHashMap<>();
+    private final Object appendLock = new Object();
+
+    private FileChannel current;
+    private int currentSegment;
+
+    public PdfSegmentStore(@Value("${application.documents.segments.directory:./database/documents}") Path directory,
+                           @Value("${application.documents.segments.max-segment-size:64MB}") DataSize maxSegmentSize,
+                           @Value("${application.documents.segments.compression-level:3}") int compressionLevel) {
+        if (maxSegmentSize.toBytes() <= 0 || maxSegmentSize.toBytes() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("The maximum segment size must be between 1 byte and 2GB");
+        }
+        this.directory = directory;
+        this.maxSegmentSize = maxSegmentSize.toBytes();
+        this.compressionLevel = compressionLevel;
+    }
+
+    /**
+     * Compresses a document and appends it to the current segment. The content is forced to disk before its location
+     * is returned, so an index entry committed afterwards never points to content that was lost in a crash.
+     *
+     * @param content the content of the document
+     * @return the location of the compressed content
+     * @throws IOException if the content can not be written
+     */
+    public Location append(byte[] content) throws IOException {
+        byte[] compressed = Zstd.compress(content, compressionLevel);
+        synchronized (appendLock) {
+            FileChannel channel = segmentFor(compressed.length);
+            long offset = channel.size();
+            ByteBuffer buffer = ByteBuffer.wrap(compressed);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer, offset + buffer.position());
+            }
+            channel.force(false);
+            return new Location(currentSegment, offset, compressed.length);
+        }
+    }
+
+    /**
+     * Reads and decompresses a document. The compressed content is copied to the heap first, zstd can only decompress
+     * from a direct buffer into another direct buffer.
+     *
+     * @param location      the location of the compressed content
+     * @param contentLength the length of the decompressed content
+     * @return the content of the document
+     * @throws IOException if the segment can not be read
+     */
+    public byte[] read(Location location, int contentLength) throws IOException {
+        ByteBuffer region = region(location);
+        byte[] compressed = new byte[region.remaining()];
+        region.get(compressed);
+        byte[] content = Zstd.decompress(compressed, contentLength);
+        if (content.length != contentLength) {
+            throw new IOException("Corrupt document in segment " + location.segment() + " at offset " + location.offset());
+        }
+        return content;
+    }
+
+    /**
+     * Opens a stream that decompresses a document while it is read.
+     *
+     * @param location the location of the compressed content
+     * @return the stream of the decompressed content, to be closed by the caller
+     * @throws IOException if the segment can not be read
+     */
+    public InputStream open(Location location) throws IOException {
+        return new ZstdInputStream(new RegionInputStream(region(location)));
+    }
+
+    /**
+     * Deletes all segments. Locations handed out before must not be read afterwards.
+     *
+     * @throws IOException if a segment can not be deleted
+     */
+    public void deleteAll() throws IOException {
+        synchronized (appendLock) {
+            closeCurrent();
+            mappings.clear();
+            for (Path segment : segments()) {
+                Files.delete(segment);
+            }
+            LOGGER.info("Deleted all document segments in {}", directory);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        synchronized (appendLock) {
+            closeCurrent();
+        }
+    }
+
+    /**
+     * Returns the segment the next document is appended to, and starts a new one if the current one has no room for it.
+     * A document larger than the maximum segment size gets a segment of its own.
+     */
+    private FileChannel segmentFor(int length) throws IOException {
+        if (current == null) {
+            Files.createDirectories(directory);
+            currentSegment = segments().stream().mapToInt(PdfSegmentStore::segmentNumber).max().orElse(1);
+            current = FileChannel.open(segmentPath(currentSegment), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        }
+        if (current.size() > 0 && current.size() + length > maxSegmentSize) {
+            current.close();
+            currentSegment++;
+            current = FileChannel.open(segmentPath(currentSegment), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            LOGGER.info("Started document segment {}", currentSegment);
+        }
+        return current;
+    }
+
+    private ByteBuffer region(Location location) throws IOException {
+        long end = location.offset() + location.length();
+        MappedByteBuffer mapping = mappings.get(location.segment());
+        if (mapping == null || mapping.capacity() < end) {
+            try {
+                mapping = mappings.compute(location.segment(), (segment, mapped) ->
+                    mapped != null && mapped.capacity() >= end ? mapped : map(segment));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            if (mapping.capacity() < end) {
+                throw new IOException("Segment " + location.segment() + " ends before offset " + end);
+            }
+        }
+        return mapping.slice((int) location.offset(), location.length());
+    }
+
+    private MappedByteBuffer map(int segment) {
+        try (FileChannel channel = FileChannel.open(segmentPath(segment), StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void closeCurrent() throws IOException {
+        if (current != null) {
+            current.close();
+            current = null;
+        }
+    }
+
+    private List<Path> segments() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> SEGMENT_NAME.matcher(file.getFileName().toString()).matches()).toList();
+        }
+    }
+
+    private Path segmentPath(int segment) {
+        return directory.resolve(String.format("segment-%08d.zst", segment));
+    }
+
+    private static int segmentNumber(Path segment) {
+        Matcher matcher = SEGMENT_NAME.matcher(segment.getFileName().toString());
+        return matcher.matches() ? Integer.parseInt(matcher.group(1)) : 0;
+    }
+
+    /**
+     * Reads a region of a mapped segment without copying it first.
+     */
+    private static final class RegionInputStream extends InputStream {
+
+        private final ByteBuffer region;
+
+        private RegionInputStream(ByteBuffer region) {
+            this.region = region;
+        }
+
+        @Override
+        public int read() {
+            return region.hasRemaining() ? region.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!region.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, region.remaining());
+            region.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return region.remaining();
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package at.ac.tuwien.sepr.groupphase.backend.service.impl;
+
+import at.ac.tuwien.sepr.groupphase.backend.entity.Booking;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.PDPageContentStream.AppendMode;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A single page PDF layout that is laid out once and rendered for many bookings.
+ *
+ * <p>When the template is built, PDFBox lays out everything that is the same for every booking and saves it as a
+ * complete document. Rendering a booking loads that document, appends a second content stream with the values of the
+ * booking and saves it again, so the static text is neither laid out nor compressed again. A template is immutable
+ * and can be rendered by any number of threads at once, each rendering works on its own {@link PDDocument}.</p>
+ *
+ * <p>Texts are shown with the standard fonts, which can only show the characters of WinAnsiEncoding. As with
+ * {@link PDPageContentStream#showText(String)}, rendering a value with other characters, e.g. a guest name in Cyrillic,
+ * fails with an {@link IllegalArgumentException} instead of printing a wrong name.</p>
+ */
+final class PdfTemplate {
+
+    /**
+     * The standard fonts a template can use.
+     */
+    enum Font {
+        REGULAR(PDType1Font.HELVETICA),
+        BOLD(PDType1Font.HELVETICA_BOLD);
+
+        private final PDFont font;
+
+        Font(PDFont font) {
+            this.font = font;
+        }
+    }
+
+    /**
+     * A text at a fixed position that is taken from the rendered booking.
+     */
+    private record Value(float x, float y, Font font, float fontSize, Function<Booking, ?> text) {
+    }
+
+    private final byte[] layout;
+    private final Map<Font, COSName> fontNames;
+    private final List<Value> values;
+
+    private PdfTemplate(byte[] layout, Map<Font, COSName> fontNames, List<Value> values) {
+        this.layout = layout;
+        this.fontNames = fontNames;
+        this.values = values;
+    }
+
+    /**
+     * Starts a new template whose first line is at the given vertical position.
+     *
+     * @param startY the vertical position of the first line, from the bottom of the page
+     * @return the builder for the template
+     */
+    static Builder builder(float startY) {
+        return new Builder(startY);
+    }
+
+    /**
+     * Renders the template for a booking.
+     *
+     * @param booking the booking whose values are filled in
+     * @return the content of the PDF document
+     * @throws IOException              if the document can not be written
+     * @throws IllegalArgumentException if a value contains a character the standard fonts can not show
+     */
+    byte[] render(Booking booking) throws IOException {
+        try (PDDocument document = PDDocument.load(layout);
+             ByteArrayOutputStream out = new ByteArrayOutputStream(layout.length + 1024)) {
+            PDPage page = document.getPage(0);
+            PDResources resources = page.getResources();
+            try (PDPageContentStream contentStream = new PDPageContentStream(document, page, AppendMode.APPEND, true)) {
+                for (Value value : values) {
+                    contentStream.beginText();
+                    // the fonts registered by the layout, so the page does not get a second copy of each
+                    contentStream.setFont(resources.getFont(fontNames.get(value.font())), value.fontSize());
+                    contentStream.newLineAtOffset(value.x(), value.y());
+                    contentStream.showText(String.valueOf(value.text().apply(booking)));
+                    contentStream.endText();
+                }
+            }
+            document.save(out);
+            return out.toByteArray();
+        }
+    }
+
+    /**
+     * Lays out a template top to bottom. Every text is placed on the current line; {@link #down} moves to the next one.
+     */
+    static final class Builder {
+
+        /**
+         * A part of the static layout, drawn once when the template is built.
+         */
+        private interface Drawing {
+            void draw(PDPageContentStream contentStream) throws IOException;
+        }
+
+        private final List<Drawing> drawings = new ArrayList<>();
+        private final List<Value> values = new ArrayList<>();
+        private float currentY;
+        private Font font = Font.REGULAR;
+        private float fontSize = 12;
+
+        private Builder(float startY) {
+            this.currentY = startY;
+        }
+
+        /**
+         * Sets the font of the following texts.
+         *
+         * @param font the font
+         * @param size the font size in points
+         * @return this builder
+         */
+        Builder font(Font font, float size) {
+            this.font = font;
+            this.fontSize = size;
+            return this;
+        }
+
+        /**
+         * Moves down to a new line.
+         *
+         * @param distance the distance in points
+         * @return this builder
+         */
+        Builder down(float distance) {
+            currentY -= distance;
+            return this;
+        }
+
+        /**
+         * Places a text that is the same in every rendering on the current line.
+         *
+         * @param x    the horizontal position of the text
+         * @param text the text
+         * @return this builder
+         */
+        Builder text(float x, String text) {
+            float y = currentY;
+            PDFont pdFont = font.font;
+            float size = fontSize;
+            drawings.add(contentStream -> {
+                contentStream.beginText();
+                contentStream.setFont(pdFont, size);
+                contentStream.newLineAtOffset(x, y);
+                contentStream.showText(text);
+                contentStream.endText();
+            });
+            return this;
+        }
+
+        /**
+         * Places a text taken from the rendered booking on the current line.
+         *
+         * @param x    the horizontal position of the text
+         * @param text computes the text from the booking, {@code null} is shown as "null"
+         * @return this builder
+         */
+        Builder text(float x, Function<Booking, ?> text) {
+            values.add(new Value(x, currentY, font, fontSize, text));
+            return this;
+        }
+
+        /**
+         * Draws a horizontal line on the current line.
+         *
+         * @param fromX     the horizontal start of the line
+         * @param toX       the horizontal end of the line
+         * @param lineWidth the width of the line in points
+         * @return this builder
+         */
+        Builder rule(float fromX, float toX, float lineWidth) {
+            float y = currentY;
+            drawings.add(contentStream -> {
+                contentStream.setLineWidth(lineWidth);
+                contentStream.moveTo(fromX, y);
+                contentStream.lineTo(toX, y);
+                contentStream.stroke();
+            });
+            return this;
+        }
+
+        /**
+         * Lays out the static parts of the template.
+         *
+         * @return the template
+         * @throws IllegalArgumentException if a static text contains a character the standard fonts can not show
+         */
+        PdfTemplate build() {
+            try (PDDocument document = new PDDocument();
+                 ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+                PDResources resources = new PDResources();
+                page.setResources(resources);
+                Map<Font, COSName> fontNames = new EnumMap<>(Font.class);
+                for (Font registered : Font.values()) {
+                    fontNames.put(registered, resources.add(registered.font));
+                }
+                try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
+                    for (Drawing drawing : drawings) {
+                        drawing.draw(contentStream);
+                    }
+                }
+                document.save(out);
+                return new PdfTemplate(out.toByteArray(), fontNames, List.copyOf(values));
+            } catch (IOException e) {
+                // the document is only written to memory
+                throw new IllegalStateException("Could not lay out PDF template", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package at.ac.tuwien.sepr.groupphase.backend.service.impl;
+
+import at.ac.tuwien.sepr.groupphase.backend.entity.Pdf;
+import at.ac.tuwien.sepr.groupphase.backend.entity.PdfSegmentEntry;
+import at.ac.tuwien.sepr.groupphase.backend.exception.NotFoundException;
+import at.ac.tuwien.sepr.groupphase.backend.repository.PdfSegmentEntryRepository;
+import at.ac.tuwien.sepr.groupphase.backend.service.PdfStorageService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.invoke.MethodHandles;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Stores PDF documents compressed in segment files on local disk, see {@link PdfSegmentStore}. Only the location of
+ * every document is kept in the database, in the {@code pdf_segment_entries} table.
+ *
+ * <p>Enabled with {@code application.documents.storage=segments}. Documents stored in the database before are moved
+ * over by the {@link PdfSegmentMigration}.</p>
+ */
+@Service
+@Qualifier(OnDemandPdfStorageService.BACKEND)
+@ConditionalOnProperty(name = "application.documents.storage", havingValue = "segments")
+public class SegmentPdfStorageService implements PdfStorageService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private final PdfSegmentEntryRepository entryRepository;
+    private final PdfSegmentStore segmentStore;
+
+    public SegmentPdfStorageService(PdfSegmentEntryRepository entryRepository, PdfSegmentStore segmentStore) {
+        this.entryRepository = entryRepository;
+        this.segmentStore = segmentStore;
+    }
+
+    @Override
+    public void storePdf(Long bookingId, String type, byte[] content) {
+        if (bookingId == null) {
+            throw new IllegalArgumentException("Booking ID cannot be null");
+        }
+        storePdf(bookingId, type, content, LocalDateTime.now());
+    }
+
+    /**
+     * Stores a PDF document with the point in time it was originally created at.
+     *
+     * @param bookingId the ID of the booking to associate the PDF with
+     * @param type      the type of the document
+     * @param content   the content of the PDF document
+     * @param createdAt the point in time the document was created at
+     */
+    void storePdf(Long bookingId, String type, byte[] content, LocalDateTime createdAt) {
+        LOGGER.debug("Storing PDF for bookingId: {} with content size: {}", bookingId, content.length);
+        PdfSegmentStore.Location location;
+        try {
+            location = segmentStore.append(content);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not store " + type + " of booking " + bookingId, e);
+        }
+        entryRepository.save(new PdfSegmentEntry(bookingId, type, createdAt,
+            location.segment(), location.offset(), location.length(), content.length));
+    }
+
+    @Override
+    public Pdf getPdf(Long bookingId, String type) {
+        PdfSegmentEntry entry = entryRepository.findFirstByBookingIdAndDocumentTypeOrderByIdDesc(bookingId, type)
+            .orElseThrow(() -> new NotFoundException("PDF not found for bookingId: " + bookingId + " and type: " + type));
+        try {
+            Pdf pdf = new Pdf(bookingId, type, segmentStore.read(location(entry), entry.getContentLength()), entry.getCreatedAt());
+            pdf.setId(entry.getId());
+            return pdf;
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read " + type + " of booking " + bookingId, e);
+        }
+    }
+
+    @Override
+    public boolean hasPdf(Long bookingId, String type) {
+        return entryRepository.existsByBookingIdAndDocumentType(bookingId, type);
+    }
+
+    @Override
+    public boolean transferPdf(Long bookingId, String type, OutputStream target) throws IOException {
+        Optional<PdfSegmentEntry> entry = entryRepository.findFirstByBookingIdAndDocumentTypeOrderByIdDesc(bookingId, type);
+        if (entry.isEmpty()) {
+            return false;
+        }
+        try (InputStream content = segmentStore.open(location(entry.get()))) {
+            content.transferTo(target);
+        }
+        return true;
+    }
+
+    @Override
+    public Set<Long> findStoredBookingIds(Collection<Long> bookingIds, String type) {
+        if (bookingIds.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(entryRepository.findBookingIdsWithDocument(bookingIds, type));
+    }
+
+    @Override
+    public void deletePdf(Long bookingId, String fileName) {
+        LOGGER.debug("Deleting PDF for booking ID {} with file name {}", bookingId, fileName);
+
+        PdfSegmentEntry entry = entryRepository.findFirstByBookingIdAndDocumentTypeOrderByIdDesc(bookingId, fileName)
+            .orElseThrow(() -> new NotFoundException("PDF not found for bookingId: " + bookingId + " and file name: " + fileName));
+
+        entryRepository.delete(entry);
+        LOGGER.info("Deleted PDF for booking ID {} with file name {}", bookingId, fileName);
+    }
+
+    @Override
+    public void deleteAllPdfs() {
+        entryRepository.deleteAll();
+        try {
+            segmentStore.deleteAll();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not delete the document segments", e);
+        }
+    }
+
+    private static PdfSegmentStore.Location location(PdfSegmentEntry entry) {
+        return new PdfSegmentStore.Location(entry.getSegment(), entry.getOffset(), entry.getCompressedLength());
+    }
+}
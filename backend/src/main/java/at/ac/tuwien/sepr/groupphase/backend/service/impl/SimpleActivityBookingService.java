@@ -17,6 +17,7 @@ import at.ac.tuwien.sepr.groupphase.backend.repository.ActivitySlotRepository;
 import at.ac.tuwien.sepr.groupphase.backend.repository.ApplicationUserRepository;
 import at.ac.tuwien.sepr.groupphase.backend.repository.GuestActivityCategoryRepository;
 import at.ac.tuwien.sepr.groupphase.backend.service.ActivityBookingService;
+import at.ac.tuwien.sepr.groupphase.backend.service.ActivitySlotCalendar;
 import at.ac.tuwien.sepr.groupphase.backend.service.UserService;
 import at.ac.tuwien.sepr.groupphase.backend.service.validator.ActivityBookingValidator;
 import com.stripe.exception.InvalidRequestException;
@@ -24,6 +25,7 @@ import com.stripe.exception.StripeException;
 import com.stripe.model.PaymentIntent;
 import com.stripe.model.checkout.Session;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
 import java.lang.reflect.Field;
@@ -43,6 +45,7 @@ public class SimpleActivityBookingService implements ActivityBookingService {
     private final UserService userService;
 
     private final ActivityBookingValidator activityBookingValidator;
+    private final ActivitySlotCalendar activitySlotCalendar;
 
 
     public SimpleActivityBookingService(ActivityBookingRepository bookingRepository,
@@ -51,7 +54,8 @@ public class SimpleActivityBookingService implements ActivityBookingService {
                                         ActivitySlotRepository activitySlotRepository,
                                         ActivityBookingMapper activityBookingMapper,
                                         GuestActivityCategoryRepository guestActivityCategoryRepository,
-                                        UserService userService, ActivityBookingValidator activityBookingValidator) {
+                                        UserService userService, ActivityBookingValidator activityBookingValidator,
+                                        ActivitySlotCalendar activitySlotCalendar) {
         this.bookingRepository = bookingRepository;
         this.userRepository = userRepository;
         this.activitySlotRepository = activitySlotRepository;
@@ -60,6 +64,7 @@ public class SimpleActivityBookingService implements ActivityBookingService {
         this.guestActivityCategoryRepository = guestActivityCategoryRepository;
         this.userService = userService;
         this.activityBookingValidator = activityBookingValidator;
+        this.activitySlotCalendar = activitySlotCalendar;
     }
 
 
@@ -70,8 +75,10 @@ public class SimpleActivityBookingService implements ActivityBookingService {
         Activity activity = activityRepository.findActivityById(bookingDto.activityId())
             .orElseThrow(() -> new NotFoundException("Activity not found with ID: " + bookingDto.activityId()));
 
-        ActivitySlot timeslot = activitySlotRepository.findById(bookingDto.activitySlotId())
-            .orElseThrow(() -> new NotFoundException("ActivitySlot not found with ID: " + bookingDto.activitySlotId()));
+        ActivitySlot timeslot = bookingDto.activitySlotId() != null
+            ? activitySlotRepository.findById(bookingDto.activitySlotId())
+                .orElseThrow(() -> new NotFoundException("ActivitySlot not found with ID: " + bookingDto.activitySlotId()))
+            : activitySlotCalendar.findSlot(activity.getId(), bookingDto.slotDate(), bookingDto.slotStartTime());
 
         activityBookingValidator.validateForCreate(bookingDto, activity, timeslot);
 
@@ -79,15 +86,21 @@ public class SimpleActivityBookingService implements ActivityBookingService {
         booking.setUser(user);
         booking.setActivity(activity);
         booking.setBookingDate(bookingDto.bookingDate());
-        booking.setActivitySlot(timeslot);
         booking.setParticipants(bookingDto.participants());
         booking.setStatus(BookingStatus.PENDING);
 
-        int currentlyOccupied = timeslot.getOccupied();
-        timeslot.setOccupied(currentlyOccupied + bookingDto.participants());
-
-        bookingRepository.save(booking);
-        activitySlotRepository.save(timeslot);
+        ActivitySlot storedSlot = storeSlot(timeslot);
+        if (activitySlotRepository.reserve(storedSlot.getId(), bookingDto.participants()) == 0) {
+            // another booking took the places after the slot was validated
+            throw new ValidationException("Validation failed for one or more fields.", List.of("Not enough capacity in activity slot"));
+        }
+        booking.setActivitySlot(storedSlot);
+        try {
+            bookingRepository.save(booking);
+        } catch (RuntimeException e) {
+            activitySlotRepository.release(storedSlot.getId(), bookingDto.participants());
+            throw e;
+        }
 
         if (activity.getCategories() != null && !activity.getCategories().isEmpty()) {
             updateCategoryWeights(activity);
@@ -122,13 +135,27 @@ public class SimpleActivityBookingService implements ActivityBookingService {
         }
         bookingRepository.save(booking);
         if (!booking.getStatus().equals(BookingStatus.ACTIVE)) {
-            ActivitySlot timeslot = booking.getActivitySlot();
-            timeslot.setOccupied(timeslot.getOccupied() - booking.getParticipants());
-            activitySlotRepository.save(timeslot);
+            activitySlotRepository.release(booking.getActivitySlot().getId(), booking.getParticipants());
             bookingRepository.delete(booking);
         }
     }
 
+    /**
+     * Stores a slot that is booked for the first time, without any places taken. If a concurrent booking stored it
+     * first, the stored slot is returned instead.
+     */
+    private ActivitySlot storeSlot(ActivitySlot slot) {
+        if (slot.getId() != null) {
+            return slot;
+        }
+        try {
+            return activitySlotRepository.saveAndFlush(slot);
+        } catch (DataIntegrityViolationException e) {
+            return activitySlotRepository.findByActivityIdAndDateAndStartTime(slot.getActivity().getId(), slot.getDate(), slot.getStartTime())
+                .orElseThrow(() -> e);
+        }
+    }
+
     @Override
     public List<ActivityBookingDto> findByUserEmail(String email) throws NotFoundException {
         log.debug("Finding bookings for user with email: {}", email);
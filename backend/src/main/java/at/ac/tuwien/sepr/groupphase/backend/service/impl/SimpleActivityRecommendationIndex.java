@@ -0,0 +1,202 @@
+package at.ac.tuwien.sepr.groupphase.backend.service.impl;
+
+import at.ac.tuwien.sepr.groupphase.backend.entity.GuestActivityCategory;
+import at.ac.tuwien.sepr.groupphase.backend.enums.ActivityCategory;
+import at.ac.tuwien.sepr.groupphase.backend.repository.ActivityRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.projection.ActivityCategories;
+import at.ac.tuwien.sepr.groupphase.backend.service.ActivityRecommendationIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * {@link ActivityRecommendationIndex} that keeps the category vectors of all activities in one flat {@code float[]}, next
+ * to a {@code long[]} with the IDs of the activities.
+ *
+ * <p>Both arrays are replaced as a whole whenever an activity changes, so scoring reads them without any locking and only
+ * allocates the few arrays that hold the best {@code k} activities. Activities change rarely compared to how often the
+ * homepage asks for a recommendation.</p>
+ *
+ * <p>Scoring starts at a random activity, so the activities that share the lowest score that still makes it into the
+ * result vary from call to call.</p>
+ */
+@Component
+public class SimpleActivityRecommendationIndex implements ActivityRecommendationIndex {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+    private static final ActivityCategory[] CATEGORIES = ActivityCategory.values();
+    private static final int DIMENSIONS = CATEGORIES.length;
+
+    private final ActivityRepository activityRepository;
+
+    /**
+     * Category vectors of all activities by their ID, only accessed while holding the monitor of the index.
+     */
+    private final Map<Long, float[]> vectorsById = new LinkedHashMap<>();
+
+    /**
+     * Arrays read by scoring, or {@code null} as long as the index has not been loaded.
+     */
+    private volatile Snapshot snapshot;
+
+    public SimpleActivityRecommendationIndex(ActivityRepository activityRepository) {
+        this.activityRepository = activityRepository;
+    }
+
+    /**
+     * Loads the index once the application (including the data generator) is up, so the first homepage load does not pay
+     * for it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @Override
+    public List<Candidate> topK(GuestActivityCategory preferences, int k) {
+        Snapshot current = ensureLoaded();
+        int size = current.ids.length;
+        int limit = Math.min(k, size);
+        if (limit <= 0) {
+            return List.of();
+        }
+        float[] weights = weights(preferences);
+        float[] vectors = current.vectors;
+        int[] best = new int[limit];
+        float[] bestScores = new float[limit];
+        int count = 0;
+        int offset = ThreadLocalRandom.current().nextInt(size);
+        for (int j = 0; j < size; j++) {
+            int i = j + offset < size ? j + offset : j + offset - size;
+            int base = i * DIMENSIONS;
+            float score = 0f;
+            for (int d = 0; d < DIMENSIONS; d++) {
+                score += vectors[base + d] * weights[d];
+            }
+            if (count == limit && score <= bestScores[limit - 1]) {
+                continue;
+            }
+            int position = count < limit ? count++ : limit - 1;
+            while (position > 0 && bestScores[position - 1] < score) {
+                best[position] = best[position - 1];
+                bestScores[position] = bestScores[position - 1];
+                position--;
+            }
+            best[position] = i;
+            bestScores[position] = score;
+        }
+        List<Candidate> candidates = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            candidates.add(new Candidate(current.ids[best[i]], bestScores[i]));
+        }
+        return candidates;
+    }
+
+    @Override
+    public synchronized void put(Long activityId, String categories) {
+        if (activityId == null || snapshot == null) {
+            // not loaded yet, the load reads the committed activity
+            return;
+        }
+        vectorsById.put(activityId, vector(categories));
+        publish();
+    }
+
+    @Override
+    public synchronized void remove(Long activityId) {
+        if (snapshot == null || vectorsById.remove(activityId) == null) {
+            return;
+        }
+        publish();
+    }
+
+    @Override
+    public synchronized void rebuild() {
+        LOGGER.debug("Loading activity recommendation index");
+        vectorsById.clear();
+        for (ActivityCategories activity : activityRepository.findAllCategories()) {
+            vectorsById.put(activity.id(), vector(activity.categories()));
+        }
+        publish();
+    }
+
+    private Snapshot ensureLoaded() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (snapshot == null) {
+                rebuild();
+            }
+            return snapshot;
+        }
+    }
+
+    private void publish() {
+        long[] ids = new long[vectorsById.size()];
+        float[] vectors = new float[vectorsById.size() * DIMENSIONS];
+        int i = 0;
+        for (Map.Entry<Long, float[]> entry : vectorsById.entrySet()) {
+            ids[i] = entry.getKey();
+            System.arraycopy(entry.getValue(), 0, vectors, i * DIMENSIONS, DIMENSIONS);
+            i++;
+        }
+        snapshot = new Snapshot(ids, vectors);
+    }
+
+    /**
+     * Spreads an activity evenly over its categories. Unknown categories get their share as well, but it is not scored.
+     */
+    private static float[] vector(String categories) {
+        float[] vector = new float[DIMENSIONS];
+        if (categories == null) {
+            return vector;
+        }
+        String[] names = categories.split(",");
+        for (String name : names) {
+            for (ActivityCategory category : CATEGORIES) {
+                if (category.name().equalsIgnoreCase(name.trim())) {
+                    vector[category.ordinal()] += 1f / names.length;
+                }
+            }
+        }
+        return vector;
+    }
+
+    private static float[] weights(GuestActivityCategory preferences) {
+        float[] weights = new float[DIMENSIONS];
+        if (preferences == null) {
+            return weights;
+        }
+        weights[ActivityCategory.Education.ordinal()] = weight(preferences.getEducation());
+        weights[ActivityCategory.Music.ordinal()] = weight(preferences.getMusic());
+        weights[ActivityCategory.Fitness.ordinal()] = weight(preferences.getFitness());
+        weights[ActivityCategory.Nature.ordinal()] = weight(preferences.getNature());
+        weights[ActivityCategory.Cooking.ordinal()] = weight(preferences.getCooking());
+        weights[ActivityCategory.Teamwork.ordinal()] = weight(preferences.getTeamwork());
+        weights[ActivityCategory.Creativity.ordinal()] = weight(preferences.getCreativity());
+        weights[ActivityCategory.Wellness.ordinal()] = weight(preferences.getWellness());
+        weights[ActivityCategory.Recreation.ordinal()] = weight(preferences.getRecreation());
+        weights[ActivityCategory.Sports.ordinal()] = weight(preferences.getSports());
+        weights[ActivityCategory.Kids.ordinal()] = weight(preferences.getKids());
+        weights[ActivityCategory.Workshop.ordinal()] = weight(preferences.getWorkshop());
+        return weights;
+    }
+
+    private static float weight(Double preference) {
+        return preference != null ? preference.floatValue() : 0f;
+    }
+
+    private record Snapshot(long[] ids, float[] vectors) {
+    }
+}
@@ -13,21 +13,26 @@ import at.ac.tuwien.sepr.groupphase.backend.entity.Activity;
 import at.ac.tuwien.sepr.groupphase.backend.entity.ActivityImage;
 import at.ac.tuwien.sepr.groupphase.backend.entity.ActivitySlot;
 import at.ac.tuwien.sepr.groupphase.backend.entity.GuestActivityCategory;
+import at.ac.tuwien.sepr.groupphase.backend.entity.ImageBlob;
+import at.ac.tuwien.sepr.groupphase.backend.enums.ImageVariant;
 import at.ac.tuwien.sepr.groupphase.backend.exception.NotFoundException;
 import at.ac.tuwien.sepr.groupphase.backend.exception.ValidationException;
 import at.ac.tuwien.sepr.groupphase.backend.repository.ActivityRepository;
 import at.ac.tuwien.sepr.groupphase.backend.repository.GuestActivityCategoryRepository;
+import at.ac.tuwien.sepr.groupphase.backend.service.ActivityRecommendationIndex;
 import at.ac.tuwien.sepr.groupphase.backend.service.ActivityService;
+import at.ac.tuwien.sepr.groupphase.backend.service.ActivitySlotCalendar;
+import at.ac.tuwien.sepr.groupphase.backend.service.ImageService;
 import at.ac.tuwien.sepr.groupphase.backend.service.UserService;
 import at.ac.tuwien.sepr.groupphase.backend.service.validator.ActivityValidator;
 import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
-import org.springframework.http.HttpHeaders;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
@@ -37,10 +42,9 @@ import java.lang.invoke.MethodHandles;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Service
 public class SimpleActivityService implements ActivityService {
@@ -51,13 +55,27 @@ public class SimpleActivityService implements ActivityService {
     private final ActivityValidator activityValidator;
     private final GuestActivityCategoryRepository guestActivityCategoryRepository;
     private final UserService userService;
-
-    public SimpleActivityService(ActivityRepository activityRepository, ActivityMapper activityMapper, ActivityValidator activityValidator, GuestActivityCategoryRepository guestActivityCategoryRepository, UserService userService) {
+    private final ImageService imageService;
+    private final ActivitySlotCalendar activitySlotCalendar;
+    private final ActivityRecommendationIndex activityRecommendationIndex;
+
+    /**
+     * Number of best matching activities the recommendation is drawn from.
+     */
+    @Value("${application.activity.recommendation-candidates:5}")
+    private int recommendationCandidates;
+
+    public SimpleActivityService(ActivityRepository activityRepository, ActivityMapper activityMapper, ActivityValidator activityValidator,
+                                 GuestActivityCategoryRepository guestActivityCategoryRepository, UserService userService, ImageService imageService,
+                                 ActivitySlotCalendar activitySlotCalendar, ActivityRecommendationIndex activityRecommendationIndex) {
         this.activityRepository = activityRepository;
         this.activityMapper = activityMapper;
         this.activityValidator = activityValidator;
         this.guestActivityCategoryRepository = guestActivityCategoryRepository;
         this.userService = userService;
+        this.imageService = imageService;
+        this.activitySlotCalendar = activitySlotCalendar;
+        this.activityRecommendationIndex = activityRecommendationIndex;
     }
 
     @Transactional
@@ -67,11 +85,15 @@ public class SimpleActivityService implements ActivityService {
         activityValidator.validateForCreate(activityDto, image, additionalImages);
 
         try {
-            Activity activity = activityMapper.activityCreateDtoToActivity(activityDto, image, additionalImages, timeslotsDto);
-            if (timeslotsDto != null) {
-                List<ActivitySlot> slots = generateTimeslots(activity, timeslotsDto);
-                activity.setActivityTimeslots(slots);
+            ImageBlob mainImage = (image != null && !image.isEmpty()) ? imageService.store(image.getBytes()) : null;
+            List<ImageBlob> storedAdditionalImages = null;
+            if (additionalImages != null) {
+                storedAdditionalImages = new ArrayList<>();
+                for (MultipartFile file : additionalImages) {
+                    storedAdditionalImages.add(imageService.store(file.getBytes()));
+                }
             }
+            Activity activity = activityMapper.activityCreateDtoToActivity(activityDto, mainImage, storedAdditionalImages, timeslotsDto);
 
             return activityMapper.activityToDetailedActivityDto(activityRepository.save(activity));
         } catch (IOException e) {
@@ -89,6 +111,10 @@ public class SimpleActivityService implements ActivityService {
 
         activityValidator.validateForUpdate(activityUpdateDto, mainImage, additionalImages);
 
+        List<String> replacedImages = new ArrayList<>();
+        Optional.ofNullable(existingActivity.getMainImage()).map(ImageBlob::getHash).ifPresent(replacedImages::add);
+        existingActivity.getAdditionalImages().forEach(image -> replacedImages.add(image.getImage().getHash()));
+
         Optional.ofNullable(activityUpdateDto.name()).ifPresent(existingActivity::setName);
         Optional.ofNullable(activityUpdateDto.description()).ifPresent(existingActivity::setDescription);
         Optional.ofNullable(activityUpdateDto.price()).ifPresent(existingActivity::setPrice);
@@ -96,7 +122,7 @@ public class SimpleActivityService implements ActivityService {
 
         if (mainImage != null) {
             try {
-                existingActivity.setMainImage(mainImage.getBytes());
+                existingActivity.setMainImage(imageService.store(mainImage.getBytes()));
             } catch (IOException e) {
                 LOGGER.error("Error processing main image bytes", e);
                 throw new IOException("Failed to process main image bytes", e);
@@ -113,7 +139,7 @@ public class SimpleActivityService implements ActivityService {
                 if (!file.isEmpty()) {
                     try {
                         ActivityImage image = new ActivityImage();
-                        image.setData(file.getBytes());
+                        image.setImage(imageService.store(file.getBytes()));
                         image.setAltText(file.getOriginalFilename());
                         newImages.add(image);
                     } catch (IOException e) {
@@ -126,9 +152,12 @@ public class SimpleActivityService implements ActivityService {
             existingActivity.getAdditionalImages().addAll(newImages);
         }
         if (timeslotsDto != null) {
-            existingActivity.setActivityTimeslots(generateTimeslots(existingActivity, timeslotsDto));
+            // booked slots are kept as they are, only the slots computed from the rules change
+            existingActivity.setActivityTimeslotInfos(activityMapper.timeslotInfoDtosToTimeslotInfos(timeslotsDto));
         }
-        return activityMapper.activityToDetailedActivityDto(activityRepository.save(existingActivity));
+        DetailedActivityDto activityDto = activityMapper.activityToDetailedActivityDto(activityRepository.save(existingActivity));
+        imageService.deleteUnreferenced(replacedImages);
+        return activityDto;
     }
 
     @Override
@@ -143,14 +172,18 @@ public class SimpleActivityService implements ActivityService {
         Double minPrice = activitySearchDto.minPrice();
         Double maxPrice = activitySearchDto.maxPrice();
 
+        LocalDate today = LocalDate.now();
+        LocalTime now = LocalTime.now();
         Page<Activity> activities = activityRepository.search(
             name,
             date,
+            date != null ? date.getDayOfWeek() : null,
             guestCount,
             minPrice,
             maxPrice,
-            LocalDate.now(),
-            LocalTime.now(),
+            today,
+            now,
+            today.equals(date) ? now : null,
             pageable
         );
 
@@ -160,27 +193,18 @@ public class SimpleActivityService implements ActivityService {
 
     @Override
     public Page<ActivitySlotDto> getPaginatedTimeslots(Long activityId, PageRequest pageRequest) {
-        PageRequest sortedPageRequest = PageRequest.of(pageRequest.getPageNumber(), pageRequest.getPageSize(), Sort.by(Sort.Direction.ASC, "date"));
-        Page<ActivitySlot> timeslots = activityRepository.findTimeslotsByActivityId(
-            activityId,
-            LocalDate.now(),
-            LocalTime.now(),
-            sortedPageRequest
-        );
+        Page<ActivitySlot> timeslots = activitySlotCalendar.findUpcoming(activityId, null, null, pageRequest);
         return activityMapper.activitySlotPageToDtoPage(timeslots);
     }
 
     @Override
     public Page<ActivitySlotDto> getFilteredTimeslots(Long activityId, ActivitySlotSearchDto activitySlotSearchDto, PageRequest pageRequest) throws ValidationException {
         activityValidator.validateForTimeslotsFilter(activitySlotSearchDto, activityId);
-        PageRequest sortedPageRequest = PageRequest.of(pageRequest.getPageNumber(), pageRequest.getPageSize(), Sort.by(Sort.Direction.ASC, "date"));
-        Page<ActivitySlot> filteredTimeslots = activityRepository.findFilteredTimeslots(
+        Page<ActivitySlot> filteredTimeslots = activitySlotCalendar.findUpcoming(
             activityId,
             activitySlotSearchDto.date(),
             activitySlotSearchDto.participants(),
-            LocalDate.now(),
-            LocalTime.now(),
-            sortedPageRequest
+            pageRequest
         );
         return activityMapper.activitySlotPageToDtoPage(filteredTimeslots);
     }
@@ -211,108 +235,55 @@ public class SimpleActivityService implements ActivityService {
 
     @Override
     public ActivityListDto getRecommendedActivity() {
-        Map<Long, String> activityCategoryMap = createActivityCategoryMap();
-        Map<String, Double> categoryWeightsMap = createCategoryWeightsMap();
+        Long loggedInUserId = userService.getLoggedInUser().getId();
+        GuestActivityCategory preferences = guestActivityCategoryRepository.findGuestActivityCategoryByGuestId(loggedInUserId);
 
-        Map<Long, Double> activityMatchScore = calculateActivityMatchScore(activityCategoryMap, categoryWeightsMap);
-        Long chosenActivityId = chooseActivityIdByPercentage(activityMatchScore);
+        List<ActivityRecommendationIndex.Candidate> candidates = activityRecommendationIndex.topK(preferences, recommendationCandidates);
+        Long chosenActivityId = chooseActivityIdByScore(candidates);
+        if (chosenActivityId == null) {
+            return null;
+        }
 
         LOGGER.info("Activity with id " + chosenActivityId + " chosen!");
         return activityMapper.activityToActivityListDto(activityRepository.findActivityById(chosenActivityId).orElse(null));
     }
 
-    private Map<Long, String> createActivityCategoryMap() {
-        Map<Long, String> activityCategoryMap = new HashMap<>();
-
-        List<Activity> activities = activityRepository.findAll();
-        for (Activity activity : activities) {
-            activityCategoryMap.put(activity.getId(), activity.getCategories());
+    /**
+     * Draws one of the candidates, each with a chance proportional to its score. If none of them scores, all are equally
+     * likely.
+     */
+    private static Long chooseActivityIdByScore(List<ActivityRecommendationIndex.Candidate> candidates) {
+        if (candidates.isEmpty()) {
+            return null;
         }
-        LOGGER.info("Activity-Category Mapping: " + activityCategoryMap);
-
-        return activityCategoryMap;
-    }
-
-    private Map<String, Double> createCategoryWeightsMap() {
-        Long loggedInUserId = userService.getLoggedInUser().getId();
-        GuestActivityCategory guestActivityCategory = guestActivityCategoryRepository.findGuestActivityCategoryByGuestId(loggedInUserId);
-
-        Map<String, Double> categoryWeightsMap = new HashMap<>();
-        categoryWeightsMap.put("education", guestActivityCategory.getEducation());
-        categoryWeightsMap.put("music", guestActivityCategory.getMusic());
-        categoryWeightsMap.put("fitness", guestActivityCategory.getFitness());
-        categoryWeightsMap.put("nature", guestActivityCategory.getNature());
-        categoryWeightsMap.put("cooking", guestActivityCategory.getCooking());
-        categoryWeightsMap.put("teamwork", guestActivityCategory.getTeamwork());
-        categoryWeightsMap.put("creativity", guestActivityCategory.getCreativity());
-        categoryWeightsMap.put("wellness", guestActivityCategory.getWellness());
-        categoryWeightsMap.put("recreation", guestActivityCategory.getRecreation());
-        categoryWeightsMap.put("sports", guestActivityCategory.getSports());
-        categoryWeightsMap.put("kids", guestActivityCategory.getKids());
-        categoryWeightsMap.put("workshop", guestActivityCategory.getWorkshop());
-        LOGGER.info("Guest with id: " + loggedInUserId + " got following categories: " + categoryWeightsMap);
-
-        return categoryWeightsMap;
-    }
-
-    private static Map<Long, Double> calculateActivityMatchScore(Map<Long, String> activityCategoryMap, Map<String, Double> categoryWeightsMap) {
-        Map<Long, Double> activityMatchScore = new HashMap<>();
-
-        for (Map.Entry<Long, String> entry : activityCategoryMap.entrySet()) {
-            Long activityId = entry.getKey();
-            String categories = entry.getValue();
-
-            String[] categoryArray = categories.split(", ");
-            double matchScore = 0.0;
-
-            for (String category : categoryArray) {
-                double weight = categoryWeightsMap.getOrDefault(category.trim().toLowerCase(), 0.0);
-                matchScore += weight / categoryArray.length;
-            }
-
-            activityMatchScore.put(activityId, matchScore);
+        double totalScore = 0.0;
+        for (ActivityRecommendationIndex.Candidate candidate : candidates) {
+            totalScore += candidate.score();
         }
-        LOGGER.info("activitymatchScore" + activityMatchScore);
-        return activityMatchScore;
-    }
-
-    private static Long chooseActivityIdByPercentage(Map<Long, Double> productMatch) {
-        double totalScore = productMatch.values().stream().mapToDouble(Double::doubleValue).sum();
-
-        double randomNumber = Math.random();
-        double cumulativePercentage = 0.0;
-
         if (totalScore <= 0) {
-            for (Map.Entry<Long, Double> entry : productMatch.entrySet()) {
-                cumulativePercentage += 1.0 / productMatch.size();
-                if (randomNumber <= cumulativePercentage) {
-                    return entry.getKey();
-                }
-            }
-        } else {
-            for (Map.Entry<Long, Double> entry : productMatch.entrySet()) {
-                cumulativePercentage += entry.getValue() / totalScore;
-                if (randomNumber <= cumulativePercentage) {
-                    return entry.getKey();
-                }
-            }
+            return candidates.get(ThreadLocalRandom.current().nextInt(candidates.size())).activityId();
+        }
 
+        double randomNumber = ThreadLocalRandom.current().nextDouble(totalScore);
+        double cumulativeScore = 0.0;
+        for (ActivityRecommendationIndex.Candidate candidate : candidates) {
+            cumulativeScore += candidate.score();
+            if (randomNumber < cumulativeScore) {
+                return candidate.activityId();
+            }
         }
-        return null;
+        return candidates.get(candidates.size() - 1).activityId();
     }
 
     @Override
-    public ResponseEntity<byte[]> getMainImage(Long id) {
-        Activity activity = activityRepository.findActivityById(id)
-            .orElseThrow(() -> new NotFoundException("Activity not found with ID: " + id));
-        if (activity == null) {
-            throw new NotFoundException("Activity with id " + id + " not found");
+    public ResponseEntity<byte[]> getMainImage(Long id, ImageVariant variant, String ifNoneMatch) {
+        if (!activityRepository.existsById(id)) {
+            throw new NotFoundException("Activity not found with ID: " + id);
         }
-        byte[] image = activity.getMainImage();
-        HttpHeaders headers = new HttpHeaders();
-        headers.add(HttpHeaders.CONTENT_TYPE, "image/*");
-
-        return new ResponseEntity<>(image, headers, org.springframework.http.HttpStatus.OK);
+        String hash = activityRepository.findMainImageHashById(id)
+            .orElseThrow(() -> new NotFoundException("Activity with id " + id + " has no main image"));
+        // the main image of an activity can be replaced, so clients have to revalidate against the ETag
+        return imageService.getImage(hash, variant, ifNoneMatch, CacheControl.noCache());
     }
 
     @Override
@@ -323,46 +294,4 @@ public class SimpleActivityService implements ActivityService {
         activityValidator.validateForDelete(existingActivity.getId());
         activityRepository.delete(existingActivity);
     }
-
-    public List<ActivitySlot> generateTimeslots(Activity activity, List<ActivityTimeslotInfoDto> timeslotsDtos) {
-        List<ActivitySlot> timeslots = new ArrayList<>();
-        LocalDate today = LocalDate.now();
-        LocalDate sixMonthsFromNow = today.plusMonths(6);
-
-        for (ActivityTimeslotInfoDto dto : timeslotsDtos) {
-            if (dto.specificDate() != null) {
-                if (!dto.specificDate().isBefore(today)) {
-                    timeslots.add(createTimeslot(activity, activity.getCapacity(), dto.specificDate(), dto.startTime(), dto.endTime()));
-                }
-            } else if (dto.dayOfWeek() != null) {
-                LocalDate current = today;
-                while (!current.isAfter(sixMonthsFromNow)) {
-                    if (current.getDayOfWeek() == dto.dayOfWeek()) {
-                        timeslots.add(createTimeslot(activity, activity.getCapacity(), current, dto.startTime(), dto.endTime()));
-                    }
-                    current = current.plusDays(1);
-                }
-            } else {
-                LocalDate current = today;
-                while (!current.isAfter(sixMonthsFromNow)) {
-                    timeslots.add(createTimeslot(activity, activity.getCapacity(), current, dto.startTime(), dto.endTime()));
-                    current = current.plusDays(1);
-                }
-            }
-        }
-
-        return timeslots;
-    }
-
-    private ActivitySlot createTimeslot(Activity activity, int capacity, LocalDate date, LocalTime startTime, LocalTime endTime) {
-        return new ActivitySlot(
-            null,
-            activity,
-            date,
-            startTime,
-            endTime,
-            capacity,
-            0
-        );
-    }
 }
@@ -0,0 +1,124 @@
+package at.ac.tuwien.sepr.groupphase.backend.service.impl;
+
+import at.ac.tuwien.sepr.groupphase.backend.entity.Activity;
+import at.ac.tuwien.sepr.groupphase.backend.entity.ActivitySlot;
+import at.ac.tuwien.sepr.groupphase.backend.entity.ActivityTimeslotInfo;
+import at.ac.tuwien.sepr.groupphase.backend.exception.NotFoundException;
+import at.ac.tuwien.sepr.groupphase.backend.repository.ActivityRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.ActivitySlotRepository;
+import at.ac.tuwien.sepr.groupphase.backend.service.ActivitySlotCalendar;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.invoke.MethodHandles;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link ActivitySlotCalendar} that expands the rules of an activity day by day and merges in the stored slots of the
+ * same window.
+ *
+ * <p>Without a date, the slots up to {@code application.activity.slot-horizon-months} ahead are listed. Everything is
+ * computed in memory from the rules and the booked slots of the window, so the slot table only grows with bookings.</p>
+ */
+@Service
+public class SimpleActivitySlotCalendar implements ActivitySlotCalendar {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+    private static final Comparator<ActivitySlot> BY_START = Comparator.comparing(ActivitySlot::getDate).thenComparing(ActivitySlot::getStartTime);
+
+    private final ActivityRepository activityRepository;
+    private final ActivitySlotRepository activitySlotRepository;
+    private final int horizonMonths;
+
+    public SimpleActivitySlotCalendar(ActivityRepository activityRepository,
+                                      ActivitySlotRepository activitySlotRepository,
+                                      @Value("${application.activity.slot-horizon-months:6}") int horizonMonths) {
+        this.activityRepository = activityRepository;
+        this.activitySlotRepository = activitySlotRepository;
+        this.horizonMonths = horizonMonths;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ActivitySlot> findUpcoming(Long activityId, LocalDate date, Integer participants, Pageable pageable) throws NotFoundException {
+        LOGGER.debug("Find upcoming slots of activity {} on {} for {} participants", activityId, date, participants);
+        Activity activity = findActivity(activityId);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate from = date != null ? date : now.toLocalDate();
+        LocalDate to = date != null ? date : now.toLocalDate().plusMonths(horizonMonths);
+
+        List<ActivitySlot> slots = slotsBetween(activity, from, to).stream()
+            .filter(slot -> LocalDateTime.of(slot.getDate(), slot.getStartTime()).isAfter(now))
+            .filter(slot -> participants == null || slot.getCapacity() - slot.getOccupied() >= participants)
+            .toList();
+        int start = (int) Math.min(pageable.getOffset(), slots.size());
+        int end = Math.min(start + pageable.getPageSize(), slots.size());
+        return new PageImpl<>(slots.subList(start, end), pageable, slots.size());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ActivitySlot findSlot(Long activityId, LocalDate date, LocalTime startTime) throws NotFoundException {
+        LOGGER.debug("Find slot of activity {} starting on {} at {}", activityId, date, startTime);
+        if (date == null || startTime == null) {
+            throw new NotFoundException("Activity with id " + activityId + " has no slot without a date and start time");
+        }
+        return slotsBetween(findActivity(activityId), date, date).stream()
+            .filter(slot -> slot.getStartTime().equals(startTime))
+            .findFirst()
+            .orElseThrow(() -> new NotFoundException("Activity with id " + activityId + " has no slot on " + date + " at " + startTime));
+    }
+
+    private Activity findActivity(Long activityId) {
+        return activityRepository.findActivityById(activityId)
+            .orElseThrow(() -> new NotFoundException("Activity not found with ID: " + activityId));
+    }
+
+    /**
+     * Expands the rules of an activity for all days from {@code from} to {@code to}, both included, and replaces the
+     * computed slots by the stored ones.
+     */
+    private List<ActivitySlot> slotsBetween(Activity activity, LocalDate from, LocalDate to) {
+        Map<SlotStart, ActivitySlot> slots = new HashMap<>();
+        if (activity.getActivityTimeslotInfos() != null) {
+            for (ActivityTimeslotInfo rule : activity.getActivityTimeslotInfos()) {
+                if (rule.getSpecificDate() != null) {
+                    if (!rule.getSpecificDate().isBefore(from) && !rule.getSpecificDate().isAfter(to)) {
+                        slots.putIfAbsent(new SlotStart(rule.getSpecificDate(), rule.getStartTime()), computedSlot(activity, rule, rule.getSpecificDate()));
+                    }
+                } else if (rule.getDayOfWeek() != null) {
+                    for (LocalDate day = from.with(TemporalAdjusters.nextOrSame(rule.getDayOfWeek())); !day.isAfter(to); day = day.plusWeeks(1)) {
+                        slots.putIfAbsent(new SlotStart(day, rule.getStartTime()), computedSlot(activity, rule, day));
+                    }
+                }
+            }
+        }
+        for (ActivitySlot stored : activitySlotRepository.findByActivityIdAndDateBetween(activity.getId(), from, to)) {
+            slots.put(new SlotStart(stored.getDate(), stored.getStartTime()), stored);
+        }
+        return slots.values().stream().sorted(BY_START).toList();
+    }
+
+    private static ActivitySlot computedSlot(Activity activity, ActivityTimeslotInfo rule, LocalDate date) {
+        return new ActivitySlot(null, activity, date, rule.getStartTime(), rule.getEndTime(), activity.getCapacity(), 0);
+    }
+
+    /**
+     * Identifies a slot of an activity, the same way the unique constraint of {@link ActivitySlot} does.
+     */
+    private record SlotStart(LocalDate date, LocalTime startTime) {
+    }
+}
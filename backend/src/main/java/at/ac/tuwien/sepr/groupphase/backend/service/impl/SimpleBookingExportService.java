@@ -0,0 +1,110 @@
+package at.ac.tuwien.sepr.groupphase.backend.service.impl;
+
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.EmployeeBookingDto;
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.mapper.BookingMapper;
+import at.ac.tuwien.sepr.groupphase.backend.enums.BookingExportFormat;
+import at.ac.tuwien.sepr.groupphase.backend.repository.BookingRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.projection.EmployeeBookingRow;
+import at.ac.tuwien.sepr.groupphase.backend.service.BookingExportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.RecordComponent;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Exports the bookings of the manager view as NDJSON or CSV.
+ *
+ * <p>The rows of the employee booking list are read from a forward-only cursor and written one line at a time. They
+ * are plain column projections, so nothing piles up in the persistence context, and the output is flushed every
+ * {@link BookingRepository#EXPORT_FETCH_SIZE} bookings.</p>
+ */
+@Service
+public class SimpleBookingExportService implements BookingExportService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+    private static final RecordComponent[] CSV_COLUMNS = EmployeeBookingDto.class.getRecordComponents();
+
+    private final BookingRepository bookingRepository;
+    private final BookingMapper bookingMapper;
+    private final ObjectWriter jsonWriter;
+
+    public SimpleBookingExportService(BookingRepository bookingRepository,
+                                      BookingMapper bookingMapper,
+                                      ObjectMapper objectMapper) {
+        this.bookingRepository = bookingRepository;
+        this.bookingMapper = bookingMapper;
+        this.jsonWriter = objectMapper.writerFor(EmployeeBookingDto.class);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportBookings(BookingExportFormat format, OutputStream outputStream) throws IOException {
+        LOGGER.debug("Exporting all bookings as {}", format);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        if (format == BookingExportFormat.CSV) {
+            writer.write(Arrays.stream(CSV_COLUMNS).map(RecordComponent::getName).collect(Collectors.joining(",")));
+            writer.write("\r\n");
+        }
+        int exported = 0;
+        try (Stream<EmployeeBookingRow> rows = bookingRepository.streamAllForExport()) {
+            Iterator<EmployeeBookingRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                EmployeeBookingDto booking = bookingMapper.employeeBookingRowToEmployeeBookingDto(iterator.next());
+                if (format == BookingExportFormat.CSV) {
+                    writeCsvLine(writer, booking);
+                } else {
+                    writer.write(jsonWriter.writeValueAsString(booking));
+                    writer.write('\n');
+                }
+                if (++exported % BookingRepository.EXPORT_FETCH_SIZE == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush();
+        LOGGER.info("Exported {} bookings as {}", exported, format);
+    }
+
+    private static void writeCsvLine(Writer writer, EmployeeBookingDto booking) throws IOException {
+        for (int i = 0; i < CSV_COLUMNS.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value;
+            try {
+                value = CSV_COLUMNS[i].getAccessor().invoke(booking);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Could not read " + CSV_COLUMNS[i].getName() + " of a booking", e);
+            }
+            if (value != null) {
+                writer.write(escapeCsv(value.toString()));
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    /**
+     * Quotes a CSV field if it contains a separator, a quote or a line break.
+     */
+    private static String escapeCsv(String field) {
+        if (field.indexOf(',') < 0 && field.indexOf('"') < 0 && field.indexOf('\n') < 0 && field.indexOf('\r') < 0) {
+            return field;
+        }
+        return '"' + field.replace("\"", "\"\"") + '"';
+    }
+}
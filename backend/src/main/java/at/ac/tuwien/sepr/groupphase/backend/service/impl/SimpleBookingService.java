@@ -3,8 +3,8 @@ package at.ac.tuwien.sepr.groupphase.backend.service.impl;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.BookingCreateDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.DetailedBookingDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.EmployeeBookingDto;
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.KeysetPageDto;
 import at.ac.tuwien.sepr.groupphase.backend.entity.Booking;
-import at.ac.tuwien.sepr.groupphase.backend.entity.Room;
 import at.ac.tuwien.sepr.groupphase.backend.entity.ApplicationUser;
 import at.ac.tuwien.sepr.groupphase.backend.enums.PaymentMethod;
 import at.ac.tuwien.sepr.groupphase.backend.exception.ConflictException;
@@ -13,9 +13,11 @@ import at.ac.tuwien.sepr.groupphase.backend.exception.ValidationException;
 import at.ac.tuwien.sepr.groupphase.backend.repository.ApplicationUserRepository;
 import at.ac.tuwien.sepr.groupphase.backend.repository.BookingRepository;
 import at.ac.tuwien.sepr.groupphase.backend.repository.RoomRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.projection.EmployeeBookingRow;
 import at.ac.tuwien.sepr.groupphase.backend.service.BookingService;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.mapper.BookingMapper;
 import at.ac.tuwien.sepr.groupphase.backend.service.PaymentService;
+import at.ac.tuwien.sepr.groupphase.backend.service.RoomAvailabilityIndex;
 import at.ac.tuwien.sepr.groupphase.backend.service.UserService;
 import at.ac.tuwien.sepr.groupphase.backend.service.validator.BookingValidator;
 import com.stripe.exception.InvalidRequestException;
@@ -25,20 +27,21 @@ import com.stripe.model.checkout.Session;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import at.ac.tuwien.sepr.groupphase.backend.entity.Pdf;
 import at.ac.tuwien.sepr.groupphase.backend.enums.BookingStatus;
-import at.ac.tuwien.sepr.groupphase.backend.service.PdfGenerationService;
-import at.ac.tuwien.sepr.groupphase.backend.service.PdfStorageService;
+import at.ac.tuwien.sepr.groupphase.backend.utils.KeysetCursor;
 import jakarta.mail.MessagingException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Service
@@ -54,9 +57,10 @@ public class SimpleBookingService implements BookingService {
     private final UserService userService;
     private final SimpleMailService simpleMailService;
     private final SimplePdfGenerationService simplePdfGenerationService;
-    private final PdfGenerationService pdfGenerationService;
-    private final PdfStorageService pdfStorageService;
     private final PaymentService paymentService;
+    private final RoomAvailabilityIndex roomAvailabilityIndex;
+    private final BookingAdmission bookingAdmission;
+    private final BookingDocumentWorker bookingDocumentWorker;
 
 
     public SimpleBookingService(
@@ -67,9 +71,10 @@ public class SimpleBookingService implements BookingService {
         BookingValidator bookingValidator,
         UserService userService, SimpleMailService simpleMailService,
         SimplePdfGenerationService simplePdfGenerationService,
-        PdfGenerationService pdfGenerationService,
-        PdfStorageService pdfStorageService,
-        PaymentService paymentService) {
+        PaymentService paymentService,
+        RoomAvailabilityIndex roomAvailabilityIndex,
+        BookingAdmission bookingAdmission,
+        BookingDocumentWorker bookingDocumentWorker) {
         this.bookingRepository = bookingRepository;
         this.roomRepository = roomRepository;
         this.applicationUserRepository = applicationUserRepository;
@@ -78,14 +83,18 @@ public class SimpleBookingService implements BookingService {
         this.userService = userService;
         this.simpleMailService = simpleMailService;
         this.simplePdfGenerationService = simplePdfGenerationService;
-        this.pdfGenerationService = pdfGenerationService;
-        this.pdfStorageService = pdfStorageService;
         this.paymentService = paymentService;
+        this.roomAvailabilityIndex = roomAvailabilityIndex;
+        this.bookingAdmission = bookingAdmission;
+        this.bookingDocumentWorker = bookingDocumentWorker;
     }
 
     @Value("${application.booking.tax-id}")
     private String taxId;
 
+    @Value("${application.booking.hold-ttl:PT45M}")
+    private Duration holdTtl;
+
     @Override
     public DetailedBookingDto createBooking(BookingCreateDto bookingCreateDto) throws ValidationException, MessagingException, IOException {
         LOGGER.debug("Create new booking: {}", bookingCreateDto);
@@ -101,8 +110,9 @@ public class SimpleBookingService implements BookingService {
             throw new NotFoundException("Room with ID " + bookingCreateDto.roomId() + " is not available for the selected dates.");
         }
 
-        Room room = roomRepository.findById(bookingCreateDto.roomId())
-            .orElseThrow(() -> new NotFoundException("Room with ID " + bookingCreateDto.roomId() + " not found"));
+        if (!roomRepository.existsById(bookingCreateDto.roomId())) {
+            throw new NotFoundException("Room with ID " + bookingCreateDto.roomId() + " not found");
+        }
 
         PaymentMethod paymentMethod = PaymentMethod.valueOf(bookingCreateDto.paymentMethod());
         LOGGER.info("Selected payment method: {}", paymentMethod);
@@ -113,28 +123,17 @@ public class SimpleBookingService implements BookingService {
             throw new NotFoundException("User with email " + loggedInUser.getUsername() + " not found");
         }
 
-        Booking booking = new Booking(room, loggedInUser, bookingCreateDto.startDate(), bookingCreateDto.endDate(), false, null);
+        // bookings paid online only hold the room until the checkout is completed
+        LocalDateTime holdExpiresAt = paymentMethod == PaymentMethod.PayInAdvance ? LocalDateTime.now().plus(holdTtl) : null;
 
-        Booking savedBooking = bookingRepository.save(booking);
+        // the checks above are only a fast path, the admission checks again while holding a lock on the room
+        Booking savedBooking = bookingAdmission.admit(bookingCreateDto.roomId(), loggedInUser, bookingCreateDto.startDate(),
+            bookingCreateDto.endDate(), holdExpiresAt);
 
         LOGGER.info("Booking saved with ID {}", savedBooking.getId());
 
-        byte[] pdfContent = pdfGenerationService.generateBookingConfirmation(savedBooking);
-        Pdf pdf = new Pdf();
-        pdf.setContent(pdfContent);
-        pdf.setDocumentType("BookingConfirmation.pdf");
-
-        pdfStorageService.storePdf(savedBooking.getId(), pdf.getDocumentType(), pdfContent);
-
-        byte[] pdfContent2 = pdfGenerationService.generateInvoice(savedBooking);
-        final Pdf pdf2 = new Pdf();
-        pdf2.setContent(pdfContent2);
-        pdf2.setDocumentType("Invoice.pdf");
-        pdfStorageService.storePdf(savedBooking.getId(), pdf2.getDocumentType(), pdfContent2);
-
-        simpleMailService.sendEmail(savedBooking, List.of(pdf, pdf2));
-
-        LOGGER.info("Booking confirmation email successfully sent to user: {}", savedBooking.getUser().getEmail());
+        // confirmation and invoice are generated and mailed in the background, the guest can follow their document status
+        bookingDocumentWorker.submit(savedBooking.getId());
 
         return bookingMapper.bookingToDetailedBookingDto(savedBooking);
     }
@@ -159,26 +158,22 @@ public class SimpleBookingService implements BookingService {
     public boolean isRoomAvailable(Long roomId, LocalDate startDate, LocalDate endDate) {
         LOGGER.debug("Check if room with ID {} is available between {} and {}", roomId, startDate, endDate);
 
-        boolean isAvailable = bookingRepository.countByRoomIdAndDateRangeAndStatus(
-            roomId,
-            startDate,
-            endDate,
-            List.of(BookingStatus.PENDING, BookingStatus.ACTIVE, BookingStatus.COMPLETED)
-        ) == 0;
+        boolean isAvailable;
+        if (roomAvailabilityIndex.covers(startDate, endDate)) {
+            isAvailable = !roomAvailabilityIndex.isOccupied(roomId, startDate, endDate);
+        } else {
+            isAvailable = bookingRepository.countByRoomIdAndDateRangeAndStatus(
+                roomId,
+                startDate,
+                endDate,
+                List.of(BookingStatus.PENDING, BookingStatus.ACTIVE, BookingStatus.COMPLETED)
+            ) == 0;
+        }
 
         LOGGER.debug("Room availability for ID {}: {}", roomId, isAvailable);
         return isAvailable;
     }
 
-    @Transactional
-    @Override
-    public List<EmployeeBookingDto> getAllBookings() {
-        LOGGER.info("Fetching all bookings.");
-        LOGGER.debug("Find all bookings");
-        List<Booking> bookings = bookingRepository.findAll();
-        return bookingMapper.bookingsToEmployeeBookingDtos(bookings);
-    }
-
     public Page<EmployeeBookingDto> getPagedBookings(Pageable pageable) {
         if (pageable.getPageNumber() < 0) {
             throw new IllegalArgumentException("Page index must not be less than zero.");
@@ -186,8 +181,23 @@ public class SimpleBookingService implements BookingService {
         if (pageable.getPageSize() <= 0) {
             throw new IllegalArgumentException("Size must be greater than zero.");
         }
-        Page<Booking> pagedBookings = bookingRepository.findAllWithCustomSorting(pageable);
-        return pagedBookings.map(bookingMapper::bookingToEmployeeBookingDto);
+        Page<EmployeeBookingRow> pagedBookings = bookingRepository.findAllWithCustomSorting(pageable);
+        return pagedBookings.map(bookingMapper::employeeBookingRowToEmployeeBookingDto);
+    }
+
+    @Override
+    public KeysetPageDto<EmployeeBookingDto> getBookingsAfter(String cursor, int size) {
+        LOGGER.debug("Find bookings after cursor {}", cursor);
+        Limit limit = Limit.of(KeysetCursor.checkPageSize(size) + 1);
+        List<EmployeeBookingRow> bookings;
+        if (cursor == null || cursor.isBlank()) {
+            bookings = bookingRepository.findFirstWithCustomSorting(limit);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor, 3);
+            bookings = bookingRepository.findWithCustomSortingAfter((int) after.getLong(0), after.getDate(1), after.getLong(2), limit);
+        }
+        return KeysetPageDto.of(bookings, size, bookingMapper::employeeBookingRowToEmployeeBookingDto,
+            booking -> KeysetCursor.encode(booking.getStatusRank(), booking.getStartDate(), booking.getId()));
     }
 
     @Transactional
@@ -228,6 +238,18 @@ public class SimpleBookingService implements BookingService {
         } catch (StripeException e) {
             LOGGER.error("Stripe exception: {}", e.getMessage(), e);
         }
+        if (booking.isPaid()) {
+            booking.setHoldExpiresAt(null);
+            if (booking.getStatus() == BookingStatus.CANCELLED) {
+                LOGGER.warn("Payment for booking {} succeeded after its hold was released, refunding it", bookingId);
+                try {
+                    paymentService.processRoomBookingRefund(booking);
+                    booking.setPaid(false);
+                } catch (ConflictException e) {
+                    LOGGER.error("Refund for booking {} failed: {}", bookingId, e.getMessage(), e);
+                }
+            }
+        }
         bookingRepository.save(booking);
         return booking.isPaid();
     }
@@ -244,6 +266,7 @@ public class SimpleBookingService implements BookingService {
         }
 
         booking.setPaid(true);
+        booking.setHoldExpiresAt(null);
         bookingRepository.save(booking);
 
         LOGGER.info("Booking {} marked as paid manually", bookingId);
@@ -19,6 +19,7 @@ import at.ac.tuwien.sepr.groupphase.backend.entity.CheckIn;
 import at.ac.tuwien.sepr.groupphase.backend.entity.CheckOut;
 import at.ac.tuwien.sepr.groupphase.backend.entity.Guest;
 import at.ac.tuwien.sepr.groupphase.backend.entity.InviteToRoom;
+import at.ac.tuwien.sepr.groupphase.backend.entity.StayState;
 import at.ac.tuwien.sepr.groupphase.backend.enums.RoleType;
 import at.ac.tuwien.sepr.groupphase.backend.exception.ConflictException;
 import at.ac.tuwien.sepr.groupphase.backend.exception.NotFoundException;
@@ -29,17 +30,20 @@ import at.ac.tuwien.sepr.groupphase.backend.repository.CheckInRepository;
 import at.ac.tuwien.sepr.groupphase.backend.repository.CheckOutRepository;
 import at.ac.tuwien.sepr.groupphase.backend.repository.GuestRepository;
 import at.ac.tuwien.sepr.groupphase.backend.repository.InviteToRoomRepository;
-import at.ac.tuwien.sepr.groupphase.backend.repository.RoomRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.StayStateRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.projection.RoomCapacity;
 import at.ac.tuwien.sepr.groupphase.backend.service.BookingService;
 import at.ac.tuwien.sepr.groupphase.backend.service.CheckInService;
 import at.ac.tuwien.sepr.groupphase.backend.service.MailService;
+import at.ac.tuwien.sepr.groupphase.backend.service.PassportStorageService;
+import at.ac.tuwien.sepr.groupphase.backend.service.RoomCapacityCache;
 import at.ac.tuwien.sepr.groupphase.backend.service.validator.CheckInValidator;
 import jakarta.mail.MessagingException;
 import jakarta.transaction.Transactional;
 import org.hibernate.annotations.Check;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -48,11 +52,8 @@ import java.lang.invoke.MethodHandles;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 @Service
 public class SimpleCheckInService implements CheckInService {
@@ -61,7 +62,7 @@ public class SimpleCheckInService implements CheckInService {
     private final CheckInRepository checkInRepository;
     private final BookingRepository bookingRepository;
     private final BookingMapper bookingMapper;
-    private final RoomRepository roomRepository;
+    private final RoomCapacityCache roomCapacityCache;
     private final RoomMapper roomMapper;
     private final ApplicationUserRepository userRepository;
     private final GuestRepository guestRepository;
@@ -72,17 +73,20 @@ public class SimpleCheckInService implements CheckInService {
     private final GuestMapper guestMapper;
     private final InviteToRoomRepository inviteToRoomRepository;
     private final MailService mailService;
+    private final StayStateRepository stayStateRepository;
+    private final PassportStorageService passportStorageService;
 
     public SimpleCheckInService(CheckInRepository checkInRepository, BookingRepository bookingRepository,
-                                BookingMapper bookingMapper, RoomRepository roomRepository, RoomMapper roomMapper,
+                                BookingMapper bookingMapper, RoomCapacityCache roomCapacityCache, RoomMapper roomMapper,
                                 ApplicationUserRepository userRepository, CheckInValidator checkInValidator,
                                 CheckInMapper checkInMapper, GuestRepository guestRepository, BookingService bookingService,
                                 CheckOutRepository checkOutRepository, GuestMapper guestMapper, InviteToRoomRepository inviteToRoomRepository,
-                                MailService mailService) {
+                                MailService mailService, StayStateRepository stayStateRepository,
+                                PassportStorageService passportStorageService) {
         this.checkInRepository = checkInRepository;
         this.bookingRepository = bookingRepository;
         this.bookingMapper = bookingMapper;
-        this.roomRepository = roomRepository;
+        this.roomCapacityCache = roomCapacityCache;
         this.roomMapper = roomMapper;
         this.userRepository = userRepository;
         this.checkInValidator = checkInValidator;
@@ -93,6 +97,8 @@ public class SimpleCheckInService implements CheckInService {
         this.guestMapper = guestMapper;
         this.inviteToRoomRepository = inviteToRoomRepository;
         this.mailService = mailService;
+        this.stayStateRepository = stayStateRepository;
+        this.passportStorageService = passportStorageService;
     }
 
     @Override
@@ -116,9 +122,9 @@ public class SimpleCheckInService implements CheckInService {
         Booking booking = bookingRepository.findBookingById(checkInDto.bookingId()).orElseThrow(() ->
             new NotFoundException("Booking with id " + checkInDto.bookingId() + " not found"));
         DetailedBookingDto bookingDto = bookingMapper.bookingToDetailedBookingDto(booking);
-        int countCheckedIn = checkInRepository.findCheckInByBooking(booking).size();
-        int countCheckedOut = checkOutRepository.findCheckOutByBooking(booking).size();
-        DetailedRoomDto room = roomMapper.roomToDetailedRoomDto(roomRepository.findRoomById(bookingDto.roomId()), null);
+        int countStaying = (int) stayStateRepository.countByBookingAndCheckedOutAtIsNull(booking);
+        boolean checkedOut = stayStateRepository.existsByBookingAndCheckedOutAtIsNotNull(booking);
+        RoomCapacity room = roomCapacityCache.get(bookingDto.roomId());
         ApplicationUser user = userRepository.findByEmail(email).orElseThrow(() ->
             new NotFoundException("User with email " + email + " not found"));
         List<InviteToRoom> invites = inviteToRoomRepository.findInviteToRoomByGuest(guest).orElse(null);
@@ -129,14 +135,15 @@ public class SimpleCheckInService implements CheckInService {
                     inviteToRoom = invite;
                 }
             }
-            checkInValidator.validateForCheckIn(checkInDto, room, countCheckedIn - countCheckedOut, bookingDto, user, countCheckedOut > 0, inviteToRoom);
+            checkInValidator.validateForCheckIn(checkInDto, room, countStaying, bookingDto, user, checkedOut, inviteToRoom);
         } else {
-            checkInValidator.validateForCheckIn(checkInDto, room, countCheckedIn - countCheckedOut, bookingDto, user, countCheckedOut > 0, null);
+            checkInValidator.validateForCheckIn(checkInDto, room, countStaying, bookingDto, user, checkedOut, null);
         }
 
         try {
-            CheckIn checkIn = checkInMapper.checkInDtoToCheckIn(checkInDto, booking, user, passport);
+            CheckIn checkIn = checkInMapper.checkInDtoToCheckIn(checkInDto, booking, user, passportStorageService.store(passport));
             checkInRepository.save(checkIn);
+            recordCheckIn(booking, user);
             if (inviteToRoom != null) {
                 inviteToRoomRepository.delete(inviteToRoom);
             }
@@ -155,31 +162,9 @@ public class SimpleCheckInService implements CheckInService {
         ApplicationUser guest = userRepository.findByEmail(email).orElseThrow(() ->
             new NotFoundException("User with email " + email + " not found"));
 
-        // Find check-ins for the guest or throw an exception if not found
-        List<CheckIn> checkIns = checkInRepository.findCheckInByGuestOrderByDateDesc(guest).orElseThrow(() ->
-            new NotFoundException("No check-ins found for user with email " + email));
-
-        // Find only active check-ins
-        List<CheckIn> activeCheckIns = new ArrayList<>();
-        for (CheckIn checkIn : checkIns) {
-            Booking current = checkIn.getBooking();
-            if (checkInRepository.findCheckInByBookingAndGuest(current, guest).size() > checkOutRepository.findCheckOutByBookingAndGuest(current, guest).size()) {
-                boolean contains = false;
-                for (CheckIn checker : activeCheckIns) {
-                    if (Objects.equals(checker.getBookingId(), current.getId())) {
-                        contains = true;
-                    }
-                }
-                if (!contains) {
-                    activeCheckIns.add(checkIn);
-                }
-            }
-        }
-
-        // Sort the active check-ins
-        activeCheckIns.sort(Comparator.comparing(CheckIn::getDate));
-        List<DetailedRoomDto> activeRooms = activeCheckIns.stream()
-            .map(checkIn -> roomMapper.roomToDetailedRoomDto(checkIn.getRoom(), null))
+        // Find the stays of the guest that have not been checked out, in the order the guest checked in
+        List<DetailedRoomDto> activeRooms = stayStateRepository.findActiveWithRoomByGuest(guest).stream()
+            .map(stayState -> roomMapper.roomToDetailedRoomDto(stayState.getBooking().getRoom(), null))
             .distinct()
             .toList();
 
@@ -220,35 +205,9 @@ public class SimpleCheckInService implements CheckInService {
         ApplicationUser guest = userRepository.findByEmail(email).orElseThrow(() ->
             new NotFoundException("User with email " + email + " not found"));
 
-        List<CheckIn> checkIns = checkInRepository.findCheckInByGuest(guest).orElse(List.of());
-        List<CheckOut> checkOuts = checkOutRepository.findCheckOutByGuest(guest).orElse(List.of());
-
-        Set<Long> checkedOutBookingIds = checkOuts.stream()
-            .map(CheckOut::getBookingId)
-            .collect(Collectors.toSet());
-
-        List<CheckIn> activeCheckIns = new ArrayList<>();
-        for (CheckIn checkIn : checkIns) {
-            Booking current = checkIn.getBooking();
-            List<CheckIn> checkInsBooking = checkInRepository.findCheckInByBookingAndGuest(current, guest);
-            List<CheckOut> checkOutsBooking = checkOutRepository.findCheckOutByBookingAndGuest(current, guest);
-            if (!checkInsBooking.isEmpty() && checkOutsBooking.isEmpty()) {
-                if (!activeCheckIns.contains(checkIn)) {
-                    activeCheckIns.add(checkIn);
-                }
-            } else if (!checkInsBooking.isEmpty()) {
-                if (!activeCheckIns.contains(checkIn)) {
-                    CheckIn fakeCheckIn = CheckIn.CheckInBuilder.aCheckIn()  // for filtering out already checked-out of bookings
-                        .withBooking(checkIn.getBooking())
-                        .withDate(checkIn.getDate())
-                        .withGuest(null)
-                        .build();
-                    activeCheckIns.add(fakeCheckIn);
-                }
-            }
-        }
-
-        return checkInMapper.checkInsToCheckInStatusDtos(activeCheckIns).toArray(new CheckInStatusDto[0]);
+        // one status per booking, guests that have checked out already are marked as invalid
+        List<StayState> stayStates = stayStateRepository.findByGuest(guest);
+        return checkInMapper.stayStatesToCheckInStatusDtos(stayStates).toArray(new CheckInStatusDto[0]);
     }
 
     @Transactional
@@ -258,12 +217,14 @@ public class SimpleCheckInService implements CheckInService {
         Booking booking = bookingRepository.findBookingById(checkOutDto.bookingId()).orElseThrow(() ->
             new NotFoundException("Booking with id " + checkOutDto.bookingId() + " not found"));
         checkInValidator.validateForCheckOut(checkOutDto, booking);
+        LocalDateTime now = LocalDateTime.now();
         List<CheckIn> checkIns = checkInRepository.findCheckInByBooking(booking);
         for (CheckIn checkIn : checkIns) {
-            CheckOut checkOut = new CheckOut(booking, LocalDateTime.now(), checkIn.getGuest());
+            CheckOut checkOut = new CheckOut(booking, now, checkIn.getGuest());
             checkOutRepository.save(checkOut);
             LOGGER.info("User {} successfully checked out from booking {}", checkIn.getGuest().getEmail(), booking.getId());
         }
+        stayStateRepository.checkOutBooking(booking, now);
     }
 
     @Override
@@ -353,7 +314,7 @@ public class SimpleCheckInService implements CheckInService {
         if (checkOuts != null) {
             countCheckedOut = checkOuts.size();
         }
-        DetailedRoomDto room = roomMapper.roomToDetailedRoomDto(roomRepository.findRoomById(bookingDto.roomId()), null);
+        RoomCapacity room = roomCapacityCache.get(bookingDto.roomId());
         ApplicationUser user = userRepository.findByEmail(addToRoomDto.email()).orElseThrow(() ->
             new NotFoundException("User with email " + addToRoomDto.email() + " not found"));
         ApplicationUser owner = userRepository.findByEmail(ownerEmail).orElseThrow(() ->
@@ -361,8 +322,9 @@ public class SimpleCheckInService implements CheckInService {
         checkInValidator.validateForAddToRoom(checkInDto.bookingId(), room, countCheckedIn - countCheckedOut, bookingDto, owner);
 
         try {
-            CheckIn checkIn = checkInMapper.checkInDtoToCheckIn(checkInDto, booking, user, passport);
+            CheckIn checkIn = checkInMapper.checkInDtoToCheckIn(checkInDto, booking, user, passportStorageService.store(passport));
             checkInRepository.save(checkIn);
+            recordCheckIn(booking, user);
         } catch (IOException e) {
             LOGGER.error("Error creating check in", e);
             throw new IOException("Failed to add guest to room due to file processing error", e);
@@ -390,7 +352,7 @@ public class SimpleCheckInService implements CheckInService {
         if (checkOuts != null) {
             countCheckedOut = checkOuts.size();
         }
-        DetailedRoomDto room = roomMapper.roomToDetailedRoomDto(roomRepository.findRoomById(bookingDto.roomId()), null);
+        RoomCapacity room = roomCapacityCache.get(bookingDto.roomId());
         ApplicationUser user = userRepository.findByEmail(inviteToRoomDto.email()).orElseThrow(() ->
             new NotFoundException("User with email " + inviteToRoomDto.email() + " not found"));
         ApplicationUser owner = userRepository.findByEmail(ownerEmail).orElseThrow(() ->
@@ -495,7 +457,7 @@ public class SimpleCheckInService implements CheckInService {
     }
 
     @Override
-    public byte[] getPassportByBookingIdAndEmail(Long bookingId, String email) throws NotFoundException {
+    public Resource getPassportByBookingIdAndEmail(Long bookingId, String email) throws NotFoundException {
         LOGGER.debug("Get passport of guest {} and of booking id {}", email, bookingId);
         ApplicationUser guest = userRepository.findByEmail(email).orElseThrow(() ->
             new NotFoundException("Guest with email " + email + " not found"));
@@ -506,41 +468,20 @@ public class SimpleCheckInService implements CheckInService {
         if (checkIns == null || checkIns.isEmpty()) {
             throw new NotFoundException("Check-In for booking with id " + bookingId + " and guest with email " + email + " not found");
         }
-        if (checkIns.getFirst().getPassport() == null) {
+        if (checkIns.getFirst().getPassportRef() == null) {
             throw new NotFoundException("Passport for guest with email " + email + " not found");
         }
-        return checkIns.getFirst().getPassport();
-    }
-
-    @Scheduled(cron = "59 9 * * *")
-    private void checkOutJob() {
-        LOGGER.debug("CheckOutJob started");
-        int countCheckOutsPerformed = performAutoCheckOut();
-        LOGGER.debug("CheckOutJob finished, checked-out {} guests.", countCheckOutsPerformed);
+        return passportStorageService.load(checkIns.getFirst().getPassportRef());
     }
 
     @Override
+    @Transactional
     public int performAutoCheckOut() {
-        int countCheckOutsPerformed = 0;
-        List<Booking> bookingsThatRunOut = bookingRepository.findBookingsByEndDate(LocalDate.now()).orElse(null);
-        if (bookingsThatRunOut == null) {
-            return countCheckOutsPerformed;
-        }
-
-        for (Booking booking : bookingsThatRunOut) {
-            List<CheckIn> activeCheckIns = checkInRepository.findCheckInByBooking(booking);
-            if (activeCheckIns != null && !activeCheckIns.isEmpty()) {
-                for (CheckIn checkIn : activeCheckIns) {
-                    List<CheckOut> doneCheckOuts = checkOutRepository.findCheckOutByBookingAndGuest(booking, checkIn.getGuest());
-                    if (doneCheckOuts == null || doneCheckOuts.isEmpty()) {
-                        CheckOut newCheckOut = new CheckOut(booking, LocalDateTime.now(), checkIn.getGuest());
-                        checkOutRepository.save(newCheckOut);
-                        countCheckOutsPerformed++;
-                    }
-                }
-            }
-        }
-        return countCheckOutsPerformed;
+        LocalDateTime now = LocalDateTime.now();
+        int checkedOut = checkOutRepository.insertMissingCheckOuts(now.toLocalDate(), now);
+        int stays = stayStateRepository.checkOutEnded(now.toLocalDate(), now);
+        LOGGER.debug("Auto check-out inserted {} check-outs and ended {} stays", checkedOut, stays);
+        return checkedOut;
     }
 
     @Override
@@ -558,5 +499,17 @@ public class SimpleCheckInService implements CheckInService {
         for (CheckIn checkIn : checkIns) {
             checkInRepository.delete(checkIn);
         }
+        stayStateRepository.deleteByBookingAndGuest(booking, guest);
+    }
+
+    /**
+     * Marks a guest as staying in the room of a booking, after a check-in of the guest has been saved.
+     */
+    private void recordCheckIn(Booking booking, ApplicationUser guest) {
+        StayState stayState = stayStateRepository.findByBookingAndGuest(booking, guest)
+            .orElseGet(() -> new StayState(booking, guest, LocalDateTime.now()));
+        stayState.setCheckedInAt(LocalDateTime.now());
+        stayState.setCheckedOutAt(null);
+        stayStateRepository.save(stayState);
     }
 }
@@ -0,0 +1,287 @@
+package at.ac.tuwien.sepr.groupphase.backend.service.impl;
+
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.AddToRoomDto;
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.CheckInDto;
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.GroupCheckInResultDto;
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.mapper.CheckInMapper;
+import at.ac.tuwien.sepr.groupphase.backend.entity.Booking;
+import at.ac.tuwien.sepr.groupphase.backend.entity.CheckIn;
+import at.ac.tuwien.sepr.groupphase.backend.entity.Guest;
+import at.ac.tuwien.sepr.groupphase.backend.entity.InviteToRoom;
+import at.ac.tuwien.sepr.groupphase.backend.entity.StayState;
+import at.ac.tuwien.sepr.groupphase.backend.exception.ValidationException;
+import at.ac.tuwien.sepr.groupphase.backend.repository.BookingRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.CheckInRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.GuestRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.InviteToRoomRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.StayStateRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.projection.RoomCapacity;
+import at.ac.tuwien.sepr.groupphase.backend.service.GroupCheckInService;
+import at.ac.tuwien.sepr.groupphase.backend.service.PassportStorageService;
+import at.ac.tuwien.sepr.groupphase.backend.service.RoomCapacityCache;
+import at.ac.tuwien.sepr.groupphase.backend.service.validator.CheckInValidator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * {@link GroupCheckInService} that loads everything the guests of a group are validated against with four queries:
+ * the bookings with their rooms and owners, the guests, and the stays and invites of the bookings.
+ *
+ * <p>The check-ins and stays of the admitted guests are saved together at the end. Both are drawn from sequences, so
+ * Hibernate writes them in JDBC batches of {@code spring.jpa.properties.hibernate.jdbc.batch_size} rows when the
+ * transaction is flushed.</p>
+ */
+@Service
+public class SimpleGroupCheckInService implements GroupCheckInService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private final BookingRepository bookingRepository;
+    private final GuestRepository guestRepository;
+    private final StayStateRepository stayStateRepository;
+    private final InviteToRoomRepository inviteToRoomRepository;
+    private final CheckInRepository checkInRepository;
+    private final CheckInMapper checkInMapper;
+    private final CheckInValidator checkInValidator;
+    private final RoomCapacityCache roomCapacityCache;
+    private final PassportStorageService passportStorageService;
+
+    public SimpleGroupCheckInService(BookingRepository bookingRepository,
+                                     GuestRepository guestRepository,
+                                     StayStateRepository stayStateRepository,
+                                     InviteToRoomRepository inviteToRoomRepository,
+                                     CheckInRepository checkInRepository,
+                                     CheckInMapper checkInMapper,
+                                     CheckInValidator checkInValidator,
+                                     RoomCapacityCache roomCapacityCache,
+                                     PassportStorageService passportStorageService) {
+        this.bookingRepository = bookingRepository;
+        this.guestRepository = guestRepository;
+        this.stayStateRepository = stayStateRepository;
+        this.inviteToRoomRepository = inviteToRoomRepository;
+        this.checkInRepository = checkInRepository;
+        this.checkInMapper = checkInMapper;
+        this.checkInValidator = checkInValidator;
+        this.roomCapacityCache = roomCapacityCache;
+        this.passportStorageService = passportStorageService;
+    }
+
+    @Override
+    @Transactional(rollbackFor = IOException.class)
+    public List<GroupCheckInResultDto> checkInGroup(List<AddToRoomDto> guests, List<MultipartFile> passports) throws ValidationException, IOException {
+        LOGGER.debug("Group check-in of {} guests", guests != null ? guests.size() : 0);
+        if (guests == null || guests.isEmpty()) {
+            throw new ValidationException("Group check-in failed.", List.of("The group must contain at least one guest."));
+        }
+        if (passports == null || passports.size() != guests.size()) {
+            throw new ValidationException("Group check-in failed.", List.of("Every guest needs exactly one passport, in the order of the guests."));
+        }
+
+        Set<Long> bookingIds = guests.stream().map(AddToRoomDto::bookingId).filter(Objects::nonNull).collect(Collectors.toSet());
+        Set<String> emails = guests.stream().map(AddToRoomDto::email).filter(Objects::nonNull).collect(Collectors.toSet());
+        Map<Long, BookingState> bookings = bookingRepository.findAllWithRoomByIdIn(bookingIds).stream()
+            .collect(Collectors.toMap(Booking::getId, BookingState::new));
+        Map<String, Guest> guestsByEmail = guestRepository.findByEmailIn(emails).stream()
+            .collect(Collectors.toMap(Guest::getEmail, Function.identity()));
+        for (StayState stayState : stayStateRepository.findByBookingIdIn(bookingIds)) {
+            bookings.get(stayState.getBookingId()).addStay(stayState);
+        }
+        for (InviteToRoom invite : inviteToRoomRepository.findByBookingIdIn(bookingIds)) {
+            bookings.get(invite.getBookingId()).invites.put(invite.getGuest().getId(), invite);
+        }
+
+        // First the checks of every guest on its own, then the checks against the room, owners of bookings first,
+        // so guests joining them see whether they have been admitted.
+        List<Entry> entries = new ArrayList<>(guests.size());
+        Set<String> listed = new HashSet<>();
+        for (int i = 0; i < guests.size(); i++) {
+            Entry entry = new Entry(i, guests.get(i), passports.get(i), bookings, guestsByEmail);
+            if (!listed.add(entry.dto.bookingId() + "/" + entry.dto.email())) {
+                entry.errors.add("Guest is listed more than once for this booking.");
+            }
+            validateGuest(entry);
+            entries.add(entry);
+        }
+        entries.stream()
+            .filter(entry -> entry.errors.isEmpty())
+            .sorted(Comparator.comparing((Entry entry) -> !entry.isOwner()).thenComparingInt(entry -> entry.index))
+            .forEach(this::validateAgainstRoom);
+
+        List<CheckIn> checkIns = new ArrayList<>();
+        List<StayState> stays = new ArrayList<>();
+        List<InviteToRoom> usedInvites = new ArrayList<>();
+        for (Entry entry : entries) {
+            if (!entry.errors.isEmpty()) {
+                continue;
+            }
+            Guest guest = entry.guest;
+            Booking booking = entry.booking.booking;
+            updateGuest(guest, entry.dto);
+            checkIns.add(checkInMapper.checkInDtoToCheckIn(entry.checkInDto(), booking, guest, passportStorageService.store(entry.passport)));
+            StayState stayState = entry.booking.stays.get(guest.getId());
+            if (stayState == null) {
+                stayState = new StayState(booking, guest, LocalDateTime.now());
+            }
+            stayState.setCheckedInAt(LocalDateTime.now());
+            stayState.setCheckedOutAt(null);
+            stays.add(stayState);
+            InviteToRoom invite = entry.booking.invites.get(guest.getId());
+            if (invite != null) {
+                usedInvites.add(invite);
+            }
+        }
+        checkInRepository.saveAll(checkIns);
+        stayStateRepository.saveAll(stays);
+        inviteToRoomRepository.deleteAll(usedInvites);
+
+        LOGGER.info("Checked in {} of {} guests of a group into {} bookings", checkIns.size(), entries.size(), bookingIds.size());
+        return entries.stream().map(Entry::toResult).toList();
+    }
+
+    private void validateGuest(Entry entry) {
+        if (entry.guest == null) {
+            entry.errors.add("Guest with email " + entry.dto.email() + " not found");
+        }
+        if (entry.booking == null) {
+            entry.errors.add("Booking with id " + entry.dto.bookingId() + " not found");
+        } else if (entry.guest != null && entry.booking.isStaying(entry.guest)) {
+            entry.errors.add("Guest is already checked into the booking.");
+        }
+        if (entry.passport == null || entry.passport.isEmpty()) {
+            entry.errors.add("Passport must not be empty.");
+        }
+        try {
+            if (entry.isOwner()) {
+                checkInValidator.validateGuestInformation(entry.checkInDto(), entry.passport);
+            } else {
+                checkInValidator.validateGuestInformationForAddToRoom(entry.checkInDto(), entry.passport);
+            }
+        } catch (ValidationException e) {
+            entry.errors.addAll(e.errors());
+        }
+    }
+
+    private void validateAgainstRoom(Entry entry) {
+        BookingState booking = entry.booking;
+        boolean admitted = entry.isOwner() || booking.invites.containsKey(entry.guest.getId()) || booking.ownerStaying;
+        try {
+            checkInValidator.validateForGroupCheckIn(booking.booking, booking.room(roomCapacityCache), booking.staying, booking.checkedOut, admitted);
+            booking.staying++;
+            if (entry.isOwner()) {
+                booking.ownerStaying = true;
+            }
+        } catch (ValidationException e) {
+            entry.errors.addAll(e.errors());
+        }
+    }
+
+    private static void updateGuest(Guest guest, AddToRoomDto dto) {
+        guest.setFirstName(dto.firstName());
+        guest.setLastName(dto.lastName());
+        guest.setDateOfBirth(dto.dateOfBirth());
+        guest.setPlaceOfBirth(dto.placeOfBirth());
+        guest.setGender(dto.gender());
+        guest.setNationality(dto.nationality());
+        guest.setAddress(dto.address());
+        guest.setPassportNumber(dto.passportNumber());
+        guest.setPhoneNumber(dto.phoneNumber());
+    }
+
+    /**
+     * A booking of the group, with its stays and invites, and the number of guests staying once the admitted guests of
+     * the group are checked in.
+     */
+    private static final class BookingState {
+
+        private final Booking booking;
+        private final Map<Long, StayState> stays = new HashMap<>();
+        private final Map<Long, InviteToRoom> invites = new HashMap<>();
+        private RoomCapacity room;
+        private int staying;
+        private boolean checkedOut;
+        private boolean ownerStaying;
+
+        private BookingState(Booking booking) {
+            this.booking = booking;
+        }
+
+        private void addStay(StayState stayState) {
+            stays.put(stayState.getGuest().getId(), stayState);
+            if (stayState.isCheckedOut()) {
+                checkedOut = true;
+                return;
+            }
+            staying++;
+            if (isOwner(stayState.getGuest().getId())) {
+                ownerStaying = true;
+            }
+        }
+
+        private boolean isStaying(Guest guest) {
+            StayState stayState = stays.get(guest.getId());
+            return stayState != null && !stayState.isCheckedOut();
+        }
+
+        private boolean isOwner(Long userId) {
+            return booking.getUser() != null && Objects.equals(booking.getUser().getId(), userId);
+        }
+
+        private RoomCapacity room(RoomCapacityCache roomCapacityCache) {
+            if (room == null) {
+                room = roomCapacityCache.get(booking.getRoom().getId());
+            }
+            return room;
+        }
+    }
+
+    /**
+     * A guest of the group, with the errors found so far.
+     */
+    private static final class Entry {
+
+        private final int index;
+        private final AddToRoomDto dto;
+        private final MultipartFile passport;
+        private final BookingState booking;
+        private final Guest guest;
+        private final List<String> errors = new ArrayList<>();
+
+        private Entry(int index, AddToRoomDto dto, MultipartFile passport, Map<Long, BookingState> bookings, Map<String, Guest> guests) {
+            this.index = index;
+            this.dto = dto;
+            this.passport = passport;
+            this.booking = dto.bookingId() != null ? bookings.get(dto.bookingId()) : null;
+            this.guest = dto.email() != null ? guests.get(dto.email()) : null;
+        }
+
+        private boolean isOwner() {
+            return booking != null && guest != null && booking.isOwner(guest.getId());
+        }
+
+        private CheckInDto checkInDto() {
+            return new CheckInDto(dto.bookingId(), dto.firstName(), dto.lastName(), dto.dateOfBirth(), dto.placeOfBirth(),
+                dto.gender(), dto.nationality(), dto.address(), dto.passportNumber(), dto.phoneNumber());
+        }
+
+        private GroupCheckInResultDto toResult() {
+            return new GroupCheckInResultDto(index, dto.bookingId(), dto.email(), errors.isEmpty(), List.copyOf(errors));
+        }
+    }
+}
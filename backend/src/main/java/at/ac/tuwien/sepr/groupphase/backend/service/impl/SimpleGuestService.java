@@ -5,6 +5,7 @@ import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.GuestDetailDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.GuestListDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.GuestSearchDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.GuestSignupDto;
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.KeysetPageDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.SimpleGuestDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.mapper.GuestMapper;
 import at.ac.tuwien.sepr.groupphase.backend.entity.Booking;
@@ -20,8 +21,10 @@ import at.ac.tuwien.sepr.groupphase.backend.repository.GuestRepository;
 import at.ac.tuwien.sepr.groupphase.backend.service.GuestService;
 import at.ac.tuwien.sepr.groupphase.backend.service.UserService;
 import at.ac.tuwien.sepr.groupphase.backend.service.validator.GuestValidator;
+import at.ac.tuwien.sepr.groupphase.backend.utils.KeysetCursor;
 import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -100,6 +103,20 @@ public class SimpleGuestService implements GuestService {
         return guests.map(guestMapper::guestToGuestListDto);
     }
 
+    @Override
+    public KeysetPageDto<GuestListDto> searchAfter(GuestSearchDto guestSearchDto, String cursor, int size) {
+        log.debug("Search for guests with criteria: {} after cursor {}", guestSearchDto, cursor);
+        long afterId = cursor == null || cursor.isBlank() ? 0L : KeysetCursor.decode(cursor, 1).getLong(0);
+        List<Guest> guests = guestRepository.findGuestsByCriteriaAfter(
+            guestSearchDto.firstName(),
+            guestSearchDto.lastName(),
+            guestSearchDto.email(),
+            afterId,
+            Limit.of(KeysetCursor.checkPageSize(size) + 1));
+
+        return KeysetPageDto.of(guests, size, guestMapper::guestToGuestListDto, guest -> KeysetCursor.encode(guest.getId()));
+    }
+
     @Override
     public GuestDetailDto update(String email, GuestCreateUpdateDto guestDto) throws ValidationException, NotFoundException, IllegalArgumentException {
         log.debug("Update guest account with email {}", email);
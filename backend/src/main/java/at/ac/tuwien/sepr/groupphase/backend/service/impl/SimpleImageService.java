@@ -0,0 +1,226 @@
+package at.ac.tuwien.sepr.groupphase.backend.service.impl;
+
+import at.ac.tuwien.sepr.groupphase.backend.entity.ImageBlob;
+import at.ac.tuwien.sepr.groupphase.backend.enums.ImageVariant;
+import at.ac.tuwien.sepr.groupphase.backend.exception.NotFoundException;
+import at.ac.tuwien.sepr.groupphase.backend.repository.ImageBlobRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.ImageDerivativeRepository;
+import at.ac.tuwien.sepr.groupphase.backend.service.ImageService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.invoke.MethodHandles;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * {@link ImageService} that keeps the images in the {@link ImageBlob} table.
+ *
+ * <p>An upload that reuses a stored image claims its row, which locks it until the upload is committed. Unreferenced
+ * images are deleted after commit by a statement that only succeeds if the image has not been claimed since it was
+ * found unreferenced, so an image is never deleted while an upload is about to reference it.</p>
+ */
+@Service
+public class SimpleImageService implements ImageService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+    private static final int MAX_STORE_ATTEMPTS = 3;
+
+    private final ImageBlobRepository imageBlobRepository;
+    private final ImageDerivativeRepository imageDerivativeRepository;
+    private final ImageVariantGenerator variantGenerator;
+    private final TransactionTemplate newTransaction;
+
+    public SimpleImageService(ImageBlobRepository imageBlobRepository,
+                              ImageDerivativeRepository imageDerivativeRepository,
+                              ImageVariantGenerator variantGenerator,
+                              PlatformTransactionManager transactionManager) {
+        this.imageBlobRepository = imageBlobRepository;
+        this.imageDerivativeRepository = imageDerivativeRepository;
+        this.variantGenerator = variantGenerator;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public ImageBlob store(byte[] data) {
+        ImageBlob blob = ImageBlob.of(data);
+        LOGGER.debug("Store image {} ({} bytes, {})", blob.getHash(), blob.getSize(), blob.getMediaType());
+        for (int attempt = 0; attempt < MAX_STORE_ATTEMPTS; attempt++) {
+            if (imageBlobRepository.claim(blob.getHash()) == 1) {
+                return imageBlobRepository.findById(blob.getHash()).orElseThrow();
+            }
+            if (insert(blob)) {
+                variantGenerator.schedule(blob.getHash());
+                deleteIfRolledBack(blob.getHash());
+            }
+        }
+        // only if a cleanup deleted the image again between every insert and claim
+        throw new IllegalStateException("Image " + blob.getHash() + " could not be stored");
+    }
+
+    /**
+     * Inserts a new image in a transaction of its own. If the same image is uploaded concurrently, only this insert
+     * fails, not the transaction of the upload, which then claims the image stored by the other upload.
+     *
+     * @return true if the image was inserted, false if it had been stored concurrently
+     */
+    private boolean insert(ImageBlob blob) {
+        try {
+            newTransaction.executeWithoutResult(status -> imageBlobRepository.saveAndFlush(blob));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            LOGGER.debug("Image {} was stored concurrently", blob.getHash());
+            return false;
+        }
+    }
+
+    /**
+     * Deletes an image inserted for an upload again if the upload is rolled back, since it is committed on its own.
+     */
+    private void deleteIfRolledBack(String hash) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    deleteNow(List.of(hash));
+                }
+            }
+        });
+    }
+
+    @Override
+    public ResponseEntity<byte[]> getImage(String hash, ImageVariant variant, String ifNoneMatch) {
+        return getImage(hash, variant, ifNoneMatch, IMMUTABLE);
+    }
+
+    @Override
+    public ResponseEntity<byte[]> getImage(String hash, ImageVariant variant, String ifNoneMatch, CacheControl cacheControl) {
+        String servedHash = hash;
+        if (variant != null) {
+            Optional<String> variantHash = imageDerivativeRepository.findImageHashBySourceHashAndVariant(hash, variant);
+            if (variantHash.isPresent()) {
+                servedHash = variantHash.get();
+            } else {
+                // serve the original until the variant is ready, but make sure the client asks again
+                LOGGER.debug("{} variant of image {} is not available yet", variant, hash);
+                cacheControl = CacheControl.noCache();
+                if (imageBlobRepository.existsById(hash)) {
+                    variantGenerator.schedule(hash);
+                }
+            }
+        }
+        String etag = "\"" + servedHash + "\"";
+        if (matches(ifNoneMatch, etag)) {
+            // a made up hash must not be confirmed, let alone cached as immutable
+            if (!imageBlobRepository.existsById(servedHash)) {
+                throw new NotFoundException("Image with hash " + hash + " not found");
+            }
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .build();
+        }
+        ImageBlob blob = imageBlobRepository.findById(servedHash)
+            .orElseThrow(() -> new NotFoundException("Image with hash " + hash + " not found"));
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(blob.getMediaType()))
+            .contentLength(blob.getSize())
+            .eTag(etag)
+            .cacheControl(cacheControl)
+            .body(blob.getData());
+    }
+
+    @Override
+    public void deleteUnreferenced(Collection<String> hashes) {
+        List<String> candidates = hashes.stream().filter(Objects::nonNull).distinct().toList();
+        if (!candidates.isEmpty()) {
+            AfterCommit.run(() -> deleteNow(candidates));
+        }
+    }
+
+    /**
+     * Deletes the given images that are not referenced. A failure is only logged, the images are then simply kept, since
+     * the change that let go of them has already been committed.
+     */
+    private void deleteNow(List<String> hashes) {
+        for (String hash : hashes) {
+            try {
+                deleteIfUnreferenced(hash);
+            } catch (RuntimeException e) {
+                LOGGER.warn("Could not delete unreferenced image {}", hash, e);
+            }
+        }
+    }
+
+    /**
+     * Deletes an image that is no longer referenced together with the links to its variants, then each of its variants
+     * that is not used elsewhere. If the image is claimed in the meantime, nothing is deleted.
+     */
+    private void deleteIfUnreferenced(String hash) {
+        List<String> variantHashes;
+        try {
+            variantHashes = newTransaction.execute(status -> {
+                Optional<Long> claims = imageBlobRepository.findClaimsByHash(hash);
+                if (claims.isEmpty() || imageBlobRepository.isReferenced(hash)) {
+                    return List.of();
+                }
+                final List<String> variants = imageDerivativeRepository.findImageHashesBySourceHash(hash);
+                imageDerivativeRepository.deleteBySourceHash(hash);
+                if (imageBlobRepository.deleteIfUnreferenced(hash, claims.get()) == 0) {
+                    LOGGER.debug("Image {} is in use again, keeping it", hash);
+                    status.setRollbackOnly();
+                    return List.of();
+                }
+                LOGGER.debug("Deleted unreferenced image {}", hash);
+                return variants;
+            });
+        } catch (DataIntegrityViolationException e) {
+            // a variant was linked to the image while it was being deleted
+            LOGGER.debug("Image {} got a new variant, keeping it", hash);
+            return;
+        }
+        variantHashes.stream()
+            .filter(variantHash -> !Objects.equals(variantHash, hash))
+            .distinct()
+            .forEach(this::deleteIfUnreferenced);
+    }
+
+    /**
+     * Checks whether one of the entity tags of an {@code If-None-Match} header matches. Weak tags are compared weakly,
+     * as required for {@code If-None-Match}.
+     */
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
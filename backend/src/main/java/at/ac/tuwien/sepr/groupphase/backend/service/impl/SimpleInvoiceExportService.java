@@ -0,0 +1,131 @@
+package at.ac.tuwien.sepr.groupphase.backend.service.impl;
+
+import at.ac.tuwien.sepr.groupphase.backend.entity.Booking;
+import at.ac.tuwien.sepr.groupphase.backend.repository.BookingRepository;
+import at.ac.tuwien.sepr.groupphase.backend.service.InvoiceExportService;
+import at.ac.tuwien.sepr.groupphase.backend.service.PdfGenerationService;
+import at.ac.tuwien.sepr.groupphase.backend.service.PdfStorageService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.invoke.MethodHandles;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Exports the invoices of a period as a ZIP archive.
+ *
+ * <p>Bookings are read one page at a time. The invoices of a page that have not been stored yet are rendered in
+ * parallel on the invoice export executor, while the stored ones are copied to the archive in chunks. At most one
+ * page of bookings and its rendered invoices are held in memory at any time.</p>
+ */
+@Service
+public class SimpleInvoiceExportService implements InvoiceExportService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+    private static final String INVOICE = "Invoice.pdf";
+
+    private final BookingRepository bookingRepository;
+    private final PdfStorageService pdfStorageService;
+    private final PdfGenerationService pdfGenerationService;
+    private final Executor executor;
+    private final int pageSize;
+
+    public SimpleInvoiceExportService(BookingRepository bookingRepository,
+                                      PdfStorageService pdfStorageService,
+                                      PdfGenerationService pdfGenerationService,
+                                      @Qualifier("invoiceExportExecutor") Executor executor,
+                                      @Value("${application.documents.export.page-size:100}") int pageSize) {
+        this.bookingRepository = bookingRepository;
+        this.pdfStorageService = pdfStorageService;
+        this.pdfGenerationService = pdfGenerationService;
+        this.executor = executor;
+        this.pageSize = pageSize;
+    }
+
+    @Override
+    public void exportInvoices(LocalDate from, LocalDate to, OutputStream outputStream) throws IOException {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("The start of the period must not be after its end");
+        }
+        LOGGER.debug("Exporting the invoices from {} to {}", from, to);
+
+        ZipOutputStream zip = new ZipOutputStream(outputStream);
+        // the PDF content streams are compressed already
+        zip.setLevel(Deflater.BEST_SPEED);
+        int exported = 0;
+        List<Booking> page = bookingRepository.findFirstInvoicedBetween(from, to, Limit.of(pageSize));
+        while (!page.isEmpty()) {
+            writePage(zip, page);
+            exported += page.size();
+            if (page.size() < pageSize) {
+                break;
+            }
+            Booking last = page.getLast();
+            page = bookingRepository.findInvoicedAfter(last.getInvoiceDate(), last.getId(), to, Limit.of(pageSize));
+        }
+        zip.finish();
+        zip.flush();
+        LOGGER.info("Exported {} invoices from {} to {}", exported, from, to);
+    }
+
+    /**
+     * Writes the invoices of a page of bookings in the order of the page. Rendering the missing invoices starts
+     * before the first entry is written, so it overlaps with copying the stored ones.
+     */
+    private void writePage(ZipOutputStream zip, List<Booking> page) throws IOException {
+        Set<Long> stored = pdfStorageService.findStoredBookingIds(page.stream().map(Booking::getId).toList(), INVOICE);
+        Map<Long, CompletableFuture<byte[]>> rendered = new HashMap<>();
+        for (Booking booking : page) {
+            if (!stored.contains(booking.getId())) {
+                rendered.put(booking.getId(), CompletableFuture.supplyAsync(() -> generate(booking), executor));
+            }
+        }
+        try {
+            for (Booking booking : page) {
+                zip.putNextEntry(new ZipEntry(booking.getInvoiceNumber() + ".pdf"));
+                CompletableFuture<byte[]> invoice = rendered.remove(booking.getId());
+                if (invoice != null) {
+                    zip.write(join(invoice));
+                } else if (!pdfStorageService.transferPdf(booking.getId(), INVOICE, zip)) {
+                    // the stored invoice has been deleted since the page was read
+                    zip.write(generate(booking));
+                }
+                zip.closeEntry();
+            }
+        } finally {
+            rendered.values().forEach(invoice -> invoice.cancel(false));
+        }
+    }
+
+    private byte[] generate(Booking booking) {
+        try {
+            return pdfGenerationService.generateInvoice(booking);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not generate the invoice of booking " + booking.getId(), e);
+        }
+    }
+
+    private static byte[] join(CompletableFuture<byte[]> invoice) {
+        try {
+            return invoice.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package at.ac.tuwien.sepr.groupphase.backend.service.impl;
+
+import at.ac.tuwien.sepr.groupphase.backend.entity.JobLock;
+import at.ac.tuwien.sepr.groupphase.backend.repository.JobLockRepository;
+import at.ac.tuwien.sepr.groupphase.backend.service.JobLockService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.lang.invoke.MethodHandles;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * {@link JobLockService} that keeps the leases in the {@link JobLock} table.
+ *
+ * <p>The lock row of a job is created the first time the job runs. If two nodes create it at the same time, the
+ * primary key lets only one of them succeed, and both then compete for the lease as usual. Whether a lease has run out
+ * is decided by the clock of the database, never by the clock of a node.</p>
+ */
+@Service
+public class SimpleJobLockService implements JobLockService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+    /**
+     * The end of the lease of a lock row that was just created, long over on every clock.
+     */
+    private static final LocalDateTime NEVER_LOCKED = LocalDateTime.of(2000, 1, 1, 0, 0);
+
+    private final JobLockRepository jobLockRepository;
+    private final String owner;
+
+    public SimpleJobLockService(JobLockRepository jobLockRepository) {
+        this.jobLockRepository = jobLockRepository;
+        this.owner = hostName() + "/" + UUID.randomUUID();
+    }
+
+    @Override
+    public boolean runExclusively(String name, Duration lease, Duration minHold, Runnable job) {
+        if (!tryAcquire(name, lease)) {
+            LOGGER.debug("Skipping job {}, another node holds the lease", name);
+            return false;
+        }
+        try {
+            job.run();
+            return true;
+        } finally {
+            jobLockRepository.release(name, owner, minHold.toSeconds());
+        }
+    }
+
+    private boolean tryAcquire(String name, Duration lease) {
+        if (jobLockRepository.tryAcquire(name, owner, lease.toSeconds()) == 1) {
+            return true;
+        }
+        if (jobLockRepository.existsById(name)) {
+            return false;
+        }
+        try {
+            jobLockRepository.saveAndFlush(new JobLock(name, NEVER_LOCKED));
+        } catch (DataIntegrityViolationException e) {
+            LOGGER.debug("Lock row of job {} was created by another node", name);
+        }
+        return jobLockRepository.tryAcquire(name, owner, lease.toSeconds()) == 1;
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown";
+        }
+    }
+}
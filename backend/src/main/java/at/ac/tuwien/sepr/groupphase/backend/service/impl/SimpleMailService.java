@@ -1,37 +1,42 @@
 package at.ac.tuwien.sepr.groupphase.backend.service.impl;
 
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.InviteToRoomDto;
-import at.ac.tuwien.sepr.groupphase.backend.entity.ApplicationUser;
 import at.ac.tuwien.sepr.groupphase.backend.entity.Booking;
-import at.ac.tuwien.sepr.groupphase.backend.entity.Guest;
+import at.ac.tuwien.sepr.groupphase.backend.entity.OutboxMail;
 import at.ac.tuwien.sepr.groupphase.backend.entity.Pdf;
+import at.ac.tuwien.sepr.groupphase.backend.repository.OutboxMailRepository;
 import at.ac.tuwien.sepr.groupphase.backend.service.MailService;
 import jakarta.mail.MessagingException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.ByteArrayResource;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
+/**
+ * Writes the mails of the hotel to the outbox, from where they are sent by the {@link MailOutboxDispatcher}.
+ *
+ * <p>Every method joins the transaction of its caller, so the mail is only sent if the booking, cancellation or
+ * invitation it reports is committed.</p>
+ */
 @Slf4j
 @Service(value = "SimpleMailService")
 public class SimpleMailService implements MailService {
 
-    private final JavaMailSender javaMailSender;
+    private final OutboxMailRepository outboxMailRepository;
 
     @Value("${spring.mail.username}")
     private String mailIntegrationId;
 
     @Autowired
-    public SimpleMailService(JavaMailSender javaMailSender) {
-        this.javaMailSender = javaMailSender;
+    public SimpleMailService(OutboxMailRepository outboxMailRepository) {
+        this.outboxMailRepository = outboxMailRepository;
     }
 
     @Override
+    @Transactional
     public void sendEmail(Booking booking, List<Pdf> pdfDocuments) throws MessagingException {
         if (mailIntegrationId == null || mailIntegrationId.isBlank()) {
             log.error("MAIL_INTEGRATION_ID is not configured!");
@@ -44,20 +49,15 @@ public class SimpleMailService implements MailService {
             return;
         }
 
-        MimeMessageHelper helper = new MimeMessageHelper(javaMailSender.createMimeMessage(), true);
-        helper.setFrom(mailIntegrationId);
-        helper.setTo(recipientEmail);
-        helper.setSubject("Booking Confirmation");
-        helper.setText(getEmailContent(booking), true);
-
+        OutboxMail mail = new OutboxMail(mailIntegrationId, recipientEmail, "Booking Confirmation", getEmailContent(booking));
         if (pdfDocuments != null && !pdfDocuments.isEmpty()) {
             for (Pdf pdf : pdfDocuments) {
-                helper.addAttachment(pdf.getDocumentType(), new ByteArrayResource(pdf.getContent()));
+                mail.addAttachment(pdf.getDocumentType(), pdf.getContent());
             }
         }
 
-        javaMailSender.send(helper.getMimeMessage());
-        log.info("Email successfully sent to {}", recipientEmail);
+        outboxMailRepository.save(mail);
+        log.info("Email to {} queued", recipientEmail);
     }
 
 
@@ -92,6 +92,14 @@ public class SimpleMailService implements MailService {
         return emailContent.toString();
     }
 
+    /**
+     * Sends an email confirming the cancellation of a booking, with the cancellation document attached.
+     *
+     * @param booking         The cancelled booking.
+     * @param cancellationPdf The content of the cancellation document.
+     * @throws MessagingException If there is an error during the email sending process.
+     */
+    @Transactional
     public void sendCancellationEmail(Booking booking, byte[] cancellationPdf) throws MessagingException {
         if (mailIntegrationId == null || mailIntegrationId.isBlank()) {
             log.error("MAIL_INTEGRATION_ID is not configured!");
@@ -99,27 +107,11 @@ public class SimpleMailService implements MailService {
         }
 
         String recipientEmail = booking.getUser().getEmail();
-        MimeMessageHelper helper = new MimeMessageHelper(javaMailSender.createMimeMessage(), true);
-
-        if (helper != null) {
-            helper.setFrom(mailIntegrationId);
-            helper.setTo(recipientEmail);
-            helper.setSubject("Booking Cancellation");
-
-            String emailContent = getCancellationEmailContent(booking);
-            helper.setText(emailContent, true);
-
-            helper.addAttachment("BookingCancellation.pdf", new ByteArrayResource(cancellationPdf));
+        OutboxMail mail = new OutboxMail(mailIntegrationId, recipientEmail, "Booking Cancellation", getCancellationEmailContent(booking));
+        mail.addAttachment("BookingCancellation.pdf", cancellationPdf);
 
-            if (javaMailSender != null) {
-                javaMailSender.send(helper.getMimeMessage());
-                log.info("Cancellation email successfully sent to {}", recipientEmail);
-            } else {
-                log.error("JavaMailSender is not configured correctly.");
-            }
-        } else {
-            log.error("Failed to create MimeMessageHelper for sending cancellation email to {}", recipientEmail);
-        }
+        outboxMailRepository.save(mail);
+        log.info("Cancellation email to {} queued", recipientEmail);
     }
 
     private String getCancellationEmailContent(Booking booking) {
@@ -149,6 +141,7 @@ public class SimpleMailService implements MailService {
     }
 
     @Override
+    @Transactional
     public void sendAddToRoomEmail(InviteToRoomDto dto) throws MessagingException {
         if (mailIntegrationId == null || mailIntegrationId.isBlank()) {
             log.error("MAIL_INTEGRATION_ID is not configured!");
@@ -161,14 +154,8 @@ public class SimpleMailService implements MailService {
             return;
         }
 
-        MimeMessageHelper helper = new MimeMessageHelper(javaMailSender.createMimeMessage(), true);
-        helper.setFrom(mailIntegrationId);
-        helper.setTo(recipientEmail);
-        helper.setSubject("Invitation to Shared Room");
-        helper.setText(getEmailContentAddToRoom(dto), true);
-
-        javaMailSender.send(helper.getMimeMessage());
-        log.info("Email successfully sent to {}", recipientEmail);
+        outboxMailRepository.save(new OutboxMail(mailIntegrationId, recipientEmail, "Invitation to Shared Room", getEmailContentAddToRoom(dto)));
+        log.info("Email to {} queued", recipientEmail);
     }
 
     private String getEmailContentAddToRoom(InviteToRoomDto dto) {
@@ -0,0 +1,129 @@
+package at.ac.tuwien.sepr.groupphase.backend.service.impl;
+
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.RoomOccupancyDto;
+import at.ac.tuwien.sepr.groupphase.backend.entity.listener.OccupancyChangeListener;
+import at.ac.tuwien.sepr.groupphase.backend.repository.BookingRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.RoomRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.StayStateRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.projection.ActiveStayCount;
+import at.ac.tuwien.sepr.groupphase.backend.repository.projection.CurrentBooking;
+import at.ac.tuwien.sepr.groupphase.backend.repository.projection.RoomSummary;
+import at.ac.tuwien.sepr.groupphase.backend.service.OccupancyService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.lang.invoke.MethodHandles;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link OccupancyService} that builds the snapshot from three queries: all rooms, the bookings of today and the
+ * number of guests staying per booking.
+ *
+ * <p>The snapshot is kept for {@code application.occupancy.snapshot-ttl}. Changes to the underlying entities call
+ * {@link #invalidate()} through the {@link OccupancyChangeListener}. Every invalidation bumps a generation counter, so
+ * a snapshot that was being read while the data changed is handed out once, but never cached.</p>
+ */
+@Service
+public class SimpleOccupancyService implements OccupancyService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+    private static final String OCCUPIED = "occupied";
+    private static final String NOT_OCCUPIED = "not-occupied";
+
+    private final RoomRepository roomRepository;
+    private final BookingRepository bookingRepository;
+    private final StayStateRepository stayStateRepository;
+    private final long ttlNanos;
+    private final AtomicLong generation = new AtomicLong();
+
+    private volatile Snapshot snapshot;
+
+    public SimpleOccupancyService(RoomRepository roomRepository,
+                                  BookingRepository bookingRepository,
+                                  StayStateRepository stayStateRepository,
+                                  @Value("${application.occupancy.snapshot-ttl:PT5S}") Duration ttl) {
+        this.roomRepository = roomRepository;
+        this.bookingRepository = bookingRepository;
+        this.stayStateRepository = stayStateRepository;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    @Override
+    public List<RoomOccupancyDto> getOccupancySnapshot() {
+        LocalDate today = LocalDate.now();
+        Snapshot current = snapshot;
+        if (current != null && current.isFresh(today, ttlNanos)) {
+            return current.rooms();
+        }
+        synchronized (this) {
+            current = snapshot;
+            if (current != null && current.isFresh(today, ttlNanos)) {
+                return current.rooms();
+            }
+            long loadedGeneration = generation.get();
+            Snapshot loaded = new Snapshot(today, System.nanoTime(), load(today));
+            if (generation.get() == loadedGeneration) {
+                snapshot = loaded;
+            }
+            return loaded.rooms();
+        }
+    }
+
+    @Override
+    public void invalidate() {
+        generation.incrementAndGet();
+        snapshot = null;
+    }
+
+    private List<RoomOccupancyDto> load(LocalDate today) {
+        LOGGER.debug("Loading occupancy snapshot of {}", today);
+        Map<Long, Long> checkedInByRoom = new HashMap<>();
+        Map<Long, ActiveStayCount> occupyingStayByRoom = new HashMap<>();
+        for (ActiveStayCount stays : stayStateRepository.countActiveStaysByBooking()) {
+            checkedInByRoom.merge(stays.getRoomId(), stays.getCheckedIn(), Long::sum);
+            occupyingStayByRoom.merge(stays.getRoomId(), stays, (a, b) -> b.getCheckedIn() > a.getCheckedIn() ? b : a);
+        }
+        // on a changeover day the arriving booking starts later than the departing one and wins
+        Map<Long, CurrentBooking> currentBookingByRoom = new HashMap<>();
+        for (CurrentBooking booking : bookingRepository.findCurrentBookings(today)) {
+            currentBookingByRoom.put(booking.getRoomId(), booking);
+        }
+
+        List<RoomSummary> rooms = roomRepository.findAllRoomSummariesOrderById();
+        List<RoomOccupancyDto> occupancies = new ArrayList<>(rooms.size());
+        for (RoomSummary room : rooms) {
+            long checkedIn = checkedInByRoom.getOrDefault(room.getId(), 0L);
+            ActiveStayCount occupyingStay = occupyingStayByRoom.get(room.getId());
+            CurrentBooking currentBooking = currentBookingByRoom.get(room.getId());
+            Long bookingId = null;
+            String ownerEmail = null;
+            if (occupyingStay != null) {
+                bookingId = occupyingStay.getBookingId();
+                ownerEmail = occupyingStay.getOwnerEmail();
+            } else if (currentBooking != null) {
+                bookingId = currentBooking.getId();
+                ownerEmail = currentBooking.getOwnerEmail();
+            }
+            occupancies.add(new RoomOccupancyDto(room.getId(), room.getName(), room.getCapacity(),
+                checkedIn > 0 ? OCCUPIED : NOT_OCCUPIED, bookingId, ownerEmail, checkedIn,
+                room.getLastCleanedAt(), room.getCleaningTimeFrom(), room.getCleaningTimeTo()));
+        }
+        return Collections.unmodifiableList(occupancies);
+    }
+
+    private record Snapshot(LocalDate day, long loadedAt, List<RoomOccupancyDto> rooms) {
+
+        boolean isFresh(LocalDate today, long ttlNanos) {
+            return day.equals(today) && System.nanoTime() - loadedAt < ttlNanos;
+        }
+    }
+}
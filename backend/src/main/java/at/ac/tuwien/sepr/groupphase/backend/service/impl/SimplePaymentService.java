@@ -7,6 +7,7 @@ import at.ac.tuwien.sepr.groupphase.backend.entity.Activity;
 import at.ac.tuwien.sepr.groupphase.backend.entity.ActivityBooking;
 import at.ac.tuwien.sepr.groupphase.backend.entity.Booking;
 import at.ac.tuwien.sepr.groupphase.backend.entity.Room;
+import at.ac.tuwien.sepr.groupphase.backend.enums.BookingStatus;
 import at.ac.tuwien.sepr.groupphase.backend.exception.ConflictException;
 import at.ac.tuwien.sepr.groupphase.backend.exception.NotFoundException;
 import at.ac.tuwien.sepr.groupphase.backend.repository.ActivityBookingRepository;
@@ -26,12 +27,20 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.List;
 
 @Service
 @Slf4j
 public class SimplePaymentService implements PaymentService {
 
+    /**
+     * Shortest lifetime Stripe accepts for a checkout session.
+     */
+    private static final Duration MIN_CHECKOUT_DURATION = Duration.ofMinutes(30);
+
     private final RoomRepository roomRepository;
     private final BookingRepository bookingRepository;
     private final ActivityRepository activityRepository;
@@ -55,6 +64,10 @@ public class SimplePaymentService implements PaymentService {
         Booking booking = bookingRepository.findById(paymentRequest.bookingId())
             .orElseThrow(() -> new NotFoundException("Booking not found"));
 
+        if (booking.getStatus() == BookingStatus.CANCELLED || booking.isHoldExpired(LocalDateTime.now())) {
+            throw new ConflictException("The booking is no longer held for payment", List.of("Booking " + booking.getId() + " has been released"));
+        }
+
         if (booking.getStripeSessionId() != null) {
             try {
                 Session session = Session.retrieve(booking.getStripeSessionId());
@@ -77,7 +90,13 @@ public class SimplePaymentService implements PaymentService {
         try {
             String domain = "http://localhost:4200/#/";
             Stripe.apiKey = stripeApiKey;
-            SessionCreateParams params = SessionCreateParams.builder()
+            SessionCreateParams.Builder paramsBuilder = SessionCreateParams.builder();
+            if (booking.getHoldExpiresAt() != null
+                && Duration.between(LocalDateTime.now(), booking.getHoldExpiresAt()).compareTo(MIN_CHECKOUT_DURATION) >= 0) {
+                // the checkout must not outlive the hold, otherwise the room could be paid for after it was sold again
+                paramsBuilder.setExpiresAt(booking.getHoldExpiresAt().atZone(ZoneId.systemDefault()).toEpochSecond());
+            }
+            SessionCreateParams params = paramsBuilder
                 .setMode(SessionCreateParams.Mode.PAYMENT)
                 .setSuccessUrl(domain + "/bookings/my-bookings/success/" + paymentRequest.bookingId())
                 .setCancelUrl(domain + "/bookings/my-bookings/cancel/" + paymentRequest.bookingId())
@@ -1,29 +1,41 @@
 package at.ac.tuwien.sepr.groupphase.backend.service.impl;
 
-import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.BookingConfirmationDto;
 import at.ac.tuwien.sepr.groupphase.backend.entity.Booking;
 import at.ac.tuwien.sepr.groupphase.backend.entity.UiConfig;
 import at.ac.tuwien.sepr.groupphase.backend.repository.UiConfigRepository;
 import at.ac.tuwien.sepr.groupphase.backend.service.PdfGenerationService;
-import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.pdmodel.PDPage;
-import org.apache.pdfbox.pdmodel.PDPageContentStream;
-import org.apache.pdfbox.pdmodel.font.PDFont;
-import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import at.ac.tuwien.sepr.groupphase.backend.service.impl.PdfTemplate.Font;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 
+/**
+ * Renders the booking documents from {@link PdfTemplate}s.
+ *
+ * <p>The templates contain the hotel details of the {@link UiConfig}, so they are compiled on the first rendering and
+ * cached until the configuration changes, see {@link #invalidateTemplates()}. Rendering is thread-safe.</p>
+ */
 @Service
 public class SimplePdfGenerationService implements PdfGenerationService {
 
+    private static final float START_X = 50;
+    private static final float START_Y = 750;
+    private static final float LINE_SPACING = 14.5f;
+    private static final float PARAGRAPH_SPACING = 30f;
+    private static final float RIGHT_X = 300;
+    private static final float AMOUNT_X = START_X + 200;
+
     @Value("${application.booking.tax-id}")
     private String taxId;
 
     private final UiConfigRepository uiConfigRepository;
+    private final Object templatesLock = new Object();
+    private volatile Templates templates;
+
+    private record Templates(PdfTemplate confirmation, PdfTemplate invoice, PdfTemplate cancellation) {
+    }
 
     @Autowired
     public SimplePdfGenerationService(UiConfigRepository uiConfigRepository) {
@@ -51,664 +63,207 @@ public class SimplePdfGenerationService implements PdfGenerationService {
             throw new IllegalArgumentException("Room information is incomplete.");
         }
 
-        try (ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
-             PDDocument document = new PDDocument()) {
-
-            PDPage page = new PDPage();
-            document.addPage(page);
-
-            UiConfig uiConfig = uiConfigRepository.findById(1L)
-                .orElseThrow(() -> new IllegalStateException("UiConfig not found"));
-
-            try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
-                final float startX = 50;
-                final float startYinitial = 750;
-                float startY = startYinitial;
-                final float lineSpacing = 14.5f;
-                final float paragraphSpacing = 30f;
-
-                contentStream.setFont(PDType1Font.HELVETICA_BOLD, 16);
-                contentStream.beginText();
-                contentStream.newLineAtOffset(startX, startY);
-                contentStream.showText("Booking Confirmation for Your Stay at " + uiConfig.getHotelName());
-                contentStream.endText();
-
-                startY -= paragraphSpacing;
-
-                contentStream.beginText();
-                contentStream.setFont(PDType1Font.HELVETICA, 12);
-                contentStream.newLineAtOffset(startX, startY);
-                contentStream.showText("Dear " + booking.getGuest().getLastName() + ",");
-                contentStream.endText();
-
-                startY -= lineSpacing;
-
-                contentStream.beginText();
-                contentStream.setFont(PDType1Font.HELVETICA, 12);
-                contentStream.newLineAtOffset(startX, startY);
-                contentStream.showText("Thank you for choosing the " + uiConfig.getHotelName() +  ". Here are your booking details:");
-                contentStream.endText();
-
-                startY -= paragraphSpacing;
-
-                contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-                contentStream.beginText();
-                contentStream.newLineAtOffset(startX, startY);
-                contentStream.showText("Hotel Details:");
-                contentStream.endText();
-
-                startY -= lineSpacing;
-
-                contentStream.setFont(PDType1Font.HELVETICA, 12);
-                contentStream.beginText();
-                contentStream.newLineAtOffset(startX, startY);
-                contentStream.showText("Hotel Name: " + uiConfig.getHotelName());
-                contentStream.endText();
-
-                startY -= lineSpacing;
-
-                contentStream.setFont(PDType1Font.HELVETICA, 12);
-                contentStream.beginText();
-                contentStream.newLineAtOffset(startX, startY);
-                contentStream.showText("Hotel Address: " + uiConfig.getAddress());
-                contentStream.endText();
-
-                contentStream.setFont(PDType1Font.HELVETICA, 12);
-
-                startY -= paragraphSpacing;
-
-                contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-                contentStream.beginText();
-                contentStream.newLineAtOffset(startX, startY);
-                contentStream.showText("Guest Details:");
-                contentStream.endText();
-
-                startY -= lineSpacing;
-
-                contentStream.setFont(PDType1Font.HELVETICA, 12);
-                contentStream.beginText();
-                contentStream.newLineAtOffset(startX, startY);
-                contentStream.showText("Name: " + booking.getGuest().getFirstName() + " " + booking.getGuest().getLastName());
-                contentStream.endText();
-
-                startY -= lineSpacing;
-
-                contentStream.beginText();
-                contentStream.newLineAtOffset(startX, startY);
-                contentStream.showText("Phone: " + booking.getGuest().getPhoneNumber());
-                contentStream.endText();
-
-                startY -= lineSpacing;
-
-                contentStream.beginText();
-                contentStream.newLineAtOffset(startX, startY);
-                contentStream.showText("Email: " + booking.getGuest().getEmail());
-                contentStream.endText();
-
-                startY -= lineSpacing;
-
-                contentStream.beginText();
-                contentStream.newLineAtOffset(startX, startY);
-                contentStream.showText("Address: " + booking.getGuest().getAddress());
-                contentStream.endText();
-
-
-                startY -= paragraphSpacing;
-
-                contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-                contentStream.beginText();
-                contentStream.newLineAtOffset(startX, startY);
-                contentStream.showText("Booking Details:");
-                contentStream.endText();
-
-                startY -= lineSpacing;
-
-                contentStream.setFont(PDType1Font.HELVETICA, 12);
-                contentStream.beginText();
-                contentStream.newLineAtOffset(startX, startY);
-                contentStream.showText("Booking Number: " + booking.getBookingNumber());
-                contentStream.endText();
-
-                startY -= lineSpacing;
-
-
-                contentStream.beginText();
-                contentStream.newLineAtOffset(startX, startY);
-                contentStream.showText("Check-in: " + booking.getStartDate() + " (after 14:00)");
-                contentStream.endText();
-
-                startY -= lineSpacing;
-
-                contentStream.beginText();
-                contentStream.newLineAtOffset(startX, startY);
-                contentStream.showText("Check-out: " + booking.getEndDate() + " (before 10:00)");
-                contentStream.endText();
-
-                startY -= paragraphSpacing;
-
-                contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-                contentStream.beginText();
-                contentStream.newLineAtOffset(startX, startY);
-                contentStream.showText("Room Details:");
-                contentStream.endText();
-
-                startY -= lineSpacing;
-
-                contentStream.beginText();
-                contentStream.setFont(PDType1Font.HELVETICA, 12);
-                contentStream.newLineAtOffset(startX, startY);
-                contentStream.showText("Room Name: " + booking.getRoom().getName());
-                contentStream.endText();
-
-                startY -= lineSpacing;
-
-                contentStream.setFont(PDType1Font.HELVETICA, 12);
-                contentStream.beginText();
-                contentStream.newLineAtOffset(startX, startY);
-                contentStream.showText("Room Description: " + booking.getRoom().getDescription());
-                contentStream.endText();
-
-                startY -= lineSpacing;
-
-                contentStream.beginText();
-                contentStream.setFont(PDType1Font.HELVETICA, 12);
-                contentStream.newLineAtOffset(startX, startY);
-                contentStream.showText("Number of persons : " + booking.getRoom().getCapacity());
-                contentStream.endText();
-
-                startY -= paragraphSpacing;
-
-                contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-                contentStream.beginText();
-                contentStream.newLineAtOffset(startX, startY);
-                contentStream.showText("Cancellation:");
-                contentStream.endText();
-
-                startY -= lineSpacing;
-
-                contentStream.setFont(PDType1Font.HELVETICA, 12);
-                contentStream.beginText();
-                contentStream.newLineAtOffset(startX, startY);
-                contentStream.showText("To cancel your booking, visit the \"My Bookings\" page in your account.");
-                contentStream.endText();
-
-                startY -= lineSpacing;
-
-                contentStream.beginText();
-                contentStream.newLineAtOffset(startX, startY);
-                contentStream.showText("After cancellation, a refund will be processed.");
-                contentStream.endText();
-
-                startY -= paragraphSpacing;
-
-                contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-                contentStream.beginText();
-                contentStream.newLineAtOffset(startX, startY);
-                contentStream.showText("Questions:");
-                contentStream.endText();
-
-                startY -= lineSpacing;
-
-                contentStream.setFont(PDType1Font.HELVETICA, 12);
-                contentStream.beginText();
-                contentStream.newLineAtOffset(startX, startY);
-                contentStream.showText("If you have any questions, contact us at inncontrolhotel@gmail.com.");
-                contentStream.endText();
-
-                startY -= lineSpacing;
-
-                contentStream.beginText();
-                contentStream.newLineAtOffset(startX, startY);
-                contentStream.showText("Include your booking number (" + booking.getBookingNumber() + ") and room name.");
-                contentStream.endText();
-
-                startY -= paragraphSpacing;
-
-                contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-                contentStream.beginText();
-                contentStream.newLineAtOffset(startX, startY);
-                contentStream.showText("We look forward to your stay!");
-                contentStream.endText();
-            }
-
-            document.save(byteArrayOutputStream);
-            return byteArrayOutputStream.toByteArray();
-        }
+        return templates().confirmation().render(booking);
     }
 
-
-
-
     @Override
     public byte[] generateInvoice(Booking booking) throws IOException {
-
-        UiConfig uiConfig = uiConfigRepository.findById(1L)
-            .orElseThrow(() -> new IllegalStateException("UiConfig not found"));
-
-        try (ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream()) {
-            PDDocument document = new PDDocument();
-            PDPage page = new PDPage();
-            document.addPage(page);
-
-            PDPageContentStream contentStream = new PDPageContentStream(document, page);
-
-            final float startX = 50;
-            final float startYinitial = 750;
-            float startY = startYinitial;
-
-            final float lineSpacing = 14.5f;
-            final float paragraphSpacing = 30f;
-            final float rightX = 300;
-
-            contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-
-            contentStream.beginText();
-            contentStream.newLineAtOffset(startX, startY);
-            contentStream.setFont(PDType1Font.HELVETICA_BOLD, 16);
-            contentStream.showText("Invoice Confirmation for Your Stay at " + uiConfig.getHotelName());
-            contentStream.endText();
-
-            startY -= paragraphSpacing;
-
-            contentStream.setFont(PDType1Font.HELVETICA, 12);
-            contentStream.beginText();
-            contentStream.newLineAtOffset(startX, startY);
-            contentStream.showText("Hotel Name: " + uiConfig.getHotelName());
-            contentStream.endText();
-
-            startY -= lineSpacing;
-
-            contentStream.setFont(PDType1Font.HELVETICA, 12);
-            contentStream.beginText();
-            contentStream.newLineAtOffset(startX, startY);
-            contentStream.showText("Hotel Address: " + uiConfig.getAddress());
-            contentStream.endText();
-
-            startY -= lineSpacing;
-
-            contentStream.beginText();
-            contentStream.newLineAtOffset(startX, startY);
-            contentStream.setFont(PDType1Font.HELVETICA, 12);
-            contentStream.showText("Email: inncontrolhotel@gmail.com");
-            contentStream.endText();
-            startY -= lineSpacing;
-
-            contentStream.beginText();
-            contentStream.newLineAtOffset(startX, startY);
-            contentStream.setFont(PDType1Font.HELVETICA, 12);
-            contentStream.showText("Tax ID: " + taxId);
-            contentStream.endText();
-
-            startY -= paragraphSpacing;
-            startY -= paragraphSpacing;
-
-            contentStream.beginText();
-            contentStream.newLineAtOffset(rightX, startY);
-            contentStream.setFont(PDType1Font.HELVETICA, 12);
-            contentStream.showText("Bill to: " + booking.getGuest().getFirstName() + " " + booking.getGuest().getLastName());
-            contentStream.endText();
-            startY -= lineSpacing;
-
-            contentStream.beginText();
-            contentStream.newLineAtOffset(rightX, startY);
-            contentStream.setFont(PDType1Font.HELVETICA, 12);
-            contentStream.showText("Address: " + booking.getGuest().getAddress());
-            contentStream.endText();
-            startY -= lineSpacing;
-
-            contentStream.beginText();
-            contentStream.newLineAtOffset(rightX, startY);
-            contentStream.setFont(PDType1Font.HELVETICA, 12);
-            contentStream.showText("Booking Number: " + booking.getBookingNumber());
-            contentStream.endText();
-
-            startY -= paragraphSpacing;
-            startY -= paragraphSpacing;
-
-            contentStream.beginText();
-            contentStream.newLineAtOffset(startX, startY);
-            contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-            contentStream.showText("Booking Details:");
-            contentStream.endText();
-            startY -= lineSpacing;
-
-            contentStream.beginText();
-            contentStream.newLineAtOffset(startX, startY);
-            contentStream.setFont(PDType1Font.HELVETICA, 12);
-            contentStream.showText("Booking Period: " + booking.getStartDate() + " to " + booking.getEndDate());
-            contentStream.endText();
-            startY -= lineSpacing;
-
-            contentStream.beginText();
-            contentStream.newLineAtOffset(startX, startY);
-            contentStream.setFont(PDType1Font.HELVETICA, 12);
-            contentStream.showText("Booking Date: " + booking.getBookingDate());
-            contentStream.endText();
-            startY -= lineSpacing;
-
-            contentStream.beginText();
-            contentStream.newLineAtOffset(startX, startY);
-            contentStream.setFont(PDType1Font.HELVETICA, 12);
-            contentStream.showText("Room Name: " + booking.getRoom().getName());
-            contentStream.endText();
-            startY -= lineSpacing;
-
-            contentStream.beginText();
-            contentStream.newLineAtOffset(startX, startY);
-            contentStream.setFont(PDType1Font.HELVETICA, 12);
-            contentStream.showText("Number of Guests: " + booking.getRoom().getCapacity());
-            contentStream.endText();
-            startY -= lineSpacing;
-
-            contentStream.beginText();
-            contentStream.newLineAtOffset(startX, startY);
-            contentStream.setFont(PDType1Font.HELVETICA, 12);
-            contentStream.showText("Total Nights: " + booking.getNumberOfNights());
-            contentStream.endText();
-            startY -= lineSpacing;
-
-            startY -= paragraphSpacing;
-
-            contentStream.beginText();
-            contentStream.newLineAtOffset(startX, startY);
-            contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-            contentStream.showText("Invoice Details");
-            contentStream.endText();
-            startY -= lineSpacing;
-
-            contentStream.beginText();
-            contentStream.newLineAtOffset(startX, startY);
-            contentStream.setFont(PDType1Font.HELVETICA, 12);
-            contentStream.showText("Invoice Number: " + booking.getInvoiceNumber());
-            contentStream.endText();
-            startY -= lineSpacing;
-
-            contentStream.beginText();
-            contentStream.newLineAtOffset(startX, startY);
-            contentStream.setFont(PDType1Font.HELVETICA, 12);
-            contentStream.showText("Price per Night (€): " + String.format("%.2f", booking.getRoom().getPrice()));
-            contentStream.endText();
-            startY -= lineSpacing;
-
-            startY -= paragraphSpacing;
-
-            double pricePerNight = booking.getRoom().getPrice();
-            int numberOfNights = booking.calculateNumberOfNights();
-            double netAmount = pricePerNight * numberOfNights;
-            double taxAmount = booking.getTaxAmount();
-            final double totalAmount = netAmount + taxAmount;
-
-            contentStream.beginText();
-            contentStream.newLineAtOffset(startX, startY);
-            contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-            contentStream.showText("Subtotal (Net):");
-            contentStream.endText();
-
-            contentStream.beginText();
-            contentStream.newLineAtOffset(startX + 200, startY);
-            contentStream.setFont(PDType1Font.HELVETICA, 12);
-            contentStream.showText("€  " + String.format("%.2f", netAmount));
-            contentStream.endText();
-            startY -= lineSpacing;
-
-            contentStream.beginText();
-            contentStream.newLineAtOffset(startX, startY);
-            contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-            contentStream.showText("Tax (10%):");
-            contentStream.endText();
-
-            contentStream.beginText();
-            contentStream.newLineAtOffset(startX + 200, startY);
-            contentStream.setFont(PDType1Font.HELVETICA, 12);
-            contentStream.showText("€  " + String.format("%.2f", taxAmount));
-            contentStream.endText();
-            startY -= lineSpacing;
-
-            contentStream.setLineWidth(1f);
-            contentStream.moveTo(startX, startY);
-            contentStream.lineTo(startX + 300, startY);
-            contentStream.stroke();
-
-            startY -= 15f;
-
-            contentStream.beginText();
-            contentStream.newLineAtOffset(startX, startY);
-            contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-            contentStream.showText("Total (Gross):");
-            contentStream.endText();
-
-            contentStream.beginText();
-            contentStream.newLineAtOffset(startX + 200, startY);
-            contentStream.setFont(PDType1Font.HELVETICA, 12);
-            contentStream.showText("€  " + String.format("%.2f", totalAmount));
-            contentStream.endText();
-            startY -= paragraphSpacing;
-
-            contentStream.beginText();
-            contentStream.newLineAtOffset(startX, startY);
-            contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-            contentStream.showText("Note: For inquiries regarding this invoice, please contact us at inncontrolhotel@gmail.com.");
-            contentStream.endText();
-
-            contentStream.close();
-
-            document.save(byteArrayOutputStream);
-            return byteArrayOutputStream.toByteArray();
-        }
+        return templates().invoice().render(booking);
     }
 
-
     @Override
     public byte[] generateCancellation(Booking booking) throws IOException {
+        return templates().cancellation().render(booking);
+    }
 
-        UiConfig uiConfig = uiConfigRepository.findById(1L)
-            .orElseThrow(() -> new IllegalStateException("UiConfig not found"));
-
-        try (ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
-             PDDocument document = new PDDocument()) {
-
-            PDPage page = new PDPage();
-            document.addPage(page);
-
-            try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
-                final float startX = 50;
-                final float startYinitial = 750;
-                float startY = startYinitial;
-
-                final float lineSpacing = 14.5f;
-                final float paragraphSpacing = 30f;
-
-                contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-
-                contentStream.beginText();
-                contentStream.newLineAtOffset(startX, startY);
-                contentStream.setFont(PDType1Font.HELVETICA_BOLD, 16);
-                contentStream.showText("Cancellation Confirmation for Your Stay at " + uiConfig.getHotelName());
-                contentStream.endText();
-
-                startY -= paragraphSpacing;
-
-                contentStream.beginText();
-                contentStream.setFont(PDType1Font.HELVETICA, 12);
-                contentStream.newLineAtOffset(startX, startY);
-                contentStream.showText("Dear " + booking.getGuest().getLastName() + ",");
-                contentStream.endText();
-
-                startY -= lineSpacing;
-
-                contentStream.beginText();
-                contentStream.setFont(PDType1Font.HELVETICA, 12);
-                contentStream.newLineAtOffset(startX, startY);
-                contentStream.showText("We would like to confirm the cancellation of your booking with the following details:");
-                contentStream.endText();
-
-                startY -= paragraphSpacing;
-
-                contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-                contentStream.beginText();
-                contentStream.newLineAtOffset(startX, startY);
-                contentStream.showText("Hotel Details:");
-                contentStream.endText();
-
-                startY -= lineSpacing;
-
-                contentStream.setFont(PDType1Font.HELVETICA, 12);
-                contentStream.beginText();
-                contentStream.newLineAtOffset(startX, startY);
-                contentStream.showText("Hotel Name: " + uiConfig.getHotelName());
-                contentStream.endText();
-
-                startY -= lineSpacing;
-
-                contentStream.setFont(PDType1Font.HELVETICA, 12);
-                contentStream.beginText();
-                contentStream.newLineAtOffset(startX, startY);
-                contentStream.showText("Hotel Address: " + uiConfig.getAddress());
-                contentStream.endText();
-
-                startY -= lineSpacing;
-
-                contentStream.beginText();
-                contentStream.newLineAtOffset(startX, startY);
-                contentStream.setFont(PDType1Font.HELVETICA, 12);
-                contentStream.showText("Email: inncontrolhotel@gmail.com");
-                contentStream.endText();
-
-                startY -= paragraphSpacing;
-
-                contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-                contentStream.beginText();
-                contentStream.newLineAtOffset(startX, startY);
-                contentStream.showText("Guest Details:");
-                contentStream.endText();
-
-                startY -= lineSpacing;
-
-                contentStream.setFont(PDType1Font.HELVETICA, 12);
-                contentStream.beginText();
-                contentStream.newLineAtOffset(startX, startY);
-                contentStream.showText("Name: " + booking.getGuest().getFirstName() + " " + booking.getGuest().getLastName());
-                contentStream.endText();
-
-                startY -= lineSpacing;
-
-                contentStream.beginText();
-                contentStream.newLineAtOffset(startX, startY);
-                contentStream.setFont(PDType1Font.HELVETICA, 12);
-                contentStream.showText("Booking Number: " + booking.getBookingNumber());
-                contentStream.endText();
-
-                startY -= lineSpacing;
-
-                contentStream.beginText();
-                contentStream.newLineAtOffset(startX, startY);
-                contentStream.showText("Room Name: " + booking.getRoom().getName());
-                contentStream.endText();
-
-                startY -= paragraphSpacing;
-
-                contentStream.beginText();
-                contentStream.newLineAtOffset(startX, startY);
-                contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-                contentStream.showText("Cancellation Details:");
-                contentStream.endText();
-
-                startY -= lineSpacing;
-
-                contentStream.beginText();
-                contentStream.newLineAtOffset(startX, startY);
-                contentStream.setFont(PDType1Font.HELVETICA, 12);
-                contentStream.showText("Cancellation Date: " + booking.getCancellationDate());
-                contentStream.endText();
-                startY -= lineSpacing;
-
-                contentStream.beginText();
-                contentStream.newLineAtOffset(startX, startY);
-                contentStream.showText("Check-in Date: " + booking.getStartDate());
-                contentStream.endText();
-
-                startY -= lineSpacing;
-
-                contentStream.beginText();
-                contentStream.newLineAtOffset(startX, startY);
-                contentStream.showText("Check-out Date: " + booking.getEndDate());
-                contentStream.endText();
-
-                startY -= paragraphSpacing;
-
-                contentStream.beginText();
-                contentStream.newLineAtOffset(startX, startY);
-                contentStream.setFont(PDType1Font.HELVETICA, 12);
-                contentStream.showText("Please be informed that your booking has been successfully cancelled.");
-                contentStream.endText();
-
-                startY -= paragraphSpacing;
-
-                contentStream.beginText();
-                contentStream.newLineAtOffset(startX, startY);
-                contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-                contentStream.showText("Important Note:");
-                contentStream.endText();
-
-                startY -= lineSpacing;
-
-                contentStream.beginText();
-                contentStream.newLineAtOffset(startX, startY);
-                contentStream.setFont(PDType1Font.HELVETICA, 12);
-                contentStream.showText("If you have paid in advance, you will receive a refund of your payment shortly. ");
-                contentStream.endText();
-
-                startY -= paragraphSpacing;
-
-                contentStream.beginText();
-                contentStream.newLineAtOffset(startX, startY);
-                contentStream.setFont(PDType1Font.HELVETICA, 12);
-                contentStream.showText("Refund amount: " + booking.getTotalAmount() + "€");
-                contentStream.endText();
-
-                startY -= paragraphSpacing;
-
-                contentStream.beginText();
-                contentStream.newLineAtOffset(startX, startY);
-                contentStream.setFont(PDType1Font.HELVETICA, 12);
-                contentStream.showText("For any further inquiries or assistance, please do not hesitate to contact us at ");
-                contentStream.endText();
-
-                startY -= lineSpacing;
-
-                contentStream.beginText();
-                contentStream.newLineAtOffset(startX, startY);
-                contentStream.setFont(PDType1Font.HELVETICA, 12);
-                contentStream.showText("inncontrolhotel@gmail.com");
-                contentStream.endText();
-
-                startY -= paragraphSpacing;
-
-                contentStream.beginText();
-                contentStream.newLineAtOffset(startX, startY);
-                contentStream.setFont(PDType1Font.HELVETICA, 12);
-                contentStream.showText("Thank you for choosing " + uiConfig.getHotelName() + ". We hope to welcome you again in the future.");
-                contentStream.endText();
+    /**
+     * Drops the cached templates, so the next rendering compiles them with the current UI configuration.
+     */
+    public void invalidateTemplates() {
+        synchronized (templatesLock) {
+            templates = null;
+        }
+    }
 
-                startY -= paragraphSpacing;
+    /**
+     * Returns the cached templates, compiling them if necessary. Threads that need the templates while they are
+     * compiled wait for them, instead of loading the configuration and compiling them once more.
+     */
+    private Templates templates() {
+        Templates current = templates;
+        if (current != null) {
+            return current;
+        }
+        synchronized (templatesLock) {
+            if (templates == null) {
+                UiConfig uiConfig = uiConfigRepository.findById(1L)
+                    .orElseThrow(() -> new IllegalStateException("UiConfig not found"));
+                templates = new Templates(confirmationTemplate(uiConfig), invoiceTemplate(uiConfig), cancellationTemplate(uiConfig));
+            }
+            return templates;
+        }
+    }
 
-                contentStream.beginText();
-                contentStream.newLineAtOffset(startX, startY);
-                contentStream.setFont(PDType1Font.HELVETICA, 12);
-                contentStream.showText("Best regards,");
-                contentStream.endText();
+    private PdfTemplate confirmationTemplate(UiConfig uiConfig) {
+        return PdfTemplate.builder(START_Y)
+            .font(Font.BOLD, 16).text(START_X, "Booking Confirmation for Your Stay at " + uiConfig.getHotelName())
+            .down(PARAGRAPH_SPACING)
+            .font(Font.REGULAR, 12).text(START_X, booking -> "Dear " + booking.getGuest().getLastName() + ",")
+            .down(LINE_SPACING)
+            .text(START_X, "Thank you for choosing the " + uiConfig.getHotelName() + ". Here are your booking details:")
+            .down(PARAGRAPH_SPACING)
+            .font(Font.BOLD, 12).text(START_X, "Hotel Details:")
+            .down(LINE_SPACING)
+            .font(Font.REGULAR, 12).text(START_X, "Hotel Name: " + uiConfig.getHotelName())
+            .down(LINE_SPACING)
+            .text(START_X, "Hotel Address: " + uiConfig.getAddress())
+            .down(PARAGRAPH_SPACING)
+            .font(Font.BOLD, 12).text(START_X, "Guest Details:")
+            .down(LINE_SPACING)
+            .font(Font.REGULAR, 12).text(START_X, booking -> "Name: " + booking.getGuest().getFirstName() + " " + booking.getGuest().getLastName())
+            .down(LINE_SPACING)
+            .text(START_X, booking -> "Phone: " + booking.getGuest().getPhoneNumber())
+            .down(LINE_SPACING)
+            .text(START_X, booking -> "Email: " + booking.getGuest().getEmail())
+            .down(LINE_SPACING)
+            .text(START_X, booking -> "Address: " + booking.getGuest().getAddress())
+            .down(PARAGRAPH_SPACING)
+            .font(Font.BOLD, 12).text(START_X, "Booking Details:")
+            .down(LINE_SPACING)
+            .font(Font.REGULAR, 12).text(START_X, booking -> "Booking Number: " + booking.getBookingNumber())
+            .down(LINE_SPACING)
+            .text(START_X, booking -> "Check-in: " + booking.getStartDate() + " (after 14:00)")
+            .down(LINE_SPACING)
+            .text(START_X, booking -> "Check-out: " + booking.getEndDate() + " (before 10:00)")
+            .down(PARAGRAPH_SPACING)
+            .font(Font.BOLD, 12).text(START_X, "Room Details:")
+            .down(LINE_SPACING)
+            .font(Font.REGULAR, 12).text(START_X, booking -> "Room Name: " + booking.getRoom().getName())
+            .down(LINE_SPACING)
+            .text(START_X, booking -> "Room Description: " + booking.getRoom().getDescription())
+            .down(LINE_SPACING)
+            .text(START_X, booking -> "Number of persons : " + booking.getRoom().getCapacity())
+            .down(PARAGRAPH_SPACING)
+            .font(Font.BOLD, 12).text(START_X, "Cancellation:")
+            .down(LINE_SPACING)
+            .font(Font.REGULAR, 12).text(START_X, "To cancel your booking, visit the \"My Bookings\" page in your account.")
+            .down(LINE_SPACING)
+            .text(START_X, "After cancellation, a refund will be processed.")
+            .down(PARAGRAPH_SPACING)
+            .font(Font.BOLD, 12).text(START_X, "Questions:")
+            .down(LINE_SPACING)
+            .font(Font.REGULAR, 12).text(START_X, "If you have any questions, contact us at inncontrolhotel@gmail.com.")
+            .down(LINE_SPACING)
+            .text(START_X, booking -> "Include your booking number (" + booking.getBookingNumber() + ") and room name.")
+            .down(PARAGRAPH_SPACING)
+            .font(Font.BOLD, 12).text(START_X, "We look forward to your stay!")
+            .build();
+    }
 
-                startY -= lineSpacing;
+    private PdfTemplate invoiceTemplate(UiConfig uiConfig) {
+        return PdfTemplate.builder(START_Y)
+            .font(Font.BOLD, 16).text(START_X, "Invoice Confirmation for Your Stay at " + uiConfig.getHotelName())
+            .down(PARAGRAPH_SPACING)
+            .font(Font.REGULAR, 12).text(START_X, "Hotel Name: " + uiConfig.getHotelName())
+            .down(LINE_SPACING)
+            .text(START_X, "Hotel Address: " + uiConfig.getAddress())
+            .down(LINE_SPACING)
+            .text(START_X, "Email: inncontrolhotel@gmail.com")
+            .down(LINE_SPACING)
+            .text(START_X, "Tax ID: " + taxId)
+            .down(2 * PARAGRAPH_SPACING)
+            .text(RIGHT_X, booking -> "Bill to: " + booking.getGuest().getFirstName() + " " + booking.getGuest().getLastName())
+            .down(LINE_SPACING)
+            .text(RIGHT_X, booking -> "Address: " + booking.getGuest().getAddress())
+            .down(LINE_SPACING)
+            .text(RIGHT_X, booking -> "Booking Number: " + booking.getBookingNumber())
+            .down(2 * PARAGRAPH_SPACING)
+            .font(Font.BOLD, 12).text(START_X, "Booking Details:")
+            .down(LINE_SPACING)
+            .font(Font.REGULAR, 12).text(START_X, booking -> "Booking Period: " + booking.getStartDate() + " to " + booking.getEndDate())
+            .down(LINE_SPACING)
+            .text(START_X, booking -> "Booking Date: " + booking.getBookingDate())
+            .down(LINE_SPACING)
+            .text(START_X, booking -> "Room Name: " + booking.getRoom().getName())
+            .down(LINE_SPACING)
+            .text(START_X, booking -> "Number of Guests: " + booking.getRoom().getCapacity())
+            .down(LINE_SPACING)
+            .text(START_X, booking -> "Total Nights: " + booking.getNumberOfNights())
+            .down(LINE_SPACING + PARAGRAPH_SPACING)
+            .font(Font.BOLD, 12).text(START_X, "Invoice Details")
+            .down(LINE_SPACING)
+            .font(Font.REGULAR, 12).text(START_X, booking -> "Invoice Number: " + booking.getInvoiceNumber())
+            .down(LINE_SPACING)
+            .text(START_X, booking -> "Price per Night (€): " + String.format("%.2f", booking.getRoom().getPrice()))
+            .down(LINE_SPACING + PARAGRAPH_SPACING)
+            .font(Font.BOLD, 12).text(START_X, "Subtotal (Net):")
+            .font(Font.REGULAR, 12).text(AMOUNT_X, booking -> "€  " + String.format("%.2f", netAmount(booking)))
+            .down(LINE_SPACING)
+            .font(Font.BOLD, 12).text(START_X, "Tax (10%):")
+            .font(Font.REGULAR, 12).text(AMOUNT_X, booking -> "€  " + String.format("%.2f", booking.getTaxAmount()))
+            .down(LINE_SPACING)
+            .rule(START_X, START_X + 300, 1f)
+            .down(15f)
+            .font(Font.BOLD, 12).text(START_X, "Total (Gross):")
+            .font(Font.REGULAR, 12).text(AMOUNT_X, booking -> "€  " + String.format("%.2f", netAmount(booking) + booking.getTaxAmount()))
+            .down(PARAGRAPH_SPACING)
+            .font(Font.BOLD, 12).text(START_X, "Note: For inquiries regarding this invoice, please contact us at inncontrolhotel@gmail.com.")
+            .build();
+    }
 
-                contentStream.beginText();
-                contentStream.newLineAtOffset(startX, startY);
-                contentStream.setFont(PDType1Font.HELVETICA, 12);
-                contentStream.showText(uiConfig.getHotelName());
-                contentStream.endText();
-            }
+    private PdfTemplate cancellationTemplate(UiConfig uiConfig) {
+        return PdfTemplate.builder(START_Y)
+            .font(Font.BOLD, 16).text(START_X, "Cancellation Confirmation for Your Stay at " + uiConfig.getHotelName())
+            .down(PARAGRAPH_SPACING)
+            .font(Font.REGULAR, 12).text(START_X, booking -> "Dear " + booking.getGuest().getLastName() + ",")
+            .down(LINE_SPACING)
+            .text(START_X, "We would like to confirm the cancellation of your booking with the following details:")
+            .down(PARAGRAPH_SPACING)
+            .font(Font.BOLD, 12).text(START_X, "Hotel Details:")
+            .down(LINE_SPACING)
+            .font(Font.REGULAR, 12).text(START_X, "Hotel Name: " + uiConfig.getHotelName())
+            .down(LINE_SPACING)
+            .text(START_X, "Hotel Address: " + uiConfig.getAddress())
+            .down(LINE_SPACING)
+            .text(START_X, "Email: inncontrolhotel@gmail.com")
+            .down(PARAGRAPH_SPACING)
+            .font(Font.BOLD, 12).text(START_X, "Guest Details:")
+            .down(LINE_SPACING)
+            .font(Font.REGULAR, 12).text(START_X, booking -> "Name: " + booking.getGuest().getFirstName() + " " + booking.getGuest().getLastName())
+            .down(LINE_SPACING)
+            .text(START_X, booking -> "Booking Number: " + booking.getBookingNumber())
+            .down(LINE_SPACING)
+            .text(START_X, booking -> "Room Name: " + booking.getRoom().getName())
+            .down(PARAGRAPH_SPACING)
+            .font(Font.BOLD, 12).text(START_X, "Cancellation Details:")
+            .down(LINE_SPACING)
+            .font(Font.REGULAR, 12).text(START_X, booking -> "Cancellation Date: " + booking.getCancellationDate())
+            .down(LINE_SPACING)
+            .text(START_X, booking -> "Check-in Date: " + booking.getStartDate())
+            .down(LINE_SPACING)
+            .text(START_X, booking -> "Check-out Date: " + booking.getEndDate())
+            .down(PARAGRAPH_SPACING)
+            .text(START_X, "Please be informed that your booking has been successfully cancelled.")
+            .down(PARAGRAPH_SPACING)
+            .font(Font.BOLD, 12).text(START_X, "Important Note:")
+            .down(LINE_SPACING)
+            .font(Font.REGULAR, 12).text(START_X, "If you have paid in advance, you will receive a refund of your payment shortly. ")
+            .down(PARAGRAPH_SPACING)
+            .text(START_X, booking -> "Refund amount: " + booking.getTotalAmount() + "€")
+            .down(PARAGRAPH_SPACING)
+            .text(START_X, "For any further inquiries or assistance, please do not hesitate to contact us at ")
+            .down(LINE_SPACING)
+            .text(START_X, "inncontrolhotel@gmail.com")
+            .down(PARAGRAPH_SPACING)
+            .text(START_X, "Thank you for choosing " + uiConfig.getHotelName() + ". We hope to welcome you again in the future.")
+            .down(PARAGRAPH_SPACING)
+            .text(START_X, "Best regards,")
+            .down(LINE_SPACING)
+            .text(START_X, String.valueOf(uiConfig.getHotelName()))
+            .build();
+    }
 
-            document.save(byteArrayOutputStream);
-            return byteArrayOutputStream.toByteArray();
-        }
+    private static double netAmount(Booking booking) {
+        return booking.getRoom().getPrice() * booking.calculateNumberOfNights();
     }
 }
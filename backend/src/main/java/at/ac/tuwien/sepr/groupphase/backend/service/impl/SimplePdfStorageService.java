@@ -7,19 +7,38 @@ import at.ac.tuwien.sepr.groupphase.backend.repository.PdfRepository;
 import at.ac.tuwien.sepr.groupphase.backend.service.PdfStorageService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Stores PDF documents as BLOBs in the {@code pdf_documents} table. This is the default storage, see
+ * {@link SegmentPdfStorageService} for the alternative.
+ */
 @Service
+@Qualifier(OnDemandPdfStorageService.BACKEND)
+@ConditionalOnProperty(name = "application.documents.storage", havingValue = "database", matchIfMissing = true)
 public class SimplePdfStorageService implements PdfStorageService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(SimpleBookingService.class);
 
     private final PdfRepository pdfRepository;
     private final PdfMapper pdfMapper;
+    private final JdbcTemplate jdbcTemplate;
 
-    public SimplePdfStorageService(PdfRepository pdfRepository, PdfMapper pdfMapper) {
+    public SimplePdfStorageService(PdfRepository pdfRepository, PdfMapper pdfMapper, JdbcTemplate jdbcTemplate) {
         this.pdfRepository = pdfRepository;
         this.pdfMapper = pdfMapper;
+        this.jdbcTemplate = jdbcTemplate;
     }
 
     @Override
@@ -38,6 +57,47 @@ public class SimplePdfStorageService implements PdfStorageService {
             .orElseThrow(() -> new NotFoundException("PDF not found for bookingId: " + bookingId + " and type: " + type));
     }
 
+    @Override
+    public boolean hasPdf(Long bookingId, String type) {
+        return pdfRepository.existsByBookingIdAndDocumentType(bookingId, type);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The content is read through JDBC as a binary stream, since the entity always loads the whole BLOB.</p>
+     */
+    @Override
+    public boolean transferPdf(Long bookingId, String type, OutputStream target) throws IOException {
+        try {
+            Boolean transferred = jdbcTemplate.query(
+                "SELECT content FROM pdf_documents WHERE booking_id = ? AND document_type = ? ORDER BY id DESC FETCH FIRST 1 ROWS ONLY",
+                resultSet -> {
+                    if (!resultSet.next()) {
+                        return false;
+                    }
+                    try (InputStream content = resultSet.getBinaryStream(1)) {
+                        content.transferTo(target);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    return true;
+                },
+                bookingId, type);
+            return Boolean.TRUE.equals(transferred);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    @Override
+    public Set<Long> findStoredBookingIds(Collection<Long> bookingIds, String type) {
+        if (bookingIds.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(pdfRepository.findBookingIdsWithDocument(bookingIds, type));
+    }
+
     public void deletePdf(Long bookingId, String fileName) {
         LOGGER.debug("Deleting PDF for booking ID {} with file name {}", bookingId, fileName);
 
@@ -47,5 +107,9 @@ public class SimplePdfStorageService implements PdfStorageService {
         pdfRepository.delete(pdf);
         LOGGER.info("Deleted PDF for booking ID {} with file name {}", bookingId, fileName);
     }
-}
 
+    @Override
+    public void deleteAllPdfs() {
+        pdfRepository.deleteAll();
+    }
+}
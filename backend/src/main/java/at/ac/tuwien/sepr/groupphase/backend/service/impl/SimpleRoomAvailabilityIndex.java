@@ -0,0 +1,306 @@
+package at.ac.tuwien.sepr.groupphase.backend.service.impl;
+
+import at.ac.tuwien.sepr.groupphase.backend.enums.BookingStatus;
+import at.ac.tuwien.sepr.groupphase.backend.repository.BookingRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.projection.BookingOccupancy;
+import at.ac.tuwien.sepr.groupphase.backend.service.RoomAvailabilityIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.lang.invoke.MethodHandles;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * {@link RoomAvailabilityIndex} that keeps one {@link BitSet} per room, with one bit per day of the horizon.
+ *
+ * <p>Besides the bitsets, the date range of every indexed booking is kept per room, so a single booking can be removed
+ * again by repainting the bitset of its room, and the horizon can be moved forward at the first access of a new day
+ * without going back to the database.</p>
+ *
+ * <p>The expiry of every indexed hold is kept as well. Expired holds are dropped at the first access after they expire,
+ * so they stop blocking their room before they are cancelled in the database.</p>
+ */
+@Component
+public class SimpleRoomAvailabilityIndex implements RoomAvailabilityIndex {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private final BookingRepository bookingRepository;
+    private final int horizonDays;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, Map<Long, BookedRange>> bookingsByRoom = new HashMap<>();
+    private final Map<Long, Long> roomByBooking = new HashMap<>();
+    private final Map<Long, BitSet> occupiedDaysByRoom = new HashMap<>();
+    private final Map<Long, LocalDateTime> holdExpiryByBooking = new HashMap<>();
+
+    /**
+     * First day of the horizon, or {@code null} as long as the index has not been loaded.
+     */
+    private volatile LocalDate origin;
+
+    /**
+     * Earliest expiry of all indexed holds, or {@code null} if there are none.
+     */
+    private volatile LocalDateTime nextHoldExpiry;
+
+    public SimpleRoomAvailabilityIndex(BookingRepository bookingRepository,
+                                       @Value("${application.availability.horizon-days:400}") int horizonDays) {
+        this.bookingRepository = bookingRepository;
+        this.horizonDays = horizonDays;
+    }
+
+    /**
+     * Loads the index once the application (including the data generator) is up, so the first search does not pay for it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @Override
+    public boolean covers(LocalDate startDate, LocalDate endDate) {
+        ensureCurrent();
+        return isWithinHorizon(startDate, endDate);
+    }
+
+    @Override
+    public boolean isOccupied(Long roomId, LocalDate startDate, LocalDate endDate) {
+        ensureCurrent();
+        lock.readLock().lock();
+        try {
+            int from = checkedOffset(startDate, endDate);
+            int to = offset(endDate) + 1;
+            BitSet occupiedDays = occupiedDaysByRoom.get(roomId);
+            return occupiedDays != null && isSetWithin(occupiedDays, from, to);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Set<Long> findOccupiedRoomIds(LocalDate startDate, LocalDate endDate) {
+        ensureCurrent();
+        lock.readLock().lock();
+        try {
+            int from = checkedOffset(startDate, endDate);
+            int to = offset(endDate) + 1;
+            Set<Long> occupied = new HashSet<>();
+            for (Map.Entry<Long, BitSet> entry : occupiedDaysByRoom.entrySet()) {
+                if (isSetWithin(entry.getValue(), from, to)) {
+                    occupied.add(entry.getKey());
+                }
+            }
+            return occupied;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void put(Long bookingId, Long roomId, LocalDate startDate, LocalDate endDate, BookingStatus status, LocalDateTime holdExpiresAt) {
+        if (bookingId == null || roomId == null || startDate == null || endDate == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (origin == null) {
+                // not loaded yet, the initial load will pick the booking up from the database
+                return;
+            }
+            removeBooking(bookingId);
+            boolean holdExpired = holdExpiresAt != null && !holdExpiresAt.isAfter(LocalDateTime.now());
+            if (status != BookingStatus.CANCELLED && !holdExpired && !endDate.isBefore(origin)) {
+                bookingsByRoom.computeIfAbsent(roomId, id -> new HashMap<>()).put(bookingId, new BookedRange(startDate, endDate));
+                roomByBooking.put(bookingId, roomId);
+                paint(occupiedDaysByRoom.computeIfAbsent(roomId, id -> new BitSet(horizonDays)), startDate, endDate);
+                if (holdExpiresAt != null) {
+                    holdExpiryByBooking.put(bookingId, holdExpiresAt);
+                    if (nextHoldExpiry == null || holdExpiresAt.isBefore(nextHoldExpiry)) {
+                        nextHoldExpiry = holdExpiresAt;
+                    }
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long bookingId) {
+        if (bookingId == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            removeBooking(bookingId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            load(LocalDate.now());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Loads the index on first use, moves the horizon forward when the day has changed since the last access and drops
+     * holds that have expired since.
+     */
+    private void ensureCurrent() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate today = now.toLocalDate();
+        LocalDateTime holdExpiry = nextHoldExpiry;
+        if (today.equals(origin) && (holdExpiry == null || holdExpiry.isAfter(now))) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (origin == null) {
+                load(today);
+            } else if (!today.equals(origin)) {
+                roll(today);
+            }
+            releaseExpiredHolds(now);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void load(LocalDate today) {
+        LOGGER.debug("Loading room availability index starting {} for {} days", today, horizonDays);
+        bookingsByRoom.clear();
+        roomByBooking.clear();
+        holdExpiryByBooking.clear();
+        for (BookingOccupancy occupancy : bookingRepository.findOccupanciesEndingOnOrAfter(today)) {
+            bookingsByRoom.computeIfAbsent(occupancy.getRoomId(), id -> new HashMap<>())
+                .put(occupancy.getId(), new BookedRange(occupancy.getStartDate(), occupancy.getEndDate()));
+            roomByBooking.put(occupancy.getId(), occupancy.getRoomId());
+            if (occupancy.getHoldExpiresAt() != null) {
+                holdExpiryByBooking.put(occupancy.getId(), occupancy.getHoldExpiresAt());
+            }
+        }
+        origin = today;
+        repaintAll();
+        releaseExpiredHolds(LocalDateTime.now());
+        LOGGER.info("Room availability index loaded with {} bookings for {} rooms", roomByBooking.size(), bookingsByRoom.size());
+    }
+
+    private void roll(LocalDate today) {
+        LOGGER.debug("Moving room availability index horizon from {} to {}", origin, today);
+        bookingsByRoom.values().forEach(bookings -> bookings.entrySet().removeIf(entry -> {
+            boolean expired = entry.getValue().endDate().isBefore(today);
+            if (expired) {
+                roomByBooking.remove(entry.getKey());
+                holdExpiryByBooking.remove(entry.getKey());
+            }
+            return expired;
+        }));
+        bookingsByRoom.values().removeIf(Map::isEmpty);
+        origin = today;
+        repaintAll();
+    }
+
+    /**
+     * Removes all holds that have expired at the given point in time and remembers the earliest expiry of the others.
+     */
+    private void releaseExpiredHolds(LocalDateTime now) {
+        List<Long> expired = new ArrayList<>();
+        LocalDateTime next = null;
+        for (Map.Entry<Long, LocalDateTime> entry : holdExpiryByBooking.entrySet()) {
+            if (!entry.getValue().isAfter(now)) {
+                expired.add(entry.getKey());
+            } else if (next == null || entry.getValue().isBefore(next)) {
+                next = entry.getValue();
+            }
+        }
+        if (!expired.isEmpty()) {
+            LOGGER.debug("Releasing {} expired holds from the room availability index", expired.size());
+            expired.forEach(this::removeBooking);
+        }
+        nextHoldExpiry = next;
+    }
+
+    private void removeBooking(Long bookingId) {
+        holdExpiryByBooking.remove(bookingId);
+        Long roomId = roomByBooking.remove(bookingId);
+        if (roomId == null) {
+            return;
+        }
+        Map<Long, BookedRange> bookings = bookingsByRoom.get(roomId);
+        bookings.remove(bookingId);
+        if (bookings.isEmpty()) {
+            bookingsByRoom.remove(roomId);
+            occupiedDaysByRoom.remove(roomId);
+        } else {
+            occupiedDaysByRoom.put(roomId, paintRoom(bookings));
+        }
+    }
+
+    private void repaintAll() {
+        occupiedDaysByRoom.clear();
+        bookingsByRoom.forEach((roomId, bookings) -> occupiedDaysByRoom.put(roomId, paintRoom(bookings)));
+    }
+
+    private BitSet paintRoom(Map<Long, BookedRange> bookings) {
+        BitSet occupiedDays = new BitSet(horizonDays);
+        bookings.values().forEach(range -> paint(occupiedDays, range.startDate(), range.endDate()));
+        return occupiedDays;
+    }
+
+    private void paint(BitSet occupiedDays, LocalDate startDate, LocalDate endDate) {
+        int from = (int) Math.max(0, ChronoUnit.DAYS.between(origin, startDate));
+        int to = (int) Math.min(horizonDays, ChronoUnit.DAYS.between(origin, endDate) + 1);
+        if (from < to) {
+            occupiedDays.set(from, to);
+        }
+    }
+
+    private int checkedOffset(LocalDate startDate, LocalDate endDate) {
+        if (!isWithinHorizon(startDate, endDate)) {
+            throw new IllegalArgumentException("Date range " + startDate + " - " + endDate + " is outside of the availability index horizon");
+        }
+        return offset(startDate);
+    }
+
+    private boolean isWithinHorizon(LocalDate startDate, LocalDate endDate) {
+        LocalDate first = origin;
+        return startDate != null && endDate != null
+            && !startDate.isAfter(endDate)
+            && !startDate.isBefore(first)
+            && endDate.isBefore(first.plusDays(horizonDays));
+    }
+
+    private int offset(LocalDate date) {
+        return (int) ChronoUnit.DAYS.between(origin, date);
+    }
+
+    private static boolean isSetWithin(BitSet bits, int from, int to) {
+        int next = bits.nextSetBit(from);
+        return next >= 0 && next < to;
+    }
+
+    private record BookedRange(LocalDate startDate, LocalDate endDate) {
+    }
+}
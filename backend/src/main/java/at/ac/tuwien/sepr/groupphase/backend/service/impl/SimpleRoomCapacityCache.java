@@ -0,0 +1,67 @@
+package at.ac.tuwien.sepr.groupphase.backend.service.impl;
+
+import at.ac.tuwien.sepr.groupphase.backend.entity.listener.RoomCapacityChangeListener;
+import at.ac.tuwien.sepr.groupphase.backend.exception.NotFoundException;
+import at.ac.tuwien.sepr.groupphase.backend.repository.RoomRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.projection.RoomCapacity;
+import at.ac.tuwien.sepr.groupphase.backend.service.RoomCapacityCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.invoke.MethodHandles;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link RoomCapacityCache} backed by a {@link ConcurrentHashMap}, kept up to date by the {@link RoomCapacityChangeListener}.
+ *
+ * <p>Missing entries are loaded inside {@link ConcurrentHashMap#computeIfAbsent}, so an eviction of the same room waits
+ * for a load that is in progress and removes what it read, instead of the load putting back the outdated capacity
+ * afterwards. The cache holds at most {@code application.checkin.room-capacity-cache-size} rooms; once it is full, an
+ * arbitrary entry makes room for the new one.</p>
+ */
+@Component
+public class SimpleRoomCapacityCache implements RoomCapacityCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private final RoomRepository roomRepository;
+    private final int maxSize;
+    private final Map<Long, RoomCapacity> capacities = new ConcurrentHashMap<>();
+
+    public SimpleRoomCapacityCache(RoomRepository roomRepository,
+                                   @Value("${application.checkin.room-capacity-cache-size:1024}") int maxSize) {
+        this.roomRepository = roomRepository;
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public RoomCapacity get(Long roomId) throws NotFoundException {
+        RoomCapacity cached = capacities.get(roomId);
+        if (cached != null) {
+            return cached;
+        }
+        makeRoom();
+        return capacities.computeIfAbsent(roomId, id -> {
+            LOGGER.debug("Loading the capacity of room {}", id);
+            return roomRepository.findRoomCapacityById(id).orElseThrow(() ->
+                new NotFoundException("Room with id " + id + " not found"));
+        });
+    }
+
+    @Override
+    public void evict(Long roomId) {
+        capacities.remove(roomId);
+    }
+
+    private void makeRoom() {
+        Iterator<Long> roomIds = capacities.keySet().iterator();
+        while (capacities.size() >= maxSize && roomIds.hasNext()) {
+            roomIds.next();
+            roomIds.remove();
+        }
+    }
+}
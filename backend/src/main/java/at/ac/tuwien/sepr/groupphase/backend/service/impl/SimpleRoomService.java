@@ -1,6 +1,7 @@
 package at.ac.tuwien.sepr.groupphase.backend.service.impl;
 
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.DetailedRoomDto;
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.KeysetPageDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.RoomCreateDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.RoomListDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.RoomUpdateDto;
@@ -11,9 +12,11 @@ import at.ac.tuwien.sepr.groupphase.backend.endpoint.mapper.RoomMapper;
 import at.ac.tuwien.sepr.groupphase.backend.entity.Booking;
 import at.ac.tuwien.sepr.groupphase.backend.entity.CheckIn;
 import at.ac.tuwien.sepr.groupphase.backend.entity.CheckOut;
+import at.ac.tuwien.sepr.groupphase.backend.entity.ImageBlob;
 import at.ac.tuwien.sepr.groupphase.backend.entity.Lock;
 import at.ac.tuwien.sepr.groupphase.backend.entity.Room;
 import at.ac.tuwien.sepr.groupphase.backend.entity.RoomImage;
+import at.ac.tuwien.sepr.groupphase.backend.enums.ImageVariant;
 import at.ac.tuwien.sepr.groupphase.backend.exception.ConflictException;
 import at.ac.tuwien.sepr.groupphase.backend.exception.NotFoundException;
 import at.ac.tuwien.sepr.groupphase.backend.exception.ValidationException;
@@ -22,14 +25,19 @@ import at.ac.tuwien.sepr.groupphase.backend.repository.CheckInRepository;
 import at.ac.tuwien.sepr.groupphase.backend.repository.CheckOutRepository;
 import at.ac.tuwien.sepr.groupphase.backend.repository.LockRepository;
 import at.ac.tuwien.sepr.groupphase.backend.repository.RoomRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.projection.RoomSummary;
+import at.ac.tuwien.sepr.groupphase.backend.service.ImageService;
+import at.ac.tuwien.sepr.groupphase.backend.service.RoomAvailabilityIndex;
 import at.ac.tuwien.sepr.groupphase.backend.service.RoomService;
 import at.ac.tuwien.sepr.groupphase.backend.service.validator.RoomValidator;
+import at.ac.tuwien.sepr.groupphase.backend.utils.KeysetCursor;
 import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.http.HttpHeaders;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
@@ -43,6 +51,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class SimpleRoomService implements RoomService {
@@ -55,10 +64,13 @@ public class SimpleRoomService implements RoomService {
     private final CheckInRepository checkInRepository;
     private final CheckOutRepository checkOutRepository;
     private final LockRepository lockRepository;
+    private final RoomAvailabilityIndex roomAvailabilityIndex;
+    private final ImageService imageService;
 
     public SimpleRoomService(RoomRepository roomRepository, RoomMapper roomMapper, RoomValidator roomValidator,
                              BookingRepository bookingRepository, CheckInRepository checkInRepository,
-                             CheckOutRepository checkOutRepository, LockRepository lockRepository) {
+                             CheckOutRepository checkOutRepository, LockRepository lockRepository,
+                             RoomAvailabilityIndex roomAvailabilityIndex, ImageService imageService) {
         this.roomRepository = roomRepository;
         this.roomMapper = roomMapper;
         this.roomValidator = roomValidator;
@@ -66,6 +78,8 @@ public class SimpleRoomService implements RoomService {
         this.checkInRepository = checkInRepository;
         this.checkOutRepository = checkOutRepository;
         this.lockRepository = lockRepository;
+        this.roomAvailabilityIndex = roomAvailabilityIndex;
+        this.imageService = imageService;
     }
 
     @Transactional
@@ -75,7 +89,15 @@ public class SimpleRoomService implements RoomService {
         roomValidator.validateForCreate(roomDto, image, additionalImages);
 
         try {
-            Room room = roomMapper.roomCreateDtoToRoom(roomDto, image, additionalImages);
+            ImageBlob mainImage = (image != null && !image.isEmpty()) ? imageService.store(image.getBytes()) : null;
+            List<ImageBlob> storedAdditionalImages = null;
+            if (additionalImages != null) {
+                storedAdditionalImages = new ArrayList<>();
+                for (MultipartFile file : additionalImages) {
+                    storedAdditionalImages.add(imageService.store(file.getBytes()));
+                }
+            }
+            Room room = roomMapper.roomCreateDtoToRoom(roomDto, mainImage, storedAdditionalImages);
             DetailedRoomDto dto = roomMapper.roomToDetailedRoomDto(roomRepository.save(room), roomDto.smartLockId());
             if (roomDto.smartLockId() != null) {
                 Lock lock = Lock.LockBuilder.aLock().withSmartLockId(roomDto.smartLockId()).withRoom(room).build();
@@ -98,22 +120,19 @@ public class SimpleRoomService implements RoomService {
 
         roomValidator.validateForUpdate(roomUpdateDto, mainImage, additionalImages);
 
+        List<String> replacedImages = new ArrayList<>();
+        Optional.ofNullable(existingRoom.getMainImage()).map(ImageBlob::getHash).ifPresent(replacedImages::add);
+        existingRoom.getAdditionalImages().forEach(image -> replacedImages.add(image.getImage().getHash()));
+
         Optional.ofNullable(roomUpdateDto.name()).ifPresent(existingRoom::setName);
         Optional.ofNullable(roomUpdateDto.description()).ifPresent(existingRoom::setDescription);
         Optional.ofNullable(roomUpdateDto.price()).ifPresent(existingRoom::setPrice);
         Optional.ofNullable(roomUpdateDto.capacity()).ifPresent(existingRoom::setCapacity);
-        Optional.ofNullable(mainImage).ifPresent(image -> {
-            try {
-                existingRoom.setMainImage(image.getBytes());
-            } catch (IOException e) {
-                throw new RuntimeException("Failed to process main image bytes", e);
-            }
-        });
         if (mainImage == null) {
             existingRoom.setMainImage(null);
         } else {
             try {
-                existingRoom.setMainImage(mainImage.getBytes());
+                existingRoom.setMainImage(imageService.store(mainImage.getBytes()));
             } catch (IOException e) {
                 throw new RuntimeException("Failed to process main image bytes", e);
             }
@@ -127,7 +146,7 @@ public class SimpleRoomService implements RoomService {
                 if (!file.isEmpty()) {
                     try {
                         RoomImage image = new RoomImage();
-                        image.setData(file.getBytes());
+                        image.setImage(imageService.store(file.getBytes()));
                         image.setAltText(file.getOriginalFilename());
                         newImages.add(image);
                     } catch (IOException e) {
@@ -155,6 +174,7 @@ public class SimpleRoomService implements RoomService {
         }
 
         DetailedRoomDto roomDto = roomMapper.roomToDetailedRoomDto(roomRepository.save(existingRoom), smartLockId);
+        imageService.deleteUnreferenced(replacedImages);
         return roomDto;
     }
 
@@ -218,10 +238,36 @@ public class SimpleRoomService implements RoomService {
 
 
     @Override
-    public Page<RoomListDto> search(RoomSearchDto roomSearchDto, Pageable pageable) throws ValidationException {
+    public Page<RoomListDto> search(RoomSearchDto roomSearchDto, Pageable pageable, boolean inlineImages) throws ValidationException {
         LOGGER.debug("Search for rooms with criteria: {}", roomSearchDto);
         roomValidator.validateForSearch(roomSearchDto);
-        return roomMapper.roomToRoomListDto(roomRepository.findRoomsByCriteria(
+        if (roomAvailabilityIndex.covers(roomSearchDto.startDate(), roomSearchDto.endDate())) {
+            Set<Long> occupiedRoomIds = roomAvailabilityIndex.findOccupiedRoomIds(roomSearchDto.startDate(), roomSearchDto.endDate());
+            if (inlineImages) {
+                return roomMapper.roomToRoomListDto(roomRepository.findRoomsByCriteriaExcluding(
+                    occupiedRoomIds,
+                    roomSearchDto.maxPrice(),
+                    roomSearchDto.minPrice(),
+                    roomSearchDto.capacity(),
+                    pageable));
+            }
+            return roomMapper.roomSummaryToRoomListDto(roomRepository.findRoomSummariesByCriteriaExcluding(
+                occupiedRoomIds,
+                roomSearchDto.maxPrice(),
+                roomSearchDto.minPrice(),
+                roomSearchDto.capacity(),
+                pageable));
+        }
+        if (inlineImages) {
+            return roomMapper.roomToRoomListDto(roomRepository.findRoomsByCriteria(
+                roomSearchDto.startDate(),
+                roomSearchDto.endDate(),
+                roomSearchDto.maxPrice(),
+                roomSearchDto.minPrice(),
+                roomSearchDto.capacity(),
+                pageable));
+        }
+        return roomMapper.roomSummaryToRoomListDto(roomRepository.findRoomSummariesByCriteria(
             roomSearchDto.startDate(),
             roomSearchDto.endDate(),
             roomSearchDto.maxPrice(),
@@ -247,8 +293,10 @@ public class SimpleRoomService implements RoomService {
     }
 
     @Override
-    public Page<RoomListDto> findAll(Pageable pageable) {
-        Page<RoomListDto> returnValue = roomMapper.roomToRoomListDto(roomRepository.findAllByOrderByPriceAsc(pageable));
+    public Page<RoomListDto> findAll(Pageable pageable, boolean inlineImages) {
+        Page<RoomListDto> returnValue = inlineImages
+            ? roomMapper.roomToRoomListDto(roomRepository.findAllByOrderByPriceAsc(pageable))
+            : roomMapper.roomSummaryToRoomListDto(roomRepository.findAllRoomSummariesByOrderByPriceAsc(pageable));
 
         LOGGER.debug("list of rooms: {}", returnValue.stream()
             .map(room -> String.format("\nRoom(id=%d, name=%s, price=%.2f, capacity=%d, lastCleanedAt=%s, cleaningTimeFrom=%s, , cleaningTimeTo=%s)",
@@ -264,8 +312,25 @@ public class SimpleRoomService implements RoomService {
     }
 
     @Override
-    public Page<RoomListDto> findAllForClean(Pageable pageable) {
-        Page<RoomListDto> returnValue = roomMapper.roomToRoomListDto(roomRepository.findAllRoomsCleaning(pageable));
+    public KeysetPageDto<RoomListDto> findAllAfter(String cursor, int size) {
+        LOGGER.debug("Find rooms after cursor {}", cursor);
+        Limit limit = Limit.of(KeysetCursor.checkPageSize(size) + 1);
+        List<RoomSummary> rooms;
+        if (cursor == null || cursor.isBlank()) {
+            rooms = roomRepository.findFirstRoomSummariesByOrderByPriceAsc(limit);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor, 2);
+            rooms = roomRepository.findRoomSummariesByOrderByPriceAscAfter(after.getDouble(0), after.getLong(1), limit);
+        }
+        return KeysetPageDto.of(rooms, size, roomMapper::roomSummaryToRoomListDto,
+            room -> KeysetCursor.encode(room.getPrice(), room.getId()));
+    }
+
+    @Override
+    public Page<RoomListDto> findAllForClean(Pageable pageable, boolean inlineImages) {
+        Page<RoomListDto> returnValue = inlineImages
+            ? roomMapper.roomToRoomListDto(roomRepository.findAllRoomsCleaning(pageable))
+            : roomMapper.roomSummaryToRoomListDto(roomRepository.findAllRoomSummariesCleaning(pageable));
 
         LOGGER.debug("list of rooms: {}", returnValue.stream()
             .map(room -> String.format("\nRoom(id=%d, name=%s, price=%.2f, capacity=%d, lastCleanedAt=%s, cleaningTimeFrom=%s, , cleaningTimeTo=%s)",
@@ -281,16 +346,14 @@ public class SimpleRoomService implements RoomService {
     }
 
     @Override
-    public ResponseEntity<byte[]> getMainImage(Long id) {
-        Room room = roomRepository.findRoomById(id);
-        if (room == null) {
+    public ResponseEntity<byte[]> getMainImage(Long id, ImageVariant variant, String ifNoneMatch) {
+        if (!roomRepository.existsById(id)) {
             throw new NotFoundException("Room with id " + id + " not found");
         }
-        byte[] image = room.getMainImage();
-        HttpHeaders headers = new HttpHeaders();
-        headers.add(HttpHeaders.CONTENT_TYPE, "image/*");
-
-        return new ResponseEntity<>(image, headers, org.springframework.http.HttpStatus.OK);
+        String hash = roomRepository.findMainImageHashById(id)
+            .orElseThrow(() -> new NotFoundException("Room with id " + id + " has no main image"));
+        // the main image of a room can be replaced, so clients have to revalidate against the ETag
+        return imageService.getImage(hash, variant, ifNoneMatch, CacheControl.noCache());
     }
 
     @Override
@@ -332,10 +395,20 @@ public class SimpleRoomService implements RoomService {
     }
 
     @Override
-    public Page<RoomListDto> adminSearch(RoomAdminSearchDto roomAdminSearchDto, Pageable pageable) throws ValidationException {
+    public Page<RoomListDto> adminSearch(RoomAdminSearchDto roomAdminSearchDto, Pageable pageable, boolean inlineImages) throws ValidationException {
         LOGGER.debug("Search for rooms with admin criteria: {}", roomAdminSearchDto);
         roomValidator.validateForAdminSearch(roomAdminSearchDto);
-        return roomMapper.roomToRoomListDto(roomRepository.findRoomsByAdminCriteria(
+        if (inlineImages) {
+            return roomMapper.roomToRoomListDto(roomRepository.findRoomsByAdminCriteria(
+                roomAdminSearchDto.name(),
+                roomAdminSearchDto.minPrice(),
+                roomAdminSearchDto.maxPrice(),
+                roomAdminSearchDto.minCapacity(),
+                roomAdminSearchDto.maxCapacity(),
+                roomAdminSearchDto.description(),
+                pageable));
+        }
+        return roomMapper.roomSummaryToRoomListDto(roomRepository.findRoomSummariesByAdminCriteria(
             roomAdminSearchDto.name(),
             roomAdminSearchDto.minPrice(),
             roomAdminSearchDto.maxPrice(),
@@ -9,6 +9,7 @@ import at.ac.tuwien.sepr.groupphase.backend.entity.UiImage;
 import at.ac.tuwien.sepr.groupphase.backend.exception.NotFoundException;
 import at.ac.tuwien.sepr.groupphase.backend.exception.ValidationException;
 import at.ac.tuwien.sepr.groupphase.backend.repository.UiConfigRepository;
+import at.ac.tuwien.sepr.groupphase.backend.service.ImageService;
 import at.ac.tuwien.sepr.groupphase.backend.service.UiConfigService;
 import at.ac.tuwien.sepr.groupphase.backend.service.validator.UiConfigValidator;
 import jakarta.transaction.Transactional;
@@ -32,11 +33,14 @@ public class SimpleUiConfigService implements UiConfigService {
     private final UiConfigRepository uiConfigRepository;
     private final UiConfigMapper uiConfigMapper;
     private final UiConfigValidator uiConfigValidator;
+    private final ImageService imageService;
 
-    public SimpleUiConfigService(UiConfigRepository uiConfigRepository, UiConfigMapper uiConfigMapper, UiConfigValidator uiConfigValidator) {
+    public SimpleUiConfigService(UiConfigRepository uiConfigRepository, UiConfigMapper uiConfigMapper, UiConfigValidator uiConfigValidator,
+                                 ImageService imageService) {
         this.uiConfigRepository = uiConfigRepository;
         this.uiConfigMapper = uiConfigMapper;
         this.uiConfigValidator = uiConfigValidator;
+        this.imageService = imageService;
     }
 
     @Override
@@ -74,13 +78,15 @@ public class SimpleUiConfigService implements UiConfigService {
         Optional.ofNullable(uiConfigUpdateDto.halfBoard()).ifPresent(existingConfig::setHalfBoard);
         Optional.ofNullable(uiConfigUpdateDto.priceHalfBoard()).ifPresent(existingConfig::setPriceHalfBoard);
 
+        List<String> replacedImages = new ArrayList<>();
         if (images != null && !images.isEmpty()) {
+            existingConfig.getImages().forEach(image -> replacedImages.add(image.getImage().getHash()));
             List<UiImage> newUiImages = new ArrayList<>();
             for (MultipartFile file : images) {
                 if (!file.isEmpty()) {
                     try {
                         UiImage uiImage = new UiImage();
-                        uiImage.setData(file.getBytes());
+                        uiImage.setImage(imageService.store(file.getBytes()));
                         uiImage.setConfig(existingConfig);
                         uiImage.setAltText(file.getOriginalFilename());
                         uiImage.setCreatedAt(LocalDateTime.now());
@@ -93,7 +99,9 @@ public class SimpleUiConfigService implements UiConfigService {
                 }
             }
         }
-        return uiConfigMapper.uiConfigToDetailedUiConfigDto(uiConfigRepository.save(existingConfig));
+        DetailedUiConfigDto configDto = uiConfigMapper.uiConfigToDetailedUiConfigDto(uiConfigRepository.save(existingConfig));
+        imageService.deleteUnreferenced(replacedImages);
+        return configDto;
     }
 
     @Override
@@ -15,6 +15,7 @@ import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Objects;
 
 @Component
 @Slf4j
@@ -34,7 +35,7 @@ public class ActivityBookingValidator {
 
         ArrayList<String> errors = new ArrayList<>();
 
-        if (activitySlot.getActivity().getId() != activity.getId()) {
+        if (!Objects.equals(activitySlot.getActivity().getId(), activity.getId())) {
             throw new IllegalArgumentException("Activity slot does not belong to activity");
         }
 
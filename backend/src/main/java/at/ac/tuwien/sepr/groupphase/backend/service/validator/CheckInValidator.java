@@ -3,7 +3,6 @@ package at.ac.tuwien.sepr.groupphase.backend.service.validator;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.CheckInDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.CheckOutDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.DetailedBookingDto;
-import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.DetailedRoomDto;
 import at.ac.tuwien.sepr.groupphase.backend.entity.ApplicationUser;
 import at.ac.tuwien.sepr.groupphase.backend.entity.Booking;
 import at.ac.tuwien.sepr.groupphase.backend.entity.InviteToRoom;
@@ -11,6 +10,7 @@ import at.ac.tuwien.sepr.groupphase.backend.enums.Gender;
 import at.ac.tuwien.sepr.groupphase.backend.enums.Nationality;
 import at.ac.tuwien.sepr.groupphase.backend.enums.RoleType;
 import at.ac.tuwien.sepr.groupphase.backend.exception.ValidationException;
+import at.ac.tuwien.sepr.groupphase.backend.repository.projection.RoomCapacity;
 import org.apache.commons.lang3.EnumUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -37,13 +37,13 @@ public class CheckInValidator {
      * Ensures that all required fields are valid, including the passport.
      *
      * @param checkInDto            the {@link CheckInDto} to be validated.
-     * @param room                  a {@link DetailedRoomDto} to be validated against.
+     * @param room                  the {@link RoomCapacity} of the booked room to be validated against.
      * @param countCheckedIn        the number of guests already checked into the room.
      * @param booking               the booking of the check-in.
      * @param loggedIn              the logged in guest.
      * @throws ValidationException if the validation fails.
      */
-    public void validateForCheckIn(CheckInDto checkInDto, DetailedRoomDto room, int countCheckedIn, DetailedBookingDto booking, ApplicationUser loggedIn, boolean checkedOut, InviteToRoom invite) throws ValidationException {
+    public void validateForCheckIn(CheckInDto checkInDto, RoomCapacity room, int countCheckedIn, DetailedBookingDto booking, ApplicationUser loggedIn, boolean checkedOut, InviteToRoom invite) throws ValidationException {
         LOG.trace("validateForCheckIn({})", checkInDto);
         List<String> validationErrors = new ArrayList<>();
 
@@ -77,13 +77,13 @@ public class CheckInValidator {
      * Validates the {@link CheckInDto} and {@link MultipartFile} before adding a customer to a room.
      * Ensures that all required fields are valid, including the passport.
      *
-     * @param room           a {@link DetailedRoomDto} to be validated against.
+     * @param room           the {@link RoomCapacity} of the booked room to be validated against.
      * @param countCheckedIn the number of guests already checked into the room.
      * @param booking        the booking of the check-in.
      * @param loggedIn       the logged in guest.
      * @throws ValidationException if the validation fails.
      */
-    public void validateForAddToRoom(Long bookingId, DetailedRoomDto room, int countCheckedIn, DetailedBookingDto booking, ApplicationUser loggedIn) throws ValidationException {
+    public void validateForAddToRoom(Long bookingId, RoomCapacity room, int countCheckedIn, DetailedBookingDto booking, ApplicationUser loggedIn) throws ValidationException {
         LOG.trace("validateForAddToRoom({})", bookingId);
         List<String> validationErrors = new ArrayList<>();
 
@@ -110,6 +110,41 @@ public class CheckInValidator {
         }
     }
 
+    /**
+     * Validates a guest of a group check-in against the booking the guest checks into.
+     * Unlike {@link #validateForCheckIn}, the guest may also join the room when the owner of the booking is checked in,
+     * or is checked in together with the group.
+     *
+     * @param booking        the booking of the check-in.
+     * @param room           the {@link RoomCapacity} of the booked room to be validated against.
+     * @param countCheckedIn the number of guests already checked into the room, including the ones admitted from the group.
+     * @param checkedOut     whether a guest of the booking has checked out already.
+     * @param admitted       whether the guest owns the booking, is invited to the room, or joins the owner.
+     * @throws ValidationException if the validation fails.
+     */
+    public void validateForGroupCheckIn(Booking booking, RoomCapacity room, int countCheckedIn, boolean checkedOut, boolean admitted) throws ValidationException {
+        LOG.trace("validateForGroupCheckIn({})", booking.getId());
+        List<String> validationErrors = new ArrayList<>();
+
+        // Booking Checks
+        if (countCheckedIn + 1 > room.capacity()) {
+            validationErrors.add("Room doesn't have enough capacity.");
+        }
+        if (!admitted) {
+            validationErrors.add("Guest must own the booking, be invited to the room, or join the owner of the booking.");
+        }
+        if (!(LocalDate.now().isAfter(booking.getStartDate().minusDays(1L)) && LocalDate.now().isBefore(booking.getEndDate()))) {
+            validationErrors.add("Cannot check into a booking before the booked date.");
+        }
+        if (checkedOut) {
+            validationErrors.add("Cannot check into a booking multiple times.");
+        }
+
+        if (!validationErrors.isEmpty()) {
+            throw new ValidationException("Validation failed for one or more reasons.", validationErrors);
+        }
+    }
+
     /**
      * Validates the guest information before saving it into the database.
      * Ensures that all required fields are valid, including the passport.
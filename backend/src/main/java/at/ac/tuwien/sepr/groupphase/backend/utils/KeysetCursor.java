@@ -0,0 +1,105 @@
+package at.ac.tuwien.sepr.groupphase.backend.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.stream.Collectors;
+
+/**
+ * Continuation token for keyset pagination.
+ *
+ * <p>A cursor holds the sort key of the last row of a page, so the next page can be read with a range condition on an
+ * index instead of skipping all previous rows with {@code OFFSET}. Clients treat the token as opaque.</p>
+ */
+public final class KeysetCursor {
+
+    /**
+     * Largest page size, matching {@code spring.data.web.pageable.max-page-size} of the offset based listings.
+     */
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final String SEPARATOR = "|";
+
+    private final String token;
+    private final String[] keys;
+
+    private KeysetCursor(String token, String[] keys) {
+        this.token = token;
+        this.keys = keys;
+    }
+
+    /**
+     * Builds the token for the given sort key.
+     *
+     * @param keys the values of the sort key, in the order of the {@code ORDER BY} clause
+     * @return the opaque token
+     */
+    public static String encode(Object... keys) {
+        String joined = Arrays.stream(keys).map(String::valueOf).collect(Collectors.joining(SEPARATOR));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(joined.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reads a token built by {@link #encode(Object...)}.
+     *
+     * @param token    the token sent by the client
+     * @param keyCount the number of values the sort key of the listing consists of
+     * @return the decoded cursor
+     * @throws IllegalArgumentException if the token is malformed or belongs to another listing
+     */
+    public static KeysetCursor decode(String token, int keyCount) {
+        try {
+            String[] keys = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|", -1);
+            if (keys.length == keyCount) {
+                return new KeysetCursor(token, keys);
+            }
+        } catch (IllegalArgumentException e) {
+            // reported below
+        }
+        throw invalid(token);
+    }
+
+    /**
+     * Checks the page size requested together with a cursor.
+     *
+     * @param size the requested number of rows
+     * @return the page size
+     * @throws IllegalArgumentException if the size is not between 1 and {@link #MAX_PAGE_SIZE}
+     */
+    public static int checkPageSize(int size) {
+        if (size <= 0 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Size must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+        return size;
+    }
+
+    public long getLong(int index) {
+        try {
+            return Long.parseLong(keys[index]);
+        } catch (NumberFormatException e) {
+            throw invalid(token);
+        }
+    }
+
+    public double getDouble(int index) {
+        try {
+            return Double.parseDouble(keys[index]);
+        } catch (NumberFormatException e) {
+            throw invalid(token);
+        }
+    }
+
+    public LocalDate getDate(int index) {
+        try {
+            return LocalDate.parse(keys[index]);
+        } catch (DateTimeParseException e) {
+            throw invalid(token);
+        }
+    }
+
+    private static IllegalArgumentException invalid(String token) {
+        return new IllegalArgumentException("Invalid cursor '" + token + "'");
+    }
+}
@@ -0,0 +1,259 @@
+package at.ac.tuwien.sepr.groupphase.backend.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.invoke.MethodHandles;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A minimal SMTP server on the loopback interface that accepts every mail and keeps the most recent ones in memory.
+ *
+ * <p>It stands in for the real mail server in tests and load runs, so mails can be sent and inspected without leaving
+ * the machine. It speaks just enough SMTP for JavaMail: no authentication, no TLS and no relaying. Recipients can be
+ * rejected on purpose to exercise retries.</p>
+ */
+public class LocalSmtpServer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private final int requestedPort;
+    private final int retainedMails;
+    private final Deque<ReceivedMail> receivedMails = new ConcurrentLinkedDeque<>();
+    private final Set<String> rejectedRecipients = ConcurrentHashMap.newKeySet();
+    private final AtomicLong receivedCount = new AtomicLong();
+    private final AtomicLong connectionCount = new AtomicLong();
+    private volatile ServerSocket serverSocket;
+
+    /**
+     * A mail received by the server.
+     *
+     * @param sender     the envelope sender
+     * @param recipients the accepted envelope recipients
+     * @param content    the raw message, headers and body
+     */
+    public record ReceivedMail(String sender, List<String> recipients, String content) {
+    }
+
+    /**
+     * Creates a server that is not started yet.
+     *
+     * @param port          the port to listen on, or 0 for any free port
+     * @param retainedMails the number of most recent mails kept in memory
+     */
+    public LocalSmtpServer(int port, int retainedMails) {
+        this.requestedPort = port;
+        this.retainedMails = retainedMails;
+    }
+
+    /**
+     * Starts listening for connections.
+     *
+     * @throws IOException if the port can not be bound
+     */
+    public synchronized void start() throws IOException {
+        if (serverSocket != null) {
+            return;
+        }
+        serverSocket = new ServerSocket(requestedPort, 50, InetAddress.getLoopbackAddress());
+        Thread.ofPlatform().daemon().name("local-smtp-" + serverSocket.getLocalPort()).start(this::accept);
+        LOGGER.info("Local SMTP server listening on port {}", serverSocket.getLocalPort());
+    }
+
+    /**
+     * Stops listening for connections. Open sessions end with their connection.
+     *
+     * @throws IOException if the socket can not be closed
+     */
+    public synchronized void stop() throws IOException {
+        if (serverSocket != null) {
+            serverSocket.close();
+            serverSocket = null;
+        }
+    }
+
+    /**
+     * Returns the port the server listens on.
+     *
+     * @return the bound port
+     * @throws IllegalStateException if the server has not been started
+     */
+    public int getPort() {
+        ServerSocket socket = serverSocket;
+        if (socket == null) {
+            throw new IllegalStateException("Local SMTP server is not started");
+        }
+        return socket.getLocalPort();
+    }
+
+    /**
+     * Returns the most recently received mails, oldest first.
+     *
+     * @return a copy of the retained mails
+     */
+    public List<ReceivedMail> getReceivedMails() {
+        return new ArrayList<>(receivedMails);
+    }
+
+    /**
+     * Returns the number of mails received since the server was created, including the ones no longer retained.
+     *
+     * @return the number of received mails
+     */
+    public long getReceivedCount() {
+        return receivedCount.get();
+    }
+
+    /**
+     * Returns the number of connections accepted since the server was created.
+     *
+     * @return the number of connections
+     */
+    public long getConnectionCount() {
+        return connectionCount.get();
+    }
+
+    /**
+     * Rejects all further mails to the given recipient with a permanent error, until {@link #acceptRecipient} is called.
+     *
+     * @param recipient the address to reject
+     */
+    public void rejectRecipient(String recipient) {
+        rejectedRecipients.add(recipient.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Accepts mails to a previously rejected recipient again.
+     *
+     * @param recipient the address to accept
+     */
+    public void acceptRecipient(String recipient) {
+        rejectedRecipients.remove(recipient.toLowerCase(Locale.ROOT));
+    }
+
+    private void accept() {
+        ServerSocket socket = serverSocket;
+        while (socket != null && !socket.isClosed()) {
+            try {
+                Socket connection = socket.accept();
+                connectionCount.incrementAndGet();
+                Thread.ofVirtual().name("local-smtp-session").start(() -> serve(connection));
+            } catch (IOException e) {
+                if (!socket.isClosed()) {
+                    LOGGER.warn("Local SMTP server could not accept a connection", e);
+                }
+            }
+        }
+    }
+
+    private void serve(Socket connection) {
+        try (connection;
+             BufferedReader in = new BufferedReader(new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8));
+             Writer out = new BufferedWriter(new OutputStreamWriter(connection.getOutputStream(), StandardCharsets.UTF_8))) {
+            reply(out, "220 localhost ESMTP local stand-in");
+            String sender = null;
+            List<String> recipients = new ArrayList<>();
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.length() < 4 ? line : line.substring(0, 4);
+                switch (command.toUpperCase(Locale.ROOT)) {
+                    case "EHLO", "HELO" -> reply(out, "250 localhost");
+                    case "MAIL" -> {
+                        sender = address(line);
+                        recipients = new ArrayList<>();
+                        reply(out, "250 OK");
+                    }
+                    case "RCPT" -> {
+                        String recipient = address(line);
+                        if (rejectedRecipients.contains(recipient.toLowerCase(Locale.ROOT))) {
+                            reply(out, "550 Mailbox unavailable");
+                        } else {
+                            recipients.add(recipient);
+                            reply(out, "250 OK");
+                        }
+                    }
+                    case "DATA" -> {
+                        if (sender == null || recipients.isEmpty()) {
+                            reply(out, "503 Bad sequence of commands");
+                        } else {
+                            reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                            store(new ReceivedMail(sender, List.copyOf(recipients), readData(in)));
+                            sender = null;
+                            recipients = new ArrayList<>();
+                            reply(out, "250 OK");
+                        }
+                    }
+                    case "RSET" -> {
+                        sender = null;
+                        recipients = new ArrayList<>();
+                        reply(out, "250 OK");
+                    }
+                    case "NOOP" -> reply(out, "250 OK");
+                    case "QUIT" -> {
+                        reply(out, "221 Bye");
+                        return;
+                    }
+                    default -> reply(out, "502 Command not implemented");
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.debug("Local SMTP session ended", e);
+        }
+    }
+
+    private void store(ReceivedMail mail) {
+        receivedMails.addLast(mail);
+        while (receivedMails.size() > retainedMails) {
+            receivedMails.pollFirst();
+        }
+        receivedCount.incrementAndGet();
+    }
+
+    /**
+     * Reads the message up to the terminating dot line and removes the dot stuffing.
+     */
+    private static String readData(BufferedReader in) throws IOException {
+        StringBuilder content = new StringBuilder();
+        String line;
+        while ((line = in.readLine()) != null && !".".equals(line)) {
+            content.append(line.startsWith(".") ? line.substring(1) : line).append("\r\n");
+        }
+        return content.toString();
+    }
+
+    /**
+     * Extracts the address of a {@code MAIL FROM:<...>} or {@code RCPT TO:<...>} command.
+     */
+    private static String address(String line) {
+        int start = line.indexOf('<');
+        int end = line.indexOf('>', start + 1);
+        if (start >= 0 && end > start) {
+            return line.substring(start + 1, end);
+        }
+        int colon = line.indexOf(':');
+        return colon >= 0 ? line.substring(colon + 1).trim() : "";
+    }
+
+    private static void reply(Writer out, String response) throws IOException {
+        out.write(response);
+        out.write("\r\n");
+        out.flush();
+    }
+}
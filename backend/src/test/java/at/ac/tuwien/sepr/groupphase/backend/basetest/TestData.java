@@ -93,7 +93,7 @@ public interface TestData {
         {
             add(new UiImage() {{
                 setAltText(TEST_UI_IMAGE_ALT_TEXT);
-                setData(TEST_UI_IMAGE_DATA);
+                setImage(ImageBlob.of(TEST_UI_IMAGE_DATA));
                 setCreatedAt(LocalDateTime.now());
             }});
         }
@@ -102,7 +102,7 @@ public interface TestData {
     Long TEST_BOOKING_ID = 1L;
     Room TEST_ROOM = new Room(TEST_ROOM_ID, TEST_ROOM_NAME, TEST_ROOM_DESCRIPTION, TEST_ROOM_PRICE,
         TEST_ROOM_CAPACITY, TEST_ROOM_HALF_BOARD, TEST_ROOM_ADDITIONAL_IMAGES_AS_ROOMIMAGE,
-        TEST_ROOM_LAST_CLEANED_AT, TEST_ROOM_CREATED_AT, null, null, TEST_ROOM_MAIN_IMAGE);
+        TEST_ROOM_LAST_CLEANED_AT, TEST_ROOM_CREATED_AT, null, null, ImageBlob.of(TEST_ROOM_MAIN_IMAGE));
     Booking TEST_BOOKING = new Booking(TEST_ROOM, TEST_USER, LocalDate.of(2024, 12, 1), LocalDate.of(2024, 12, 5), true, BookingStatus.PENDING);
     LocalDate TEST_BOOKING_START_DATE = LocalDate.of(2024, 12, 1);
     LocalDate TEST_BOOKING_END_DATE = LocalDate.of(2024, 12, 5);
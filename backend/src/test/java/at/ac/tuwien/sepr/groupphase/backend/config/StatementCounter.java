@@ -0,0 +1,32 @@
+package at.ac.tuwien.sepr.groupphase.backend.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread, so tests can assert how many statements a
+ * request issues. Background jobs run on other threads and are not counted. Registered in {@code application-test.yml}.
+ */
+public class StatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<Integer> COUNT = ThreadLocal.withInitial(() -> 0);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.set(COUNT.get() + 1);
+        return sql;
+    }
+
+    /**
+     * Resets the number of statements prepared on the current thread.
+     */
+    public static void reset() {
+        COUNT.set(0);
+    }
+
+    /**
+     * Returns the number of statements prepared on the current thread since the last reset.
+     */
+    public static int count() {
+        return COUNT.get();
+    }
+}
@@ -0,0 +1,183 @@
+package at.ac.tuwien.sepr.groupphase.backend.integrationtest;
+
+import at.ac.tuwien.sepr.groupphase.backend.basetest.TestData;
+import at.ac.tuwien.sepr.groupphase.backend.config.TestSecurityConfig;
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.ActivityBookingCreateDto;
+import at.ac.tuwien.sepr.groupphase.backend.entity.Activity;
+import at.ac.tuwien.sepr.groupphase.backend.entity.ActivityBooking;
+import at.ac.tuwien.sepr.groupphase.backend.entity.ActivitySlot;
+import at.ac.tuwien.sepr.groupphase.backend.entity.ActivityTimeslotInfo;
+import at.ac.tuwien.sepr.groupphase.backend.entity.ApplicationUser;
+import at.ac.tuwien.sepr.groupphase.backend.exception.ValidationException;
+import at.ac.tuwien.sepr.groupphase.backend.repository.ActivityBookingRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.ActivityRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.ActivitySlotRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.ApplicationUserRepository;
+import at.ac.tuwien.sepr.groupphase.backend.service.ActivityBookingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@Import(TestSecurityConfig.class)
+public class ActivityBookingConcurrencyTest implements TestData {
+
+    private static final int CAPACITY = 20;
+    private static final int SLOTS = 8;
+    private static final int THREADS = 32;
+    private static final int ATTEMPTS = 200;
+    private static final LocalTime START_TIME = LocalTime.of(12, 0);
+    private static final String GUEST_EMAIL = "concurrent.activity.guest@example.com";
+
+    @Autowired
+    private ActivityBookingService activityBookingService;
+
+    @Autowired
+    private ActivityBookingRepository activityBookingRepository;
+
+    @Autowired
+    private ActivitySlotRepository activitySlotRepository;
+
+    @Autowired
+    private ActivityRepository activityRepository;
+
+    @Autowired
+    private ApplicationUserRepository applicationUserRepository;
+
+    private Activity activity;
+
+    @BeforeEach
+    public void setup() {
+        activityBookingRepository.deleteAll();
+        activitySlotRepository.deleteAll();
+        activityRepository.deleteAll();
+
+        if (applicationUserRepository.findByEmail(GUEST_EMAIL).isEmpty()) {
+            ApplicationUser guest = new ApplicationUser();
+            guest.setEmail(GUEST_EMAIL);
+            guest.setPassword("password");
+            applicationUserRepository.save(guest);
+        }
+
+        List<ActivityTimeslotInfo> timeslotInfos = new ArrayList<>();
+        for (int i = 0; i < SLOTS; i++) {
+            ActivityTimeslotInfo timeslotInfo = new ActivityTimeslotInfo();
+            timeslotInfo.setSpecificDate(slotDate(i));
+            timeslotInfo.setStartTime(START_TIME);
+            timeslotInfo.setEndTime(START_TIME.plusHours(1));
+            timeslotInfos.add(timeslotInfo);
+        }
+        activity = activityRepository.save(Activity.ActivityBuilder.aActivity()
+            .withName(TEST_ACTIVITY_NAME)
+            .withDescription(TEST_ACTIVITY_DESCRIPTION)
+            .withPrice(TEST_ACTIVITY_PRICE)
+            .withCapacity(CAPACITY)
+            .withTimeslotInfos(timeslotInfos)
+            .withCreatedAt(LocalDateTime.now())
+            .withCategories("")
+            .build());
+    }
+
+    /**
+     * Test case to verify that many concurrent bookings of one slot, starting before the slot is stored, fill it up to
+     * its capacity and never beyond.
+     */
+    @Test
+    public void givenConcurrentBookingsOfOneSlot_whenCreateBooking_thenSlotIsNeverOverbooked() throws Exception {
+        AtomicInteger admitted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        List<ActivityBookingCreateDto> bookings = new ArrayList<>();
+        for (int i = 0; i < ATTEMPTS; i++) {
+            bookings.add(booking(0, 1));
+        }
+
+        runConcurrently(bookings, admitted, rejected, failures);
+
+        assertTrue(failures.isEmpty(), () -> "unexpected failures: " + failures);
+        assertEquals(CAPACITY, admitted.get());
+        assertEquals(ATTEMPTS - CAPACITY, rejected.get());
+        List<ActivitySlot> slots = activitySlotRepository.findAll();
+        assertEquals(1, slots.size());
+        assertEquals(CAPACITY, slots.get(0).getOccupied());
+        assertEquals(CAPACITY, activityBookingRepository.findAll().stream().mapToInt(ActivityBooking::getParticipants).sum());
+    }
+
+    /**
+     * Test case to verify that concurrent bookings spread over different slots, which all fit, are all admitted.
+     */
+    @Test
+    public void givenConcurrentBookingsOfDifferentSlots_whenCreateBooking_thenAllFittingBookingsAreAdmitted() throws Exception {
+        AtomicInteger admitted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        List<ActivityBookingCreateDto> bookings = new ArrayList<>();
+        for (int i = 0; i < SLOTS * CAPACITY / 2; i++) {
+            bookings.add(booking(i % SLOTS, 2));
+        }
+
+        runConcurrently(bookings, admitted, rejected, failures);
+
+        assertTrue(failures.isEmpty(), () -> "unexpected failures: " + failures);
+        assertEquals(0, rejected.get());
+        assertEquals(bookings.size(), admitted.get());
+        List<ActivitySlot> slots = activitySlotRepository.findAll();
+        assertEquals(SLOTS, slots.size());
+        slots.forEach(slot -> assertEquals(CAPACITY, slot.getOccupied()));
+    }
+
+    private void runConcurrently(List<ActivityBookingCreateDto> bookings, AtomicInteger admitted, AtomicInteger rejected,
+                                 ConcurrentLinkedQueue<Throwable> failures) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        for (ActivityBookingCreateDto booking : bookings) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    activityBookingService.createBooking(booking, GUEST_EMAIL);
+                    admitted.incrementAndGet();
+                } catch (ValidationException e) {
+                    // the slot had no places left
+                    rejected.incrementAndGet();
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.MINUTES), "booking requests did not finish in time");
+    }
+
+    private ActivityBookingCreateDto booking(int slot, int participants) {
+        return new ActivityBookingCreateDto(activity.getId(), null, slotDate(slot), START_TIME, LocalDate.now(), participants, GUEST_EMAIL);
+    }
+
+    private static LocalDate slotDate(int slot) {
+        return LocalDate.now().plusDays(1 + slot);
+    }
+}
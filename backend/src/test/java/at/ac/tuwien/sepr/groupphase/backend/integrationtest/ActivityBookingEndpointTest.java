@@ -117,6 +117,8 @@ public class ActivityBookingEndpointTest {
         ActivityBookingCreateDto bookingCreateDto = new ActivityBookingCreateDto(
             testActivity.getId(),
             testActivity.getActivityTimeslots().get(0).getId(),
+            null,
+            null,
             LocalDate.now(),
             3,
             "testuser@example.com"
@@ -167,6 +169,8 @@ public class ActivityBookingEndpointTest {
         ActivityBookingCreateDto bookingCreateDto = new ActivityBookingCreateDto(
             -1L,
             testSlot.getId(),
+            null,
+            null,
             LocalDate.now(),
             3,
             testUser.getEmail()
@@ -9,9 +9,13 @@ import at.ac.tuwien.sepr.groupphase.backend.endpoint.mapper.RoomMapper;
 import at.ac.tuwien.sepr.groupphase.backend.entity.Activity;
 import at.ac.tuwien.sepr.groupphase.backend.entity.ActivitySlot;
 import at.ac.tuwien.sepr.groupphase.backend.entity.ActivityTimeslotInfo;
+import at.ac.tuwien.sepr.groupphase.backend.repository.ActivityBookingRepository;
 import at.ac.tuwien.sepr.groupphase.backend.repository.ActivityRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.ActivitySlotRepository;
 import at.ac.tuwien.sepr.groupphase.backend.security.JwtTokenizer;
 import at.ac.tuwien.sepr.groupphase.backend.service.ActivityService;
+import at.ac.tuwien.sepr.groupphase.backend.service.ImageService;
+import at.ac.tuwien.sepr.groupphase.backend.entity.ImageBlob;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
@@ -36,10 +40,14 @@ import java.sql.Timestamp;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
 import java.util.ArrayList;
 import java.util.List;
 
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.startsWith;
 import static org.hibernate.validator.internal.util.Contracts.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -54,9 +62,18 @@ public class ActivityEndpointTest implements TestData {
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private ImageService imageService;
+
     @Autowired
     private ActivityRepository activityRepository;
 
+    @Autowired
+    private ActivitySlotRepository activitySlotRepository;
+
+    @Autowired
+    private ActivityBookingRepository activityBookingRepository;
+
 
     @Autowired
     private ObjectMapper objectMapper;
@@ -83,7 +100,7 @@ public class ActivityEndpointTest implements TestData {
         TEST_ACTIVITY_ADDITIONAL_IMAGES_AS_ACTIVITYIMAGE,
         null,
         TEST_ACTIVITY_TIMESLOTS1,
-        TEST_ACTIVITY_MAIN_IMAGE,
+        ImageBlob.of(TEST_ACTIVITY_MAIN_IMAGE),
         TEST_ACTIVITY_CATEGORIES);
 
     /**
@@ -92,6 +109,8 @@ public class ActivityEndpointTest implements TestData {
      */
     @BeforeEach
     public void beforeEach() {
+        activityBookingRepository.deleteAll();
+        activitySlotRepository.deleteAll();
         activityRepository.deleteAll();
         // Initialisiere die Timeslots und speichere sie einzeln
         ActivityTimeslotInfo timeslot1 = new ActivityTimeslotInfo();
@@ -112,7 +131,7 @@ public class ActivityEndpointTest implements TestData {
             .withDescription(TEST_ACTIVITY_DESCRIPTION)
             .withPrice(TEST_ACTIVITY_PRICE)
             .withCapacity(TEST_ACTIVITY_CAPACITY)
-            .withMainImage(TEST_ACTIVITY_MAIN_IMAGE)
+            .withMainImage(imageService.store(TEST_ACTIVITY_MAIN_IMAGE))
             .withTimeslotInfos(managedTimeslots)
             .withCreatedAt(new Timestamp(System.currentTimeMillis()).toLocalDateTime())
             .withCategories(TEST_ACTIVITY_CATEGORIES)
@@ -311,4 +330,62 @@ public class ActivityEndpointTest implements TestData {
             .andExpect(status().isBadRequest());
     }
 
+    @Test
+    @WithMockUser(username = "GUEST_USER", roles = {"GUEST"})
+    public void testGetTimeslots_ComputedFromRulesWithoutStoringThem() throws Exception {
+        LocalDate nextMonday = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+
+        mockMvc.perform(MockMvcRequestBuilders.get(ACTIVITY_BASE_URI + "/timeslots/search/{activityId}", activity.getId())
+                .param("date", nextMonday.toString())
+                .param("pageIndex", "0")
+                .param("pageSize", "10"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.totalElements").value(1))
+            .andExpect(jsonPath("$.content[0].id").value(nullValue()))
+            .andExpect(jsonPath("$.content[0].date").value(nextMonday.toString()))
+            .andExpect(jsonPath("$.content[0].startTime").value(startsWith("10:00")))
+            .andExpect(jsonPath("$.content[0].capacity").value(TEST_ACTIVITY_CAPACITY))
+            .andExpect(jsonPath("$.content[0].occupied").value(0));
+
+        mockMvc.perform(MockMvcRequestBuilders.get(ACTIVITY_BASE_URI + "/timeslots/{activityId}", activity.getId())
+                .param("pageIndex", "0")
+                .param("pageSize", "5"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content.length()").value(5));
+
+        assertEquals(0, activitySlotRepository.count());
+    }
+
+    @Test
+    @WithMockUser(username = "GUEST_USER", roles = {"GUEST"})
+    public void testSearchActivities_FullyBookedSlotIsExcluded() throws Exception {
+        LocalDate nextWednesday = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.WEDNESDAY));
+        activitySlotRepository.save(new ActivitySlot(
+            null, activity, nextWednesday, LocalTime.of(12, 0), LocalTime.of(15, 0), TEST_ACTIVITY_CAPACITY, TEST_ACTIVITY_CAPACITY));
+
+        mockMvc.perform(MockMvcRequestBuilders.get(ACTIVITY_BASE_URI + "/timeslots/search/{activityId}", activity.getId())
+                .param("date", nextWednesday.toString())
+                .param("participants", "1")
+                .param("pageIndex", "0")
+                .param("pageSize", "10"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.totalElements").value(0));
+
+        mockMvc.perform(MockMvcRequestBuilders.get(ACTIVITY_BASE_URI + "/search")
+                .param("date", nextWednesday.toString())
+                .param("capacity", "1")
+                .param("pageIndex", "0")
+                .param("pageSize", "10"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.totalElements").value(0));
+
+        mockMvc.perform(MockMvcRequestBuilders.get(ACTIVITY_BASE_URI + "/search")
+                .param("date", nextWednesday.plusDays(5).toString())
+                .param("capacity", "1")
+                .param("pageIndex", "0")
+                .param("pageSize", "10"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content[0].name").value(TEST_ACTIVITY_NAME));
+    }
+
 }
@@ -0,0 +1,195 @@
+package at.ac.tuwien.sepr.groupphase.backend.integrationtest;
+
+import at.ac.tuwien.sepr.groupphase.backend.basetest.TestData;
+import at.ac.tuwien.sepr.groupphase.backend.config.TestSecurityConfig;
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.BookingCreateDto;
+import at.ac.tuwien.sepr.groupphase.backend.entity.Booking;
+import at.ac.tuwien.sepr.groupphase.backend.entity.Guest;
+import at.ac.tuwien.sepr.groupphase.backend.entity.Room;
+import at.ac.tuwien.sepr.groupphase.backend.entity.UiConfig;
+import at.ac.tuwien.sepr.groupphase.backend.enums.BookingStatus;
+import at.ac.tuwien.sepr.groupphase.backend.enums.Gender;
+import at.ac.tuwien.sepr.groupphase.backend.enums.Nationality;
+import at.ac.tuwien.sepr.groupphase.backend.enums.RoleType;
+import at.ac.tuwien.sepr.groupphase.backend.exception.NotFoundException;
+import at.ac.tuwien.sepr.groupphase.backend.repository.BookingRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.CheckInRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.GuestRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.RoomRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.UiConfigRepository;
+import at.ac.tuwien.sepr.groupphase.backend.service.BookingService;
+import at.ac.tuwien.sepr.groupphase.backend.service.impl.SimpleMailService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@Import(TestSecurityConfig.class)
+public class BookingConcurrencyTest implements TestData {
+
+    private static final int ROOMS = 4;
+    private static final int THREADS = 32;
+    private static final int ATTEMPTS = 2000;
+    private static final int DAYS = 60;
+    private static final String GUEST_EMAIL = "concurrent.guest@example.com";
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private CheckInRepository checkInRepository;
+
+    @Autowired
+    private GuestRepository guestRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @MockitoBean
+    private UiConfigRepository uiConfigRepository;
+
+    @MockitoBean
+    private SimpleMailService mailService;
+
+    private final List<Long> roomIds = new ArrayList<>();
+
+    @BeforeEach
+    public void setup() {
+        checkInRepository.deleteAll();
+        bookingRepository.deleteAll();
+        roomRepository.deleteAll();
+
+        if (!guestRepository.existsByEmail(GUEST_EMAIL)) {
+            Guest guest = new Guest();
+            guest.setEmail(GUEST_EMAIL);
+            guest.setPassword(passwordEncoder.encode("password"));
+            guest.setRoleType(RoleType.ROLE_GUEST);
+            guest.setVerified(true);
+            guest.setPhoneNumber("+12345");
+            guest.setFirstName("Concurrent");
+            guest.setLastName("Guest");
+            guest.setDateOfBirth(LocalDate.parse("1990-01-02"));
+            guest.setPlaceOfBirth("City");
+            guest.setGender(Gender.FEMALE);
+            guest.setNationality(Nationality.values()[0]);
+            guest.setAddress("124 Main St, City");
+            guest.setPassportNumber("C7654321");
+            guestRepository.save(guest);
+        }
+
+        roomIds.clear();
+        for (int i = 0; i < ROOMS; i++) {
+            Room room = Room.RoomBuilder.aRoom()
+                .withName(TEST_ROOM_NAME + " " + i)
+                .withDescription(TEST_ROOM_DESCRIPTION)
+                .withPrice(TEST_ROOM_PRICE)
+                .withCapacity(TEST_ROOM_CAPACITY)
+                .withCreatedAt(LocalDateTime.now())
+                .build();
+            roomIds.add(roomRepository.save(room).getId());
+        }
+
+        UiConfig uiConfig = new UiConfig();
+        uiConfig.setHotelName("InnControl Hotel");
+        when(uiConfigRepository.findById(1L)).thenReturn(Optional.of(uiConfig));
+    }
+
+    /**
+     * Test case to verify that thousands of concurrent, overlapping booking requests never persist two overlapping
+     * bookings of the same room.
+     */
+    @Test
+    public void givenConcurrentOverlappingRequests_whenCreateBooking_thenNoOverlappingBookingsArePersisted() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger admitted = new AtomicInteger();
+        ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        LocalDate firstDay = LocalDate.now().plusDays(1);
+        Random random = new Random(42);
+
+        for (int i = 0; i < ATTEMPTS; i++) {
+            Long roomId = roomIds.get(random.nextInt(ROOMS));
+            LocalDate startDate = firstDay.plusDays(random.nextInt(DAYS));
+            LocalDate endDate = startDate.plusDays(1 + random.nextInt(5));
+            BookingCreateDto bookingCreateDto = new BookingCreateDto(roomId, startDate, endDate, "PayInAdvance");
+            executor.execute(() -> {
+                SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                    new User(GUEST_EMAIL, "", List.of(new SimpleGrantedAuthority("ROLE_GUEST"))), null,
+                    List.of(new SimpleGrantedAuthority("ROLE_GUEST"))));
+                try {
+                    start.await();
+                    bookingService.createBooking(bookingCreateDto);
+                    admitted.incrementAndGet();
+                } catch (NotFoundException e) {
+                    // the room was already booked for an overlapping range
+                } catch (Throwable e) {
+                    failures.add(e);
+                } finally {
+                    SecurityContextHolder.clearContext();
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.MINUTES), "booking requests did not finish in time");
+
+        assertTrue(failures.isEmpty(), () -> "unexpected failures: " + failures);
+        assertTrue(admitted.get() > 0);
+
+        Map<Long, List<Booking>> bookingsByRoom = bookingRepository.findAll().stream()
+            .filter(booking -> booking.getStatus() != BookingStatus.CANCELLED)
+            .collect(Collectors.groupingBy(booking -> booking.getRoom().getId()));
+        assertEquals(admitted.get(), bookingsByRoom.values().stream().mapToInt(List::size).sum());
+        bookingsByRoom.forEach((roomId, bookings) -> {
+            for (int i = 0; i < bookings.size(); i++) {
+                for (int j = i + 1; j < bookings.size(); j++) {
+                    Booking a = bookings.get(i);
+                    Booking b = bookings.get(j);
+                    assertFalse(!a.getStartDate().isAfter(b.getEndDate()) && !a.getEndDate().isBefore(b.getStartDate()),
+                        "bookings " + a.getId() + " and " + b.getId() + " of room " + roomId + " overlap");
+                }
+            }
+        });
+    }
+}
@@ -9,19 +9,25 @@ import at.ac.tuwien.sepr.groupphase.backend.entity.Booking;
 import at.ac.tuwien.sepr.groupphase.backend.entity.Room;
 import at.ac.tuwien.sepr.groupphase.backend.entity.UiConfig;
 import at.ac.tuwien.sepr.groupphase.backend.enums.BookingStatus;
+import at.ac.tuwien.sepr.groupphase.backend.enums.DocumentStatus;
 import at.ac.tuwien.sepr.groupphase.backend.enums.Gender;
 import at.ac.tuwien.sepr.groupphase.backend.enums.Nationality;
 import at.ac.tuwien.sepr.groupphase.backend.enums.RoleType;
 import at.ac.tuwien.sepr.groupphase.backend.basetest.TestData;
+import at.ac.tuwien.sepr.groupphase.backend.config.StatementCounter;
 import at.ac.tuwien.sepr.groupphase.backend.repository.ApplicationUserRepository;
 import at.ac.tuwien.sepr.groupphase.backend.repository.BookingRepository;
 import at.ac.tuwien.sepr.groupphase.backend.repository.CheckInRepository;
 import at.ac.tuwien.sepr.groupphase.backend.repository.GuestRepository;
 import at.ac.tuwien.sepr.groupphase.backend.repository.RoomRepository;
 import at.ac.tuwien.sepr.groupphase.backend.security.JwtTokenizer;
+import at.ac.tuwien.sepr.groupphase.backend.service.PdfGenerationService;
 import at.ac.tuwien.sepr.groupphase.backend.service.UserService;
+import at.ac.tuwien.sepr.groupphase.backend.service.impl.BookingHoldSweeper;
+import at.ac.tuwien.sepr.groupphase.backend.service.impl.BookingStatusRollover;
 import at.ac.tuwien.sepr.groupphase.backend.service.impl.SimpleMailService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -39,18 +45,32 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
 import org.springframework.test.web.servlet.MockMvc;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import at.ac.tuwien.sepr.groupphase.backend.repository.UiConfigRepository;
+import at.ac.tuwien.sepr.groupphase.backend.service.ImageService;
 
+import jakarta.mail.MessagingException;
+
+import java.io.IOException;
 import java.sql.Timestamp;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Optional;
 
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -66,6 +86,9 @@ public class BookingEndpointTest implements TestData {
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private ImageService imageService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -103,6 +126,12 @@ public class BookingEndpointTest implements TestData {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private BookingHoldSweeper bookingHoldSweeper;
+
+    @Autowired
+    private BookingStatusRollover bookingStatusRollover;
+
     @MockitoBean
     private UiConfigRepository uiConfigRepository;
 
@@ -112,6 +141,9 @@ public class BookingEndpointTest implements TestData {
     @MockitoBean
     private SimpleMailService mailService;
 
+    @MockitoSpyBean
+    private PdfGenerationService pdfGenerationService;
+
 
     @BeforeEach
     public void setup() {
@@ -152,7 +184,7 @@ public class BookingEndpointTest implements TestData {
             .withDescription(TEST_ROOM_DESCRIPTION)
             .withPrice(TEST_ROOM_PRICE)
             .withCapacity(TEST_ROOM_CAPACITY)
-            .withMainImage(TEST_ROOM_MAIN_IMAGE)
+            .withMainImage(imageService.store(TEST_ROOM_MAIN_IMAGE))
             .withCreatedAt(new Timestamp(System.currentTimeMillis()).toLocalDateTime())
             .build();
         roomRepository.save(room);
@@ -211,7 +243,7 @@ public class BookingEndpointTest implements TestData {
             .withDescription(TEST_ROOM_DESCRIPTION)
             .withPrice(TEST_ROOM_PRICE)
             .withCapacity(TEST_ROOM_CAPACITY)
-            .withMainImage(TEST_ROOM_MAIN_IMAGE)
+            .withMainImage(imageService.store(TEST_ROOM_MAIN_IMAGE))
             .withCreatedAt(new Timestamp(System.currentTimeMillis()).toLocalDateTime())
             .build();
         roomRepository.save(room);
@@ -229,13 +261,14 @@ public class BookingEndpointTest implements TestData {
         uiConfig.setHotelName("InnControl Hotel");
         when(uiConfigRepository.findById(1L)).thenReturn(Optional.of(uiConfig));
 
-        mockMvc.perform(
+        String createdBooking = mockMvc.perform(
                 MockMvcRequestBuilders.post(BOOKING_BASE_URI)
                     .contentType(MediaType.APPLICATION_JSON)
                     .content(bookingJson))
-            .andExpect(status().isCreated());
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
 
-        Long bookingId = 1L;
+        Long bookingId = ((Number) JsonPath.read(createdBooking, "$.id")).longValue();
 
         mockMvc.perform(
                 MockMvcRequestBuilders.delete("/api/v1/bookings/my-bookings/{bookingId}/cancel", bookingId)
@@ -282,6 +315,46 @@ public class BookingEndpointTest implements TestData {
     }
 
 
+    /**
+     * Test case: Exports all bookings as one JSON object per line, or as CSV with a header line.
+     */
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    public void testExportBookings_NdjsonAndCsv() throws Exception {
+        Room room = roomRepository.save(Room.RoomBuilder.aRoom()
+            .withName(TEST_ROOM_NAME)
+            .withDescription(TEST_ROOM_DESCRIPTION)
+            .withPrice(TEST_ROOM_PRICE)
+            .withCapacity(TEST_ROOM_CAPACITY)
+            .withCreatedAt(LocalDateTime.now())
+            .build());
+        LocalDate today = LocalDate.now();
+        Booking first = bookingRepository.save(new Booking(room, BOOKING_USER_GUEST, today.plusDays(1), today.plusDays(3), false, null));
+        Booking second = bookingRepository.save(new Booking(room, BOOKING_USER_GUEST, today.plusDays(5), today.plusDays(6), true, null));
+
+        String ndjson = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/bookings/managerbookings"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        String[] lines = ndjson.split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(((Number) JsonPath.read(lines[0], "$.id")).longValue()).isEqualTo(first.getId());
+        assertThat(((Number) JsonPath.read(lines[1], "$.id")).longValue()).isEqualTo(second.getId());
+        assertThat((String) JsonPath.read(lines[1], "$.startDate")).isEqualTo(today.plusDays(5).toString());
+
+        String csv = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/bookings/managerbookings")
+                .param("format", "csv"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        lines = csv.split("\r\n");
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).startsWith("id,roomId,userId,startDate,endDate,roomName,");
+        assertThat(lines[1]).startsWith(first.getId() + "," + room.getId() + ",");
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/bookings/managerbookings")
+                .param("format", "xml"))
+            .andExpect(status().isBadRequest());
+    }
+
     /**
      * Test case: Attempts to cancel a booking that does not exist.
      */
@@ -333,6 +406,246 @@ public class BookingEndpointTest implements TestData {
             .andExpect(jsonPath("$.status").value(400));
     }
 
+    /**
+     * Test case: Walks through all bookings with keyset pagination, active bookings first, then by start date.
+     */
+    @Test
+    @WithMockUser(username = "manager", roles = {"ADMIN"})
+    public void testGetBookingsAfter_WalksAllPagesInOrder() throws Exception {
+        Room room = roomRepository.save(Room.RoomBuilder.aRoom()
+            .withName(TEST_ROOM_NAME)
+            .withDescription(TEST_ROOM_DESCRIPTION)
+            .withPrice(TEST_ROOM_PRICE)
+            .withCapacity(TEST_ROOM_CAPACITY)
+            .withCreatedAt(LocalDateTime.now())
+            .build());
+        LocalDate today = LocalDate.now();
+        Booking later = bookingRepository.save(new Booking(room, BOOKING_USER_GUEST, today.plusDays(20), today.plusDays(22), false, null));
+        Booking next = bookingRepository.save(new Booking(room, BOOKING_USER_GUEST, today.plusDays(10), today.plusDays(12), false, null));
+        Booking nextSameDay = bookingRepository.save(new Booking(room, BOOKING_USER_GUEST, today.plusDays(10), today.plusDays(11), false, null));
+        Booking active = bookingRepository.save(new Booking(room, BOOKING_USER_GUEST, today.minusDays(1), today.plusDays(2), false, null));
+
+        String firstPage = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/bookings/managerbookings/keyset")
+                .param("size", "2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content.length()").value(2))
+            .andExpect(jsonPath("$.content[0].id").value(active.getId()))
+            .andExpect(jsonPath("$.content[1].id").value(next.getId()))
+            .andExpect(jsonPath("$.nextCursor").isString())
+            .andReturn().getResponse().getContentAsString();
+        String cursor = JsonPath.read(firstPage, "$.nextCursor");
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/bookings/managerbookings/keyset")
+                .param("cursor", cursor)
+                .param("size", "2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content.length()").value(2))
+            .andExpect(jsonPath("$.content[0].id").value(nextSameDay.getId()))
+            .andExpect(jsonPath("$.content[1].id").value(later.getId()))
+            .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/bookings/managerbookings/keyset")
+                .param("cursor", "not-a-cursor"))
+            .andExpect(status().isBadRequest());
+    }
+
+
+    /**
+     * Test case: A page of the employee booking list is read with the same number of statements, no matter how many
+     * rooms and guests the bookings on it belong to.
+     */
+    @Test
+    @WithMockUser(username = "manager", roles = {"ADMIN"})
+    public void testGetPagedBookings_ConstantStatementsPerPage() throws Exception {
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < 3; i++) {
+            Room room = roomRepository.save(Room.RoomBuilder.aRoom()
+                .withName(TEST_ROOM_NAME + i)
+                .withDescription(TEST_ROOM_DESCRIPTION)
+                .withPrice(TEST_ROOM_PRICE)
+                .withCapacity(TEST_ROOM_CAPACITY)
+                .withCreatedAt(LocalDateTime.now())
+                .build());
+            bookingRepository.save(new Booking(room, BOOKING_USER_GUEST, today.plusDays(i + 1), today.plusDays(i + 3), false, null));
+            bookingRepository.save(new Booking(room, BOOKING_USER_GUEST, today.plusDays(i + 10), today.plusDays(i + 12), false, null));
+        }
+
+        StatementCounter.reset();
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/bookings/managerbookings/paged")
+                .param("page", "0")
+                .param("size", "2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content.length()").value(2))
+            .andExpect(jsonPath("$.content[0].firstName").value("Test2"))
+            .andExpect(jsonPath("$.content[0].roomName").value(TEST_ROOM_NAME + 0));
+        int firstPage = StatementCounter.count();
+
+        StatementCounter.reset();
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/bookings/managerbookings/paged")
+                .param("page", "1")
+                .param("size", "2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content.length()").value(2));
+        assertThat(StatementCounter.count()).isEqualTo(firstPage);
+        // the page and the total count
+        assertThat(firstPage).isEqualTo(2);
+
+        StatementCounter.reset();
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/bookings/managerbookings/keyset")
+                .param("size", "5"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content.length()").value(5));
+        assertThat(StatementCounter.count()).isEqualTo(1);
+    }
+
+    /**
+     * Test case: A booking whose hold has expired no longer blocks its room and is cancelled by the hold sweeper.
+     */
+    @Test
+    @WithMockUser(username = BOOKING_USER, roles = {"GUEST"})
+    public void testBooking_ExpiredHoldIsFreeAndReleased() throws Exception {
+        UiConfig uiConfig = new UiConfig();
+        uiConfig.setHotelName("InnControl Hotel");
+        when(uiConfigRepository.findById(1L)).thenReturn(Optional.of(uiConfig));
+
+        Room room = roomRepository.save(Room.RoomBuilder.aRoom()
+            .withName(TEST_ROOM_NAME)
+            .withDescription(TEST_ROOM_DESCRIPTION)
+            .withPrice(TEST_ROOM_PRICE)
+            .withCapacity(TEST_ROOM_CAPACITY)
+            .withCreatedAt(LocalDateTime.now())
+            .build());
+        LocalDate startDate = LocalDate.now().plusDays(3);
+        Booking abandoned = new Booking(room, BOOKING_USER_GUEST, startDate, startDate.plusDays(4), false, null);
+        abandoned.setHoldExpiresAt(LocalDateTime.now().minusMinutes(1));
+        abandoned = bookingRepository.save(abandoned);
+
+        String createdBooking = mockMvc.perform(MockMvcRequestBuilders.post(BOOKING_BASE_URI)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                    new BookingCreateDto(room.getId(), startDate, startDate.plusDays(2), "PayInAdvance"))))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
+        Long bookingId = ((Number) JsonPath.read(createdBooking, "$.id")).longValue();
+        assertThat(bookingRepository.findById(bookingId).orElseThrow().getHoldExpiresAt()).isAfter(LocalDateTime.now());
+
+        assertThat(bookingHoldSweeper.releaseExpiredHolds()).isEqualTo(1);
+        Booking released = bookingRepository.findById(abandoned.getId()).orElseThrow();
+        assertThat(released.getStatus()).isEqualTo(BookingStatus.CANCELLED);
+        assertThat(released.getHoldExpiresAt()).isNull();
+        assertThat(bookingRepository.findById(bookingId).orElseThrow().getStatus()).isNotEqualTo(BookingStatus.CANCELLED);
+    }
+
+    /**
+     * Test case: The status roll-over activates and completes bookings as their dates pass, and leaves cancelled
+     * bookings alone.
+     */
+    @Test
+    public void testBooking_StatusRollsOverWithTheDate() {
+        Room room = roomRepository.save(Room.RoomBuilder.aRoom()
+            .withName(TEST_ROOM_NAME)
+            .withDescription(TEST_ROOM_DESCRIPTION)
+            .withPrice(TEST_ROOM_PRICE)
+            .withCapacity(TEST_ROOM_CAPACITY)
+            .withCreatedAt(LocalDateTime.now())
+            .build());
+        LocalDate today = LocalDate.now();
+        Booking upcoming = bookingRepository.save(new Booking(room, BOOKING_USER_GUEST, today.plusDays(1), today.plusDays(3), true, null));
+        Booking current = bookingRepository.save(new Booking(room, BOOKING_USER_GUEST, today.minusDays(1), today.plusDays(2), true, null));
+        Booking leaving = bookingRepository.save(new Booking(room, BOOKING_USER_GUEST, today.minusDays(2), today, true, null));
+        // created first and cancelled afterwards, like a real booking, so the invoice fields are filled in
+        Booking cancelled = bookingRepository.save(new Booking(room, BOOKING_USER_GUEST, today.plusDays(1), today.plusDays(2), true, null));
+        cancelled.setStatus(BookingStatus.CANCELLED);
+        cancelled = bookingRepository.save(cancelled);
+        assertThat(upcoming.getStatus()).isEqualTo(BookingStatus.PENDING);
+        assertThat(current.getStatus()).isEqualTo(BookingStatus.ACTIVE);
+
+        assertThat(bookingStatusRollover.rollover(today.plusDays(1))).isEqualTo(2);
+        assertThat(bookingStatusRollover.rollover(today.plusDays(1))).isZero();
+
+        Booking activated = bookingRepository.findById(upcoming.getId()).orElseThrow();
+        assertThat(activated.getStatus()).isEqualTo(BookingStatus.ACTIVE);
+        assertThat(activated.getStatusRank()).isEqualTo(1);
+        assertThat(bookingRepository.findById(current.getId()).orElseThrow().getStatus()).isEqualTo(BookingStatus.ACTIVE);
+        Booking completed = bookingRepository.findById(leaving.getId()).orElseThrow();
+        assertThat(completed.getStatus()).isEqualTo(BookingStatus.COMPLETED);
+        assertThat(completed.getStatusRank()).isEqualTo(2);
+        assertThat(bookingRepository.findById(cancelled.getId()).orElseThrow().getStatus()).isEqualTo(BookingStatus.CANCELLED);
+
+        assertThat(bookingStatusRollover.rollover(today.plusDays(5))).isEqualTo(2);
+        assertThat(bookingRepository.findById(upcoming.getId()).orElseThrow().getStatus()).isEqualTo(BookingStatus.COMPLETED);
+        assertThat(bookingRepository.findById(current.getId()).orElseThrow().getStatus()).isEqualTo(BookingStatus.COMPLETED);
+        assertThat(bookingRepository.findById(cancelled.getId()).orElseThrow().getStatus()).isEqualTo(BookingStatus.CANCELLED);
+    }
+
+    /**
+     * Test case: The booking is returned before its documents are mailed, and a failed mail is retried.
+     */
+    @Test
+    @WithMockUser(username = BOOKING_USER, roles = {"GUEST"})
+    public void testBooking_DocumentsAreMailedInBackgroundWithRetry() throws Exception {
+        UiConfig uiConfig = new UiConfig();
+        uiConfig.setHotelName("InnControl Hotel");
+        when(uiConfigRepository.findById(1L)).thenReturn(Optional.of(uiConfig));
+        doThrow(new MessagingException("SMTP server unavailable")).doNothing().when(mailService).sendEmail(any(), anyList());
+
+        Room room = roomRepository.save(Room.RoomBuilder.aRoom()
+            .withName(TEST_ROOM_NAME)
+            .withDescription(TEST_ROOM_DESCRIPTION)
+            .withPrice(TEST_ROOM_PRICE)
+            .withCapacity(TEST_ROOM_CAPACITY)
+            .withCreatedAt(LocalDateTime.now())
+            .build());
+        String createdBooking = mockMvc.perform(MockMvcRequestBuilders.post(BOOKING_BASE_URI)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                    new BookingCreateDto(room.getId(), LocalDate.now(), LocalDate.now().plusDays(2), "PayCash"))))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.documentStatus").value("PENDING"))
+            .andReturn().getResponse().getContentAsString();
+        Long bookingId = ((Number) JsonPath.read(createdBooking, "$.id")).longValue();
+
+        Booking booking = awaitDocuments(bookingId, DocumentStatus.READY);
+        assertThat(booking.getDocumentAttempts()).isEqualTo(2);
+        assertThat(booking.getDocumentError()).isNull();
+        verify(mailService, times(2)).sendEmail(argThat(mailed -> bookingId.equals(mailed.getId())), anyList());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/bookings/my-bookings"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[?(@.id == " + bookingId + ")].documentStatus").value("READY"));
+    }
+
+    /**
+     * Test case: A document that fails to generate is retried after a backoff instead of failing the booking.
+     */
+    @Test
+    @WithMockUser(username = BOOKING_USER, roles = {"GUEST"})
+    public void testBooking_DocumentGenerationIsRetried() throws Exception {
+        UiConfig uiConfig = new UiConfig();
+        uiConfig.setHotelName("InnControl Hotel");
+        when(uiConfigRepository.findById(1L)).thenReturn(Optional.of(uiConfig));
+        doThrow(new IOException("Template not readable")).doCallRealMethod().when(pdfGenerationService).generateBookingConfirmation(any());
+
+        Room room = roomRepository.save(Room.RoomBuilder.aRoom()
+            .withName(TEST_ROOM_NAME)
+            .withDescription(TEST_ROOM_DESCRIPTION)
+            .withPrice(TEST_ROOM_PRICE)
+            .withCapacity(TEST_ROOM_CAPACITY)
+            .withCreatedAt(LocalDateTime.now())
+            .build());
+        String createdBooking = mockMvc.perform(MockMvcRequestBuilders.post(BOOKING_BASE_URI)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                    new BookingCreateDto(room.getId(), LocalDate.now(), LocalDate.now().plusDays(2), "PayCash"))))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
+        Long bookingId = ((Number) JsonPath.read(createdBooking, "$.id")).longValue();
+
+        Booking booking = awaitDocuments(bookingId, DocumentStatus.READY);
+        assertThat(booking.getDocumentAttempts()).isEqualTo(2);
+        assertThat(booking.getDocumentError()).isNull();
+        verify(mailService, times(1)).sendEmail(argThat(mailed -> bookingId.equals(mailed.getId())), anyList());
+    }
 
     /**
      * Test case: Successfully downloads a booking PDF.
@@ -340,13 +653,28 @@ public class BookingEndpointTest implements TestData {
     @Test
     @WithMockUser(username = BOOKING_USER, roles = {"GUEST"})
     public void testDownloadPdf_Success() throws Exception {
-        Long bookingId = 1L;
         String type = "Invoice.pdf";
 
         UiConfig uiConfig = new UiConfig();
         uiConfig.setHotelName("InnControl Hotel");
         when(uiConfigRepository.findById(1L)).thenReturn(Optional.of(uiConfig));
 
+        Room room = roomRepository.save(Room.RoomBuilder.aRoom()
+            .withName(TEST_ROOM_NAME)
+            .withDescription(TEST_ROOM_DESCRIPTION)
+            .withPrice(TEST_ROOM_PRICE)
+            .withCapacity(TEST_ROOM_CAPACITY)
+            .withCreatedAt(LocalDateTime.now())
+            .build());
+        String createdBooking = mockMvc.perform(MockMvcRequestBuilders.post(BOOKING_BASE_URI)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                    new BookingCreateDto(room.getId(), LocalDate.now(), LocalDate.now().plusDays(7), "PayInAdvance"))))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
+        Long bookingId = ((Number) JsonPath.read(createdBooking, "$.id")).longValue();
+        awaitDocuments(bookingId, DocumentStatus.READY);
+
         mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/bookings/my-bookings/{bookingId}/pdf/{type}", bookingId, type)
                 .contentType(MediaType.APPLICATION_PDF))
             .andExpect(status().isOk())
@@ -368,4 +696,9 @@ public class BookingEndpointTest implements TestData {
                 .contentType(MediaType.APPLICATION_PDF))
             .andExpect(status().isNotFound());
     }
-}
\ No newline at end of file
+
+    private Booking awaitDocuments(Long bookingId, DocumentStatus status) {
+        return await().atMost(Duration.ofSeconds(10))
+            .until(() -> bookingRepository.findById(bookingId).orElseThrow(), booking -> booking.getDocumentStatus() == status);
+    }
+}
@@ -1,11 +1,17 @@
 package at.ac.tuwien.sepr.groupphase.backend.integrationtest;
 
+import at.ac.tuwien.sepr.groupphase.backend.config.StatementCounter;
 import at.ac.tuwien.sepr.groupphase.backend.config.TestSecurityConfig;
 import at.ac.tuwien.sepr.groupphase.backend.config.properties.SecurityProperties;
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.AddToRoomDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.CheckInDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.UserLoginDto;
 import at.ac.tuwien.sepr.groupphase.backend.entity.Booking;
+import at.ac.tuwien.sepr.groupphase.backend.entity.Guest;
+import at.ac.tuwien.sepr.groupphase.backend.entity.JobLock;
+import at.ac.tuwien.sepr.groupphase.backend.entity.Lock;
 import at.ac.tuwien.sepr.groupphase.backend.entity.Room;
+import at.ac.tuwien.sepr.groupphase.backend.entity.StayState;
 import at.ac.tuwien.sepr.groupphase.backend.enums.Gender;
 import at.ac.tuwien.sepr.groupphase.backend.enums.Nationality;
 import at.ac.tuwien.sepr.groupphase.backend.enums.RoleType;
@@ -13,10 +19,18 @@ import at.ac.tuwien.sepr.groupphase.backend.basetest.TestData;
 import at.ac.tuwien.sepr.groupphase.backend.repository.ApplicationUserRepository;
 import at.ac.tuwien.sepr.groupphase.backend.repository.BookingRepository;
 import at.ac.tuwien.sepr.groupphase.backend.repository.CheckInRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.CheckOutRepository;
 import at.ac.tuwien.sepr.groupphase.backend.repository.GuestRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.JobLockRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.LockRepository;
 import at.ac.tuwien.sepr.groupphase.backend.repository.RoomRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.StayStateRepository;
 import at.ac.tuwien.sepr.groupphase.backend.security.JwtTokenizer;
 import at.ac.tuwien.sepr.groupphase.backend.service.UserService;
+import at.ac.tuwien.sepr.groupphase.backend.service.ImageService;
+import at.ac.tuwien.sepr.groupphase.backend.service.RoomCapacityCache;
+import at.ac.tuwien.sepr.groupphase.backend.repository.projection.RoomCapacity;
+import at.ac.tuwien.sepr.groupphase.backend.service.impl.AutoCheckOutJob;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
@@ -39,8 +53,19 @@ import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import java.sql.Timestamp;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(SpringExtension.class)
@@ -54,6 +79,9 @@ public class DigitalCheckInEndpointTest implements TestData {
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private ImageService imageService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -72,6 +100,24 @@ public class DigitalCheckInEndpointTest implements TestData {
     @Autowired
     private GuestRepository guestRepository;
 
+    @Autowired
+    private StayStateRepository stayStateRepository;
+
+    @Autowired
+    private CheckOutRepository checkOutRepository;
+
+    @Autowired
+    private JobLockRepository jobLockRepository;
+
+    @Autowired
+    private AutoCheckOutJob autoCheckOutJob;
+
+    @Autowired
+    private LockRepository lockRepository;
+
+    @Autowired
+    private RoomCapacityCache roomCapacityCache;
+
     @Autowired
     private ApplicationUserRepository applicationUserRepository;
 
@@ -94,7 +140,11 @@ public class DigitalCheckInEndpointTest implements TestData {
     @BeforeEach
     public void setup() {
         checkInRepository.deleteAll();
+        checkOutRepository.deleteAll();
+        stayStateRepository.deleteAll();
+        jobLockRepository.deleteAll();
         bookingRepository.deleteAll();
+        lockRepository.deleteAll();
         roomRepository.deleteAll();
 
         CHECK_IN_USER_GUEST.setEmail(CHECK_IN_USER);
@@ -130,7 +180,7 @@ public class DigitalCheckInEndpointTest implements TestData {
             .withDescription(TEST_ROOM_DESCRIPTION)
             .withPrice(TEST_ROOM_PRICE)
             .withCapacity(TEST_ROOM_CAPACITY)
-            .withMainImage(TEST_ROOM_MAIN_IMAGE)
+            .withMainImage(imageService.store(TEST_ROOM_MAIN_IMAGE))
             .withCreatedAt(new Timestamp(System.currentTimeMillis()).toLocalDateTime())
             .build();
         roomRepository.save(room);
@@ -180,6 +230,201 @@ public class DigitalCheckInEndpointTest implements TestData {
                     .param("phoneNumber", checkInDto.phoneNumber())
                     .contentType(MediaType.MULTIPART_FORM_DATA_VALUE))
             .andExpect(status().isCreated());
+
+        var stays = stayStateRepository.findAll();
+        assertEquals(1, stays.size());
+        assertEquals(CHECK_IN_BOOKING_ID, stays.get(0).getBookingId());
+        assertNull(stays.get(0).getCheckedOutAt());
+
+        mockMvc.perform(get(BASE_URI + "/documents/passport/" + CHECK_IN_BOOKING_ID + "/" + CHECK_IN_USER))
+            .andExpect(status().isOk())
+            .andExpect(content().bytes(passportFile.getBytes()));
+    }
+
+    /**
+     * Test case: The occupancy of all rooms is read with a constant number of statements, served from the snapshot
+     * while nothing changes, and read again once a stay changes.
+     */
+    @Test
+    @WithMockUser(roles = {"RECEPTIONIST"})
+    public void testGetOccupancySnapshot_CachedUntilStayChanges() throws Exception {
+        Room room = Room.RoomBuilder.aRoom()
+            .withName(TEST_ROOM_NAME)
+            .withDescription(TEST_ROOM_DESCRIPTION)
+            .withPrice(TEST_ROOM_PRICE)
+            .withCapacity(TEST_ROOM_CAPACITY)
+            .withCreatedAt(LocalDateTime.now())
+            .build();
+        roomRepository.save(room);
+        Booking booking = bookingRepository.save(Booking.BookingBuilder.aBooking()
+            .withUser(CHECK_IN_USER_GUEST)
+            .withRoom(room)
+            .withStartDate(LocalDate.now())
+            .withEndDate(LocalDate.now().plusDays(3))
+            .build());
+
+        StatementCounter.reset();
+        mockMvc.perform(get(BASE_URI + "/manual-checkin/occupancy"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$[0].roomId").value(room.getId()))
+            .andExpect(jsonPath("$[0].status").value("not-occupied"))
+            .andExpect(jsonPath("$[0].bookingId").value(booking.getId()))
+            .andExpect(jsonPath("$[0].ownerEmail").value(CHECK_IN_USER))
+            .andExpect(jsonPath("$[0].checkedIn").value(0));
+        assertEquals(3, StatementCounter.count());
+
+        StatementCounter.reset();
+        mockMvc.perform(get(BASE_URI + "/manual-checkin/occupancy"))
+            .andExpect(status().isOk());
+        assertEquals(0, StatementCounter.count());
+
+        stayStateRepository.save(new StayState(booking, CHECK_IN_USER_GUEST, LocalDateTime.now()));
+
+        mockMvc.perform(get(BASE_URI + "/manual-checkin/occupancy"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].status").value("occupied"))
+            .andExpect(jsonPath("$[0].checkedIn").value(1));
+    }
+
+    /**
+     * Test case: The capacity a check-in is validated against is read with a single statement, served from the cache
+     * afterwards, and read again once the smart lock of the room changes.
+     */
+    @Test
+    public void testRoomCapacity_CachedUntilLockChanges() {
+        Room room = roomRepository.save(Room.RoomBuilder.aRoom()
+            .withName(TEST_ROOM_NAME)
+            .withDescription(TEST_ROOM_DESCRIPTION)
+            .withPrice(TEST_ROOM_PRICE)
+            .withCapacity(TEST_ROOM_CAPACITY)
+            .withCreatedAt(LocalDateTime.now())
+            .build());
+
+        StatementCounter.reset();
+        RoomCapacity capacity = roomCapacityCache.get(room.getId());
+        assertEquals(1, StatementCounter.count());
+        assertEquals(TEST_ROOM_CAPACITY, capacity.capacity());
+        assertFalse(capacity.smartLock());
+
+        StatementCounter.reset();
+        assertEquals(capacity, roomCapacityCache.get(room.getId()));
+        assertEquals(0, StatementCounter.count());
+
+        lockRepository.save(Lock.LockBuilder.aLock().withSmartLockId(42L).withRoom(room).build());
+
+        assertTrue(roomCapacityCache.get(room.getId()).smartLock());
+        lockRepository.deleteAll();
+    }
+
+    /**
+     * Test case: The automatic check-out checks out staying guests of bookings that run out today exactly once, and is
+     * skipped while another node holds its lease.
+     */
+    @Test
+    public void testAutoCheckOut_ChecksOutStayingGuestsOnce() throws Exception {
+        Room room = Room.RoomBuilder.aRoom()
+            .withName(TEST_ROOM_NAME)
+            .withDescription(TEST_ROOM_DESCRIPTION)
+            .withPrice(TEST_ROOM_PRICE)
+            .withCapacity(TEST_ROOM_CAPACITY)
+            .withCreatedAt(LocalDateTime.now())
+            .build();
+        roomRepository.save(room);
+        Booking booking = bookingRepository.save(Booking.BookingBuilder.aBooking()
+            .withUser(CHECK_IN_USER_GUEST)
+            .withRoom(room)
+            .withStartDate(LocalDate.now().minusDays(3))
+            .withEndDate(LocalDate.now())
+            .build());
+        StayState stay = stayStateRepository.save(new StayState(booking, CHECK_IN_USER_GUEST, LocalDateTime.now().minusDays(3)));
+        long checkOutsBefore = checkOutRepository.count();
+
+        autoCheckOutJob.autoCheckOutJob();
+        autoCheckOutJob.autoCheckOutJob();
+
+        assertEquals(checkOutsBefore + 1, checkOutRepository.count());
+        assertNotNull(stayStateRepository.findById(stay.getId()).orElseThrow().getCheckedOutAt());
+
+        JobLock lock = jobLockRepository.findById("auto-check-out").orElseThrow();
+        lock.setLockedBy("another-node");
+        lock.setLockedUntil(LocalDateTime.now().plusHours(1));
+        jobLockRepository.save(lock);
+        StayState reopened = stayStateRepository.findById(stay.getId()).orElseThrow();
+        reopened.setCheckedOutAt(null);
+        stayStateRepository.save(reopened);
+        try {
+            autoCheckOutJob.autoCheckOutJob();
+            assertNull(stayStateRepository.findById(stay.getId()).orElseThrow().getCheckedOutAt());
+        } finally {
+            // other test classes delete bookings without knowing about check-outs and stays
+            jobLockRepository.deleteAll();
+            checkOutRepository.deleteAll();
+            stayStateRepository.deleteAll();
+        }
+    }
+
+    /**
+     * Test case: A group check-in admits companions together with the owner of the booking, up to the capacity of the
+     * room, and reports the guests it could not check in instead of failing the whole group.
+     */
+    @Test
+    @WithMockUser(roles = {"RECEPTIONIST"})
+    public void testGroupCheckIn_ChecksInValidGuestsAndReportsTheOthers() throws Exception {
+        Room room = roomRepository.save(Room.RoomBuilder.aRoom()
+            .withName(TEST_ROOM_NAME)
+            .withDescription(TEST_ROOM_DESCRIPTION)
+            .withPrice(TEST_ROOM_PRICE)
+            .withCapacity(TEST_ROOM_CAPACITY)
+            .withCreatedAt(LocalDateTime.now())
+            .build());
+        Booking booking = bookingRepository.save(Booking.BookingBuilder.aBooking()
+            .withUser(CHECK_IN_USER_GUEST)
+            .withRoom(room)
+            .withStartDate(LocalDate.now())
+            .withEndDate(LocalDate.now().plusDays(3))
+            .build());
+        Guest companion = findOrCreateGuest("group.companion@example.com");
+        Guest latecomer = findOrCreateGuest("group.latecomer@example.com");
+
+        List<AddToRoomDto> guests = List.of(
+            groupGuest(booking.getId(), companion.getEmail(), "P2345678"),
+            groupGuest(booking.getId(), CHECK_IN_USER, CHECK_IN_USER_GUEST.getPassportNumber()),
+            groupGuest(booking.getId(), latecomer.getEmail(), "P3456789"),
+            groupGuest(-1L, companion.getEmail(), "P2345678"));
+        var request = multipart(HttpMethod.POST, BASE_URI + "/manual-checkin/group")
+            .file(new MockMultipartFile("guests", "", MediaType.APPLICATION_JSON_VALUE, objectMapper.writeValueAsBytes(guests)));
+        for (int i = 0; i < guests.size(); i++) {
+            request.file(new MockMultipartFile("passports", "passport" + i + ".pdf", MediaType.APPLICATION_PDF_VALUE, ("passport-" + i).getBytes()));
+        }
+
+        mockMvc.perform(request.contentType(MediaType.MULTIPART_FORM_DATA_VALUE))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(4))
+            .andExpect(jsonPath("$[0].checkedIn").value(true))
+            .andExpect(jsonPath("$[1].checkedIn").value(true))
+            .andExpect(jsonPath("$[2].checkedIn").value(false))
+            .andExpect(jsonPath("$[2].errors[0]").value("Room doesn't have enough capacity."))
+            .andExpect(jsonPath("$[3].checkedIn").value(false))
+            .andExpect(jsonPath("$[3].errors[0]").value("Booking with id -1 not found"));
+
+        assertEquals(2, stayStateRepository.countByBookingAndCheckedOutAtIsNull(booking));
+        assertEquals(2, checkInRepository.findCheckInByBooking(booking).size());
+    }
+
+    private Guest findOrCreateGuest(String email) {
+        return guestRepository.findByEmail(email).orElseGet(() -> {
+            Guest guest = new Guest();
+            guest.setEmail(email);
+            guest.setPassword(passwordEncoder.encode("password"));
+            guest.setRoleType(RoleType.ROLE_GUEST);
+            return guestRepository.save(guest);
+        });
+    }
+
+    private static AddToRoomDto groupGuest(Long bookingId, String email, String passportNumber) {
+        return new AddToRoomDto(bookingId, "Group", "Guest", LocalDate.parse("1990-01-01"), "City", Gender.MALE,
+            Nationality.AUT, "123 Main St, City", passportNumber, "+1234", email);
     }
 
     /**
@@ -193,7 +438,7 @@ public class DigitalCheckInEndpointTest implements TestData {
             .withDescription(TEST_ROOM_DESCRIPTION)
             .withPrice(TEST_ROOM_PRICE)
             .withCapacity(TEST_ROOM_CAPACITY)
-            .withMainImage(TEST_ROOM_MAIN_IMAGE)
+            .withMainImage(imageService.store(TEST_ROOM_MAIN_IMAGE))
             .withCreatedAt(new Timestamp(System.currentTimeMillis()).toLocalDateTime())
             .build();
         roomRepository.save(room);
@@ -256,7 +501,7 @@ public class DigitalCheckInEndpointTest implements TestData {
             .withDescription(TEST_ROOM_DESCRIPTION)
             .withPrice(TEST_ROOM_PRICE)
             .withCapacity(TEST_ROOM_CAPACITY)
-            .withMainImage(TEST_ROOM_MAIN_IMAGE)
+            .withMainImage(imageService.store(TEST_ROOM_MAIN_IMAGE))
             .withCreatedAt(new Timestamp(System.currentTimeMillis()).toLocalDateTime())
             .build();
         roomRepository.save(room);
@@ -319,7 +564,7 @@ public class DigitalCheckInEndpointTest implements TestData {
             .withDescription(TEST_ROOM_DESCRIPTION)
             .withPrice(TEST_ROOM_PRICE)
             .withCapacity(TEST_ROOM_CAPACITY)
-            .withMainImage(TEST_ROOM_MAIN_IMAGE)
+            .withMainImage(imageService.store(TEST_ROOM_MAIN_IMAGE))
             .withCreatedAt(new Timestamp(System.currentTimeMillis()).toLocalDateTime())
             .build();
         roomRepository.save(room);
@@ -382,7 +627,7 @@ public class DigitalCheckInEndpointTest implements TestData {
             .withDescription(TEST_ROOM_DESCRIPTION)
             .withPrice(TEST_ROOM_PRICE)
             .withCapacity(TEST_ROOM_CAPACITY)
-            .withMainImage(TEST_ROOM_MAIN_IMAGE)
+            .withMainImage(imageService.store(TEST_ROOM_MAIN_IMAGE))
             .withCreatedAt(new Timestamp(System.currentTimeMillis()).toLocalDateTime())
             .build();
         roomRepository.save(room);
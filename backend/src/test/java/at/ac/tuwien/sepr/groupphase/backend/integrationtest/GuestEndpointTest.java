@@ -9,6 +9,7 @@ import at.ac.tuwien.sepr.groupphase.backend.repository.BookingRepository;
 import at.ac.tuwien.sepr.groupphase.backend.repository.GuestRepository;
 import at.ac.tuwien.sepr.groupphase.backend.security.JwtTokenizer;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
@@ -28,6 +29,7 @@ import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -235,6 +237,39 @@ public class GuestEndpointTest implements TestData {
         assertFalse(searchResults.isEmpty());
     }
 
+    @Test
+    @Transactional
+    @WithMockUser(username = ADMIN_USER, roles = {"ADMIN"})
+    public void testSearchGuestsAfter_WalksMatchingGuestsById() throws Exception {
+        List<Guest> matching = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Guest keysetGuest = new Guest();
+            keysetGuest.setEmail("keyset" + i + "@test.com");
+            keysetGuest.setFirstName("Keyset");
+            keysetGuest.setLastName("Guest" + i);
+            keysetGuest.setPassword("Password@123");
+            matching.add(guestRepository.save(keysetGuest));
+        }
+
+        String firstPage = mockMvc.perform(get("/api/v1/guest/search/keyset")
+                .param("firstName", "keyset")
+                .param("size", "2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content.length()").value(2))
+            .andExpect(jsonPath("$.content[0].email").value(matching.get(0).getEmail()))
+            .andExpect(jsonPath("$.content[1].email").value(matching.get(1).getEmail()))
+            .andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(get("/api/v1/guest/search/keyset")
+                .param("firstName", "keyset")
+                .param("cursor", JsonPath.<String>read(firstPage, "$.nextCursor"))
+                .param("size", "2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content.length()").value(1))
+            .andExpect(jsonPath("$.content[0].email").value(matching.get(2).getEmail()))
+            .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
     @Test
     @Transactional
     public void testSignupGuestWithMissingEmail_shouldThrow() throws Exception {
@@ -0,0 +1,217 @@
+package at.ac.tuwien.sepr.groupphase.backend.integrationtest;
+
+import at.ac.tuwien.sepr.groupphase.backend.basetest.TestData;
+import at.ac.tuwien.sepr.groupphase.backend.config.TestSecurityConfig;
+import at.ac.tuwien.sepr.groupphase.backend.config.properties.SecurityProperties;
+import at.ac.tuwien.sepr.groupphase.backend.entity.Booking;
+import at.ac.tuwien.sepr.groupphase.backend.entity.Guest;
+import at.ac.tuwien.sepr.groupphase.backend.entity.Room;
+import at.ac.tuwien.sepr.groupphase.backend.entity.UiConfig;
+import at.ac.tuwien.sepr.groupphase.backend.enums.Gender;
+import at.ac.tuwien.sepr.groupphase.backend.enums.Nationality;
+import at.ac.tuwien.sepr.groupphase.backend.enums.RoleType;
+import at.ac.tuwien.sepr.groupphase.backend.repository.BookingRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.CheckInRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.GuestRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.RoomRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.UiConfigRepository;
+import at.ac.tuwien.sepr.groupphase.backend.security.JwtTokenizer;
+import at.ac.tuwien.sepr.groupphase.backend.service.PdfStorageService;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "application.documents.export.page-size=2")
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@Import(TestSecurityConfig.class)
+public class InvoiceExportTest implements TestData {
+
+    private static final String INVOICE_URI = "/api/v1/documents/invoices";
+    private static final String GUEST_EMAIL = "invoice.export@example.com";
+    private static final LocalDate PERIOD_START = LocalDate.of(2001, 3, 1);
+    private static final LocalDate PERIOD_END = LocalDate.of(2001, 3, 31);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtTokenizer jwtTokenizer;
+
+    @Autowired
+    private SecurityProperties securityProperties;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private CheckInRepository checkInRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private GuestRepository guestRepository;
+
+    @Autowired
+    private PdfStorageService pdfStorageService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @MockitoBean
+    private UiConfigRepository uiConfigRepository;
+
+    private Room room;
+    private Guest guest;
+
+    @BeforeEach
+    public void setup() {
+        checkInRepository.deleteAll();
+        bookingRepository.deleteAll();
+        roomRepository.deleteAll();
+
+        guest = guestRepository.findByEmail(GUEST_EMAIL).orElseGet(() -> {
+            Guest created = new Guest();
+            created.setEmail(GUEST_EMAIL);
+            created.setPassword(passwordEncoder.encode("password"));
+            created.setRoleType(RoleType.ROLE_GUEST);
+            created.setVerified(true);
+            created.setPhoneNumber("+12345");
+            created.setFirstName("Invoice");
+            created.setLastName("Export");
+            created.setDateOfBirth(LocalDate.parse("1990-01-02"));
+            created.setPlaceOfBirth("City");
+            created.setGender(Gender.FEMALE);
+            created.setNationality(Nationality.values()[0]);
+            created.setAddress("124 Main St, City");
+            created.setPassportNumber("E7654321");
+            return guestRepository.save(created);
+        });
+
+        room = roomRepository.save(Room.RoomBuilder.aRoom()
+            .withName(TEST_ROOM_NAME)
+            .withDescription(TEST_ROOM_DESCRIPTION)
+            .withPrice(TEST_ROOM_PRICE)
+            .withCapacity(TEST_ROOM_CAPACITY)
+            .withCreatedAt(LocalDateTime.now())
+            .build());
+
+        UiConfig uiConfig = new UiConfig();
+        uiConfig.setHotelName("InnControl Hotel");
+        uiConfig.setAddress("Main Street 1");
+        when(uiConfigRepository.findById(1L)).thenReturn(Optional.of(uiConfig));
+    }
+
+    /**
+     * Test case to verify that the export contains the stored invoices as they are, generates the missing ones and
+     * leaves out bookings invoiced outside the period, across several pages of bookings.
+     */
+    @Test
+    public void givenStoredAndMissingInvoices_whenExport_thenArchiveContainsEveryInvoiceOfThePeriod() throws Exception {
+        List<Booking> invoiced = new ArrayList<>();
+        for (int day = 1; day <= 5; day++) {
+            invoiced.add(invoicedBooking(PERIOD_START.plusDays(day * 5L)));
+        }
+        invoicedBooking(PERIOD_END.plusDays(1));
+        byte[] storedInvoice = "%PDF stored invoice".getBytes(StandardCharsets.US_ASCII);
+        pdfStorageService.storePdf(invoiced.get(1).getId(), "Invoice.pdf", storedInvoice);
+        pdfStorageService.storePdf(invoiced.get(4).getId(), "Invoice.pdf", storedInvoice);
+
+        byte[] archive = mockMvc.perform(MockMvcRequestBuilders.get(INVOICE_URI)
+                .param("from", PERIOD_START.toString())
+                .param("to", PERIOD_END.toString())
+                .header(securityProperties.getAuthHeader(), jwtTokenizer.getAuthToken(ADMIN_USER, ADMIN_ROLES)))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Content-Type", "application/zip"))
+            .andReturn().getResponse().getContentAsByteArray();
+
+        Map<String, byte[]> entries = unzip(archive);
+        assertEquals(invoiced.stream().map(booking -> booking.getInvoiceNumber() + ".pdf").toList(), List.copyOf(entries.keySet()));
+        assertArrayEquals(storedInvoice, entries.get(invoiced.get(1).getInvoiceNumber() + ".pdf"));
+        assertArrayEquals(storedInvoice, entries.get(invoiced.get(4).getInvoiceNumber() + ".pdf"));
+        for (int i : new int[] {0, 2, 3}) {
+            String invoiceNumber = invoiced.get(i).getInvoiceNumber();
+            assertTrue(text(entries.get(invoiceNumber + ".pdf")).contains("Invoice Number: " + invoiceNumber));
+        }
+    }
+
+    /**
+     * Test case to verify that a period whose start is after its end is rejected.
+     */
+    @Test
+    public void givenReversedPeriod_whenExport_thenBadRequest() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get(INVOICE_URI)
+                .param("from", PERIOD_END.toString())
+                .param("to", PERIOD_START.toString())
+                .header(securityProperties.getAuthHeader(), jwtTokenizer.getAuthToken(ADMIN_USER, ADMIN_ROLES)))
+            .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Test case to verify that only admins can export invoices.
+     */
+    @Test
+    public void givenGuest_whenExport_thenForbidden() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get(INVOICE_URI)
+                .param("from", PERIOD_START.toString())
+                .param("to", PERIOD_END.toString())
+                .header(securityProperties.getAuthHeader(), jwtTokenizer.getAuthToken(GUEST_EMAIL, GUEST_ROLES)))
+            .andExpect(status().isForbidden());
+    }
+
+    private Booking invoicedBooking(LocalDate invoiceDate) {
+        Booking booking = new Booking(room, guest, invoiceDate.minusDays(3), invoiceDate, true, null);
+        booking.setInvoiceDate(invoiceDate);
+        return bookingRepository.save(booking);
+    }
+
+    private static Map<String, byte[]> unzip(byte[] archive) throws IOException {
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(archive))) {
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                entries.put(entry.getName(), zip.readAllBytes());
+            }
+        }
+        return entries;
+    }
+
+    private static String text(byte[] pdf) throws IOException {
+        try (PDDocument document = PDDocument.load(pdf)) {
+            return new PDFTextStripper().getText(document);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package at.ac.tuwien.sepr.groupphase.backend.integrationtest;
+
+import at.ac.tuwien.sepr.groupphase.backend.entity.JobLock;
+import at.ac.tuwien.sepr.groupphase.backend.repository.JobLockRepository;
+import at.ac.tuwien.sepr.groupphase.backend.service.impl.SimpleJobLockService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+@ActiveProfiles("test")
+public class JobLockTest {
+
+    private static final String JOB_NAME = "job-lock-test";
+    private static final Duration LEASE = Duration.ofMinutes(10);
+
+    @Autowired
+    private JobLockRepository jobLockRepository;
+
+    @AfterEach
+    public void afterEach() {
+        jobLockRepository.deleteById(JOB_NAME);
+    }
+
+    /**
+     * Test case: Two nodes whose schedules fire one after the other run the job only once, because the first one keeps
+     * the lease for the minimum hold time after the job finished.
+     */
+    @Test
+    public void givenTwoNodes_whenRunBackToBack_thenOnlyTheFirstRuns() {
+        SimpleJobLockService firstNode = new SimpleJobLockService(jobLockRepository);
+        SimpleJobLockService secondNode = new SimpleJobLockService(jobLockRepository);
+        AtomicInteger runs = new AtomicInteger();
+
+        assertTrue(firstNode.runExclusively(JOB_NAME, LEASE, Duration.ofMinutes(5), runs::incrementAndGet));
+        assertFalse(secondNode.runExclusively(JOB_NAME, LEASE, Duration.ofMinutes(5), runs::incrementAndGet));
+        assertFalse(firstNode.runExclusively(JOB_NAME, LEASE, Duration.ofMinutes(5), runs::incrementAndGet));
+
+        assertEquals(1, runs.get());
+        JobLock lock = jobLockRepository.findById(JOB_NAME).orElseThrow();
+        assertTrue(lock.getLockedUntil().isAfter(lock.getLockedAt().plusMinutes(4)));
+    }
+
+    /**
+     * Test case: Once the minimum hold time has passed, another node takes the lease and runs the job.
+     */
+    @Test
+    public void givenMinimumHoldPassed_whenAnotherNodeRuns_thenItTakesTheLease() {
+        SimpleJobLockService firstNode = new SimpleJobLockService(jobLockRepository);
+        SimpleJobLockService secondNode = new SimpleJobLockService(jobLockRepository);
+        AtomicInteger runs = new AtomicInteger();
+
+        assertTrue(firstNode.runExclusively(JOB_NAME, LEASE, Duration.ZERO, runs::incrementAndGet));
+        assertTrue(secondNode.runExclusively(JOB_NAME, LEASE, Duration.ZERO, runs::incrementAndGet));
+
+        assertEquals(2, runs.get());
+    }
+
+    /**
+     * Test case: A lease held by a node that died is taken over once it has run out, and not before.
+     */
+    @Test
+    public void givenLeaseOfDeadNode_whenRunOutInDatabaseTime_thenTakenOver() {
+        SimpleJobLockService node = new SimpleJobLockService(jobLockRepository);
+        AtomicInteger runs = new AtomicInteger();
+        JobLock lock = new JobLock(JOB_NAME, LocalDateTime.now().plusMinutes(1));
+        lock.setLockedBy("dead-node");
+        jobLockRepository.save(lock);
+
+        assertFalse(node.runExclusively(JOB_NAME, LEASE, Duration.ZERO, runs::incrementAndGet));
+
+        lock.setLockedUntil(LocalDateTime.now().minusSeconds(1));
+        jobLockRepository.save(lock);
+
+        assertTrue(node.runExclusively(JOB_NAME, LEASE, Duration.ZERO, runs::incrementAndGet));
+        assertEquals(1, runs.get());
+    }
+}
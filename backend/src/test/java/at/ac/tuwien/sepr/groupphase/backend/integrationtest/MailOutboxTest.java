@@ -0,0 +1,90 @@
+package at.ac.tuwien.sepr.groupphase.backend.integrationtest;
+
+import at.ac.tuwien.sepr.groupphase.backend.config.TestSecurityConfig;
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.InviteToRoomDto;
+import at.ac.tuwien.sepr.groupphase.backend.entity.OutboxMail;
+import at.ac.tuwien.sepr.groupphase.backend.enums.MailStatus;
+import at.ac.tuwien.sepr.groupphase.backend.repository.OutboxMailRepository;
+import at.ac.tuwien.sepr.groupphase.backend.service.impl.SimpleMailService;
+import jakarta.mail.MessagingException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@Import(TestSecurityConfig.class)
+public class MailOutboxTest {
+
+    @Autowired
+    private SimpleMailService mailService;
+
+    @Autowired
+    private OutboxMailRepository outboxMailRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Test case to verify that a mail queued in a committed transaction is sent by the dispatcher to the local SMTP server.
+     */
+    @Test
+    public void givenCommittedInvite_whenDispatcherPolls_thenMailIsSent() {
+        String recipient = "outbox.committed@example.com";
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> queueInvite(recipient));
+
+        await().atMost(Duration.ofSeconds(10)).until(() -> mailsTo(recipient).stream()
+            .allMatch(mail -> mail.getStatus() == MailStatus.SENT));
+
+        List<OutboxMail> mails = mailsTo(recipient);
+        assertEquals(1, mails.size());
+        assertEquals("Invitation to Shared Room", mails.getFirst().getSubject());
+        assertNotNull(mails.getFirst().getSentAt());
+        assertEquals(1, mails.getFirst().getAttempts());
+    }
+
+    /**
+     * Test case to verify that a mail queued in a rolled back transaction is never written to the outbox.
+     */
+    @Test
+    public void givenRolledBackInvite_whenQueued_thenNoMailIsWritten() {
+        String recipient = "outbox.rolledback@example.com";
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            queueInvite(recipient);
+            status.setRollbackOnly();
+        });
+
+        assertTrue(mailsTo(recipient).isEmpty());
+    }
+
+    private void queueInvite(String recipient) {
+        try {
+            mailService.sendAddToRoomEmail(new InviteToRoomDto(1L, recipient, "owner@example.com"));
+        } catch (MessagingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private List<OutboxMail> mailsTo(String recipient) {
+        return outboxMailRepository.findAll().stream()
+            .filter(mail -> recipient.equals(mail.getRecipient()))
+            .toList();
+    }
+}
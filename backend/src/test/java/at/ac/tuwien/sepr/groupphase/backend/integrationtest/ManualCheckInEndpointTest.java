@@ -122,7 +122,7 @@ public class ManualCheckInEndpointTest {
     @WithMockUser(roles = {"ADMIN", "RECEPTIONIST"})
     public void givenValidRequest_whenGetBookingById_thenReturnsBookingDetails() throws Exception {
         DetailedBookingDto bookingDto = new DetailedBookingDto(1L, 1L, 1L, LocalDate.now(),
-            LocalDate.now().plusDays(7), "room", 1.0d, true, null, "BOOK-8FD8E9C0", LocalDate.parse("2025-01-13"), 2500.5 , 3, "");
+            LocalDate.now().plusDays(7), "room", 1.0d, true, null, "BOOK-8FD8E9C0", LocalDate.parse("2025-01-13"), 2500.5 , 3, "", null);
         ApplicationUser user = new ApplicationUser();
         user.setEmail("test@example.com");
         user.setId(1L);
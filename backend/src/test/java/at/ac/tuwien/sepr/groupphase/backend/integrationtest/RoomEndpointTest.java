@@ -8,12 +8,21 @@ import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.RoomCleaningTimeDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.RoomCreateDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.RoomUpdateDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.mapper.RoomMapper;
+import at.ac.tuwien.sepr.groupphase.backend.entity.Booking;
 import at.ac.tuwien.sepr.groupphase.backend.entity.Room;
+import at.ac.tuwien.sepr.groupphase.backend.entity.RoomImage;
+import at.ac.tuwien.sepr.groupphase.backend.enums.BookingStatus;
+import at.ac.tuwien.sepr.groupphase.backend.enums.ImageVariant;
 import at.ac.tuwien.sepr.groupphase.backend.repository.BookingRepository;
 import at.ac.tuwien.sepr.groupphase.backend.repository.CheckInRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.ImageBlobRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.ImageDerivativeRepository;
 import at.ac.tuwien.sepr.groupphase.backend.repository.RoomRepository;
 import at.ac.tuwien.sepr.groupphase.backend.security.JwtTokenizer;
+import at.ac.tuwien.sepr.groupphase.backend.service.ImageService;
+import at.ac.tuwien.sepr.groupphase.backend.entity.ImageBlob;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -23,6 +32,7 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -37,17 +47,31 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -65,9 +89,21 @@ public class RoomEndpointTest implements TestData {
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private ImageService imageService;
+
+    @Autowired
+    private ImageBlobRepository imageBlobRepository;
+
+    @Autowired
+    private ImageDerivativeRepository imageDerivativeRepository;
+
     @Autowired
     private RoomRepository roomRepository;
 
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     @Autowired
     private BookingRepository bookingRepository;
 
@@ -102,7 +138,7 @@ public class RoomEndpointTest implements TestData {
         TEST_ROOM_CREATED_AT,
         null,
         null,
-        TEST_ROOM_MAIN_IMAGE);
+        ImageBlob.of(TEST_ROOM_MAIN_IMAGE));
 
 
     /**
@@ -119,7 +155,7 @@ public class RoomEndpointTest implements TestData {
             .withDescription(TEST_ROOM_DESCRIPTION)
             .withPrice(TEST_ROOM_PRICE)
             .withCapacity(TEST_ROOM_CAPACITY)
-            .withMainImage(TEST_ROOM_MAIN_IMAGE)
+            .withMainImage(imageService.store(TEST_ROOM_MAIN_IMAGE))
             .withCreatedAt(new Timestamp(System.currentTimeMillis()).toLocalDateTime())
             .build();
     }
@@ -155,7 +191,7 @@ public class RoomEndpointTest implements TestData {
             () -> assertEquals(room.getDescription(), mappedRoom.getDescription()),
             () -> assertEquals(room.getPrice(), mappedRoom.getPrice()),
             () -> assertEquals(room.getCapacity(), mappedRoom.getCapacity()),
-            () -> assertArrayEquals(room.getMainImage(), mappedRoom.getMainImage())
+            () -> assertArrayEquals(room.getMainImage().getData(), mappedRoom.getMainImage().getData())
         );
     }
 
@@ -781,6 +817,343 @@ public class RoomEndpointTest implements TestData {
             .andExpect(jsonPath("$.price").value(TEST_ROOM_PRICE));
     }
 
+    /**
+     * Test case: Searching for a date range only returns rooms that are not booked within that range,
+     * and a cancelled booking frees its room again.
+     */
+    @Test
+    public void givenBookedAndFreeRoom_whenSearch_thenOnlyFreeRoomReturned() throws Exception {
+        Room bookedRoom = roomRepository.save(room);
+        Room freeRoom = roomRepository.save(Room.RoomBuilder.aRoom()
+            .withName("Free Room")
+            .withDescription(TEST_ROOM_DESCRIPTION)
+            .withPrice(TEST_ROOM_PRICE)
+            .withCapacity(TEST_ROOM_CAPACITY)
+            .withCreatedAt(LocalDateTime.now())
+            .build());
+        LocalDate startDate = LocalDate.now().plusDays(10);
+        Booking booking = bookingRepository.save(new Booking(bookedRoom, null, startDate, startDate.plusDays(3), false, null));
+
+        mockMvc.perform(get(ROOM_BASE_URI)
+                .param("startDate", startDate.plusDays(1).toString())
+                .param("endDate", startDate.plusDays(5).toString())
+                .param("capacity", "1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content.length()").value(1))
+            .andExpect(jsonPath("$.content[0].id").value(freeRoom.getId()));
+
+        booking.setStatus(BookingStatus.CANCELLED);
+        bookingRepository.save(booking);
+
+        mockMvc.perform(get(ROOM_BASE_URI)
+                .param("startDate", startDate.plusDays(1).toString())
+                .param("endDate", startDate.plusDays(5).toString())
+                .param("capacity", "1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content.length()").value(2));
+    }
+
+    /**
+     * Test case: Room list pages reference the main image by URL and only inline it when explicitly requested.
+     */
+    @Test
+    public void givenRoomWithMainImage_whenFindAll_thenImageOnlyInlinedOnRequest() throws Exception {
+        Room savedRoom = roomRepository.save(room);
+        String imageUrl = "/api/v1/image/" + savedRoom.getMainImage().getHash() + "?variant=card";
+
+        mockMvc.perform(get(ROOM_BASE_URI + "/all"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content.length()").value(1))
+            .andExpect(jsonPath("$.content[0].mainImage").value(nullValue()))
+            .andExpect(jsonPath("$.content[0].mainImageUrl").value(imageUrl));
+
+        mockMvc.perform(get(ROOM_BASE_URI + "/all").param("inlineImages", "true"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content[0].mainImage").value(savedRoom.getMainImageAsString()))
+            .andExpect(jsonPath("$.content[0].mainImageUrl").value(imageUrl));
+
+        mockMvc.perform(get(imageUrl))
+            .andExpect(status().isOk());
+    }
+
+    /**
+     * Test case: Walks through all rooms by price with keyset pagination, rooms with the same price ordered by ID.
+     */
+    @Test
+    public void givenRoomsWithSamePrice_whenFindAllAfter_thenEveryRoomIsListedOnce() throws Exception {
+        List<Room> rooms = new ArrayList<>();
+        for (double price : new double[] {300.0, 100.0, 200.0, 100.0, 200.0}) {
+            rooms.add(roomRepository.save(Room.RoomBuilder.aRoom()
+                .withName("Keyset Room " + rooms.size())
+                .withDescription(TEST_ROOM_DESCRIPTION)
+                .withPrice(price)
+                .withCapacity(TEST_ROOM_CAPACITY)
+                .withCreatedAt(LocalDateTime.now())
+                .build()));
+        }
+        List<Long> expected = List.of(rooms.get(1).getId(), rooms.get(3).getId(), rooms.get(2).getId(),
+            rooms.get(4).getId(), rooms.get(0).getId());
+
+        List<Long> listed = new ArrayList<>();
+        String cursor = null;
+        do {
+            var request = get(ROOM_BASE_URI + "/all/keyset").param("size", "2");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            String page = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+            List<Number> ids = JsonPath.read(page, "$.content[*].id");
+            ids.forEach(id -> listed.add(id.longValue()));
+            cursor = JsonPath.read(page, "$.nextCursor");
+        } while (cursor != null);
+
+        assertEquals(expected, listed);
+    }
+
+    /**
+     * Test case: Images are stored once per content and served with their media type, a strong ETag and caching headers.
+     */
+    @Test
+    public void givenRoomsWithSameImage_whenGetImage_thenStoredOnceAndServedWithCachingHeaders() throws Exception {
+        byte[] png = {(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A, 0, 0, 0, 0x0D};
+        Room first = roomRepository.save(Room.RoomBuilder.aRoom()
+            .withName("First Room")
+            .withDescription(TEST_ROOM_DESCRIPTION)
+            .withPrice(TEST_ROOM_PRICE)
+            .withCapacity(TEST_ROOM_CAPACITY)
+            .withMainImage(imageService.store(png))
+            .withCreatedAt(LocalDateTime.now())
+            .build());
+        Room second = roomRepository.save(Room.RoomBuilder.aRoom()
+            .withName("Second Room")
+            .withDescription(TEST_ROOM_DESCRIPTION)
+            .withPrice(TEST_ROOM_PRICE)
+            .withCapacity(TEST_ROOM_CAPACITY)
+            .withMainImage(imageService.store(png.clone()))
+            .withCreatedAt(LocalDateTime.now())
+            .build());
+        String hash = first.getMainImage().getHash();
+        String etag = "\"" + hash + "\"";
+
+        assertEquals(hash, second.getMainImage().getHash());
+        assertEquals(1, imageBlobRepository.findAllById(List.of(hash)).size());
+
+        mockMvc.perform(get(ROOM_BASE_URI + "/image/{id}", second.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CONTENT_TYPE, MediaType.IMAGE_PNG_VALUE))
+            .andExpect(header().string(HttpHeaders.ETAG, etag))
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+            .andExpect(content().bytes(png));
+
+        mockMvc.perform(get(ROOM_BASE_URI + "/image/{id}", second.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().bytes(new byte[0]));
+
+        mockMvc.perform(get(BASE_URI + "/image/{hash}", hash))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, public, immutable"))
+            .andExpect(content().bytes(png));
+
+        mockMvc.perform(get(BASE_URI + "/image/{hash}", hash).header(HttpHeaders.IF_NONE_MATCH, "W/" + etag))
+            .andExpect(status().isNotModified());
+    }
+
+    /**
+     * Test case: Resized variants are generated in the background after upload and served on request.
+     */
+    @Test
+    public void givenUploadedImage_whenGetVariant_thenResizedImageIsServed() throws Exception {
+        BufferedImage image = new BufferedImage(1200, 800, BufferedImage.TYPE_INT_RGB);
+        for (int x = 0; x < image.getWidth(); x++) {
+            for (int y = 0; y < image.getHeight(); y++) {
+                image.setRGB(x, y, (x % 256) << 16 | (y % 256) << 8 | (x + y) % 256);
+            }
+        }
+        ByteArrayOutputStream jpeg = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpeg", jpeg);
+        Room savedRoom = roomRepository.save(Room.RoomBuilder.aRoom()
+            .withName("Variant Room")
+            .withDescription(TEST_ROOM_DESCRIPTION)
+            .withPrice(TEST_ROOM_PRICE)
+            .withCapacity(TEST_ROOM_CAPACITY)
+            .withMainImage(imageService.store(jpeg.toByteArray()))
+            .withCreatedAt(LocalDateTime.now())
+            .build());
+        String hash = savedRoom.getMainImage().getHash();
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (imageDerivativeRepository.findVariantsBySourceHash(hash).size() < ImageVariant.values().length
+            && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+
+        MvcResult thumbnail = mockMvc.perform(get(ROOM_BASE_URI + "/image/{id}", savedRoom.getId()).param("variant", "thumbnail"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CONTENT_TYPE, MediaType.IMAGE_JPEG_VALUE))
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+            .andReturn();
+        byte[] thumbnailData = thumbnail.getResponse().getContentAsByteArray();
+        BufferedImage thumbnailImage = ImageIO.read(new ByteArrayInputStream(thumbnailData));
+
+        assertAll(
+            () -> assertEquals(ImageVariant.THUMBNAIL.getMaxSize(), thumbnailImage.getWidth()),
+            () -> assertEquals(160, thumbnailImage.getHeight()),
+            () -> assertTrue(thumbnailData.length < jpeg.size()),
+            () -> assertNotEquals("\"" + hash + "\"", thumbnail.getResponse().getHeader(HttpHeaders.ETAG))
+        );
+
+        mockMvc.perform(get(BASE_URI + "/image/{hash}", hash).param("variant", "CARD"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, public, immutable"));
+
+        mockMvc.perform(get(BASE_URI + "/image/{hash}", hash).param("variant", "poster"))
+            .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Test case: Asking whether an image that was never stored is unchanged yields 404 instead of a cacheable 304.
+     */
+    @Test
+    public void givenUnknownHash_whenGetImageWithIfNoneMatch_thenNotFound() throws Exception {
+        String hash = "0".repeat(64);
+
+        mockMvc.perform(get(BASE_URI + "/image/{hash}", hash).header(HttpHeaders.IF_NONE_MATCH, "*"))
+            .andExpect(status().isNotFound());
+
+        mockMvc.perform(get(BASE_URI + "/image/{hash}", hash).header(HttpHeaders.IF_NONE_MATCH, "\"" + hash + "\""))
+            .andExpect(status().isNotFound());
+    }
+
+    /**
+     * Test case: Replacing the images of a room deletes the old images and their variants, unless another room still uses them.
+     */
+    @Test
+    @WithMockUser(username = ADMIN_USER, roles = {"ADMIN", "USER"})
+    public void givenSharedImage_whenUpdateRoomImages_thenOnlyUnreferencedImagesAreDeleted() throws Exception {
+        BufferedImage image = new BufferedImage(1200, 800, BufferedImage.TYPE_INT_RGB);
+        for (int x = 0; x < image.getWidth(); x++) {
+            for (int y = 0; y < image.getHeight(); y++) {
+                image.setRGB(x, y, (x % 256) << 16 | (y % 256) << 8 | (x + y) % 256);
+            }
+        }
+        ByteArrayOutputStream jpeg = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpeg", jpeg);
+        ImageBlob shared = imageService.store("Shared Image Data".getBytes());
+        ImageBlob replaced = imageService.store(jpeg.toByteArray());
+        RoomImage additionalImage = new RoomImage();
+        additionalImage.setImage(replaced);
+        Room updated = Room.RoomBuilder.aRoom()
+            .withName("Updated Room")
+            .withDescription(TEST_ROOM_DESCRIPTION)
+            .withPrice(TEST_ROOM_PRICE)
+            .withCapacity(TEST_ROOM_CAPACITY)
+            .withMainImage(shared)
+            .withCreatedAt(LocalDateTime.now())
+            .build();
+        updated.setAdditionalImages(new ArrayList<>(List.of(additionalImage)));
+        roomRepository.save(updated);
+        roomRepository.save(Room.RoomBuilder.aRoom()
+            .withName("Other Room")
+            .withDescription(TEST_ROOM_DESCRIPTION)
+            .withPrice(TEST_ROOM_PRICE)
+            .withCapacity(TEST_ROOM_CAPACITY)
+            .withMainImage(shared)
+            .withCreatedAt(LocalDateTime.now())
+            .build());
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (imageDerivativeRepository.findVariantsBySourceHash(replaced.getHash()).size() < ImageVariant.values().length
+            && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        List<String> variantHashes = imageDerivativeRepository.findImageHashesBySourceHash(replaced.getHash());
+        assertEquals(ImageVariant.values().length, variantHashes.size());
+
+        byte[] newImage = "New Image Data".getBytes();
+        mockMvc.perform(
+                multipart(HttpMethod.PUT, ROOM_BASE_URI + "/{id}", updated.getId())
+                    .file(new MockMultipartFile("mainImage", "new.jpg", "image/jpeg", newImage))
+                    .param("name", "Updated Room")
+                    .param("description", TEST_ROOM_DESCRIPTION)
+                    .param("price", String.valueOf(TEST_ROOM_PRICE))
+                    .param("capacity", String.valueOf(TEST_ROOM_CAPACITY))
+                    .param("smartLockId", "")
+                    .header(securityProperties.getAuthHeader(), jwtTokenizer.getAuthToken(ADMIN_USER, ADMIN_ROLES))
+                    .contentType(MediaType.MULTIPART_FORM_DATA_VALUE))
+            .andExpect(status().isOk());
+
+        assertAll(
+            () -> assertTrue(imageBlobRepository.existsById(shared.getHash())),
+            () -> assertTrue(imageBlobRepository.existsById(ImageBlob.of(newImage).getHash())),
+            () -> assertFalse(imageBlobRepository.existsById(replaced.getHash())),
+            () -> assertTrue(imageDerivativeRepository.findVariantsBySourceHash(replaced.getHash()).isEmpty()),
+            () -> assertTrue(imageBlobRepository.findAllById(variantHashes).isEmpty())
+        );
+    }
+
+    /**
+     * Test case: Concurrent uploads of the same new image all succeed within their transactions and store it once.
+     */
+    @Test
+    public void givenSameNewImage_whenStoredConcurrently_thenAllUploadsSucceedAndImageIsStoredOnce() throws Exception {
+        byte[] data = ("Concurrent Image Data " + System.nanoTime()).getBytes();
+        String hash = ImageBlob.hashOf(data);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> uploads = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                uploads.add(executor.submit(() -> transaction.execute(status -> imageService.store(data).getHash())));
+            }
+            for (Future<String> upload : uploads) {
+                assertEquals(hash, upload.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertTrue(imageBlobRepository.existsById(hash));
+        assertEquals(8, imageBlobRepository.findClaimsByHash(hash).orElseThrow());
+    }
+
+    /**
+     * Test case: A new image stored by an upload that is rolled back is deleted again, while a reused image is kept.
+     */
+    @Test
+    public void givenRolledBackUpload_whenImageWasNew_thenImageIsDeleted() {
+        ImageBlob existing = imageService.store("Existing Image Data".getBytes());
+        byte[] data = "Rolled Back Image Data".getBytes();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            imageService.store(data);
+            imageService.store(existing.getData());
+            status.setRollbackOnly();
+        });
+
+        assertFalse(imageBlobRepository.existsById(ImageBlob.hashOf(data)));
+        assertTrue(imageBlobRepository.existsById(existing.getHash()));
+    }
+
+    /**
+     * Test case: An image that is reused after a cleanup found it unreferenced is not deleted by that cleanup.
+     */
+    @Test
+    public void givenImageClaimedAfterCheck_whenDeleteIfUnreferenced_thenImageIsKept() {
+        // stored without variants, which would have to be unlinked first
+        String hash = imageBlobRepository.save(ImageBlob.of(("Claimed Image Data " + System.nanoTime()).getBytes())).getHash();
+        long claims = imageBlobRepository.findClaimsByHash(hash).orElseThrow();
+        assertFalse(imageBlobRepository.isReferenced(hash));
+
+        imageBlobRepository.claim(hash);
+
+        assertEquals(0, imageBlobRepository.deleteIfUnreferenced(hash, claims));
+        assertTrue(imageBlobRepository.existsById(hash));
+        assertEquals(1, imageBlobRepository.deleteIfUnreferenced(hash, claims + 1));
+        assertFalse(imageBlobRepository.existsById(hash));
+    }
+
     /**
      * Test case: Successfully deletes an existing room.
      */
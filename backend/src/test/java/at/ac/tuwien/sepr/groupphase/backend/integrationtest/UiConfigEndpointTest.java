@@ -7,6 +7,7 @@ import at.ac.tuwien.sepr.groupphase.backend.endpoint.mapper.UiConfigMapper;
 import at.ac.tuwien.sepr.groupphase.backend.entity.UiConfig;
 import at.ac.tuwien.sepr.groupphase.backend.repository.UiConfigRepository;
 import at.ac.tuwien.sepr.groupphase.backend.security.JwtTokenizer;
+import at.ac.tuwien.sepr.groupphase.backend.service.ImageService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -40,6 +41,9 @@ public class UiConfigEndpointTest implements TestData {
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private ImageService imageService;
+
     @Autowired
     private UiConfigRepository uiConfigRepository;
 
@@ -60,6 +64,7 @@ public class UiConfigEndpointTest implements TestData {
     @BeforeEach
     public void beforeEach() {
         uiConfigRepository.deleteAll();
+        imageService.store(TEST_UI_IMAGE_DATA);
         uiConfig = uiConfigRepository.save(new UiConfig(
             TEST_UI_CONFIG_ID,
             TEST_UI_CONFIG_HOTEL_NAME,
@@ -405,7 +410,7 @@ public class UiConfigEndpointTest implements TestData {
             .andExpect(jsonPath("$.descriptionShort").value(TEST_UI_CONFIG_DESCRIPTION_SHORT))
             .andExpect(jsonPath("$.description").value(TEST_UI_CONFIG_DESCRIPTION))
             .andExpect(jsonPath("$.address").value(TEST_UI_CONFIG_ADDRESS))
-            .andExpect(jsonPath("$.images").isArray());
+            .andExpect(jsonPath("$.imageUrls").isArray());
     }
 
     @Test
@@ -8,6 +8,7 @@ import at.ac.tuwien.sepr.groupphase.backend.enums.BookingStatus;
 import at.ac.tuwien.sepr.groupphase.backend.exception.NotFoundException;
 import at.ac.tuwien.sepr.groupphase.backend.exception.ValidationException;
 import at.ac.tuwien.sepr.groupphase.backend.repository.*;
+import at.ac.tuwien.sepr.groupphase.backend.service.ActivitySlotCalendar;
 import at.ac.tuwien.sepr.groupphase.backend.service.UserService;
 import at.ac.tuwien.sepr.groupphase.backend.service.impl.SimpleActivityBookingService;
 import at.ac.tuwien.sepr.groupphase.backend.service.validator.ActivityBookingValidator;
@@ -20,6 +21,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -50,6 +52,9 @@ public class ActivityBookingServiceTest {
     @Mock
     private ActivityBookingValidator activityBookingValidator;
 
+    @Mock
+    private ActivitySlotCalendar activitySlotCalendar;
+
     @InjectMocks
     private SimpleActivityBookingService bookingService;
 
@@ -89,11 +94,12 @@ public class ActivityBookingServiceTest {
 
     @Test
     public void createBooking_Success() throws NotFoundException, ValidationException {
-        ActivityBookingCreateDto createDto = new ActivityBookingCreateDto(1L, 1L, LocalDate.now(), 3, "testuser@example.com");
+        ActivityBookingCreateDto createDto = new ActivityBookingCreateDto(1L, 1L, null, null, LocalDate.now(), 3, "testuser@example.com");
 
         when(userRepository.findByEmail("testuser@example.com")).thenReturn(Optional.of(testUser));
         when(activityRepository.findActivityById(1L)).thenReturn(Optional.of(testActivity));
         when(activitySlotRepository.findById(1L)).thenReturn(Optional.of(testSlot));
+        when(activitySlotRepository.reserve(1L, 3)).thenReturn(1);
         when(bookingRepository.save(any(ActivityBooking.class))).thenReturn(testBooking);
         when(activityBookingMapper.activityBookingToActivityBookingDto(any(ActivityBooking.class), any(Activity.class)))
             .thenReturn(new ActivityBookingDto(1L, 1L, "Test Activity", LocalDate.now(), null, null, LocalDate.now(), 3, false));
@@ -103,12 +109,47 @@ public class ActivityBookingServiceTest {
         assertNotNull(result);
         assertEquals("Test Activity", result.activityName());
         verify(bookingRepository, times(1)).save(any(ActivityBooking.class));
-        verify(activitySlotRepository, times(1)).save(testSlot);
+        verify(activitySlotRepository, times(1)).reserve(1L, 3);
+        verify(activitySlotRepository, never()).save(any());
+    }
+
+    @Test
+    public void createBooking_SlotNotBookedYet_StoresSlot() throws NotFoundException, ValidationException {
+        LocalTime startTime = LocalTime.of(10, 0);
+        ActivitySlot computedSlot = new ActivitySlot(null, testActivity, LocalDate.now().plusDays(1), startTime, LocalTime.of(11, 0), 10, 0);
+        ActivityBookingCreateDto createDto = new ActivityBookingCreateDto(1L, null, computedSlot.getDate(), startTime, LocalDate.now(), 3, "testuser@example.com");
+
+        when(userRepository.findByEmail("testuser@example.com")).thenReturn(Optional.of(testUser));
+        when(activityRepository.findActivityById(1L)).thenReturn(Optional.of(testActivity));
+        when(activitySlotCalendar.findSlot(1L, computedSlot.getDate(), startTime)).thenReturn(computedSlot);
+        when(activitySlotRepository.saveAndFlush(computedSlot)).thenReturn(testSlot);
+        when(activitySlotRepository.reserve(1L, 3)).thenReturn(1);
+
+        bookingService.createBooking(createDto, "testuser@example.com");
+
+        assertEquals(0, computedSlot.getOccupied());
+        verify(activitySlotRepository, never()).findById(any());
+        verify(bookingRepository, times(1)).save(argThat(booking -> booking.getActivitySlot() == testSlot));
+    }
+
+    @Test
+    public void createBooking_SlotTakenConcurrently_ThrowsValidationException() {
+        ActivityBookingCreateDto createDto = new ActivityBookingCreateDto(1L, 1L, null, null, LocalDate.now(), 3, "testuser@example.com");
+
+        when(userRepository.findByEmail("testuser@example.com")).thenReturn(Optional.of(testUser));
+        when(activityRepository.findActivityById(1L)).thenReturn(Optional.of(testActivity));
+        when(activitySlotRepository.findById(1L)).thenReturn(Optional.of(testSlot));
+        when(activitySlotRepository.reserve(1L, 3)).thenReturn(0);
+
+        ValidationException exception = assertThrows(ValidationException.class, () -> bookingService.createBooking(createDto, "testuser@example.com"));
+
+        assertEquals(List.of("Not enough capacity in activity slot"), exception.errors());
+        verify(bookingRepository, never()).save(any());
     }
 
     @Test
     public void createBooking_UserNotFound() {
-        ActivityBookingCreateDto createDto = new ActivityBookingCreateDto(1L, 1L, LocalDate.now(), 3, "nonexistent@example.com");
+        ActivityBookingCreateDto createDto = new ActivityBookingCreateDto(1L, 1L, null, null, LocalDate.now(), 3, "nonexistent@example.com");
 
         when(userRepository.findByEmail("nonexistent@example.com")).thenReturn(Optional.empty());
 
@@ -118,7 +159,7 @@ public class ActivityBookingServiceTest {
     @Test
     @Disabled
     public void createBooking_ActivityNotFound() {
-        ActivityBookingCreateDto createDto = new ActivityBookingCreateDto(99L, 1L, LocalDate.now(), 3, "testuser@example.com");
+        ActivityBookingCreateDto createDto = new ActivityBookingCreateDto(99L, 1L, null, null, LocalDate.now(), 3, "testuser@example.com");
 
         when(userRepository.findByEmail("testuser@example.com")).thenReturn(Optional.of(testUser));
         when(activityRepository.findActivityById(99L)).thenReturn(Optional.empty());
@@ -0,0 +1,124 @@
+package at.ac.tuwien.sepr.groupphase.backend.unittests;
+
+import at.ac.tuwien.sepr.groupphase.backend.entity.GuestActivityCategory;
+import at.ac.tuwien.sepr.groupphase.backend.repository.ActivityRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.projection.ActivityCategories;
+import at.ac.tuwien.sepr.groupphase.backend.service.ActivityRecommendationIndex.Candidate;
+import at.ac.tuwien.sepr.groupphase.backend.service.impl.SimpleActivityRecommendationIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ActivityRecommendationIndexTest {
+
+    @Mock
+    private ActivityRepository activityRepository;
+
+    private SimpleActivityRecommendationIndex recommendationIndex;
+
+    @BeforeEach
+    public void setup() {
+        recommendationIndex = new SimpleActivityRecommendationIndex(activityRepository);
+    }
+
+    /**
+     * Test case to verify that the index is loaded from the activity table once and returns the best matching activities
+     * first, with each category of an activity weighted by its share.
+     */
+    @Test
+    public void givenStoredActivities_whenTopK_thenBestMatchesComeFirst() {
+        when(activityRepository.findAllCategories()).thenReturn(List.of(
+            new ActivityCategories(1L, "Music"),
+            new ActivityCategories(2L, "Music, Sports"),
+            new ActivityCategories(3L, "Sports"),
+            new ActivityCategories(4L, "cooking")));
+
+        List<Candidate> candidates = recommendationIndex.topK(preferences(1.0, 0.5, 0.0), 3);
+
+        assertEquals(List.of(1L, 2L, 3L), candidates.stream().map(Candidate::activityId).toList());
+        assertEquals(1.0, candidates.get(0).score(), 1e-6);
+        assertEquals(0.75, candidates.get(1).score(), 1e-6);
+        assertEquals(0.5, candidates.get(2).score(), 1e-6);
+        assertEquals(1, recommendationIndex.topK(preferences(0.0, 0.0, 2.0), 1).size());
+        assertEquals(4L, recommendationIndex.topK(preferences(0.0, 0.0, 2.0), 1).get(0).activityId());
+        verify(activityRepository, times(1)).findAllCategories();
+    }
+
+    /**
+     * Test case to verify that a guest without preferences gets activities with a score of 0 and at most as many as asked for.
+     */
+    @Test
+    public void givenNoPreferences_whenTopK_thenAllActivitiesScoreZero() {
+        when(activityRepository.findAllCategories()).thenReturn(List.of(
+            new ActivityCategories(1L, "Music"),
+            new ActivityCategories(2L, "Sports"),
+            new ActivityCategories(3L, null)));
+
+        List<Candidate> candidates = recommendationIndex.topK(null, 2);
+
+        assertEquals(2, candidates.size());
+        candidates.forEach(candidate -> assertEquals(0.0, candidate.score()));
+        assertEquals(3, recommendationIndex.topK(null, 10).size());
+    }
+
+    /**
+     * Test case to verify that new, changed and deleted activities are reflected without reloading from the activity table.
+     */
+    @Test
+    public void givenLoadedIndex_whenPutAndRemove_thenRecommendationsFollow() {
+        when(activityRepository.findAllCategories()).thenReturn(List.of(new ActivityCategories(1L, "Music")));
+        recommendationIndex.rebuild();
+
+        recommendationIndex.put(2L, "Sports");
+        assertEquals(2L, recommendationIndex.topK(preferences(0.0, 1.0, 0.0), 1).get(0).activityId());
+
+        recommendationIndex.put(2L, "Music");
+        recommendationIndex.remove(1L);
+        List<Candidate> candidates = recommendationIndex.topK(preferences(0.0, 1.0, 0.0), 5);
+        assertEquals(Set.of(2L), candidates.stream().map(Candidate::activityId).collect(Collectors.toSet()));
+        assertEquals(0.0, candidates.get(0).score());
+        verify(activityRepository, times(1)).findAllCategories();
+    }
+
+    /**
+     * Test case to verify that changes before the index is loaded are left to the load instead of being applied twice.
+     */
+    @Test
+    public void givenIndexNotLoaded_whenPut_thenLoadReadsActivityTable() {
+        recommendationIndex.put(1L, "Music");
+        when(activityRepository.findAllCategories()).thenReturn(List.of(new ActivityCategories(2L, "Sports")));
+
+        List<Candidate> candidates = recommendationIndex.topK(preferences(1.0, 1.0, 0.0), 5);
+
+        assertEquals(List.of(2L), candidates.stream().map(Candidate::activityId).toList());
+    }
+
+    private static GuestActivityCategory preferences(double music, double sports, double cooking) {
+        GuestActivityCategory preferences = new GuestActivityCategory();
+        preferences.setEducation(0.0);
+        preferences.setMusic(music);
+        preferences.setFitness(0.0);
+        preferences.setNature(0.0);
+        preferences.setCooking(cooking);
+        preferences.setTeamwork(0.0);
+        preferences.setCreativity(0.0);
+        preferences.setWellness(0.0);
+        preferences.setRecreation(0.0);
+        preferences.setSports(sports);
+        preferences.setKids(0.0);
+        preferences.setWorkshop(0.0);
+        return preferences;
+    }
+}
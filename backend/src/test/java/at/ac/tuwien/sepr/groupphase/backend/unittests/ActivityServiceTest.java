@@ -8,9 +8,11 @@ import at.ac.tuwien.sepr.groupphase.backend.entity.Room;
 import at.ac.tuwien.sepr.groupphase.backend.exception.NotFoundException;
 import at.ac.tuwien.sepr.groupphase.backend.exception.ValidationException;
 import at.ac.tuwien.sepr.groupphase.backend.repository.ActivityRepository;
+import at.ac.tuwien.sepr.groupphase.backend.service.ActivityRecommendationIndex;
+import at.ac.tuwien.sepr.groupphase.backend.service.ActivitySlotCalendar;
+import at.ac.tuwien.sepr.groupphase.backend.service.ImageService;
 import at.ac.tuwien.sepr.groupphase.backend.service.impl.SimpleActivityService;
 import at.ac.tuwien.sepr.groupphase.backend.service.validator.ActivityValidator;
-import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -19,7 +21,6 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
 
 import java.io.IOException;
 import java.time.DayOfWeek;
@@ -49,6 +50,15 @@ public class ActivityServiceTest {
     @Mock
     private ActivityMapper activityMapper;
 
+    @Mock
+    private ActivitySlotCalendar activitySlotCalendar;
+
+    @Mock
+    private ActivityRecommendationIndex activityRecommendationIndex;
+
+    @Mock
+    private ImageService imageService;
+
     @InjectMocks
     private SimpleActivityService activityService;
 
@@ -141,21 +151,20 @@ public class ActivityServiceTest {
     }
 
     @Test
-    @Disabled
     public void testGetPaginatedTimeslots_Success() {
         Long activityId = 1L;
-        PageRequest pageRequest = PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "date"));
+        PageRequest pageRequest = PageRequest.of(0, 10);
         List<ActivitySlot> slots = List.of(
             new ActivitySlot(1L, null, LocalDate.now(), LocalTime.of(10, 0), LocalTime.of(12, 0), 10, 5),
-            new ActivitySlot(2L, null, LocalDate.now().plusDays(1), LocalTime.of(14, 0), LocalTime.of(16, 0), 8, 3)
+            new ActivitySlot(null, null, LocalDate.now().plusDays(1), LocalTime.of(14, 0), LocalTime.of(16, 0), 8, 0)
         );
         Page<ActivitySlot> slotsPage = new PageImpl<>(slots);
 
-        when(activityRepository.findTimeslotsByActivityId(activityId, LocalDate.now(), LocalTime.now(), pageRequest)).thenReturn(slotsPage);
+        when(activitySlotCalendar.findUpcoming(activityId, null, null, pageRequest)).thenReturn(slotsPage);
         when(activityMapper.activitySlotPageToDtoPage(slotsPage)).thenReturn(new PageImpl<>(
             List.of(
                 new ActivitySlotDto(1L, LocalDate.now(), LocalTime.of(10, 0), LocalTime.of(12, 0), 10, 5),
-                new ActivitySlotDto(2L, LocalDate.now().plusDays(1), LocalTime.of(14, 0), LocalTime.of(16, 0), 8, 3)
+                new ActivitySlotDto(null, LocalDate.now().plusDays(1), LocalTime.of(14, 0), LocalTime.of(16, 0), 8, 0)
             )
         ));
 
@@ -163,23 +172,21 @@ public class ActivityServiceTest {
 
         assertNotNull(result);
         assertEquals(2, result.getContent().size());
-        verify(activityRepository, times(1)).findTimeslotsByActivityId(activityId, LocalDate.now(), LocalTime.now(), pageRequest);
+        verify(activitySlotCalendar, times(1)).findUpcoming(activityId, null, null, pageRequest);
         verify(activityMapper, times(1)).activitySlotPageToDtoPage(slotsPage);
     }
 
     @Test
-    @Disabled
     public void testGetFilteredTimeslots_Success() throws ValidationException {
         Long activityId = 1L;
         ActivitySlotSearchDto searchDto = new ActivitySlotSearchDto(LocalDate.now(), 2);
-        PageRequest pageRequest = PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "date"));
+        PageRequest pageRequest = PageRequest.of(0, 10);
         List<ActivitySlot> filteredSlots = List.of(
             new ActivitySlot(1L, null, LocalDate.now(), LocalTime.of(10, 0), LocalTime.of(12, 0), 10, 5)
         );
         Page<ActivitySlot> filteredSlotsPage = new PageImpl<>(filteredSlots);
 
-        when(activityRepository.findFilteredTimeslots(
-            activityId, searchDto.date(), searchDto.participants(),  LocalDate.now(), LocalTime.now(), pageRequest))
+        when(activitySlotCalendar.findUpcoming(activityId, searchDto.date(), searchDto.participants(), pageRequest))
             .thenReturn(filteredSlotsPage);
         when(activityMapper.activitySlotPageToDtoPage(filteredSlotsPage)).thenReturn(new PageImpl<>(
             List.of(new ActivitySlotDto(1L, LocalDate.now(), LocalTime.of(10, 0), LocalTime.of(12, 0), 10, 5))
@@ -189,7 +196,7 @@ public class ActivityServiceTest {
 
         assertNotNull(result);
         assertEquals(1, result.getContent().size());
-        verify(activityRepository, times(1)).findFilteredTimeslots(activityId, searchDto.date(), searchDto.participants(), LocalDate.now(), LocalTime.now(), pageRequest);
+        verify(activitySlotCalendar, times(1)).findUpcoming(activityId, searchDto.date(), searchDto.participants(), pageRequest);
         verify(activityValidator, times(1)).validateForTimeslotsFilter(searchDto, activityId);
         verify(activityMapper, times(1)).activitySlotPageToDtoPage(filteredSlotsPage);
     }
@@ -2,7 +2,6 @@ package at.ac.tuwien.sepr.groupphase.backend.unittests;
 
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.BookingCreateDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.DetailedBookingDto;
-import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.EmployeeBookingDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.mapper.CheckInMapper;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.mapper.RoomMapper;
 import at.ac.tuwien.sepr.groupphase.backend.entity.Booking;
@@ -14,6 +13,8 @@ import at.ac.tuwien.sepr.groupphase.backend.exception.NotFoundException;
 import at.ac.tuwien.sepr.groupphase.backend.exception.ValidationException;
 import at.ac.tuwien.sepr.groupphase.backend.repository.*;
 import at.ac.tuwien.sepr.groupphase.backend.service.UserService;
+import at.ac.tuwien.sepr.groupphase.backend.service.impl.BookingAdmission;
+import at.ac.tuwien.sepr.groupphase.backend.service.impl.BookingDocumentWorker;
 import at.ac.tuwien.sepr.groupphase.backend.service.impl.SimpleBookingService;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.mapper.BookingMapper;
 import at.ac.tuwien.sepr.groupphase.backend.service.validator.BookingValidator;
@@ -34,14 +35,13 @@ import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.times;
-import static org.mockito.Mockito.lenient;
 
 import at.ac.tuwien.sepr.groupphase.backend.service.PdfGenerationService;
 import at.ac.tuwien.sepr.groupphase.backend.service.PdfStorageService;
+import at.ac.tuwien.sepr.groupphase.backend.service.RoomAvailabilityIndex;
 import at.ac.tuwien.sepr.groupphase.backend.service.impl.SimpleMailService;
 import jakarta.mail.MessagingException;
 import org.junit.jupiter.api.BeforeEach;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
 import org.springframework.test.util.ReflectionTestUtils;
 
@@ -80,7 +80,7 @@ public class BookingServiceTest {
     private UserService userService;
 
     @Mock
-    private JavaMailSender javaMailSender;
+    private OutboxMailRepository outboxMailRepository;
 
     @Mock
     private PdfGenerationService pdfGenerationService;
@@ -91,9 +91,18 @@ public class BookingServiceTest {
     @Mock
     private SimpleMailService mailService;
 
+    @Mock
+    private RoomAvailabilityIndex roomAvailabilityIndex;
+
+    @Mock
+    private BookingAdmission bookingAdmission;
+
+    @Mock
+    private BookingDocumentWorker bookingDocumentWorker;
+
     @BeforeEach
     public void setup() {
-        ReflectionTestUtils.setField(mailService, "javaMailSender", javaMailSender);
+        ReflectionTestUtils.setField(mailService, "outboxMailRepository", outboxMailRepository);
         ReflectionTestUtils.setField(mailService, "mailIntegrationId", "testemail@example.com");
     }
 
@@ -113,32 +122,28 @@ public class BookingServiceTest {
 
 
         DetailedBookingDto detailedBookingDto = new DetailedBookingDto(1L, 1L, 1L, LocalDate.now(),
-            LocalDate.now().plusDays(5), "Room 1", 100.0, true, null, "BOOK-8FD8E9C0", LocalDate.parse("2025-01-13"), 2500.5, 2, "");
+            LocalDate.now().plusDays(5), "Room 1", 100.0, true, null, "BOOK-8FD8E9C0", LocalDate.parse("2025-01-13"), 2500.5, 2, "", null);
 
         when(userService.getLoggedInUser()).thenReturn(user);
         when(userService.findApplicationUserByEmail("test@example.com")).thenReturn(user);
-        when(roomRepository.findById(bookingDto.roomId())).thenReturn(Optional.of(room));
-        when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> {
-            Booking newBooking = invocation.getArgument(0);
+        when(roomRepository.existsById(bookingDto.roomId())).thenReturn(true);
+        when(bookingAdmission.admit(eq(bookingDto.roomId()), eq(user), eq(bookingDto.startDate()), eq(bookingDto.endDate()), isNull())).thenAnswer(invocation -> {
+            Booking newBooking = new Booking(room, user, bookingDto.startDate(), bookingDto.endDate(), false, null);
             newBooking.setId(1L);
             return newBooking;
         });
 
         when(bookingMapper.bookingToDetailedBookingDto(any(Booking.class))).thenReturn(detailedBookingDto);
 
-        byte[] mockPdfContent = "Mock PDF Content".getBytes();
-        when(pdfGenerationService.generateBookingConfirmation(any(Booking.class))).thenReturn(mockPdfContent);
-        lenient().doNothing().when(pdfStorageService).storePdf(eq(1L), eq("Buchungsbestätigung.pdf"), any(byte[].class));
-
 
             DetailedBookingDto result = bookingService.createBooking(bookingDto);
 
             assertNotNull(result);
             assertEquals(detailedBookingDto, result);
-            verify(bookingRepository, times(1)).save(any(Booking.class));
-            verify(mailService, times(1)).sendEmail(any(Booking.class), anyList());
-            verify(pdfGenerationService, times(1)).generateBookingConfirmation(any(Booking.class));
-            verify(pdfStorageService, times(1)).storePdf(eq(1L), eq("BookingConfirmation.pdf"), any(byte[].class));
+            verify(bookingAdmission, times(1)).admit(eq(bookingDto.roomId()), eq(user), eq(bookingDto.startDate()), eq(bookingDto.endDate()), isNull());
+            verify(bookingDocumentWorker, times(1)).submit(1L);
+            verify(mailService, times(0)).sendEmail(any(Booking.class), anyList());
+            verify(pdfGenerationService, times(0)).generateBookingConfirmation(any(Booking.class));
     }
 
 
@@ -152,7 +157,7 @@ public class BookingServiceTest {
         user.setId(1L);
 
         when(userService.getLoggedInUser()).thenReturn(user);
-        when(roomRepository.findById(bookingDto.roomId())).thenReturn(Optional.empty());
+        when(roomRepository.existsById(bookingDto.roomId())).thenReturn(false);
 
         NotFoundException exception = assertThrows(NotFoundException.class,
             () -> bookingService.createBooking(bookingDto));
@@ -226,19 +231,6 @@ public class BookingServiceTest {
     }
 
 
-    /**
-     * Test case to verify that when there are no bookings in the repository,
-     */
-    @Test
-    public void givenNoBookings_whenGetAllBookings_thenReturnEmptyList() {
-        when(bookingRepository.findAll()).thenReturn(List.of());
-
-        List<EmployeeBookingDto> result = bookingService.getAllBookings();
-
-        assertTrue(result.isEmpty());
-        verify(bookingRepository, times(1)).findAll();
-    }
-
     /**
      * Test case to verify that attempting to cancel a booking that has already been cancelled throws a {@link ConflictException}.
      */
@@ -255,4 +247,32 @@ public class BookingServiceTest {
             () -> bookingService.cancelBooking(bookingId));
         assertEquals("Booking is already cancelled. Conflicts: .", exception.getMessage());  // Angepasste Überprüfung
     }
-}
\ No newline at end of file
+
+    /**
+     * Test case to verify that availability inside the index horizon is answered by the index, without querying the booking table.
+     */
+    @Test
+    public void givenRangeCoveredByIndex_whenIsRoomAvailable_thenIndexIsUsed() {
+        LocalDate startDate = LocalDate.now().plusDays(1);
+        LocalDate endDate = startDate.plusDays(3);
+        when(roomAvailabilityIndex.covers(startDate, endDate)).thenReturn(true);
+        when(roomAvailabilityIndex.isOccupied(1L, startDate, endDate)).thenReturn(true);
+
+        assertFalse(bookingService.isRoomAvailable(1L, startDate, endDate));
+        verify(bookingRepository, times(0)).countByRoomIdAndDateRangeAndStatus(anyLong(), any(), any(), anyList());
+    }
+
+    /**
+     * Test case to verify that availability outside the index horizon falls back to the booking table.
+     */
+    @Test
+    public void givenRangeOutsideIndex_whenIsRoomAvailable_thenBookingTableIsQueried() {
+        LocalDate startDate = LocalDate.now().plusYears(3);
+        LocalDate endDate = startDate.plusDays(3);
+        when(roomAvailabilityIndex.covers(startDate, endDate)).thenReturn(false);
+        when(bookingRepository.countByRoomIdAndDateRangeAndStatus(eq(1L), eq(startDate), eq(endDate), anyList())).thenReturn(0L);
+
+        assertTrue(bookingService.isRoomAvailable(1L, startDate, endDate));
+        verify(roomAvailabilityIndex, times(0)).isOccupied(anyLong(), any(), any());
+    }
+}
@@ -13,8 +13,11 @@ import at.ac.tuwien.sepr.groupphase.backend.exception.ConflictException;
 import at.ac.tuwien.sepr.groupphase.backend.exception.NotFoundException;
 import at.ac.tuwien.sepr.groupphase.backend.exception.ValidationException;
 import at.ac.tuwien.sepr.groupphase.backend.repository.*;
+import at.ac.tuwien.sepr.groupphase.backend.repository.projection.RoomCapacity;
 import at.ac.tuwien.sepr.groupphase.backend.service.BookingService;
 import at.ac.tuwien.sepr.groupphase.backend.service.MailService;
+import at.ac.tuwien.sepr.groupphase.backend.service.PassportStorageService;
+import at.ac.tuwien.sepr.groupphase.backend.service.RoomCapacityCache;
 import at.ac.tuwien.sepr.groupphase.backend.service.impl.SimpleCheckInService;
 import at.ac.tuwien.sepr.groupphase.backend.service.validator.CheckInValidator;
 import org.junit.jupiter.api.Test;
@@ -23,6 +26,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.time.LocalDate;
@@ -51,7 +56,7 @@ public class CheckInServiceTest {
     private ApplicationUserRepository userRepository;
 
     @Mock
-    private RoomRepository roomRepository;
+    private RoomCapacityCache roomCapacityCache;
 
     @Mock
     private GuestRepository guestRepository;
@@ -86,6 +91,14 @@ public class CheckInServiceTest {
     @Mock
     private MailService mailService;
 
+    @Mock
+    private StayStateRepository stayStateRepository;
+
+    @Mock
+    private PassportStorageService passportStorageService;
+
+    private static final String PASSPORT_REF = "passport-ref";
+
     @Test
     public void givenValidCheckInDto_whenCheckIn_thenSave() throws Exception {
         CheckInDto checkInDto = new CheckInDto(1L, "John", "Doe", LocalDate.now().minusYears(18),
@@ -99,7 +112,7 @@ public class CheckInServiceTest {
         booking.setId(1L);
 
         DetailedBookingDto bookingDto = new DetailedBookingDto(1L, 1L, 1L, LocalDate.now(),
-            LocalDate.now().plusDays(7), "room", 1.0d, true, null, "BOOK-8FD8E9C0", LocalDate.parse("2025-01-13"), 2500.5 , 3, "");
+            LocalDate.now().plusDays(7), "room", 1.0d, true, null, "BOOK-8FD8E9C0", LocalDate.parse("2025-01-13"), 2500.5 , 3, "", null);
 
         Guest guest = new Guest();
         guest.setEmail("test@example.com");
@@ -116,13 +129,14 @@ public class CheckInServiceTest {
         checkIn.setDate(LocalDateTime.now());
         checkIn.setBooking(booking);
         checkIn.setGuest(guest);
-        checkIn.setPassport(pdfContent);
+        checkIn.setPassportRef(PASSPORT_REF);
 
         when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
         when(guestRepository.findByEmail("test@example.com")).thenReturn(Optional.of(guest));
         when(bookingRepository.findBookingById(1L)).thenReturn(Optional.of(booking));
         when(bookingMapper.bookingToDetailedBookingDto(booking)).thenReturn(bookingDto);
-        when(checkInMapper.checkInDtoToCheckIn(checkInDto, booking, user, passport)).thenReturn(checkIn);
+        when(passportStorageService.store(passport)).thenReturn(PASSPORT_REF);
+        when(checkInMapper.checkInDtoToCheckIn(checkInDto, booking, user, PASSPORT_REF)).thenReturn(checkIn);
 
         checkInService.checkIn(checkInDto, passport, "test@example.com");
         verify(checkInRepository, times(1)).save(any(CheckIn.class));
@@ -153,16 +167,14 @@ public class CheckInServiceTest {
 
         DetailedRoomDto roomDto = new DetailedRoomDto(1L, "Room Name", "Room Description", 1.0,
             1, null, List.of(), null);
-        CheckIn checkIn = new CheckIn();
+        Booking booking = new Booking();
+        booking.setId(1L);
+        booking.setRoom(room);
+        StayState stayState = new StayState(booking, user, LocalDateTime.now());
 
         when(userRepository.findByEmail(validEmail)).thenReturn(Optional.of(user));
-        when(checkInRepository.findCheckInByGuestOrderByDateDesc(user)).thenReturn(Optional.of(List.of(checkIn)));
-        List<CheckIn> checkIns = new ArrayList<>();
-        checkIns.add(checkIn);
-        List<CheckOut> checkOuts = new ArrayList<>();
-        when(checkInRepository.findCheckInByBookingAndGuest(null, user)).thenReturn(checkIns);
-        when(checkOutRepository.findCheckOutByBookingAndGuest(null, user)).thenReturn(checkOuts);
-        when(roomMapper.roomToDetailedRoomDto(null, null)).thenReturn(roomDto);
+        when(stayStateRepository.findActiveWithRoomByGuest(user)).thenReturn(List.of(stayState));
+        when(roomMapper.roomToDetailedRoomDto(room, null)).thenReturn(roomDto);
 
         DetailedRoomDto[] result = checkInService.getGuestRooms(validEmail);
 
@@ -200,9 +212,9 @@ public class CheckInServiceTest {
         booking2.setId(2L);
 
         DetailedBookingDto bookingDto = new DetailedBookingDto(1L, 1L, 1L, LocalDate.now(),
-            LocalDate.now().plusDays(7), "room", 1.0d, true, null, "BOOK-8FD8E9C0", LocalDate.parse("2025-01-13"), 2500.5 , 5, "");
+            LocalDate.now().plusDays(7), "room", 1.0d, true, null, "BOOK-8FD8E9C0", LocalDate.parse("2025-01-13"), 2500.5 , 5, "", null);
         DetailedBookingDto bookingDto2 = new DetailedBookingDto(2L, 2L, 1L, LocalDate.now(),
-            LocalDate.now().plusDays(7), "room", 1.0d, true, null, "BOOK-8FD8E9C0", LocalDate.parse("2025-01-13") , 2500.5, 3, "");
+            LocalDate.now().plusDays(7), "room", 1.0d, true, null, "BOOK-8FD8E9C0", LocalDate.parse("2025-01-13") , 2500.5, 3, "", null);
 
         Guest guest = new Guest();
         guest.setEmail("test@example.com");
@@ -222,14 +234,14 @@ public class CheckInServiceTest {
         checkIn.setDate(LocalDateTime.now());
         checkIn.setBooking(booking);
         checkIn.setGuest(guest);
-        checkIn.setPassport(pdfContent);
+        checkIn.setPassportRef(PASSPORT_REF);
 
         CheckIn checkIn2 = new CheckIn();
         checkIn2.setId(2L);
         checkIn2.setDate(LocalDateTime.now());
         checkIn2.setBooking(booking2);
         checkIn2.setGuest(guest);
-        checkIn2.setPassport(pdfContent);
+        checkIn2.setPassportRef(PASSPORT_REF);
 
         when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
         when(guestRepository.findByEmail("test@example.com")).thenReturn(Optional.of(guest));
@@ -237,8 +249,9 @@ public class CheckInServiceTest {
         when(bookingRepository.findBookingById(2L)).thenReturn(Optional.of(booking2));
         when(bookingMapper.bookingToDetailedBookingDto(booking)).thenReturn(bookingDto);
         when(bookingMapper.bookingToDetailedBookingDto(booking2)).thenReturn(bookingDto2);
-        when(checkInMapper.checkInDtoToCheckIn(checkInDto, booking, user, passport)).thenReturn(checkIn);
-        when(checkInMapper.checkInDtoToCheckIn(checkInDto2, booking2, user, passport)).thenReturn(checkIn2);
+        when(passportStorageService.store(passport)).thenReturn(PASSPORT_REF);
+        when(checkInMapper.checkInDtoToCheckIn(checkInDto, booking, user, PASSPORT_REF)).thenReturn(checkIn);
+        when(checkInMapper.checkInDtoToCheckIn(checkInDto2, booking2, user, PASSPORT_REF)).thenReturn(checkIn2);
 
         checkInService.checkIn(checkInDto, passport, "test@example.com");
         checkInService.checkIn(checkInDto2, passport, "test@example.com");
@@ -262,9 +275,9 @@ public class CheckInServiceTest {
         booking2.setId(2L);
 
         DetailedBookingDto bookingDto = new DetailedBookingDto(1L, 1L, 1L, LocalDate.now(),
-            LocalDate.now().plusDays(7), "room", 1.0d, true, null, "BOOK-8FD8E9C0", LocalDate.parse("2025-01-13") , 2500.5, 5, "");
+            LocalDate.now().plusDays(7), "room", 1.0d, true, null, "BOOK-8FD8E9C0", LocalDate.parse("2025-01-13") , 2500.5, 5, "", null);
         DetailedBookingDto bookingDto2 = new DetailedBookingDto(2L, 2L, 1L, LocalDate.now(),
-            LocalDate.now().plusDays(7), "room", 1.0d, true, null, "BOOK-8FD9E9C0", LocalDate.parse("2025-01-13") , 2500.5, 5, "");
+            LocalDate.now().plusDays(7), "room", 1.0d, true, null, "BOOK-8FD9E9C0", LocalDate.parse("2025-01-13") , 2500.5, 5, "", null);
 
         Guest guest = new Guest();
         guest.setEmail("test@example.com");
@@ -284,14 +297,14 @@ public class CheckInServiceTest {
         checkIn.setDate(LocalDateTime.now());
         checkIn.setBooking(booking);
         checkIn.setGuest(guest);
-        checkIn.setPassport(pdfContent);
+        checkIn.setPassportRef(PASSPORT_REF);
 
         CheckIn checkIn2 = new CheckIn();
         checkIn2.setId(2L);
         checkIn2.setDate(LocalDateTime.now());
         checkIn2.setBooking(booking2);
         checkIn2.setGuest(guest);
-        checkIn2.setPassport(pdfContent);
+        checkIn2.setPassportRef(PASSPORT_REF);
 
         when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
         when(guestRepository.findByEmail("test@example.com")).thenReturn(Optional.of(guest));
@@ -299,8 +312,9 @@ public class CheckInServiceTest {
         when(bookingRepository.findBookingById(2L)).thenReturn(Optional.of(booking2));
         when(bookingMapper.bookingToDetailedBookingDto(booking)).thenReturn(bookingDto);
         when(bookingMapper.bookingToDetailedBookingDto(booking2)).thenReturn(bookingDto2);
-        when(checkInMapper.checkInDtoToCheckIn(checkInDto, booking, user, passport)).thenReturn(checkIn);
-        when(checkInMapper.checkInDtoToCheckIn(checkInDto2, booking2, user, passport)).thenReturn(checkIn2);
+        when(passportStorageService.store(passport)).thenReturn(PASSPORT_REF);
+        when(checkInMapper.checkInDtoToCheckIn(checkInDto, booking, user, PASSPORT_REF)).thenReturn(checkIn);
+        when(checkInMapper.checkInDtoToCheckIn(checkInDto2, booking2, user, PASSPORT_REF)).thenReturn(checkIn2);
 
         checkInService.checkIn(checkInDto, passport, "test@example.com");
         checkInService.checkIn(checkInDto2, passport, "test@example.com");
@@ -331,9 +345,9 @@ public class CheckInServiceTest {
         booking2.setId(2L);
 
         DetailedBookingDto bookingDto = new DetailedBookingDto(1L, 1L, 1L, LocalDate.now(),
-            LocalDate.now().plusDays(7), "room", 1.0d, true, null, "BOOK-8FD8E9C0", LocalDate.parse("2025-01-13"), 2500.5 , 5, "");
+            LocalDate.now().plusDays(7), "room", 1.0d, true, null, "BOOK-8FD8E9C0", LocalDate.parse("2025-01-13"), 2500.5 , 5, "", null);
         DetailedBookingDto bookingDto2 = new DetailedBookingDto(2L, 2L, 1L, LocalDate.now(),
-            LocalDate.now().plusDays(7), "room", 1.0d, true, null, "BOOK-8FD8E9C0", LocalDate.parse("2025-01-13") , 2500.5, 5, "");
+            LocalDate.now().plusDays(7), "room", 1.0d, true, null, "BOOK-8FD8E9C0", LocalDate.parse("2025-01-13") , 2500.5, 5, "", null);
 
         Guest guest = new Guest();
         guest.setEmail("test@example.com");
@@ -353,14 +367,14 @@ public class CheckInServiceTest {
         checkIn.setDate(LocalDateTime.now());
         checkIn.setBooking(booking);
         checkIn.setGuest(guest);
-        checkIn.setPassport(pdfContent);
+        checkIn.setPassportRef(PASSPORT_REF);
 
         CheckIn checkIn2 = new CheckIn();
         checkIn2.setId(2L);
         checkIn2.setDate(LocalDateTime.now());
         checkIn2.setBooking(booking2);
         checkIn2.setGuest(guest);
-        checkIn2.setPassport(pdfContent);
+        checkIn2.setPassportRef(PASSPORT_REF);
 
         when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
         when(guestRepository.findByEmail("test@example.com")).thenReturn(Optional.of(guest));
@@ -368,8 +382,9 @@ public class CheckInServiceTest {
         when(bookingRepository.findBookingById(2L)).thenReturn(Optional.of(booking2));
         when(bookingMapper.bookingToDetailedBookingDto(booking)).thenReturn(bookingDto);
         when(bookingMapper.bookingToDetailedBookingDto(booking2)).thenReturn(bookingDto2);
-        when(checkInMapper.checkInDtoToCheckIn(checkInDto, booking, user, passport)).thenReturn(checkIn);
-        when(checkInMapper.checkInDtoToCheckIn(checkInDto2, booking2, user, passport)).thenReturn(checkIn2);
+        when(passportStorageService.store(passport)).thenReturn(PASSPORT_REF);
+        when(checkInMapper.checkInDtoToCheckIn(checkInDto, booking, user, PASSPORT_REF)).thenReturn(checkIn);
+        when(checkInMapper.checkInDtoToCheckIn(checkInDto2, booking2, user, PASSPORT_REF)).thenReturn(checkIn2);
         when(inviteToRoomRepository.findInviteToRoomByGuest(guest)).thenReturn(Optional.empty());
 
         checkInService.checkIn(checkInDto, passport, "test@example.com");
@@ -413,15 +428,9 @@ public class CheckInServiceTest {
         Guest guest2 = new Guest();
         guest2.setEmail("test2@example.com");
 
-        Room room = new Room();
-        room.setId(1L);
-        room.setName("Room Name");
-
-        DetailedRoomDto roomDto = new DetailedRoomDto(1L, "name", "desc", 0.0, 4,
-            "", List.of(""), null);
         DetailedBookingDto bookingDto = new DetailedBookingDto(1L, 1L, 1L, LocalDate.now(),
             LocalDate.now().plusDays(7), "room", 1.0d, true, "",
-            "", LocalDate.now(), 1.0d, 7, "");
+            "", LocalDate.now(), 1.0d, 7, "", null);
 
         MultipartFile passport = mock(MultipartFile.class);
         byte[] pdfContent = "Mock PDF Content".getBytes(); // Represent PDF content as byte array
@@ -431,7 +440,7 @@ public class CheckInServiceTest {
         checkIn.setDate(LocalDateTime.now());
         checkIn.setBooking(booking);
         checkIn.setGuest(guest);
-        checkIn.setPassport(pdfContent);
+        checkIn.setPassportRef(PASSPORT_REF);
 
         CheckInDto checkInDto = new CheckInDto(1L, "John", "Doe", LocalDate.now().minusYears(18),
             "Vienna", Gender.MALE, Nationality.AUT, "Main St. 1", "P123456", "0123456789");
@@ -441,10 +450,10 @@ public class CheckInServiceTest {
         when(guestRepository.findByEmail("test2@example.com")).thenReturn(Optional.of(guest2));
         when(bookingRepository.findBookingById(1L)).thenReturn(Optional.of(booking));
         when(bookingMapper.bookingToDetailedBookingDto(booking)).thenReturn(bookingDto);
-        when(roomMapper.roomToDetailedRoomDto(room, null)).thenReturn(roomDto);
-        when(roomRepository.findRoomById(1L)).thenReturn(room);
+        when(roomCapacityCache.get(1L)).thenReturn(new RoomCapacity(1L, 4, false));
         when(checkInRepository.findCheckInByBooking(booking)).thenReturn(List.of(checkIn));
-        when(checkInMapper.checkInDtoToCheckIn(checkInDto, booking, user2, passport)).thenReturn(checkIn);
+        when(passportStorageService.store(passport)).thenReturn(PASSPORT_REF);
+        when(checkInMapper.checkInDtoToCheckIn(checkInDto, booking, user2, PASSPORT_REF)).thenReturn(checkIn);
 
         checkInService.addToRoom(addToRoomDto, passport, "test@example.com");
         verify(checkInRepository, times(1)).save(any(CheckIn.class));
@@ -473,7 +482,7 @@ public class CheckInServiceTest {
             "", List.of(""), null);
         DetailedBookingDto bookingDto = new DetailedBookingDto(1L, 1L, 1L, LocalDate.now(),
             LocalDate.now().plusDays(7), "room", 1.0d, true, "",
-            "", LocalDate.now(), 1.0d, 7, "");
+            "", LocalDate.now(), 1.0d, 7, "", null);
 
 
         when(guestRepository.findByEmail("test2@example.com")).thenReturn(Optional.of(guest2));
@@ -517,7 +526,7 @@ public class CheckInServiceTest {
             "", List.of(""), null);
         DetailedBookingDto bookingDto = new DetailedBookingDto(1L, 1L, 1L, LocalDate.now(),
             LocalDate.now().plusDays(7), "room", 1.0d, true, "",
-            "", LocalDate.now(), 1.0d, 7, "");
+            "", LocalDate.now(), 1.0d, 7, "", null);
 
         MultipartFile passport = mock(MultipartFile.class);
         byte[] pdfContent = "Mock PDF Content".getBytes(); // Represent PDF content as byte array
@@ -527,14 +536,14 @@ public class CheckInServiceTest {
         checkIn.setDate(LocalDateTime.now());
         checkIn.setBooking(booking);
         checkIn.setGuest(guest);
-        checkIn.setPassport(pdfContent);
+        checkIn.setPassportRef(PASSPORT_REF);
 
         CheckIn checkIn2 = new CheckIn();
         checkIn2.setId(2L);
         checkIn2.setDate(LocalDateTime.now());
         checkIn2.setBooking(booking);
         checkIn2.setGuest(guest2);
-        checkIn2.setPassport(pdfContent);
+        checkIn2.setPassportRef(PASSPORT_REF);
 
         CheckInStatusDto[] checkInStatusDtos = new CheckInStatusDto[]{new CheckInStatusDto(1L, "test@example.com")};
         List<CheckInStatusDto> checkInStatusList = List.of(checkInStatusDtos);
@@ -543,7 +552,7 @@ public class CheckInServiceTest {
         when(guestRepository.findByEmail("test@example.com")).thenReturn(Optional.of(guest));
         when(guestRepository.findByEmail("test2@example.com")).thenReturn(Optional.of(guest2));
         when(checkInRepository.findCheckInByBooking(booking)).thenReturn(List.of(checkIn, checkIn2));
-        when(checkInMapper.checkInsToCheckInStatusDtos(List.of())).thenReturn(checkInStatusList);
+        when(checkInMapper.stayStatesToCheckInStatusDtos(List.of())).thenReturn(checkInStatusList);
         when(bookingRepository.findByUserId(1L)).thenReturn(List.of(booking));
         when(guestMapper.guestToGuestListDto(guest2)).thenReturn(new GuestListDto("John", "Doe", "test2@example.com"));
 
@@ -597,7 +606,7 @@ public class CheckInServiceTest {
         List<CheckInStatusDto> checkInStatusList = List.of(checkInStatusDtos);
 
         when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
-        when(checkInMapper.checkInsToCheckInStatusDtos(List.of())).thenReturn(checkInStatusList);
+        when(checkInMapper.stayStatesToCheckInStatusDtos(List.of())).thenReturn(checkInStatusList);
         when(bookingRepository.findByUserId(1L)).thenReturn(List.of(booking));
 
         NotFoundException exception = assertThrows(NotFoundException.class,
@@ -654,7 +663,7 @@ public class CheckInServiceTest {
         when(bookingRepository.findBookingsByRoomIdAndStartDateBetween(room.getId(), LocalDate.now(), LocalDate.now())).thenReturn(List.of(booking));
         when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
         when(bookingRepository.findBookingById(1L)).thenReturn(Optional.of(booking));
-        when(checkInMapper.checkInsToCheckInStatusDtos(List.of())).thenReturn(List.of(statusDtos));
+        when(checkInMapper.stayStatesToCheckInStatusDtos(List.of())).thenReturn(List.of(statusDtos));
         when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
 
         OccupancyDto result = checkInService.getOccupancyStatus(room.getId());
@@ -722,7 +731,7 @@ public class CheckInServiceTest {
         checkIn.setDate(LocalDateTime.now());
         checkIn.setBooking(booking);
         checkIn.setGuest(guest);
-        checkIn.setPassport(pdfContent);
+        checkIn.setPassportRef(PASSPORT_REF);
 
         CheckInStatusDto statusDto = new CheckInStatusDto(booking.getId(), guest.getEmail());
         CheckInStatusDto[] statusDtos = new CheckInStatusDto[1];
@@ -787,15 +796,17 @@ public class CheckInServiceTest {
         checkIn.setDate(LocalDateTime.now());
         checkIn.setBooking(booking);
         checkIn.setGuest(guest);
-        checkIn.setPassport(pdfContent);
+        checkIn.setPassportRef(PASSPORT_REF);
 
         when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
         when(bookingRepository.findBookingById(booking.getId())).thenReturn(Optional.of(booking));
         when(checkInRepository.findCheckInByBookingAndGuest(booking, user)).thenReturn(List.of(checkIn));
+        Resource stored = new ByteArrayResource(pdfContent);
+        when(passportStorageService.load(PASSPORT_REF)).thenReturn(stored);
 
-        byte[] result = checkInService.getPassportByBookingIdAndEmail(booking.getId(), user.getEmail());
+        Resource result = checkInService.getPassportByBookingIdAndEmail(booking.getId(), user.getEmail());
 
-        assertEquals(pdfContent, result);
+        assertEquals(stored, result);
     }
 
     @Test
@@ -826,109 +837,23 @@ public class CheckInServiceTest {
     }
 
     @Test
-    public void whenCheckInExistsAndBookingIsRunningOut_performAutoCheckOut_returns1() throws Exception {
-        ApplicationUser user = new ApplicationUser();
-        user.setEmail("test@example.com");
-        user.setId(1L);
-        Guest guest = new Guest();
-        guest.setEmail("test@example.com");
-        guest.setFirstName("John");
-        guest.setLastName("Doe");
-
-        Room room = new Room();
-        room.setId(1L);
-        room.setName("Room Name");
-
-        Booking booking = new Booking();
-        booking.setId(1L);
-        booking.setUser(user);
-        booking.setRoom(room);
-        booking.setEndDate(LocalDate.now());
-
-        byte[] pdfContent = "Mock PDF Content".getBytes(); // Represent PDF content as byte array
-
-        CheckIn checkIn = new CheckIn();
-        checkIn.setId(1L);
-        checkIn.setDate(LocalDateTime.now());
-        checkIn.setBooking(booking);
-        checkIn.setGuest(guest);
-        checkIn.setPassport(pdfContent);
-
-        when(bookingRepository.findBookingsByEndDate(LocalDate.now())).thenReturn(Optional.of(List.of(booking)));
-        when(checkInRepository.findCheckInByBooking(booking)).thenReturn(List.of(checkIn));
-        when(checkOutRepository.findCheckOutByBookingAndGuest(booking, guest)).thenReturn(List.of());
-
-        int result = checkInService.performAutoCheckOut();
-        int expected = 1;
-        assertEquals(expected, result);
-    }
-
-    @Test
-    public void whenNoCheckInExistsAndBookingIsRunningOut_performAutoCheckOut_returns0() throws Exception {
-        ApplicationUser user = new ApplicationUser();
-        user.setEmail("test@example.com");
-        user.setId(1L);
-        Guest guest = new Guest();
-        guest.setEmail("test@example.com");
-        guest.setFirstName("John");
-        guest.setLastName("Doe");
-
-        Room room = new Room();
-        room.setId(1L);
-        room.setName("Room Name");
-
-        Booking booking = new Booking();
-        booking.setId(1L);
-        booking.setUser(user);
-        booking.setRoom(room);
-        booking.setEndDate(LocalDate.now());
-
-        byte[] pdfContent = "Mock PDF Content".getBytes(); // Represent PDF content as byte array
-
-        when(bookingRepository.findBookingsByEndDate(LocalDate.now())).thenReturn(Optional.of(List.of(booking)));
-        when(checkInRepository.findCheckInByBooking(booking)).thenReturn(List.of());
+    public void whenGuestsAreStayingAndBookingIsRunningOut_performAutoCheckOut_returnsInsertedCheckOuts() {
+        when(checkOutRepository.insertMissingCheckOuts(eq(LocalDate.now()), any(LocalDateTime.class))).thenReturn(2);
+        when(stayStateRepository.checkOutEnded(eq(LocalDate.now()), any(LocalDateTime.class))).thenReturn(2);
 
         int result = checkInService.performAutoCheckOut();
-        int expected = 0;
-        assertEquals(expected, result);
+        assertEquals(2, result);
+        verify(checkOutRepository, times(1)).insertMissingCheckOuts(eq(LocalDate.now()), any(LocalDateTime.class));
+        verify(stayStateRepository, times(1)).checkOutEnded(eq(LocalDate.now()), any(LocalDateTime.class));
     }
 
     @Test
-    public void whenCheckInExistsAndBookingRanOutYesterday_performAutoCheckOut_returns0() throws Exception {
-        ApplicationUser user = new ApplicationUser();
-        user.setEmail("test@example.com");
-        user.setId(1L);
-        Guest guest = new Guest();
-        guest.setEmail("test@example.com");
-        guest.setFirstName("John");
-        guest.setLastName("Doe");
-
-        Room room = new Room();
-        room.setId(1L);
-        room.setName("Room Name");
-
-        Booking booking = new Booking();
-        booking.setId(1L);
-        booking.setUser(user);
-        booking.setRoom(room);
-        booking.setEndDate(LocalDate.now().minusDays(1L));
-
-        byte[] pdfContent = "Mock PDF Content".getBytes(); // Represent PDF content as byte array
-
-        CheckIn checkIn = new CheckIn();
-        checkIn.setId(1L);
-        checkIn.setDate(LocalDateTime.now());
-        checkIn.setBooking(booking);
-        checkIn.setGuest(guest);
-        checkIn.setPassport(pdfContent);
-
-        when(bookingRepository.findBookingsByEndDate(LocalDate.now())).thenReturn(Optional.of(List.of(booking)));
-        when(checkInRepository.findCheckInByBooking(booking)).thenReturn(List.of(checkIn));
-        when(checkOutRepository.findCheckOutByBookingAndGuest(booking, guest)).thenReturn(List.of());
+    public void whenNoGuestIsStaying_performAutoCheckOut_returns0() {
+        when(checkOutRepository.insertMissingCheckOuts(eq(LocalDate.now()), any(LocalDateTime.class))).thenReturn(0);
+        when(stayStateRepository.checkOutEnded(eq(LocalDate.now()), any(LocalDateTime.class))).thenReturn(0);
 
         int result = checkInService.performAutoCheckOut();
-        int expected = 1;
-        assertEquals(expected, result);
+        assertEquals(0, result);
     }
 
     @Test
@@ -992,9 +917,9 @@ public class CheckInServiceTest {
         booking2.setId(2L);
 
         DetailedBookingDto bookingDto = new DetailedBookingDto(1L, 1L, 1L, LocalDate.now(),
-            LocalDate.now().plusDays(7), "room", 1.0d, true, null, "BOOK-8FD8E9C0", LocalDate.parse("2025-01-13"), 2500.5 , 5, "");
+            LocalDate.now().plusDays(7), "room", 1.0d, true, null, "BOOK-8FD8E9C0", LocalDate.parse("2025-01-13"), 2500.5 , 5, "", null);
         DetailedBookingDto bookingDto2 = new DetailedBookingDto(2L, 2L, 1L, LocalDate.now(),
-            LocalDate.now().plusDays(7), "room", 1.0d, true, null, "BOOK-8FD8E9C0", LocalDate.parse("2025-01-13") , 2500.5, 5, "");
+            LocalDate.now().plusDays(7), "room", 1.0d, true, null, "BOOK-8FD8E9C0", LocalDate.parse("2025-01-13") , 2500.5, 5, "", null);
 
         Guest guest = new Guest();
         guest.setEmail("test@example.com");
@@ -1017,14 +942,14 @@ public class CheckInServiceTest {
         checkIn.setDate(LocalDateTime.now());
         checkIn.setBooking(booking);
         checkIn.setGuest(guest);
-        checkIn.setPassport(pdfContent);
+        checkIn.setPassportRef(PASSPORT_REF);
 
         CheckIn checkIn2 = new CheckIn();
         checkIn2.setId(2L);
         checkIn2.setDate(LocalDateTime.now());
         checkIn2.setBooking(booking2);
         checkIn2.setGuest(guest);
-        checkIn2.setPassport(pdfContent);
+        checkIn2.setPassportRef(PASSPORT_REF);
 
         InviteToRoomDto inviteToRoomDto = new InviteToRoomDto(booking.getId(), "test2@example.com", "test@example.com");
 
@@ -1033,7 +958,8 @@ public class CheckInServiceTest {
         when(guestRepository.findByEmail("test@example.com")).thenReturn(Optional.of(guest));
         when(bookingRepository.findBookingById(1L)).thenReturn(Optional.of(booking));
         when(bookingMapper.bookingToDetailedBookingDto(booking)).thenReturn(bookingDto);
-        when(checkInMapper.checkInDtoToCheckIn(checkInDto, booking, user, passport)).thenReturn(checkIn);
+        when(passportStorageService.store(passport)).thenReturn(PASSPORT_REF);
+        when(checkInMapper.checkInDtoToCheckIn(checkInDto, booking, user, PASSPORT_REF)).thenReturn(checkIn);
         when(inviteToRoomRepository.findInviteToRoomByGuest(guest)).thenReturn(Optional.empty());
 
         checkInService.checkIn(checkInDto, passport, "test@example.com");
@@ -1063,7 +989,7 @@ public class CheckInServiceTest {
         booking2.setId(2L);
 
         DetailedBookingDto bookingDto = new DetailedBookingDto(1L, 1L, 1L, LocalDate.now(),
-            LocalDate.now().plusDays(7), "room", 1.0d, true, null, "BOOK-8FD8E9C0", LocalDate.parse("2025-01-13"), 2500.5 , 5, "");
+            LocalDate.now().plusDays(7), "room", 1.0d, true, null, "BOOK-8FD8E9C0", LocalDate.parse("2025-01-13"), 2500.5 , 5, "", null);
 
         Guest guest = new Guest();
         guest.setEmail("test@example.com");
@@ -1082,14 +1008,14 @@ public class CheckInServiceTest {
         checkIn.setDate(LocalDateTime.now());
         checkIn.setBooking(booking);
         checkIn.setGuest(guest);
-        checkIn.setPassport(pdfContent);
+        checkIn.setPassportRef(PASSPORT_REF);
 
         CheckIn checkIn2 = new CheckIn();
         checkIn2.setId(2L);
         checkIn2.setDate(LocalDateTime.now());
         checkIn2.setBooking(booking2);
         checkIn2.setGuest(guest);
-        checkIn2.setPassport(pdfContent);
+        checkIn2.setPassportRef(PASSPORT_REF);
 
         InviteToRoomDto inviteToRoomDto = new InviteToRoomDto(booking.getId(), "test2@example.com", "test@example.com");
         InviteToRoom inviteToRoom = new InviteToRoom(booking, user2);
@@ -0,0 +1,135 @@
+package at.ac.tuwien.sepr.groupphase.backend.unittests;
+
+import at.ac.tuwien.sepr.groupphase.backend.entity.OutboxMail;
+import at.ac.tuwien.sepr.groupphase.backend.enums.MailStatus;
+import at.ac.tuwien.sepr.groupphase.backend.repository.OutboxMailRepository;
+import at.ac.tuwien.sepr.groupphase.backend.service.impl.MailOutboxDispatcher;
+import at.ac.tuwien.sepr.groupphase.backend.utils.LocalSmtpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class MailOutboxDispatcherTest {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    @Mock
+    private OutboxMailRepository outboxMailRepository;
+
+    private LocalSmtpServer smtpServer;
+    private SimpleMeterRegistry meterRegistry;
+    private MailOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        smtpServer = new LocalSmtpServer(0, 100);
+        smtpServer.start();
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost(InetAddress.getLoopbackAddress().getHostAddress());
+        mailSender.setPort(smtpServer.getPort());
+
+        meterRegistry = new SimpleMeterRegistry();
+        dispatcher = new MailOutboxDispatcher(outboxMailRepository, mailSender, meterRegistry);
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 10);
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", MAX_ATTEMPTS);
+        ReflectionTestUtils.setField(dispatcher, "retryBackoff", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(dispatcher, "maxRetryBackoff", Duration.ofHours(1));
+        ReflectionTestUtils.setField(dispatcher, "lease", Duration.ofMinutes(5));
+    }
+
+    @AfterEach
+    public void teardown() throws IOException {
+        smtpServer.stop();
+    }
+
+    /**
+     * Test case to verify that a batch of due mails is sent over a single SMTP connection and marked as sent.
+     */
+    @Test
+    public void givenDueMails_whenDispatchBatch_thenAllAreSentOverOneConnection() {
+        List<OutboxMail> mails = outbox(5, 1);
+
+        assertEquals(5, dispatcher.dispatchBatch());
+
+        assertEquals(5, smtpServer.getReceivedCount());
+        assertEquals(1, smtpServer.getConnectionCount());
+        assertTrue(smtpServer.getReceivedMails().getFirst().content().contains("Subject: Mail 1"));
+        verify(outboxMailRepository).markSent(eq(mails.stream().map(OutboxMail::getId).toList()), any());
+        verify(outboxMailRepository, never()).markFailed(anyLong(), any(), any(), anyString());
+        assertEquals(5, meterRegistry.counter("mail.outbox.sent").count());
+        assertEquals(1, meterRegistry.timer("mail.outbox.batch").count());
+    }
+
+    /**
+     * Test case to verify that a rejected mail is retried later, while the rest of its batch is sent.
+     */
+    @Test
+    public void givenRejectedRecipient_whenDispatchBatch_thenOnlyRejectedMailIsRetried() {
+        List<OutboxMail> mails = outbox(3, 1);
+        smtpServer.rejectRecipient(mails.get(1).getRecipient());
+
+        dispatcher.dispatchBatch();
+
+        assertEquals(2, smtpServer.getReceivedCount());
+        verify(outboxMailRepository).markSent(eq(List.of(mails.get(0).getId(), mails.get(2).getId())), any());
+        verify(outboxMailRepository).markFailed(eq(mails.get(1).getId()), eq(MailStatus.PENDING), any(), anyString());
+        assertEquals(1, meterRegistry.counter("mail.outbox.failed").count());
+    }
+
+    /**
+     * Test case to verify that a mail that fails in its last attempt is dead-lettered instead of being retried.
+     */
+    @Test
+    public void givenLastAttempt_whenSendFails_thenMailIsDead() {
+        List<OutboxMail> mails = outbox(1, MAX_ATTEMPTS);
+        smtpServer.rejectRecipient(mails.getFirst().getRecipient());
+
+        dispatcher.dispatchBatch();
+
+        assertEquals(0, smtpServer.getReceivedCount());
+        verify(outboxMailRepository).markFailed(eq(mails.getFirst().getId()), eq(MailStatus.DEAD), isNull(), anyString());
+        verify(outboxMailRepository, never()).markSent(anyList(), any());
+        assertEquals(1, meterRegistry.counter("mail.outbox.dead").count());
+    }
+
+    private List<OutboxMail> outbox(int count, int attempts) {
+        List<OutboxMail> mails = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            OutboxMail mail = new OutboxMail("hotel@example.com", "guest" + i + "@example.com", "Mail " + i, "<p>Mail " + i + "</p>");
+            mail.setId((long) i);
+            mail.setAttempts(attempts);
+            mail.addAttachment("Invoice.pdf", "dummy-pdf-content".getBytes());
+            mails.add(mail);
+        }
+        List<Long> ids = mails.stream().map(OutboxMail::getId).toList();
+        when(outboxMailRepository.findDueIds(any(), any())).thenReturn(ids);
+        when(outboxMailRepository.claim(anyLong(), any(), any())).thenReturn(1);
+        when(outboxMailRepository.findAllByIdIn(ids)).thenReturn(mails);
+        return mails;
+    }
+}
@@ -1,9 +1,10 @@
 package at.ac.tuwien.sepr.groupphase.backend.unittests;
 
 import at.ac.tuwien.sepr.groupphase.backend.entity.*;
+import at.ac.tuwien.sepr.groupphase.backend.enums.MailStatus;
+import at.ac.tuwien.sepr.groupphase.backend.repository.OutboxMailRepository;
 import at.ac.tuwien.sepr.groupphase.backend.service.impl.SimpleMailService;
 import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -11,7 +12,6 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.test.util.ReflectionTestUtils;
 
 
@@ -25,25 +25,21 @@ import static org.mockito.Mockito.*;
 public class MailServiceTest {
 
     @Mock
-    private JavaMailSender javaMailSender;
+    private OutboxMailRepository outboxMailRepository;
 
     @InjectMocks
     private SimpleMailService mailService;
 
     @BeforeEach
     public void setup() {
-        ReflectionTestUtils.setField(mailService, "javaMailSender", javaMailSender);
         ReflectionTestUtils.setField(mailService, "mailIntegrationId", "testemail@example.com");
     }
 
     /**
-     * Test case to verify that an email is sent when a valid booking is provided.
+     * Test case to verify that an email is queued when a valid booking is provided.
      */
     @Test
-    public void givenValidBooking_whenSendEmail_thenEmailSent() throws MessagingException {
-        MimeMessage mimeMessage = mock(MimeMessage.class);
-        when(javaMailSender.createMimeMessage()).thenReturn(mimeMessage);
-
+    public void givenValidBooking_whenSendEmail_thenEmailQueued() throws MessagingException {
         Guest guest = new Guest();
         guest.setLastName("Doe");
         guest.setEmail("test@example.com");
@@ -62,18 +58,22 @@ public class MailServiceTest {
 
         mailService.sendEmail(booking, List.of(pdf));
 
-        ArgumentCaptor<MimeMessage> captor = ArgumentCaptor.forClass(MimeMessage.class);
-        verify(javaMailSender, times(1)).send(captor.capture());
+        ArgumentCaptor<OutboxMail> captor = ArgumentCaptor.forClass(OutboxMail.class);
+        verify(outboxMailRepository, times(1)).save(captor.capture());
 
-        MimeMessage capturedMessage = captor.getValue();
-        assertEquals(mimeMessage, capturedMessage);
+        OutboxMail queuedMail = captor.getValue();
+        assertEquals("testemail@example.com", queuedMail.getSender());
+        assertEquals("test@example.com", queuedMail.getRecipient());
+        assertEquals("Booking Confirmation", queuedMail.getSubject());
+        assertEquals(MailStatus.PENDING, queuedMail.getStatus());
+        assertEquals(List.of("Booking Confirmation"), queuedMail.getAttachments().stream().map(OutboxMailAttachment::getFileName).toList());
     }
 
     /**
-     * Test case to verify that no email is sent when the mail integration ID is invalid.
+     * Test case to verify that no email is queued when the mail integration ID is invalid.
      */
     @Test
-    public void givenInvalidMailIntegrationId_whenSendEmail_thenNotSent() throws MessagingException {
+    public void givenInvalidMailIntegrationId_whenSendEmail_thenNotQueued() throws MessagingException {
         ReflectionTestUtils.setField(mailService, "mailIntegrationId", "");
 
         Guest guest = new Guest();
@@ -94,14 +94,14 @@ public class MailServiceTest {
 
         mailService.sendEmail(booking, List.of(pdf));
 
-        verify(javaMailSender, times(0)).send(any(MimeMessage.class));
+        verify(outboxMailRepository, times(0)).save(any(OutboxMail.class));
     }
 
     /**
-     * Test case to verify that no email is sent when there is no recipient email address in the booking.
+     * Test case to verify that no email is queued when there is no recipient email address in the booking.
      */
     @Test
-    public void givenNoRecipientEmail_whenSendEmail_thenNotSent() throws MessagingException {
+    public void givenNoRecipientEmail_whenSendEmail_thenNotQueued() throws MessagingException {
         Guest guest = new Guest();
         guest.setLastName("Doe");
         guest.setEmail(null);
@@ -120,17 +120,14 @@ public class MailServiceTest {
 
         mailService.sendEmail(booking, List.of(pdf));
 
-        verify(javaMailSender, times(0)).send(any(MimeMessage.class));
+        verify(outboxMailRepository, times(0)).save(any(OutboxMail.class));
     }
 
     /**
-     * Test case to verify that an email is sent even when no attachments are provided in the booking.
+     * Test case to verify that an email is queued even when no attachments are provided in the booking.
      */
     @Test
-    public void givenBookingWithoutAttachments_whenSendEmail_thenEmailSent() throws MessagingException {
-        MimeMessage mimeMessage = mock(MimeMessage.class);
-        when(javaMailSender.createMimeMessage()).thenReturn(mimeMessage);
-
+    public void givenBookingWithoutAttachments_whenSendEmail_thenEmailQueued() throws MessagingException {
         Guest guest = new Guest();
         guest.setLastName("Doe");
         guest.setEmail("test@example.com");
@@ -145,21 +142,22 @@ public class MailServiceTest {
 
         mailService.sendEmail(booking, null);
 
-        ArgumentCaptor<MimeMessage> captor = ArgumentCaptor.forClass(MimeMessage.class);
-        verify(javaMailSender, times(1)).send(captor.capture());
+        ArgumentCaptor<OutboxMail> captor = ArgumentCaptor.forClass(OutboxMail.class);
+        verify(outboxMailRepository, times(1)).save(captor.capture());
 
-        MimeMessage capturedMessage = captor.getValue();
-        assertEquals(mimeMessage, capturedMessage);
+        OutboxMail queuedMail = captor.getValue();
+        assertEquals("testemail@example.com", queuedMail.getSender());
+        assertEquals("test@example.com", queuedMail.getRecipient());
+        assertEquals("Booking Confirmation", queuedMail.getSubject());
+        assertEquals(MailStatus.PENDING, queuedMail.getStatus());
+        assertEquals(List.of(), queuedMail.getAttachments().stream().map(OutboxMailAttachment::getFileName).toList());
     }
 
     /**
-     * Test case to verify that a cancellation email is sent when a valid booking with cancellation details is provided.
+     * Test case to verify that a cancellation email is queued when a valid booking with cancellation details is provided.
      */
     @Test
-    public void givenValidBooking_whenSendCancellationEmail_thenEmailSent() throws MessagingException {
-        MimeMessage mimeMessage = mock(MimeMessage.class);
-        when(javaMailSender.createMimeMessage()).thenReturn(mimeMessage);
-
+    public void givenValidBooking_whenSendCancellationEmail_thenEmailQueued() throws MessagingException {
         Guest guest = new Guest();
         guest.setLastName("Doe");
         guest.setEmail("test@example.com");
@@ -177,18 +175,22 @@ public class MailServiceTest {
 
         mailService.sendCancellationEmail(booking, cancellationPdf);
 
-        ArgumentCaptor<MimeMessage> captor = ArgumentCaptor.forClass(MimeMessage.class);
-        verify(javaMailSender, times(1)).send(captor.capture());
+        ArgumentCaptor<OutboxMail> captor = ArgumentCaptor.forClass(OutboxMail.class);
+        verify(outboxMailRepository, times(1)).save(captor.capture());
 
-        MimeMessage capturedMessage = captor.getValue();
-        assertEquals(mimeMessage, capturedMessage);
+        OutboxMail queuedMail = captor.getValue();
+        assertEquals("testemail@example.com", queuedMail.getSender());
+        assertEquals("test@example.com", queuedMail.getRecipient());
+        assertEquals("Booking Cancellation", queuedMail.getSubject());
+        assertEquals(MailStatus.PENDING, queuedMail.getStatus());
+        assertEquals(List.of("BookingCancellation.pdf"), queuedMail.getAttachments().stream().map(OutboxMailAttachment::getFileName).toList());
     }
 
     /**
-     * Test case to verify that no cancellation email is sent when the mail integration ID is invalid.
+     * Test case to verify that no cancellation email is queued when the mail integration ID is invalid.
      */
     @Test
-    public void givenInvalidMailIntegrationId_whenSendCancellationEmail_thenNotSent() throws MessagingException {
+    public void givenInvalidMailIntegrationId_whenSendCancellationEmail_thenNotQueued() throws MessagingException {
         ReflectionTestUtils.setField(mailService, "mailIntegrationId", "");
 
         Guest guest = new Guest();
@@ -208,6 +210,6 @@ public class MailServiceTest {
 
         mailService.sendCancellationEmail(booking, cancellationPdf);
 
-        verify(javaMailSender, times(0)).send(any(MimeMessage.class));
+        verify(outboxMailRepository, times(0)).save(any(OutboxMail.class));
     }
 }
@@ -0,0 +1,171 @@
+package at.ac.tuwien.sepr.groupphase.backend.unittests;
+
+import at.ac.tuwien.sepr.groupphase.backend.entity.Booking;
+import at.ac.tuwien.sepr.groupphase.backend.entity.Pdf;
+import at.ac.tuwien.sepr.groupphase.backend.enums.BookingStatus;
+import at.ac.tuwien.sepr.groupphase.backend.exception.NotFoundException;
+import at.ac.tuwien.sepr.groupphase.backend.repository.BookingRepository;
+import at.ac.tuwien.sepr.groupphase.backend.service.PdfGenerationService;
+import at.ac.tuwien.sepr.groupphase.backend.service.PdfStorageService;
+import at.ac.tuwien.sepr.groupphase.backend.service.impl.OnDemandPdfStorageService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class OnDemandPdfStorageServiceTest {
+
+    private static final String INVOICE = "Invoice.pdf";
+
+    @Mock
+    private PdfStorageService storage;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private PdfGenerationService pdfGenerationService;
+
+    private OnDemandPdfStorageService pdfStorageService;
+
+    @BeforeEach
+    public void setup() {
+        pdfStorageService = new OnDemandPdfStorageService(storage, bookingRepository, pdfGenerationService,
+            new SimpleMeterRegistry(), DataSize.ofBytes(100));
+    }
+
+    /**
+     * Test case to verify that concurrent first requests for the same document render and store it only once.
+     */
+    @Test
+    public void givenMissingDocument_whenRequestedConcurrently_thenRenderedAndStoredOnce() throws Exception {
+        Booking booking = booking(1L, BookingStatus.PENDING);
+        byte[] content = new byte[] {1, 2, 3};
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
+        when(pdfGenerationService.generateInvoice(booking)).thenAnswer(invocation -> {
+            Thread.sleep(200);
+            return content;
+        });
+
+        int requests = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(requests);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Pdf>> documents = new ArrayList<>();
+        for (int i = 0; i < requests; i++) {
+            documents.add(executor.submit(() -> {
+                start.await();
+                return pdfStorageService.getPdf(1L, INVOICE);
+            }));
+        }
+        start.countDown();
+        for (Future<Pdf> document : documents) {
+            assertArrayEquals(content, document.get().getContent());
+        }
+        executor.shutdown();
+
+        verify(pdfGenerationService, times(1)).generateInvoice(booking);
+        verify(storage, times(1)).storePdf(1L, INVOICE, content);
+    }
+
+    /**
+     * Test case to verify that a stored document is read from the storage once and then served from the cache.
+     */
+    @Test
+    public void givenStoredDocument_whenRequestedTwice_thenReadFromStorageOnce() throws Exception {
+        Pdf stored = new Pdf(1L, INVOICE, new byte[] {4, 5}, LocalDateTime.now());
+        when(storage.hasPdf(1L, INVOICE)).thenReturn(true);
+        when(storage.getPdf(1L, INVOICE)).thenReturn(stored);
+
+        assertSame(stored, pdfStorageService.getPdf(1L, INVOICE));
+        assertSame(stored, pdfStorageService.getPdf(1L, INVOICE));
+
+        verify(storage, times(1)).getPdf(1L, INVOICE);
+        verify(pdfGenerationService, never()).generateInvoice(any());
+    }
+
+    /**
+     * Test case to verify that a document stored while it is being read is not replaced by the outdated content of the read.
+     */
+    @Test
+    public void givenStoreDuringRead_whenRequestedAgain_thenNewContentIsServed() {
+        Pdf outdated = new Pdf(1L, INVOICE, new byte[] {1}, LocalDateTime.now());
+        Pdf current = new Pdf(1L, INVOICE, new byte[] {2}, LocalDateTime.now());
+        when(storage.hasPdf(1L, INVOICE)).thenReturn(true);
+        when(storage.getPdf(1L, INVOICE)).thenAnswer(invocation -> {
+            // the worker stores the document again while the first request is still reading the old one
+            pdfStorageService.storePdf(1L, INVOICE, current.getContent());
+            return outdated;
+        }).thenReturn(current);
+
+        assertSame(outdated, pdfStorageService.getPdf(1L, INVOICE));
+        assertSame(current, pdfStorageService.getPdf(1L, INVOICE));
+        assertSame(current, pdfStorageService.getPdf(1L, INVOICE));
+
+        verify(storage, times(2)).getPdf(1L, INVOICE);
+    }
+
+    /**
+     * Test case to verify that the least recently used documents are evicted once the cache exceeds its size.
+     */
+    @Test
+    public void givenFullCache_whenDocumentAdded_thenLeastRecentlyUsedIsEvicted() {
+        when(storage.hasPdf(anyLong(), eq(INVOICE))).thenReturn(true);
+        for (long bookingId = 1; bookingId <= 3; bookingId++) {
+            when(storage.getPdf(bookingId, INVOICE)).thenReturn(new Pdf(bookingId, INVOICE, new byte[40], LocalDateTime.now()));
+        }
+
+        pdfStorageService.getPdf(1L, INVOICE);
+        pdfStorageService.getPdf(2L, INVOICE);
+        pdfStorageService.getPdf(1L, INVOICE);
+        pdfStorageService.getPdf(3L, INVOICE);
+        pdfStorageService.getPdf(1L, INVOICE);
+        pdfStorageService.getPdf(2L, INVOICE);
+
+        verify(storage, times(1)).getPdf(1L, INVOICE);
+        verify(storage, times(2)).getPdf(2L, INVOICE);
+        verify(storage, times(1)).getPdf(3L, INVOICE);
+    }
+
+    /**
+     * Test case to verify that no cancellation receipt is rendered for a booking that has not been cancelled.
+     */
+    @Test
+    public void givenActiveBooking_whenCancellationRequested_thenNotFound() throws Exception {
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking(1L, BookingStatus.ACTIVE)));
+
+        assertThrows(NotFoundException.class, () -> pdfStorageService.getPdf(1L, "BookingCancellation.pdf"));
+        verify(pdfGenerationService, never()).generateCancellation(any());
+        verify(storage, never()).storePdf(any(), any(), any());
+    }
+
+    private static Booking booking(Long id, BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setStatus(status);
+        return booking;
+    }
+}
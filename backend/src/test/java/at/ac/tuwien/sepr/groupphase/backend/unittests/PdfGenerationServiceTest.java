@@ -6,6 +6,8 @@ import at.ac.tuwien.sepr.groupphase.backend.repository.PdfRepository;
 import at.ac.tuwien.sepr.groupphase.backend.repository.UiConfigRepository;
 import at.ac.tuwien.sepr.groupphase.backend.service.impl.SimplePdfGenerationService;
 import at.ac.tuwien.sepr.groupphase.backend.service.impl.SimplePdfStorageService;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -16,9 +18,16 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.hibernate.validator.internal.util.Contracts.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
@@ -199,4 +208,140 @@ public class PdfGenerationServiceTest {
             pdfGenerationService.generateBookingConfirmation(booking);
         });
     }
+
+    /**
+     * Test case to verify that the hotel details are loaded once for all documents, and again after the templates were invalidated.
+     */
+    @Test
+    public void givenCachedTemplates_whenInvalidate_thenNewHotelDetailsAreRendered() throws IOException {
+        UiConfig uiConfig = new UiConfig();
+        uiConfig.setHotelName("InnControl Hotel");
+        uiConfig.setAddress("Main Street 1");
+        UiConfig renamedConfig = new UiConfig();
+        renamedConfig.setHotelName("Renamed Hotel");
+        renamedConfig.setAddress("Main Street 1");
+        when(uiConfigRepository.findById(1L)).thenReturn(Optional.of(uiConfig), Optional.of(renamedConfig));
+        Booking booking = validBooking("BOOK-CACHED01");
+
+        String first = text(pdfGenerationService.generateBookingConfirmation(booking));
+        pdfGenerationService.generateInvoice(booking);
+        pdfGenerationService.generateCancellation(booking);
+        verify(uiConfigRepository, times(1)).findById(1L);
+
+        pdfGenerationService.invalidateTemplates();
+        String second = text(pdfGenerationService.generateBookingConfirmation(booking));
+
+        verify(uiConfigRepository, times(2)).findById(1L);
+        assertTrue(first.contains("Booking Confirmation for Your Stay at InnControl Hotel"));
+        assertTrue(first.contains("Booking Number: BOOK-CACHED01"));
+        assertTrue(first.contains("Hotel Address: Main Street 1"));
+        assertTrue(second.contains("Booking Confirmation for Your Stay at Renamed Hotel"));
+        assertFalse(second.contains("InnControl Hotel"));
+    }
+
+    /**
+     * Test case to verify that documents rendered concurrently each contain the values of their own booking.
+     */
+    @Test
+    public void givenManyBookings_whenRenderedConcurrently_thenEachDocumentHasItsOwnValues() throws Exception {
+        UiConfig uiConfig = new UiConfig();
+        uiConfig.setHotelName("InnControl Hotel");
+        when(uiConfigRepository.findById(1L)).thenReturn(Optional.of(uiConfig));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> invoices = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                Booking booking = validBooking("BOOK-" + i);
+                booking.setInvoiceNumber("INV-" + i);
+                booking.setTaxAmount(10.0);
+                invoices.add(executor.submit(() -> text(pdfGenerationService.generateInvoice(booking))));
+            }
+            for (int i = 0; i < invoices.size(); i++) {
+                String invoice = invoices.get(i).get();
+                assertTrue(invoice.contains("Booking Number: BOOK-" + i + "\n"), invoice);
+                assertTrue(invoice.contains("Invoice Number: INV-" + i + "\n"), invoice);
+            }
+        } finally {
+            executor.shutdown();
+        }
+        verify(uiConfigRepository, times(1)).findById(1L);
+    }
+
+    /**
+     * Test case to verify that guest names with characters of WinAnsiEncoding beyond ASCII are rendered as they are.
+     */
+    @Test
+    public void givenLatinGuestName_whenGenerateConfirmation_thenNameIsRenderedUnchanged() throws IOException {
+        UiConfig uiConfig = new UiConfig();
+        uiConfig.setHotelName("Hôtel Zürich");
+        when(uiConfigRepository.findById(1L)).thenReturn(Optional.of(uiConfig));
+        Booking booking = validBooking("BOOK-LATIN01");
+        booking.getGuest().setFirstName("Zoë");
+        booking.getGuest().setLastName("Müller-Øster");
+
+        String confirmation = text(pdfGenerationService.generateBookingConfirmation(booking));
+
+        assertTrue(confirmation.contains("Booking Confirmation for Your Stay at Hôtel Zürich"), confirmation);
+        assertTrue(confirmation.contains("Dear Müller-Øster,"), confirmation);
+        assertTrue(confirmation.contains("Name: Zoë Müller-Øster"), confirmation);
+    }
+
+    /**
+     * Test case to verify that a guest name the standard fonts can not show fails the rendering instead of being printed wrongly,
+     * and that the cached templates can still render other bookings afterwards.
+     */
+    @Test
+    public void givenNonLatinGuestName_whenGenerateDocuments_thenRenderingFails() throws IOException {
+        UiConfig uiConfig = new UiConfig();
+        uiConfig.setHotelName("InnControl Hotel");
+        when(uiConfigRepository.findById(1L)).thenReturn(Optional.of(uiConfig));
+        Booking polish = validBooking("BOOK-POLISH01");
+        polish.getGuest().setLastName("Łukaszewicz");
+        Booking cyrillic = validBooking("BOOK-CYRILLIC1");
+        cyrillic.getGuest().setFirstName("Иван");
+
+        assertThrows(IllegalArgumentException.class, () -> pdfGenerationService.generateBookingConfirmation(polish));
+        assertThrows(IllegalArgumentException.class, () -> pdfGenerationService.generateInvoice(cyrillic));
+        assertThrows(IllegalArgumentException.class, () -> pdfGenerationService.generateCancellation(cyrillic));
+
+        String invoice = text(pdfGenerationService.generateInvoice(validBooking("BOOK-AFTER001")));
+        assertTrue(invoice.contains("Bill to: John Doe"), invoice);
+        assertTrue(invoice.contains("Booking Number: BOOK-AFTER001"), invoice);
+        assertFalse(invoice.contains("?"), invoice);
+    }
+
+    private Booking validBooking(String bookingNumber) {
+        Room room = new Room();
+        room.setId(1L);
+        room.setName("Room Name");
+        room.setDescription("Single Room with a great view");
+        room.setCapacity(2);
+        room.setPrice(100.0);
+
+        Guest guest = new Guest();
+        guest.setFirstName("John");
+        guest.setLastName("Doe");
+        guest.setEmail("guest@example.com");
+        guest.setPhoneNumber("+123456789");
+        guest.setAddress("123 Guest Street");
+
+        Booking booking = new Booking();
+        booking.setId(1L);
+        booking.setUser(guest);
+        booking.setRoom(room);
+        booking.setStartDate(LocalDate.of(2025, 1, 20));
+        booking.setEndDate(LocalDate.of(2025, 1, 25));
+        booking.setBookingNumber(bookingNumber);
+        booking.setInvoiceNumber("INV-12345");
+        booking.setTaxAmount(50.0);
+        booking.setCancellationDate(LocalDate.of(2025, 1, 10));
+        return booking;
+    }
+
+    private static String text(byte[] pdf) throws IOException {
+        try (PDDocument document = PDDocument.load(pdf)) {
+            assertEquals(1, document.getNumberOfPages());
+            return new PDFTextStripper().getText(document).replace("\r\n", "\n");
+        }
+    }
 }
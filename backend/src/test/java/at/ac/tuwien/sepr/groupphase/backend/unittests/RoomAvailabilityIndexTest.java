@@ -0,0 +1,153 @@
+package at.ac.tuwien.sepr.groupphase.backend.unittests;
+
+import at.ac.tuwien.sepr.groupphase.backend.enums.BookingStatus;
+import at.ac.tuwien.sepr.groupphase.backend.repository.BookingRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.projection.BookingOccupancy;
+import at.ac.tuwien.sepr.groupphase.backend.service.impl.SimpleRoomAvailabilityIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class RoomAvailabilityIndexTest {
+
+    private static final int HORIZON_DAYS = 30;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private SimpleRoomAvailabilityIndex availabilityIndex;
+
+    private final LocalDate today = LocalDate.now();
+
+    @BeforeEach
+    public void setup() {
+        availabilityIndex = new SimpleRoomAvailabilityIndex(bookingRepository, HORIZON_DAYS);
+    }
+
+    /**
+     * Test case to verify that the index is loaded from the booking table once and marks both start and end date as occupied.
+     */
+    @Test
+    public void givenStoredBooking_whenIsOccupied_thenOverlappingRangesAreOccupied() {
+        when(bookingRepository.findOccupanciesEndingOnOrAfter(any())).thenReturn(List.of(occupancy(1L, 10L, 5, 8)));
+
+        assertTrue(availabilityIndex.isOccupied(10L, today.plusDays(8), today.plusDays(12)));
+        assertTrue(availabilityIndex.isOccupied(10L, today.plusDays(1), today.plusDays(5)));
+        assertFalse(availabilityIndex.isOccupied(10L, today.plusDays(9), today.plusDays(12)));
+        assertFalse(availabilityIndex.isOccupied(11L, today.plusDays(5), today.plusDays(8)));
+        verify(bookingRepository, times(1)).findOccupanciesEndingOnOrAfter(today);
+    }
+
+    /**
+     * Test case to verify that new, changed and cancelled bookings are reflected without reloading from the booking table.
+     */
+    @Test
+    public void givenLoadedIndex_whenPutAndCancel_thenOccupiedRoomsFollow() {
+        when(bookingRepository.findOccupanciesEndingOnOrAfter(any())).thenReturn(List.of(occupancy(1L, 10L, 2, 4)));
+        availabilityIndex.rebuild();
+
+        availabilityIndex.put(2L, 11L, today.plusDays(3), today.plusDays(6), BookingStatus.PENDING, null);
+        assertEquals(Set.of(10L, 11L), availabilityIndex.findOccupiedRoomIds(today.plusDays(3), today.plusDays(3)));
+
+        availabilityIndex.put(2L, 11L, today.plusDays(10), today.plusDays(12), BookingStatus.PENDING, null);
+        assertEquals(Set.of(10L), availabilityIndex.findOccupiedRoomIds(today.plusDays(3), today.plusDays(6)));
+
+        availabilityIndex.put(1L, 10L, today.plusDays(2), today.plusDays(4), BookingStatus.CANCELLED, null);
+        assertTrue(availabilityIndex.findOccupiedRoomIds(today.plusDays(1), today.plusDays(6)).isEmpty());
+        verify(bookingRepository, times(1)).findOccupanciesEndingOnOrAfter(any());
+    }
+
+    /**
+     * Test case to verify that removing one of two overlapping bookings keeps the nights of the other one occupied.
+     */
+    @Test
+    public void givenOverlappingBookings_whenRemoveOne_thenOtherStaysOccupied() {
+        when(bookingRepository.findOccupanciesEndingOnOrAfter(any())).thenReturn(List.of(
+            occupancy(1L, 10L, 2, 6),
+            occupancy(2L, 10L, 5, 9)));
+        availabilityIndex.rebuild();
+
+        availabilityIndex.remove(1L);
+
+        assertFalse(availabilityIndex.isOccupied(10L, today.plusDays(2), today.plusDays(4)));
+        assertTrue(availabilityIndex.isOccupied(10L, today.plusDays(5), today.plusDays(5)));
+    }
+
+    /**
+     * Test case to verify that ranges outside the horizon are reported as not covered and rejected by queries.
+     */
+    @Test
+    public void givenRangeOutsideHorizon_whenCovers_thenFalse() {
+        when(bookingRepository.findOccupanciesEndingOnOrAfter(any())).thenReturn(List.of());
+
+        assertTrue(availabilityIndex.covers(today, today.plusDays(HORIZON_DAYS - 1)));
+        assertFalse(availabilityIndex.covers(today, today.plusDays(HORIZON_DAYS)));
+        assertFalse(availabilityIndex.covers(today.minusDays(1), today.plusDays(1)));
+        assertThrows(IllegalArgumentException.class,
+            () -> availabilityIndex.isOccupied(10L, today.plusDays(1), today.plusDays(HORIZON_DAYS + 1)));
+    }
+
+    /**
+     * Test case to verify that a hold stops occupying its room once it has expired, without being removed explicitly.
+     */
+    @Test
+    public void givenHold_whenHoldExpires_thenRoomIsNoLongerOccupied() throws InterruptedException {
+        when(bookingRepository.findOccupanciesEndingOnOrAfter(any())).thenReturn(List.of());
+        availabilityIndex.rebuild();
+
+        availabilityIndex.put(1L, 10L, today.plusDays(2), today.plusDays(4), BookingStatus.PENDING, LocalDateTime.now().plusHours(1));
+        availabilityIndex.put(2L, 11L, today.plusDays(2), today.plusDays(4), BookingStatus.PENDING, LocalDateTime.now().plusNanos(500_000_000));
+        availabilityIndex.put(3L, 12L, today.plusDays(2), today.plusDays(4), BookingStatus.PENDING, LocalDateTime.now().minusMinutes(1));
+        assertEquals(Set.of(10L, 11L), availabilityIndex.findOccupiedRoomIds(today.plusDays(3), today.plusDays(3)));
+
+        Thread.sleep(600);
+
+        assertEquals(Set.of(10L), availabilityIndex.findOccupiedRoomIds(today.plusDays(3), today.plusDays(3)));
+        assertFalse(availabilityIndex.isOccupied(11L, today.plusDays(2), today.plusDays(4)));
+    }
+
+    private BookingOccupancy occupancy(Long id, Long roomId, int startOffset, int endOffset) {
+        LocalDate startDate = today.plusDays(startOffset);
+        LocalDate endDate = today.plusDays(endOffset);
+        return new BookingOccupancy() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getRoomId() {
+                return roomId;
+            }
+
+            @Override
+            public LocalDate getStartDate() {
+                return startDate;
+            }
+
+            @Override
+            public LocalDate getEndDate() {
+                return endDate;
+            }
+
+            @Override
+            public LocalDateTime getHoldExpiresAt() {
+                return null;
+            }
+        };
+    }
+}
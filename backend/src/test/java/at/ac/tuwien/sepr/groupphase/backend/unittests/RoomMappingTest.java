@@ -5,6 +5,7 @@ import at.ac.tuwien.sepr.groupphase.backend.config.TestSecurityConfig;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.DetailedRoomDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.RoomUpdateDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.mapper.RoomMapper;
+import at.ac.tuwien.sepr.groupphase.backend.entity.ImageBlob;
 import at.ac.tuwien.sepr.groupphase.backend.entity.Room;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -34,7 +35,7 @@ public class RoomMappingTest implements TestData {
         room.setDescription(TEST_ROOM_DESCRIPTION);
         room.setPrice(TEST_ROOM_PRICE);
         room.setCapacity(TEST_ROOM_CAPACITY);
-        room.setMainImage(TEST_ROOM_MAIN_IMAGE);
+        room.setMainImage(ImageBlob.of(TEST_ROOM_MAIN_IMAGE));
     }
 
     @Autowired
@@ -73,7 +74,7 @@ public class RoomMappingTest implements TestData {
             () -> assertEquals(TEST_ROOM_DESCRIPTION, mappedRoom.getDescription()),
             () -> assertEquals(TEST_ROOM_CAPACITY, mappedRoom.getCapacity()),
             () -> assertEquals(TEST_ROOM_PRICE, mappedRoom.getPrice()),
-            () -> assertArrayEquals(TEST_ROOM_MAIN_IMAGE, mappedRoom.getMainImage())
+            () -> assertArrayEquals(TEST_ROOM_MAIN_IMAGE, mappedRoom.getMainImage().getData())
         );
     }
 
@@ -8,6 +8,7 @@ import at.ac.tuwien.sepr.groupphase.backend.entity.Room;
 import at.ac.tuwien.sepr.groupphase.backend.exception.NotFoundException;
 import at.ac.tuwien.sepr.groupphase.backend.exception.ValidationException;
 import at.ac.tuwien.sepr.groupphase.backend.repository.RoomRepository;
+import at.ac.tuwien.sepr.groupphase.backend.service.RoomAvailabilityIndex;
 import at.ac.tuwien.sepr.groupphase.backend.service.impl.SimpleRoomService;
 import at.ac.tuwien.sepr.groupphase.backend.service.validator.RoomValidator;
 import org.junit.jupiter.api.Test;
@@ -35,6 +36,9 @@ public class RoomServiceTest {
     @Mock
     private RoomMapper roomMapper;
 
+    @Mock
+    private RoomAvailabilityIndex roomAvailabilityIndex;
+
     @InjectMocks
     private SimpleRoomService roomService;
 
@@ -0,0 +1,173 @@
+package at.ac.tuwien.sepr.groupphase.backend.unittests;
+
+import at.ac.tuwien.sepr.groupphase.backend.entity.Pdf;
+import at.ac.tuwien.sepr.groupphase.backend.entity.PdfSegmentEntry;
+import at.ac.tuwien.sepr.groupphase.backend.exception.NotFoundException;
+import at.ac.tuwien.sepr.groupphase.backend.repository.PdfRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.PdfSegmentEntryRepository;
+import at.ac.tuwien.sepr.groupphase.backend.service.impl.PdfSegmentMigration;
+import at.ac.tuwien.sepr.groupphase.backend.service.impl.PdfSegmentStore;
+import at.ac.tuwien.sepr.groupphase.backend.service.impl.SegmentPdfStorageService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class SegmentPdfStorageServiceTest {
+
+    @TempDir
+    private Path directory;
+
+    @Mock
+    private PdfSegmentEntryRepository entryRepository;
+
+    @Mock
+    private PdfRepository pdfRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final List<PdfSegmentEntry> entries = new ArrayList<>();
+
+    private SegmentPdfStorageService storageService;
+
+    @BeforeEach
+    public void setup() {
+        when(entryRepository.save(any())).thenAnswer(invocation -> {
+            PdfSegmentEntry entry = invocation.getArgument(0);
+            entry.setId((long) entries.size() + 1);
+            entries.add(entry);
+            return entry;
+        });
+        when(entryRepository.findFirstByBookingIdAndDocumentTypeOrderByIdDesc(anyLong(), anyString())).thenAnswer(invocation ->
+            entries.reversed().stream()
+                .filter(entry -> entry.getBookingId().equals(invocation.getArgument(0)) && entry.getDocumentType().equals(invocation.getArgument(1)))
+                .findFirst());
+        storageService = new SegmentPdfStorageService(entryRepository, store());
+    }
+
+    /**
+     * Test case to verify that documents spread over several segments are read back unchanged, both as a whole and
+     * as a stream.
+     */
+    @Test
+    public void givenDocumentsOverSeveralSegments_whenRead_thenContentIsUnchanged() throws IOException {
+        List<byte[]> documents = new ArrayList<>();
+        for (long bookingId = 1; bookingId <= 20; bookingId++) {
+            byte[] content = document(bookingId);
+            documents.add(content);
+            storageService.storePdf(bookingId, "Invoice.pdf", content);
+        }
+
+        for (long bookingId = 1; bookingId <= 20; bookingId++) {
+            byte[] expected = documents.get((int) bookingId - 1);
+            assertArrayEquals(expected, storageService.getPdf(bookingId, "Invoice.pdf").getContent());
+            ByteArrayOutputStream transferred = new ByteArrayOutputStream();
+            assertTrue(storageService.transferPdf(bookingId, "Invoice.pdf", transferred));
+            assertArrayEquals(expected, transferred.toByteArray());
+        }
+        assertTrue(segmentCount() > 1);
+    }
+
+    /**
+     * Test case to verify that a store opened again on the same directory reads the existing segments and appends
+     * after them.
+     */
+    @Test
+    public void givenReopenedStore_whenStoreAndRead_thenOldAndNewDocumentsAreRead() throws IOException {
+        storageService.storePdf(1L, "Invoice.pdf", document(1));
+        long segments = segmentCount();
+
+        SegmentPdfStorageService reopened = new SegmentPdfStorageService(entryRepository, store());
+        reopened.storePdf(2L, "Invoice.pdf", document(2));
+
+        assertArrayEquals(document(1), reopened.getPdf(1L, "Invoice.pdf").getContent());
+        assertArrayEquals(document(2), reopened.getPdf(2L, "Invoice.pdf").getContent());
+        assertEquals(segments, segmentCount());
+    }
+
+    /**
+     * Test case to verify that missing documents are reported as such.
+     */
+    @Test
+    public void givenNoDocument_whenRead_thenNotFound() throws IOException {
+        assertThrows(NotFoundException.class, () -> storageService.getPdf(1L, "Invoice.pdf"));
+        assertFalse(storageService.transferPdf(1L, "Invoice.pdf", new ByteArrayOutputStream()));
+    }
+
+    /**
+     * Test case to verify that the migration moves the documents stored in the database to the segments, keeps their
+     * creation time and deletes them from the database.
+     */
+    @Test
+    public void givenDocumentsInDatabase_whenMigrate_thenDocumentsAreMovedToSegments() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 1, 12, 0);
+        List<Pdf> stored = List.of(
+            new Pdf(1L, "BookingConfirmation.pdf", document(1), createdAt),
+            new Pdf(1L, "Invoice.pdf", document(2), createdAt));
+        when(pdfRepository.findAllByOrderByIdAsc(any(Limit.class))).thenReturn(stored, List.of());
+
+        PdfSegmentMigration migration = new PdfSegmentMigration(pdfRepository, storageService, transactionManager, 2, true);
+
+        assertEquals(2, migration.migrate());
+        verify(pdfRepository).deleteAllInBatch(stored);
+        Pdf invoice = storageService.getPdf(1L, "Invoice.pdf");
+        assertArrayEquals(document(2), invoice.getContent());
+        assertEquals(createdAt, invoice.getCreatedAt());
+        assertArrayEquals(document(1), storageService.getPdf(1L, "BookingConfirmation.pdf").getContent());
+    }
+
+    private PdfSegmentStore store() {
+        return new PdfSegmentStore(directory, DataSize.ofKilobytes(4), 3);
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    /**
+     * Creates a document of about 2KB that only compresses partly, so a few of them fill a segment.
+     */
+    private static byte[] document(long seed) {
+        Random random = new Random(seed);
+        StringBuilder content = new StringBuilder("%PDF-1.4\n");
+        while (content.length() < 2048) {
+            content.append(random.nextInt(1_000_000)).append(' ');
+        }
+        return content.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -8,6 +8,7 @@ import at.ac.tuwien.sepr.groupphase.backend.entity.UiConfig;
 import at.ac.tuwien.sepr.groupphase.backend.exception.NotFoundException;
 import at.ac.tuwien.sepr.groupphase.backend.exception.ValidationException;
 import at.ac.tuwien.sepr.groupphase.backend.repository.UiConfigRepository;
+import at.ac.tuwien.sepr.groupphase.backend.service.ImageService;
 import at.ac.tuwien.sepr.groupphase.backend.service.UiConfigService;
 import at.ac.tuwien.sepr.groupphase.backend.service.impl.SimpleUiConfigService;
 import at.ac.tuwien.sepr.groupphase.backend.service.validator.UiConfigValidator;
@@ -47,12 +48,15 @@ public class UiConfigServiceTest {
     @Mock
     private UiConfigMapper uiConfigMapper;
 
+    @Mock
+    private ImageService imageService;
+
     private UiConfigService uiConfigService;
 
 
     @BeforeEach
     void beforeEach() {
-        uiConfigService = new SimpleUiConfigService(uiConfigRepository, uiConfigMapper, uiConfigValidator);
+        uiConfigService = new SimpleUiConfigService(uiConfigRepository, uiConfigMapper, uiConfigValidator, imageService);
     }
 
     @Test
@@ -451,7 +455,7 @@ public class UiConfigServiceTest {
             () -> assertEquals(uiConfig.getDescriptionShort(), result.descriptionShort(), "The short descriptions should match"),
             () -> assertEquals(uiConfig.getDescription(), result.description(), "The descriptions should match"),
             () -> assertEquals(uiConfig.getAddress(), result.address(), "The addresses should match"),
-            () -> assertEquals(uiConfig.getImages(), result.images(), "The images should match"),
+            () -> assertEquals(uiConfig.getImages(), result.imageUrls(), "The images should match"),
             () -> assertEquals(uiConfig.getHotelName(), result.hotelName(), "The hotel names should match")
         );
         verify(uiConfigRepository).findById(id);
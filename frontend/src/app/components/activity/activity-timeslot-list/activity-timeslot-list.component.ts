@@ -238,6 +238,11 @@ export class ActivityTimeslotListComponent implements OnInit{
     }
   }
 
+  isSelected(timeslot: ActivitySlotDto): boolean {
+    // slots that have not been booked yet have no ID, so they are told apart by their start
+    return this.selectedTimeslot?.date === timeslot.date && this.selectedTimeslot?.startTime === timeslot.startTime;
+  }
+
   selectTimeslot(timeslot: ActivitySlotDto): void {
     this.selectedTimeslot = timeslot;
 
@@ -279,6 +284,8 @@ export class ActivityTimeslotListComponent implements OnInit{
     const bookingData = {
       activityId: this.activityId,
       activitySlotId: this.selectedTimeslot.id,
+      slotDate: this.selectedTimeslot.date,
+      slotStartTime: this.selectedTimeslot.startTime,
       bookingDate: new Date(),
       participants: this.selectedParticipants,
     };
@@ -16,6 +16,7 @@ import {MatLabel} from "@angular/material/form-field";
 import {NgIf} from "@angular/common";
 import {Router, RouterLink} from "@angular/router";
 import { MatFormFieldModule } from '@angular/material/form-field';
+import {Globals} from "../../global/globals";
 
 
 @Component({
@@ -68,7 +69,8 @@ export class HomeComponent implements OnInit {
     private uiConfigService: UiConfigService,
     private snackBar: MatSnackBar,
     private sanitizer: DomSanitizer,
-    private router: Router
+    private router: Router,
+    private globals: Globals
   ) {}
 
   ngOnInit(): void {
@@ -81,7 +83,7 @@ export class HomeComponent implements OnInit {
     this.uiConfigService.getUiConfigHomepage().subscribe({
       next: (config) => {
         this.uiConfig = config;
-        this.convertImages(config.images);
+        this.convertImages(config.imageUrls);
         this.setGoogleMapsUrl(config.address);
       },
       error: (err) => {
@@ -91,10 +93,8 @@ export class HomeComponent implements OnInit {
     });
   }
 
-  convertImages(images: string[]): void {
-    this.convertedImages = images.map((base64Image) => {
-      return 'data:image/jpeg;base64,' + base64Image;
-    });
+  convertImages(imageUrls: string[]): void {
+    this.convertedImages = imageUrls.map((imageUrl) => this.globals.resolveBackendPath(imageUrl));
   }
 
   get currentImage(): string {
@@ -2,7 +2,7 @@ import {Component, OnInit, ViewChild} from '@angular/core';
 import { MatButton } from "@angular/material/button";
 import { RouterLink } from "@angular/router";
 import { MatCard } from "@angular/material/card";
-import { RoomListCleanDto, OccupancyDto } from "../../../dtos/room";
+import { RoomListCleanDto, RoomOccupancyDto } from "../../../dtos/room";
 import { CurrencyPipe, DatePipe, CommonModule } from "@angular/common";
 import { RoomService } from "../../../services/room.service";
 import { MatDialog } from "@angular/material/dialog";
@@ -90,7 +90,7 @@ export class RoomCleaningListComponent implements OnInit {
         this.totalRooms = rooms.totalElements;
         this.rooms = rooms.content.map(room => ({
           ...room,
-          mainImage: this.getImageSrc(room.mainImage)
+          mainImage: this.getImageSrc(room)
         }));
         console.log(rooms);
         if (this.showOnlyFreeRooms) {
@@ -101,9 +101,7 @@ export class RoomCleaningListComponent implements OnInit {
           console.log("Filtered rooms:", this.rooms);
         }
          this.checkIfRoomCleaningTimesStillRelevant();
-         this.rooms.forEach(room => {
-         this.getOccupancyStatus(room.id);
-         });
+         this.getOccupancyStatus();
       },
       error: (error) => {
         console.log(error);
@@ -145,8 +143,11 @@ export class RoomCleaningListComponent implements OnInit {
     localStorage.setItem('cleaningProcessMap', JSON.stringify(Array.from(this.cleaningProcessMap.entries())));
   }
 
-  getImageSrc(base64Image: string): string {
-    return 'data:image/jpeg;base64,' + base64Image;
+  getImageSrc(room: RoomListCleanDto): string {
+    if (room.mainImage) {
+      return 'data:image/jpeg;base64,' + room.mainImage;
+    }
+    return room.mainImageUrl ? this.service.getImageUrl(room.mainImageUrl) : null;
   }
 
   formatDate(date: string): string {
@@ -271,19 +272,16 @@ export class RoomCleaningListComponent implements OnInit {
     });
   }
 
-  getOccupancyStatus(roomId: number): void {
-    this.service.getOccupancyStatus(roomId).subscribe(
-      (status: OccupancyDto) => {
-        console.log("getOccupancyStatus(" + roomId + ")");
-        console.log("result: " + status.status);
-        this.occupiedStatus.push(status.status);
-        if(status.status == 'occupied'){
-          this.occupiedIds.push(status.roomId);
-          }
+  getOccupancyStatus(): void {
+    this.service.getOccupancySnapshot().subscribe(
+      (occupancies: RoomOccupancyDto[]) => {
+        this.occupiedStatus = occupancies.map(occupancy => occupancy.status);
+        this.occupiedIds = occupancies
+          .filter(occupancy => occupancy.status == 'occupied')
+          .map(occupancy => occupancy.roomId);
       },
       (error) => {
-        this.snackBar.open('Cannot fetch Occupancy for Room with id:' + roomId + ': ' + error.message, 'Close', { duration: 5000 });
-
+        this.snackBar.open('Cannot fetch Occupancy of the rooms: ' + error.message, 'Close', { duration: 5000 });
       }
     );
   }
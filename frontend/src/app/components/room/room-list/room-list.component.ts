@@ -312,7 +312,7 @@ export class RoomListComponent implements OnInit{
           this.noRoomsMessage = '';
         }
         this.rooms.forEach(room => {
-          room.mainImage = this.getImageSrc(room.mainImage);
+          room.mainImage = this.getImageSrc(room);
         });
       },
       error: () => {
@@ -359,7 +359,7 @@ export class RoomListComponent implements OnInit{
         }
 
         this.rooms.forEach(room => {
-          room.mainImage = this.getImageSrc(room.mainImage);
+          room.mainImage = this.getImageSrc(room);
         });
       },
       error: (error) => {
@@ -384,8 +384,11 @@ export class RoomListComponent implements OnInit{
     });
   }
 
-  getImageSrc(base64Image: string): string {
-    return 'data:image/jpeg;base64,' + base64Image;
+  getImageSrc(room: RoomListDto): string {
+    if (room.mainImage) {
+      return 'data:image/jpeg;base64,' + room.mainImage;
+    }
+    return room.mainImageUrl ? this.service.getImageUrl(room.mainImageUrl) : null;
   }
 
   confirmDelete(room: RoomListDto): void {
@@ -41,7 +41,8 @@ export interface ActivityTimeslotInfo {
 }
 
 export interface ActivitySlotDto {
-  id: number;
+  // null until the slot is booked for the first time
+  id: number | null;
   date: Date;
   startTime: Date;
   endTime: Date;
@@ -89,7 +90,9 @@ export class ActivitySlotSearchDto {
 
 export class ActivityBookingCreateDto {
   activityId: number;
-  activitySlotId: number;
+  activitySlotId: number | null;
+  slotDate: Date;
+  slotStartTime: Date;
   bookingDate: Date;
   participants: number;
 }
@@ -16,6 +16,7 @@ export class BookingDetailDto {
   userFullName: String;
   price: number;
   status: string;
+  documentStatus?: string;
 }
 
 export class DetailedBookingDto {
@@ -36,3 +36,11 @@ export class ManuallyAddToRoomDto {
   passport: File;
   email: string;
 }
+
+export class GroupCheckInResultDto {
+  index: number;
+  bookingId: number;
+  email: string;
+  checkedIn: boolean;
+  errors: string[];
+}
@@ -15,6 +15,7 @@ export interface RoomListDto {
   description: string;
   capacity: number;
   mainImage: string;
+  mainImageUrl: string;
   price: number;
 }
 
@@ -24,6 +25,7 @@ export interface RoomListCleanDto {
   description: string;
   capacity: number;
   mainImage: string;
+  mainImageUrl: string;
   price: number;
   lastCleanedAt: Date;
   cleaningTimeFrom: Date;
@@ -76,3 +78,16 @@ export class OccupancyDto {
   roomId: number;
   status: string;
 }
+
+export class RoomOccupancyDto {
+  roomId: number;
+  roomName: string;
+  capacity: number;
+  status: string;
+  bookingId: number | null;
+  ownerEmail: string | null;
+  checkedIn: number;
+  lastCleanedAt: string | null;
+  cleaningTimeFrom: string | null;
+  cleaningTimeTo: string | null;
+}
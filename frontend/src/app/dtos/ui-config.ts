@@ -36,7 +36,7 @@ export interface UiConfigHomepageDto {
   descriptionShort: string;
   description: string;
   address: string;
-  images: string[];
+  imageUrls: string[];
 }
 
 export interface activatedModulesDto {
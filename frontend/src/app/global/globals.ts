@@ -7,6 +7,13 @@ export class Globals {
   readonly backendUri: string = this.findBackendUrl();
   readonly stripePublishableKey: string = 'pk_test_51QgrpZ4IfNp467UDKM50oyjspnrghAzsdZXWxR1v6pmxbggRvO8XbUW02FIEdkjyk1ThhKKQEySfsy8Z27czxUcE00Z5nMXxT8';
 
+  /**
+   * Resolves a path returned by the backend, e.g. the URL of an image, against the backend host.
+   */
+  resolveBackendPath(path: string): string {
+    return this.backendUri.replace(/\/api\/v1$/, '') + path;
+  }
+
   private findBackendUrl(): string {
     if (window.location.port === '4200') { // local `ng serve`, backend at localhost:8080
       return 'http://localhost:8080/api/v1';
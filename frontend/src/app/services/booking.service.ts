@@ -1,6 +1,7 @@
 import { Injectable } from '@angular/core';
 import { HttpClient } from '@angular/common/http';
 import { Observable } from 'rxjs';
+import { map } from 'rxjs/operators';
 import {BookingCreateDto, BookingDetailDto, DetailedBookingDto} from '../dtos/booking';
 import { Globals } from '../global/globals';
 import { Page } from '../models/page.model';
@@ -27,7 +28,11 @@ export class BookingService {
   }
 
   getBookingsByGuests(): Observable<DetailedBookingDto[]> {
-    return this.httpClient.get<DetailedBookingDto[]>(`${this.bookingBaseUri}/managerbookings`);
+    return this.httpClient.get(`${this.bookingBaseUri}/managerbookings?format=ndjson`, {responseType: 'text'}).pipe(
+      map(body => body.split('\n')
+        .filter(line => line.length > 0)
+        .map(line => JSON.parse(line) as DetailedBookingDto))
+    );
   }
 
   cancelBooking(bookingId: number): Observable<void> {
@@ -3,7 +3,7 @@ import { HttpClient } from '@angular/common/http';
 import { Observable } from 'rxjs';
 import {myRoomDto, RoomDetailDto} from "../dtos/room";
 import {BookingDetailDto} from "../dtos/booking";
-import {CheckInDto, CheckOutDto, CheckInStatusDto, ManuallyAddToRoomDto} from "../dtos/check-in";
+import {CheckInDto, CheckOutDto, CheckInStatusDto, GroupCheckInResultDto, ManuallyAddToRoomDto} from "../dtos/check-in";
 import {Globals} from '../global/globals';
 import {GuestListDto} from "../dtos/guest";
 import {InviteToRoomDto} from "../dtos/invite";
@@ -104,6 +104,15 @@ export class CheckInService {
     return this.http.post<void>(`${this.manualApiUrl}/${email}`, formData);
   }
 
+  manualGroupCheckIn(guests: ManuallyAddToRoomDto[]): Observable<GroupCheckInResultDto[]> {
+    const formData = new FormData();
+    const manifest = guests.map(({passport, ...guest}) => guest);
+    formData.append('guests', new Blob([JSON.stringify(manifest)], {type: 'application/json'}));
+    guests.forEach(guest => formData.append('passports', guest.passport));
+
+    return this.http.post<GroupCheckInResultDto[]>(`${this.manualApiUrl}/group`, formData);
+  }
+
   getCheckedInStatus(email: string): Observable<CheckInStatusDto[]> {
     return this.http.get<CheckInStatusDto[]>(`${this.manualApiUrl}/checkin-status/${email}`);
   }
@@ -2,7 +2,7 @@ import {Injectable} from '@angular/core';
 import {HttpClient, HttpParams} from '@angular/common/http';
 import {Observable} from 'rxjs';
 import {Globals} from '../global/globals';
-import {Room, RoomListDto, RoomDetailDto, RoomSearchDto, RoomAdminSearchDto, RoomListCleanDto, OccupancyDto} from "../dtos/room";
+import {Room, RoomListDto, RoomDetailDto, RoomSearchDto, RoomAdminSearchDto, RoomListCleanDto, OccupancyDto, RoomOccupancyDto} from "../dtos/room";
 import { formatDate } from '@angular/common';
 
 @Injectable({
@@ -64,6 +64,15 @@ export class RoomService {
     return this.httpClient.get<RoomListDto[]>(`${this.roomBaseUri}/all`, {params});
   }
 
+  /**
+   * Resolves an image path returned by the backend (e.g. {@code mainImageUrl}) against the backend host.
+   * Room lists only reference the main image, so the browser can load it separately and cache it for good,
+   * as the path contains the hash of the image content.
+   */
+  getImageUrl(path: string): string {
+    return this.globals.resolveBackendPath(path);
+  }
+
   /**
    * Loads all rooms from the backend
    */
@@ -212,4 +221,8 @@ export class RoomService {
   getOccupancyStatus(roomId: number): Observable<any> {
     return this.httpClient.get<OccupancyDto>(`${this.globals.backendUri}/manual-checkin/occupancy/${roomId}`);
   }
+
+  getOccupancySnapshot(): Observable<RoomOccupancyDto[]> {
+    return this.httpClient.get<RoomOccupancyDto[]>(`${this.globals.backendUri}/manual-checkin/occupancy`);
+  }
 }
@@ -1,7 +1,7 @@
 import { Injectable } from '@angular/core';
 import {HttpClient} from '@angular/common/http';
 import { Observable } from 'rxjs';
-import {UiConfig, UiConfigDetailDto} from "../dtos/ui-config";
+import {UiConfig, UiConfigDetailDto, UiConfigHomepageDto} from "../dtos/ui-config";
 import {Globals} from "../global/globals";
 
 
@@ -69,8 +69,8 @@ export class UiConfigService {
     }
   }
 
-  getUiConfigHomepage(): Observable<UiConfigDetailDto> {
-    return this.http.get<UiConfigDetailDto>(`${this.uiConfigBaseUri}/homepage`);
+  getUiConfigHomepage(): Observable<UiConfigHomepageDto> {
+    return this.http.get<UiConfigHomepageDto>(`${this.uiConfigBaseUri}/homepage`);
   }
 
 